@@ -35,6 +35,7 @@ const duplicateEveryN = Number(__ENV.DUPLICATE_EVERY_N || 5);
 
 const authHeader = __ENV.AUTH_HEADER || "";
 const authToken = __ENV.AUTH_TOKEN || "";
+const simulatorUrl = __ENV.SIMULATOR_URL || "";
 
 function nowSec() {
   return Math.floor(Date.now() / 1000);
@@ -96,6 +97,22 @@ function buildFaultHeaders() {
   };
 }
 
+// With SIMULATOR_URL set (backend started with LLM_SIMULATOR_ENABLED=true), align the provider simulator's fault
+// window with this run's clock.
+export function setup() {
+  if (!simulatorUrl) {
+    return;
+  }
+  const res = http.post(
+    `${simulatorUrl}/_simulator/scenarios/${scenarioId}`,
+    JSON.stringify({ test_start_epoch_sec: testStartEpochSec }),
+    { headers: { "Content-Type": "application/json" } }
+  );
+  if (res.status !== 200) {
+    throw new Error(`Simulator rejected scenario ${scenarioId}: HTTP ${res.status}`);
+  }
+}
+
 export default function () {
   const url = `${__ENV.BASE_URL}/api/v1/practices/${__ENV.PRACTICE_ID}/feedbacks`;
   const key = buildIdempotencyKey(__VU, __ITER);
@@ -18,7 +18,7 @@ STATUS_CSV="${RUN_DIR}/matrix-status.csv"
 MANIFEST_JSON="${RUN_DIR}/matrix-manifest.json"
 
 ALLOWED_STRATEGIES=("A" "B" "C" "D")
-ALLOWED_SCENARIOS=("S1" "S2" "S3" "S4" "S5")
+ALLOWED_SCENARIOS=("S1" "S2" "S3" "S4" "S5" "S6" "S7" "S8")
 
 declare -a STRATEGY_LIST=()
 declare -a SCENARIO_LIST=()
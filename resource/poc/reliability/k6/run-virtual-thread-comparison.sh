@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Thread-model comparison: runs the same scenario against two backend instances, one started with platform
+# threads and one with virtual threads, then prints latency / error deltas side by side.
+#
+# Lab prerequisite (two terminals, same database, stub provider):
+#   SERVER_PORT=8000 LLM_PROVIDER=stub SPRING_THREADS_VIRTUAL_ENABLED=false mvn spring-boot:run
+#   SERVER_PORT=8001 LLM_PROVIDER=stub SPRING_THREADS_VIRTUAL_ENABLED=true \
+#     VIRTUAL_THREAD_PINNING_DIAGNOSTICS_ENABLED=true mvn spring-boot:run
+# Keep Tomcat's max thread count at its default on both so the platform run shows the thread-pool ceiling.
+#
+# Usage:
+#   PLATFORM_BASE_URL=http://localhost:8000 VIRTUAL_BASE_URL=http://localhost:8001 \
+#   PRACTICE_ID=1 RUN_ID=vt-compare-001 ./run-virtual-thread-comparison.sh
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "${SCRIPT_DIR}/../../../../" && pwd)"
+
+: "${PLATFORM_BASE_URL:?PLATFORM_BASE_URL is required}"
+: "${VIRTUAL_BASE_URL:?VIRTUAL_BASE_URL is required}"
+: "${PRACTICE_ID:?PRACTICE_ID is required}"
+: "${RUN_ID:?RUN_ID is required}"
+
+SCENARIO_ID="${SCENARIO_ID:-S6}"
+STRATEGY_ID="${STRATEGY_ID:-A}"
+OUTPUT_DIR="${OUTPUT_DIR:-${ROOT_DIR}/resource/poc/reliability/k6/out}"
+
+run_mode() {
+  local mode="$1"
+  local base_url="$2"
+  echo "=== ${mode} threads (${base_url}) ==="
+  BASE_URL="${base_url}" \
+  PRACTICE_ID="${PRACTICE_ID}" \
+  STRATEGY_ID="${STRATEGY_ID}" \
+  SCENARIO_ID="${SCENARIO_ID}" \
+  RUN_ID="${RUN_ID}-${mode}" \
+  OUTPUT_DIR="${OUTPUT_DIR}" \
+    "${SCRIPT_DIR}/run.sh"
+}
+
+run_mode platform "${PLATFORM_BASE_URL}"
+run_mode virtual "${VIRTUAL_BASE_URL}"
+
+python3 - <<'PY' \
+  "${OUTPUT_DIR}/${RUN_ID}-platform/${STRATEGY_ID}/${SCENARIO_ID}/summary.json" \
+  "${OUTPUT_DIR}/${RUN_ID}-virtual/${STRATEGY_ID}/${SCENARIO_ID}/summary.json"
+import json
+import sys
+
+platform_path, virtual_path = sys.argv[1:]
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        metrics = json.load(f)["metrics"]
+    duration = metrics.get("http_req_duration", {})
+    failed = metrics.get("http_req_failed", {})
+    reqs = metrics.get("http_reqs", {})
+    return {
+        "requests": reqs.get("count", 0),
+        "rps": reqs.get("rate", 0.0),
+        "p50_ms": duration.get("med", 0.0),
+        "p95_ms": duration.get("p(95)", 0.0),
+        "p99_ms": duration.get("p(99)", 0.0),
+        "failed_rate": failed.get("value", 0.0),
+    }
+
+platform = load(platform_path)
+virtual = load(virtual_path)
+print(f"{'metric':<12}{'platform':>14}{'virtual':>14}{'delta':>14}")
+for key in platform:
+    a, b = platform[key], virtual[key]
+    print(f"{key:<12}{a:>14.3f}{b:>14.3f}{b - a:>14.3f}")
+PY
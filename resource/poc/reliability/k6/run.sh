@@ -5,6 +5,9 @@ set -euo pipefail
 #   Start backend with stub provider before running this script, e.g.
 #   LLM_PROVIDER=stub mvn spring-boot:run
 # This keeps scenario runs provider-deterministic and avoids accidental Ollama/Gemini traffic.
+# To exercise the real Ollama/Gemini client stack instead, start the backend with the HTTP simulator, e.g.
+#   LLM_PROVIDER=ollama LLM_SIMULATOR_ENABLED=true OLLAMA_BASE_URL=http://127.0.0.1:18434 mvn spring-boot:run
+# and export SIMULATOR_URL=http://127.0.0.1:18434 so k6 starts the matching simulator scenario.
 
 SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
 ROOT_DIR="$(cd "${SCRIPT_DIR}/../../../../" && pwd)"
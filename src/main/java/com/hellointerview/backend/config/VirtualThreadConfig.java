@@ -0,0 +1,23 @@
+package com.hellointerview.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Virtual threads themselves are switched on by Spring Boot's {@code spring.threads.virtual.enabled}, which covers
+ * Tomcat request handling; the async feedback workers follow the same flag. This class only wires diagnostics.
+ */
+@Configuration
+@EnableConfigurationProperties(VirtualThreadPinningProperties.class)
+public class VirtualThreadConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "diagnostics.virtual-threads.pinning", name = "enabled", havingValue = "true")
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                                            VirtualThreadPinningProperties properties) {
+        return new VirtualThreadPinningMonitor(meterRegistry, properties.threshold());
+    }
+}
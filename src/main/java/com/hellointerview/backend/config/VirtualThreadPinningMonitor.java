@@ -0,0 +1,96 @@
+package com.hellointerview.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events into Micrometer so carrier-thread pinning (a virtual thread
+ * blocking inside {@code synchronized} or native code) shows up next to the feedback latency metrics. The
+ * {@code frame} tag is the innermost application frame, which keeps tag cardinality bounded by our own code.
+ */
+public class VirtualThreadPinningMonitor {
+
+    static final String EVENT_VIRTUAL_THREAD_PINNED = "jdk.VirtualThreadPinned";
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String METRIC_PINNED_TOTAL = "jvm_virtual_thread_pinned_total";
+    private static final String METRIC_PINNED_MS = "jvm_virtual_thread_pinned_ms";
+    private static final String APPLICATION_PACKAGE = "com.hellointerview.";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(EVENT_VIRTUAL_THREAD_PINNED).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(EVENT_VIRTUAL_THREAD_PINNED, this::onPinned);
+        recordingStream.startAsync();
+        logger.info("Virtual thread pinning diagnostics enabled (threshold {} ms)", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    void onPinned(RecordedEvent event) {
+        String frame = applicationFrame(event.getStackTrace());
+        Counter.builder(METRIC_PINNED_TOTAL)
+                .tag("frame", frame)
+                .register(meterRegistry)
+                .increment();
+        DistributionSummary.builder(METRIC_PINNED_MS)
+                .baseUnit("milliseconds")
+                .tag("frame", frame)
+                .register(meterRegistry)
+                .record(Math.max(0.0, event.getDuration().toMillis()));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(),
+                    describe(event.getStackTrace()));
+        }
+    }
+
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+            }
+        }
+        return "other";
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "(no stack trace)";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(12)
+                .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+                .collect(Collectors.joining(" <- "));
+    }
+}
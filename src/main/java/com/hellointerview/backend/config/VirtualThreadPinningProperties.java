@@ -0,0 +1,15 @@
+package com.hellointerview.backend.config;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "diagnostics.virtual-threads.pinning")
+public record VirtualThreadPinningProperties(
+        boolean enabled,
+        @NotNull Duration threshold
+) {
+}
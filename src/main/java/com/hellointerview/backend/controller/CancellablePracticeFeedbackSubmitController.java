@@ -0,0 +1,53 @@
+package com.hellointerview.backend.controller;
+
+import com.hellointerview.backend.service.PracticeFeedbackService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Map;
+
+import static com.hellointerview.backend.controller.PracticeFeedbackSubmitController.prefersAsync;
+import static com.hellointerview.backend.controller.PracticeFeedbackSubmitController.rejectBody;
+import static com.hellointerview.backend.controller.PracticeFeedbackSubmitController.submitAsync;
+
+/**
+ * Feedback submit endpoint when {@code ai.llm.feedback.async.cancel-on-disconnect} is on: the synchronous answer is
+ * a {@code DeferredResult}, so a client that hangs up cancels the provider call.
+ */
+@RestController
+@RequestMapping("/api/v1/practices")
+@ConditionalOnProperty(prefix = "ai.llm.feedback.async", name = "cancel-on-disconnect", havingValue = "true")
+public class CancellablePracticeFeedbackSubmitController {
+
+    private final PracticeFeedbackService practiceFeedbackService;
+
+    public CancellablePracticeFeedbackSubmitController(PracticeFeedbackService practiceFeedbackService) {
+        this.practiceFeedbackService = practiceFeedbackService;
+    }
+
+    /**
+     * POST /api/v1/practices/{practiceId}/feedbacks
+     * Same contract as {@link PracticeFeedbackSubmitController#submitFeedback}.
+     */
+    @PostMapping("/{practiceId}/feedbacks")
+    public DeferredResult<?> submitFeedback(
+            @PathVariable("practiceId") Long practiceId,
+            @RequestHeader(value = "Idempotency-Key", required = true) String idempotencyKey,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @RequestBody(required = false) Map<String, Object> body
+    ) {
+        rejectBody(body);
+        if (prefersAsync(prefer) && practiceFeedbackService.isAsyncEnabled()) {
+            DeferredResult<Object> accepted = new DeferredResult<>();
+            accepted.setResult(submitAsync(practiceFeedbackService, practiceId, idempotencyKey));
+            return accepted;
+        }
+        return practiceFeedbackService.submitFeedbackCancellable(practiceId, idempotencyKey);
+    }
+}
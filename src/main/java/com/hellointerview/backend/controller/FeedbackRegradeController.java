@@ -0,0 +1,68 @@
+package com.hellointerview.backend.controller;
+
+import com.hellointerview.backend.dto.FeedbackRegradeProgressDto;
+import com.hellointerview.backend.dto.FeedbackRegradeStartRequest;
+import com.hellointerview.backend.service.FeedbackRegradeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/feedback-regrade-jobs")
+public class FeedbackRegradeController {
+
+    private final FeedbackRegradeService feedbackRegradeService;
+
+    public FeedbackRegradeController(FeedbackRegradeService feedbackRegradeService) {
+        this.feedbackRegradeService = feedbackRegradeService;
+    }
+
+    /**
+     * POST /api/v1/feedback-regrade-jobs
+     * Starts re-grading archived feedback with the current provider, model and prompt; returns 202 with the job
+     * handle. Omitted body fields fall back to {@code ai.llm.feedback.regrade.*}.
+     */
+    @PostMapping
+    public ResponseEntity<FeedbackRegradeProgressDto> start(
+            @RequestBody(required = false) FeedbackRegradeStartRequest request
+    ) {
+        FeedbackRegradeProgressDto progress = feedbackRegradeService.start(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/v1/feedback-regrade-jobs/" + progress.regradeJobId()))
+                .body(progress);
+    }
+
+    /**
+     * GET /api/v1/feedback-regrade-jobs/{jobId}
+     * Progress, throughput and ETA of a job, with per-partition checkpoints.
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<FeedbackRegradeProgressDto> getProgress(@PathVariable("jobId") Long jobId) {
+        return ResponseEntity.ok(feedbackRegradeService.progress(jobId));
+    }
+
+    /**
+     * POST /api/v1/feedback-regrade-jobs/{jobId}/pause
+     * Stops the workers after their current item; the job can be resumed from its checkpoints.
+     */
+    @PostMapping("/{jobId}/pause")
+    public ResponseEntity<FeedbackRegradeProgressDto> pause(@PathVariable("jobId") Long jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(feedbackRegradeService.pause(jobId));
+    }
+
+    /**
+     * POST /api/v1/feedback-regrade-jobs/{jobId}/resume
+     * Restarts the unfinished partitions of a paused or interrupted job.
+     */
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<FeedbackRegradeProgressDto> resume(@PathVariable("jobId") Long jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(feedbackRegradeService.resume(jobId));
+    }
+}
@@ -0,0 +1,76 @@
+package com.hellointerview.backend.controller;
+
+import com.hellointerview.backend.dto.FeedbackRequestStatusDto;
+import com.hellointerview.backend.exception.BadRequestException;
+import com.hellointerview.backend.service.PracticeFeedbackService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Feedback submit endpoint answered on the request thread. Replaced by
+ * {@link CancellablePracticeFeedbackSubmitController} when {@code ai.llm.feedback.async.cancel-on-disconnect} is on.
+ */
+@RestController
+@RequestMapping("/api/v1/practices")
+@ConditionalOnProperty(prefix = "ai.llm.feedback.async", name = "cancel-on-disconnect", havingValue = "false",
+        matchIfMissing = true)
+public class PracticeFeedbackSubmitController {
+
+    private static final String PREFER_RESPOND_ASYNC = "respond-async";
+
+    private final PracticeFeedbackService practiceFeedbackService;
+
+    public PracticeFeedbackSubmitController(PracticeFeedbackService practiceFeedbackService) {
+        this.practiceFeedbackService = practiceFeedbackService;
+    }
+
+    /**
+     * POST /api/v1/practices/{practiceId}/feedbacks
+     * Generates feedback synchronously, or returns 202 with a job handle when async mode is enabled and the client
+     * sends {@code Prefer: respond-async}.
+     */
+    @PostMapping("/{practiceId}/feedbacks")
+    public ResponseEntity<?> submitFeedback(
+            @PathVariable("practiceId") Long practiceId,
+            @RequestHeader(value = "Idempotency-Key", required = true) String idempotencyKey,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @RequestBody(required = false) Map<String, Object> body
+    ) {
+        rejectBody(body);
+        if (prefersAsync(prefer) && practiceFeedbackService.isAsyncEnabled()) {
+            return submitAsync(practiceFeedbackService, practiceId, idempotencyKey);
+        }
+        return ResponseEntity.ok(practiceFeedbackService.submitFeedback(practiceId, idempotencyKey));
+    }
+
+    static void rejectBody(Map<String, Object> body) {
+        if (body != null && !body.isEmpty()) {
+            throw new BadRequestException("Request body must be empty for this endpoint");
+        }
+    }
+
+    static boolean prefersAsync(String prefer) {
+        return prefer != null && prefer.toLowerCase(Locale.ROOT).contains(PREFER_RESPOND_ASYNC);
+    }
+
+    static ResponseEntity<FeedbackRequestStatusDto> submitAsync(PracticeFeedbackService practiceFeedbackService,
+                                                                Long practiceId,
+                                                                String idempotencyKey) {
+        FeedbackRequestStatusDto status = practiceFeedbackService.submitFeedbackAsync(practiceId, idempotencyKey);
+        URI location = URI.create("/api/v1/practices/" + practiceId
+                + "/feedback-requests/" + status.practiceFeedbackRequestId());
+        HttpStatus httpStatus = status.isTerminal() ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(httpStatus).location(location).body(status);
+    }
+}
@@ -1,15 +1,18 @@
 package com.hellointerview.backend.controller;
 
-import com.hellointerview.backend.dto.FeedbackSubmitResponseDto;
+import com.hellointerview.backend.dto.FeedbackRequestStatusDto;
 import com.hellointerview.backend.exception.BadRequestException;
 import com.hellointerview.backend.service.PracticeFeedbackService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -23,8 +26,13 @@ public class PracticesController {
         this.practiceFeedbackService = practiceFeedbackService;
     }
 
-    @PostMapping("/{practiceId}/feedbacks")
-    public ResponseEntity<FeedbackSubmitResponseDto> submitFeedback(
+    /**
+     * POST /api/v1/practices/{practiceId}/feedbacks with {@code Accept: text/event-stream}
+     * Streams {@code token} events as feedback is generated, then {@code completed} with the regular submit response
+     * (or {@code error}). Errors before generation starts are returned as regular error responses.
+     */
+    @PostMapping(value = "/{practiceId}/feedbacks", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter submitFeedbackStreaming(
             @PathVariable("practiceId") Long practiceId,
             @RequestHeader(value = "Idempotency-Key", required = true) String idempotencyKey,
             @RequestBody(required = false) Map<String, Object> body
@@ -32,7 +40,30 @@ public class PracticesController {
         if (body != null && !body.isEmpty()) {
             throw new BadRequestException("Request body must be empty for this endpoint");
         }
-        FeedbackSubmitResponseDto dto = practiceFeedbackService.submitFeedback(practiceId, idempotencyKey);
-        return ResponseEntity.ok(dto);
+        return practiceFeedbackService.submitFeedbackStreaming(practiceId, idempotencyKey);
+    }
+
+    /**
+     * GET /api/v1/practices/{practiceId}/feedback-requests/{requestId}
+     * Polls the state of a feedback job; {@code feedback} is present once status is COMPLETED.
+     */
+    @GetMapping("/{practiceId}/feedback-requests/{requestId}")
+    public ResponseEntity<FeedbackRequestStatusDto> getFeedbackRequestStatus(
+            @PathVariable("practiceId") Long practiceId,
+            @PathVariable("requestId") Long requestId
+    ) {
+        return ResponseEntity.ok(practiceFeedbackService.getFeedbackRequestStatus(practiceId, requestId));
+    }
+
+    /**
+     * GET /api/v1/practices/{practiceId}/feedback-requests/{requestId}/events
+     * Server-sent events stream of {@code status} events; closes after the terminal status.
+     */
+    @GetMapping(value = "/{practiceId}/feedback-requests/{requestId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFeedbackRequestEvents(
+            @PathVariable("practiceId") Long practiceId,
+            @PathVariable("requestId") Long requestId
+    ) {
+        return practiceFeedbackService.subscribeFeedbackRequestEvents(practiceId, requestId);
     }
 }
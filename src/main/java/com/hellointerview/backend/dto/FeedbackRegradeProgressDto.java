@@ -0,0 +1,41 @@
+package com.hellointerview.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.List;
+
+public record FeedbackRegradeProgressDto(
+        @JsonProperty("regrade_job_id") Long regradeJobId,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @JsonProperty("label") String label,
+        @JsonProperty("status") String status,
+        @JsonProperty("provider") String provider,
+        @JsonProperty("model") String model,
+        @JsonProperty("prompt_version") String promptVersion,
+        @JsonProperty("max_qps") double maxQps,
+        @JsonProperty("total_items") long totalItems,
+        @JsonProperty("processed") long processed,
+        @JsonProperty("succeeded") long succeeded,
+        @JsonProperty("failed") long failed,
+        @JsonProperty("skipped") long skipped,
+        @JsonProperty("active_workers") int activeWorkers,
+        @JsonProperty("items_per_second") double itemsPerSecond,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @JsonProperty("eta_seconds") Long etaSeconds,
+        @JsonProperty("created_at") Instant createdAt,
+        @JsonProperty("updated_at") Instant updatedAt,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @JsonProperty("completed_at") Instant completedAt,
+        @JsonProperty("partitions") List<Partition> partitions
+) {
+
+    public record Partition(
+            @JsonProperty("partition") int partition,
+            @JsonProperty("last_feedback_id") long lastFeedbackId,
+            @JsonProperty("processed") long processed,
+            @JsonProperty("done") boolean done
+    ) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.hellointerview.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Optional overrides for a new re-grade job; omitted fields fall back to {@code ai.llm.feedback.regrade}.
+ */
+public record FeedbackRegradeStartRequest(
+        @JsonProperty("label") String label,
+        @JsonProperty("partitions") Integer partitions,
+        @JsonProperty("chunk_size") Integer chunkSize,
+        @JsonProperty("max_qps") Double maxQps
+) {
+}
@@ -0,0 +1,22 @@
+package com.hellointerview.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+
+public record FeedbackRequestStatusDto(
+        @JsonProperty("practice_feedback_request_id") Long practiceFeedbackRequestId,
+        @JsonProperty("practice_id") Long practiceId,
+        @JsonProperty("status") String status,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @JsonProperty("error_code") String errorCode,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @JsonProperty("feedback") FeedbackPayloadDto feedback,
+        @JsonProperty("updated_at") Instant updatedAt
+) {
+
+    public boolean isTerminal() {
+        return !"CLAIMED".equals(status);
+    }
+}
@@ -0,0 +1,58 @@
+package com.hellointerview.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "feedback_regrade_checkpoint")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackRegradeCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "regrade_checkpoint_id")
+    private Long regradeCheckpointId;
+
+    @Column(name = "regrade_job_id", nullable = false)
+    private Long regradeJobId;
+
+    @Column(name = "partition_no", nullable = false)
+    private Integer partitionNo;
+
+    @Column(name = "last_feedback_id", nullable = false)
+    @Builder.Default
+    private Long lastFeedbackId = 0L;
+
+    @Column(name = "processed", nullable = false)
+    @Builder.Default
+    private Long processed = 0L;
+
+    @Column(name = "succeeded", nullable = false)
+    @Builder.Default
+    private Long succeeded = 0L;
+
+    @Column(name = "failed", nullable = false)
+    @Builder.Default
+    private Long failed = 0L;
+
+    @Column(name = "skipped", nullable = false)
+    @Builder.Default
+    private Long skipped = 0L;
+
+    @Column(name = "done", nullable = false)
+    @Builder.Default
+    private Boolean done = false;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,64 @@
+package com.hellointerview.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "feedback_regrade_job")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackRegradeJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "regrade_job_id")
+    private Long regradeJobId;
+
+    @Column(name = "label", length = 128)
+    private String label;
+
+    @Column(name = "provider", nullable = false, length = 64)
+    private String provider;
+
+    @Column(name = "model", nullable = false, length = 128)
+    private String model;
+
+    @Column(name = "prompt_version", nullable = false, length = 32)
+    private String promptVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private FeedbackRegradeJobStatus status;
+
+    @Column(name = "partitions", nullable = false)
+    private Integer partitions;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "max_qps", nullable = false)
+    private Double maxQps;
+
+    @Column(name = "total_items", nullable = false)
+    private Long totalItems;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
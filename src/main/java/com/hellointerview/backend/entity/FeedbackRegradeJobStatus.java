@@ -0,0 +1,7 @@
+package com.hellointerview.backend.entity;
+
+public enum FeedbackRegradeJobStatus {
+    RUNNING,
+    PAUSED,
+    COMPLETED
+}
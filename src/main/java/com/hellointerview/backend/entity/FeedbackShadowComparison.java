@@ -0,0 +1,70 @@
+package com.hellointerview.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "feedback_shadow_comparison")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackShadowComparison {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "feedback_shadow_comparison_id")
+    private Long feedbackShadowComparisonId;
+
+    @Column(name = "practice_id", nullable = false)
+    private Long practiceId;
+
+    @Column(name = "practice_feedback_id")
+    private Long practiceFeedbackId;
+
+    @Column(name = "prompt_version", nullable = false, length = 32)
+    private String promptVersion;
+
+    @Column(name = "primary_provider", nullable = false, length = 64)
+    private String primaryProvider;
+
+    @Column(name = "primary_model", nullable = false)
+    private String primaryModel;
+
+    @Column(name = "primary_score", nullable = false)
+    private Double primaryScore;
+
+    @Column(name = "primary_latency_ms", nullable = false)
+    private Long primaryLatencyMs;
+
+    @Column(name = "shadow_provider", nullable = false, length = 64)
+    private String shadowProvider;
+
+    @Column(name = "shadow_model", nullable = false)
+    private String shadowModel;
+
+    @Column(name = "shadow_outcome", nullable = false, length = 20)
+    private String shadowOutcome;
+
+    @Column(name = "shadow_score")
+    private Double shadowScore;
+
+    @Column(name = "shadow_latency_ms", nullable = false)
+    private Long shadowLatencyMs;
+
+    @Column(name = "score_delta")
+    private Double scoreDelta;
+
+    @Column(name = "shadow_feedback_text", columnDefinition = "TEXT")
+    private String shadowFeedbackText;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,28 @@
+package com.hellointerview.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "llm_provider_cooldown")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LlmProviderCooldownEntry {
+
+    @Id
+    @Column(name = "provider", length = 64)
+    private String provider;
+
+    @Column(name = "cooldown_until", nullable = false)
+    private Instant cooldownUntil;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,53 @@
+package com.hellointerview.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "practice_feedback_regrade")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PracticeFeedbackRegrade {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "practice_feedback_regrade_id")
+    private Long practiceFeedbackRegradeId;
+
+    @Column(name = "regrade_job_id", nullable = false)
+    private Long regradeJobId;
+
+    @Column(name = "source_feedback_id", nullable = false)
+    private Long sourceFeedbackId;
+
+    @Column(name = "practice_id", nullable = false)
+    private Long practiceId;
+
+    @Column(name = "provider", nullable = false, length = 64)
+    private String provider;
+
+    @Column(name = "model", nullable = false, length = 128)
+    private String model;
+
+    @Column(name = "prompt_version", nullable = false, length = 32)
+    private String promptVersion;
+
+    @Column(name = "feedback_text", nullable = false, columnDefinition = "TEXT")
+    private String feedbackText;
+
+    @Column(name = "score", nullable = false)
+    private Double score;
+
+    @Column(name = "previous_score")
+    private Double previousScore;
+
+    @Column(name = "generated_at", nullable = false)
+    private Instant generatedAt;
+}
@@ -0,0 +1,12 @@
+package com.hellointerview.backend.exception;
+
+public class ClientDisconnectedException extends RuntimeException {
+
+    public ClientDisconnectedException(String message) {
+        super(message);
+    }
+
+    public ClientDisconnectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
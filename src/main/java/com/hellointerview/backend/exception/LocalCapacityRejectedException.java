@@ -1,7 +1,7 @@
 package com.hellointerview.backend.exception;
 
 /**
- * Thrown when Strategy B admission rejects a request before an LLM provider attempt (overload / local capacity).
+ * Thrown when local admission rejects or sheds a request before an LLM provider attempt (overload / local capacity).
  */
 public class LocalCapacityRejectedException extends RuntimeException {
 
@@ -0,0 +1,11 @@
+package com.hellointerview.backend.repository;
+
+import com.hellointerview.backend.entity.FeedbackRegradeCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface FeedbackRegradeCheckpointRepository extends JpaRepository<FeedbackRegradeCheckpoint, Long> {
+
+    List<FeedbackRegradeCheckpoint> findByRegradeJobIdOrderByPartitionNoAsc(Long regradeJobId);
+}
@@ -0,0 +1,7 @@
+package com.hellointerview.backend.repository;
+
+import com.hellointerview.backend.entity.FeedbackRegradeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface FeedbackRegradeJobRepository extends JpaRepository<FeedbackRegradeJob, Long> {
+}
@@ -0,0 +1,18 @@
+package com.hellointerview.backend.repository;
+
+import com.hellointerview.backend.entity.FeedbackResultCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface FeedbackResultCacheRepository extends JpaRepository<FeedbackResultCacheEntry, String> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from FeedbackResultCacheEntry e where e.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
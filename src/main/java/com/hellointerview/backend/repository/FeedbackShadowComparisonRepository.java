@@ -0,0 +1,7 @@
+package com.hellointerview.backend.repository;
+
+import com.hellointerview.backend.entity.FeedbackShadowComparison;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface FeedbackShadowComparisonRepository extends JpaRepository<FeedbackShadowComparison, Long> {
+}
@@ -0,0 +1,33 @@
+package com.hellointerview.backend.repository;
+
+import com.hellointerview.backend.entity.FeedbackSingleFlightLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface FeedbackSingleFlightLeaseRepository extends JpaRepository<FeedbackSingleFlightLease, String> {
+
+    /**
+     * Takes the lease on {@code digest} for {@code seconds} unless another holder's lease is still live; returns 1
+     * when {@code holder} now holds it. Times come from the database clock.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into feedback_single_flight_lease as l (digest, holder, expires_at)
+            values (:digest, :holder, localtimestamp + make_interval(secs => :seconds))
+            on conflict (digest) do update set
+                holder = excluded.holder,
+                expires_at = excluded.expires_at
+            where l.expires_at <= localtimestamp
+            """, nativeQuery = true)
+    int tryAcquire(@Param("digest") String digest, @Param("holder") String holder, @Param("seconds") double seconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from feedback_single_flight_lease where digest = :digest and holder = :holder",
+            nativeQuery = true)
+    int release(@Param("digest") String digest, @Param("holder") String holder);
+}
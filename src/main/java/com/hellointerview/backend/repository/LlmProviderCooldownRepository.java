@@ -0,0 +1,37 @@
+package com.hellointerview.backend.repository;
+
+import com.hellointerview.backend.entity.LlmProviderCooldownEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface LlmProviderCooldownRepository extends JpaRepository<LlmProviderCooldownEntry, String> {
+
+    /**
+     * Pushes the provider's cooldown out to at least {@code seconds} from now; an earlier end never shortens a later
+     * one set by another node. Times come from the database clock.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into llm_provider_cooldown as c (provider, cooldown_until, updated_at)
+            values (:provider, localtimestamp + make_interval(secs => :seconds), localtimestamp)
+            on conflict (provider) do update set
+                cooldown_until = greatest(c.cooldown_until, excluded.cooldown_until),
+                updated_at = localtimestamp
+            """, nativeQuery = true)
+    int extend(@Param("provider") String provider, @Param("seconds") double seconds);
+
+    /**
+     * Milliseconds left on the provider's cooldown by the database clock; zero or negative once it ended, null when
+     * the provider never cooled down.
+     */
+    @Query(value = """
+            select cast(extract(epoch from (cooldown_until - localtimestamp)) * 1000 as double precision)
+            from llm_provider_cooldown
+            where provider = :provider
+            """, nativeQuery = true)
+    Double remainingMillis(@Param("provider") String provider);
+}
@@ -1,8 +1,24 @@
 package com.hellointerview.backend.repository;
 
 import com.hellointerview.backend.entity.PracticeFeedbackHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface PracticeFeedbackHistoryRepository extends JpaRepository<PracticeFeedbackHistory, Long> {
-}
 
+    /**
+     * Next keyset page of one re-grade partition: rows after {@code afterId} whose id falls in {@code partition}
+     * modulo {@code partitions}, in id order, with practice, main and question loaded.
+     */
+    @Query("select f from PracticeFeedbackHistory f join fetch f.practice p join fetch p.practiceMainHistory "
+            + "join fetch p.question where f.practiceFeedbackId > :afterId "
+            + "and mod(f.practiceFeedbackId, :partitions) = :partition order by f.practiceFeedbackId")
+    List<PracticeFeedbackHistory> findRegradeChunk(@Param("afterId") Long afterId,
+                                                   @Param("partitions") int partitions,
+                                                   @Param("partition") int partition,
+                                                   Pageable page);
+}
@@ -0,0 +1,9 @@
+package com.hellointerview.backend.repository;
+
+import com.hellointerview.backend.entity.PracticeFeedbackRegrade;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PracticeFeedbackRegradeRepository extends JpaRepository<PracticeFeedbackRegrade, Long> {
+
+    boolean existsByRegradeJobIdAndSourceFeedbackId(Long regradeJobId, Long sourceFeedbackId);
+}
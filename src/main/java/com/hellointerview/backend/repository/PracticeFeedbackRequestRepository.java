@@ -2,10 +2,22 @@ package com.hellointerview.backend.repository;
 
 import com.hellointerview.backend.entity.PracticeFeedbackRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface PracticeFeedbackRequestRepository extends JpaRepository<PracticeFeedbackRequest, Long> {
 
     Optional<PracticeFeedbackRequest> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    @Query("select r from PracticeFeedbackRequest r join fetch r.practice left join fetch r.practiceFeedback "
+            + "where r.practiceFeedbackRequestId = :requestId")
+    Optional<PracticeFeedbackRequest> findWithPracticeAndFeedbackById(@Param("requestId") Long requestId);
+
+    /**
+     * Postgres {@code statement_timeout} for the rest of the current transaction only ({@code is_local = true}).
+     */
+    @Query(value = "select set_config('statement_timeout', :timeout, true)", nativeQuery = true)
+    String setLocalStatementTimeout(@Param("timeout") String timeout);
 }
@@ -3,5 +3,9 @@ package com.hellointerview.backend.repository;
 import com.hellointerview.backend.entity.PracticeTranscriptSegmentHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface PracticeTranscriptSegmentHistoryRepository extends JpaRepository<PracticeTranscriptSegmentHistory, Long> {
+
+    List<PracticeTranscriptSegmentHistory> findByPractice_PracticeIdOrderBySegmentOrderAsc(Long practiceId);
 }
@@ -0,0 +1,45 @@
+package com.hellointerview.backend.repository;
+
+import com.hellointerview.backend.entity.RateLimitBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    /**
+     * Refills the bucket by the time elapsed since its last update and takes one token if a whole one is available,
+     * in a single upsert so concurrent nodes never double-spend. All times come from the database clock. A new bucket
+     * starts full, so its first request is granted.
+     */
+    @Transactional
+    @Query(value = """
+            insert into rate_limit_bucket as b (bucket_key, tokens, granted, updated_at, expires_at)
+            values (:key, :capacity - 1, true, localtimestamp, localtimestamp + make_interval(secs => :ttlSeconds))
+            on conflict (bucket_key) do update set
+                tokens = least(:capacity, b.tokens + extract(epoch from (localtimestamp - b.updated_at)) * :rate)
+                    - case when least(:capacity, b.tokens + extract(epoch from (localtimestamp - b.updated_at)) * :rate)
+                        >= 1 then 1 else 0 end,
+                granted = least(:capacity, b.tokens + extract(epoch from (localtimestamp - b.updated_at)) * :rate) >= 1,
+                updated_at = localtimestamp,
+                expires_at = localtimestamp + make_interval(secs => :ttlSeconds)
+            returning tokens, granted
+            """, nativeQuery = true)
+    ConsumedToken tryConsume(@Param("key") String key,
+                             @Param("capacity") int capacity,
+                             @Param("rate") double tokensPerSecond,
+                             @Param("ttlSeconds") double ttlSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from rate_limit_bucket where expires_at < localtimestamp", nativeQuery = true)
+    int deleteExpired();
+
+    interface ConsumedToken {
+        Double getTokens();
+
+        Boolean getGranted();
+    }
+}
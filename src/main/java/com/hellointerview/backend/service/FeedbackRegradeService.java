@@ -0,0 +1,401 @@
+package com.hellointerview.backend.service;
+
+import com.hellointerview.backend.dto.FeedbackRegradeProgressDto;
+import com.hellointerview.backend.dto.FeedbackRegradeStartRequest;
+import com.hellointerview.backend.entity.FeedbackRegradeCheckpoint;
+import com.hellointerview.backend.entity.FeedbackRegradeJob;
+import com.hellointerview.backend.entity.FeedbackRegradeJobStatus;
+import com.hellointerview.backend.entity.PracticeFeedbackHistory;
+import com.hellointerview.backend.entity.PracticeHistory;
+import com.hellointerview.backend.entity.PracticeTranscriptSegmentHistory;
+import com.hellointerview.backend.exception.BadRequestException;
+import com.hellointerview.backend.exception.ConflictException;
+import com.hellointerview.backend.exception.GradeMappingException;
+import com.hellointerview.backend.exception.LlmTimeoutException;
+import com.hellointerview.backend.repository.PracticeTranscriptSegmentHistoryRepository;
+import com.hellointerview.backend.service.feedback.AdmissionEnterOutcome;
+import com.hellointerview.backend.service.feedback.AdmissionSignal;
+import com.hellointerview.backend.service.feedback.DiagramToTextConverter;
+import com.hellointerview.backend.service.feedback.FeedbackPriority;
+import com.hellointerview.backend.service.feedback.FeedbackPromptBudgeter;
+import com.hellointerview.backend.service.feedback.FeedbackRegradeProperties;
+import com.hellointerview.backend.service.feedback.FeedbackRegradeStore;
+import com.hellointerview.backend.service.feedback.FeedbackRegradeStore.ItemOutcome;
+import com.hellointerview.backend.service.feedback.FeedbackStrategyBAdmissionGate;
+import com.hellointerview.backend.service.feedback.LlmFeedbackClient;
+import com.hellointerview.backend.service.feedback.LlmFeedbackInput;
+import com.hellointerview.backend.service.feedback.LlmFeedbackResult;
+import com.hellointerview.backend.service.feedback.LlmProviderException;
+import com.hellointerview.backend.service.feedback.LlmQpsThrottle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-grades archived feedback in {@code practice_feedback_history} with the current provider, model and prompt, and
+ * writes the results to {@code practice_feedback_regrade}. Each job runs one worker per partition; workers page
+ * through their partition by feedback id, share one {@link LlmQpsThrottle}, and enter admission as
+ * {@link FeedbackPriority#BACKGROUND}. Progress is checkpointed per item, so a paused or interrupted job resumes where
+ * it stopped. A transient provider failure stops its partition before the checkpoint, leaving the job {@code PAUSED}
+ * for a later resume. One job runs at a time per node.
+ */
+@Service
+public class FeedbackRegradeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackRegradeService.class);
+
+    private static final String METRIC_ITEMS_TOTAL = "feedback_regrade_items_total";
+    private static final String METRIC_ITEM_DURATION_MS = "feedback_regrade_item_duration_ms";
+    private static final String METRIC_ACTIVE_WORKERS = "feedback_regrade_active_workers";
+    private static final String THREAD_NAME_PREFIX = "feedback-regrade-";
+
+    private final FeedbackRegradeProperties properties;
+    private final FeedbackRegradeStore store;
+    private final PracticeTranscriptSegmentHistoryRepository transcriptHistoryRepository;
+    private final LlmFeedbackClient llmFeedbackClient;
+    private final FeedbackStrategyBAdmissionGate admissionGate;
+    private final FeedbackPromptBudgeter promptBudgeter;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final Map<Long, Run> runs = new ConcurrentHashMap<>();
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+
+    public FeedbackRegradeService(FeedbackRegradeProperties properties,
+                                  FeedbackRegradeStore store,
+                                  PracticeTranscriptSegmentHistoryRepository transcriptHistoryRepository,
+                                  LlmFeedbackClient llmFeedbackClient,
+                                  FeedbackStrategyBAdmissionGate admissionGate,
+                                  FeedbackPromptBudgeter promptBudgeter,
+                                  MeterRegistry meterRegistry,
+                                  Environment environment) {
+        this.properties = properties;
+        this.store = store;
+        this.transcriptHistoryRepository = transcriptHistoryRepository;
+        this.llmFeedbackClient = llmFeedbackClient;
+        this.admissionGate = admissionGate;
+        this.promptBudgeter = promptBudgeter;
+        this.meterRegistry = meterRegistry;
+        this.executor = Executors.newFixedThreadPool(properties.maxPartitions(), threadFactory(environment));
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_ACTIVE_WORKERS, activeWorkers, AtomicInteger::get).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Start and resume are serialized so the active-run check and the launch that registers the run cannot
+     * interleave across callers.
+     */
+    public synchronized FeedbackRegradeProgressDto start(FeedbackRegradeStartRequest request) {
+        requireEnabled();
+        FeedbackRegradeStartRequest overrides = request == null
+                ? new FeedbackRegradeStartRequest(null, null, null, null)
+                : request;
+        int partitions = Objects.requireNonNullElse(overrides.partitions(), properties.partitions());
+        int chunkSize = Objects.requireNonNullElse(overrides.chunkSize(), properties.chunkSize());
+        double maxQps = Objects.requireNonNullElse(overrides.maxQps(), properties.maxQps());
+        if (partitions < 1 || partitions > properties.maxPartitions()) {
+            throw new BadRequestException("partitions must be between 1 and " + properties.maxPartitions());
+        }
+        if (chunkSize < 1 || chunkSize > 1_000) {
+            throw new BadRequestException("chunk_size must be between 1 and 1000");
+        }
+        if (!(maxQps > 0) || maxQps > properties.maxQpsCeiling()) {
+            throw new BadRequestException("max_qps must be above 0 and at most " + properties.maxQpsCeiling());
+        }
+        requireNoActiveRun();
+        FeedbackRegradeJob job = store.createJob(overrides.label(), llmFeedbackClient.admissionWorkloadKey(),
+                partitions, chunkSize, maxQps);
+        launch(job);
+        return progress(job.getRegradeJobId());
+    }
+
+    public synchronized FeedbackRegradeProgressDto resume(long jobId) {
+        requireEnabled();
+        FeedbackRegradeJob job = store.getJob(jobId);
+        if (job.getStatus() == FeedbackRegradeJobStatus.COMPLETED) {
+            throw new ConflictException("Regrade job " + jobId + " is already completed");
+        }
+        requireNoActiveRun();
+        launch(store.markRunning(jobId));
+        return progress(jobId);
+    }
+
+    /**
+     * Asks the job's workers to stop after their current item; the job turns {@code PAUSED} once they have.
+     */
+    public FeedbackRegradeProgressDto pause(long jobId) {
+        store.getJob(jobId);
+        Run run = runs.get(jobId);
+        if (run != null) {
+            run.stopRequested().set(true);
+        }
+        return progress(jobId);
+    }
+
+    public FeedbackRegradeProgressDto progress(long jobId) {
+        FeedbackRegradeJob job = store.getJob(jobId);
+        List<FeedbackRegradeCheckpoint> checkpoints = store.checkpoints(jobId);
+        long processed = 0;
+        long succeeded = 0;
+        long failed = 0;
+        long skipped = 0;
+        for (FeedbackRegradeCheckpoint checkpoint : checkpoints) {
+            processed += checkpoint.getProcessed();
+            succeeded += checkpoint.getSucceeded();
+            failed += checkpoint.getFailed();
+            skipped += checkpoint.getSkipped();
+        }
+        Run run = runs.get(jobId);
+        double itemsPerSecond = run == null ? 0.0 : run.itemsPerSecond();
+        long remaining = Math.max(0L, job.getTotalItems() - processed);
+        Long etaSeconds = itemsPerSecond > 0 ? (long) Math.ceil(remaining / itemsPerSecond) : null;
+        return new FeedbackRegradeProgressDto(
+                job.getRegradeJobId(),
+                job.getLabel(),
+                job.getStatus().name(),
+                job.getProvider(),
+                job.getModel(),
+                job.getPromptVersion(),
+                job.getMaxQps(),
+                job.getTotalItems(),
+                processed,
+                succeeded,
+                failed,
+                skipped,
+                run == null ? 0 : run.workers().get(),
+                itemsPerSecond,
+                etaSeconds,
+                job.getCreatedAt(),
+                job.getUpdatedAt(),
+                job.getCompletedAt(),
+                checkpoints.stream()
+                        .map(c -> new FeedbackRegradeProgressDto.Partition(
+                                c.getPartitionNo(), c.getLastFeedbackId(), c.getProcessed(), c.getDone()))
+                        .toList()
+        );
+    }
+
+    private void launch(FeedbackRegradeJob job) {
+        List<FeedbackRegradeCheckpoint> open = store.checkpoints(job.getRegradeJobId()).stream()
+                .filter(checkpoint -> !checkpoint.getDone())
+                .toList();
+        Run run = new Run(new LlmQpsThrottle(job.getMaxQps()), new AtomicBoolean(), new AtomicInteger(open.size()),
+                new AtomicLong(), System.nanoTime());
+        runs.put(job.getRegradeJobId(), run);
+        if (open.isEmpty()) {
+            finish(job.getRegradeJobId());
+            return;
+        }
+        logger.info("Starting regrade job {} with {} open partitions at {} qps",
+                job.getRegradeJobId(), open.size(), job.getMaxQps());
+        for (FeedbackRegradeCheckpoint checkpoint : open) {
+            executor.execute(() -> runPartition(job, checkpoint, run));
+        }
+    }
+
+    private void runPartition(FeedbackRegradeJob job, FeedbackRegradeCheckpoint checkpoint, Run run) {
+        activeWorkers.incrementAndGet();
+        try {
+            FeedbackRegradeCheckpoint current = checkpoint;
+            while (!run.stopRequested().get()) {
+                List<PracticeFeedbackHistory> chunk = store.nextChunk(job, current);
+                if (chunk.isEmpty()) {
+                    store.markPartitionDone(current.getRegradeCheckpointId());
+                    return;
+                }
+                for (PracticeFeedbackHistory source : chunk) {
+                    if (run.stopRequested().get()) {
+                        return;
+                    }
+                    ItemResult item = regrade(source, run);
+                    if (item == null) {
+                        return;
+                    }
+                    current = store.recordItem(job, current.getRegradeCheckpointId(), source, item.outcome(),
+                            item.result());
+                    run.processed().incrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Regrade job {} partition {} stopped: {}",
+                    job.getRegradeJobId(), checkpoint.getPartitionNo(), e.getMessage(), e);
+        } finally {
+            activeWorkers.decrementAndGet();
+            if (run.workers().decrementAndGet() == 0) {
+                finish(job.getRegradeJobId());
+            }
+        }
+    }
+
+    /**
+     * Grades one archived submission. Returns {@code null} when the run was asked to stop while waiting for
+     * admission, or when the provider failed transiently (timeout, 5xx, open breaker); the item is then not
+     * checkpointed, the partition stops, and the item is picked up again on resume. Only terminal failures are
+     * recorded as {@code FAILED}.
+     */
+    private ItemResult regrade(PracticeFeedbackHistory source, Run run) throws InterruptedException {
+        LlmFeedbackInput input;
+        try {
+            input = buildInput(source);
+        } catch (BadRequestException e) {
+            recordItem(ItemOutcome.SKIPPED, 0L);
+            return new ItemResult(ItemOutcome.SKIPPED, null);
+        }
+        Long userId = source.getPractice().getPracticeMainHistory().getUserId();
+        run.throttle().acquire();
+        AdmissionEnterOutcome admission = FeedbackPriority.BACKGROUND.call(
+                () -> admissionGate.tryEnter(llmFeedbackClient, userId));
+        while (!admission.mayProceed()) {
+            if (run.stopRequested().get()) {
+                return null;
+            }
+            TimeUnit.MILLISECONDS.sleep(properties.admissionBackoff().toMillis());
+            admission = FeedbackPriority.BACKGROUND.call(() -> admissionGate.tryEnter(llmFeedbackClient, userId));
+        }
+        long startNanos = System.nanoTime();
+        AdmissionSignal signal = AdmissionSignal.IGNORE;
+        try {
+            LlmFeedbackResult result = FeedbackPriority.BACKGROUND.call(() -> llmFeedbackClient.generate(input));
+            signal = AdmissionSignal.SUCCESS;
+            recordItem(ItemOutcome.SUCCEEDED, System.nanoTime() - startNanos);
+            return new ItemResult(ItemOutcome.SUCCEEDED, result);
+        } catch (LlmProviderException e) {
+            if (e.isTransientFailure()) {
+                signal = AdmissionSignal.OVERLOAD;
+                logger.warn("Regrade of feedback {} failed transiently, pausing partition: {}",
+                        source.getPracticeFeedbackId(), e.getMessage());
+                return null;
+            }
+            logger.warn("Regrade of feedback {} failed: {}", source.getPracticeFeedbackId(), e.getMessage());
+        } catch (LlmTimeoutException e) {
+            signal = AdmissionSignal.OVERLOAD;
+            logger.warn("Regrade of feedback {} timed out, pausing partition: {}",
+                    source.getPracticeFeedbackId(), e.getMessage());
+            return null;
+        } catch (GradeMappingException e) {
+            logger.warn("Regrade of feedback {} returned an unusable grade: {}",
+                    source.getPracticeFeedbackId(), e.getMessage());
+        } finally {
+            admissionGate.leave(admission, Duration.ofNanos(System.nanoTime() - startNanos), signal);
+        }
+        recordItem(ItemOutcome.FAILED, System.nanoTime() - startNanos);
+        return new ItemResult(ItemOutcome.FAILED, null);
+    }
+
+    private LlmFeedbackInput buildInput(PracticeFeedbackHistory source) {
+        PracticeHistory practice = source.getPractice();
+        String sectionKey = "section_" + practice.getQuestion().getWhiteboardSection();
+        Map<String, Object> sectionMap = PracticeFeedbackService.extractSectionMap(
+                practice.getPracticeMainHistory().getWhiteboardContent(), sectionKey);
+        if (!(sectionMap.get("elements") instanceof List<?> elements) || elements.isEmpty()) {
+            throw new BadRequestException("Archived whiteboard is empty for section " + sectionKey);
+        }
+        List<PracticeTranscriptSegmentHistory> segments =
+                transcriptHistoryRepository.findByPractice_PracticeIdOrderBySegmentOrderAsc(practice.getPracticeId());
+        return promptBudgeter.fit(new LlmFeedbackInput(
+                practice.getPracticeId(),
+                practice.getQuestion().getType().getDisplayName(),
+                practice.getQuestion().getDescription(),
+                DiagramToTextConverter.diagramToText(sectionMap),
+                TranscriptAggregation.buildCombinedHistoryTranscript(segments)
+        ), llmFeedbackClient);
+    }
+
+    private void finish(long jobId) {
+        try {
+            FeedbackRegradeJob job = store.finishRun(jobId);
+            logger.info("Regrade job {} is {}", jobId, job.getStatus());
+        } finally {
+            runs.remove(jobId);
+        }
+    }
+
+    private void requireEnabled() {
+        if (!properties.enabled()) {
+            throw new ConflictException("Feedback regrade is disabled (ai.llm.feedback.regrade.enabled)");
+        }
+    }
+
+    private void requireNoActiveRun() {
+        if (!runs.isEmpty()) {
+            throw new ConflictException("Regrade job " + runs.keySet().iterator().next() + " is already running");
+        }
+    }
+
+    private void recordItem(ItemOutcome outcome, long durationNanos) {
+        if (meterRegistry == null) {
+            return;
+        }
+        String tag = outcome.name().toLowerCase(Locale.ROOT);
+        Counter.builder(METRIC_ITEMS_TOTAL).tag("outcome", tag).register(meterRegistry).increment();
+        if (outcome != ItemOutcome.SKIPPED) {
+            DistributionSummary.builder(METRIC_ITEM_DURATION_MS)
+                    .baseUnit("milliseconds")
+                    .tag("outcome", tag)
+                    .register(meterRegistry)
+                    .record(durationNanos / 1_000_000.0);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runs.values().forEach(run -> run.stopRequested().set(true));
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private record ItemResult(ItemOutcome outcome, LlmFeedbackResult result) {
+    }
+
+    /**
+     * In-memory state of a job's current run on this node; throughput covers this run only.
+     */
+    private record Run(LlmQpsThrottle throttle,
+                       AtomicBoolean stopRequested,
+                       AtomicInteger workers,
+                       AtomicLong processed,
+                       long startedAtNanos) {
+
+        double itemsPerSecond() {
+            double elapsedSeconds = (System.nanoTime() - startedAtNanos) / 1_000_000_000.0;
+            return elapsedSeconds > 0 ? processed.get() / elapsedSeconds : 0.0;
+        }
+    }
+
+    private static ThreadFactory threadFactory(Environment environment) {
+        if (environment != null && Threading.VIRTUAL.isActive(environment)) {
+            return Thread.ofVirtual().name(THREAD_NAME_PREFIX, 1).factory();
+        }
+        return Thread.ofPlatform().name(THREAD_NAME_PREFIX, 1).daemon(true).factory();
+    }
+}
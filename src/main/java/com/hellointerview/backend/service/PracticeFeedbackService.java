@@ -2,12 +2,15 @@ package com.hellointerview.backend.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hellointerview.backend.dto.FeedbackRequestStatusDto;
 import com.hellointerview.backend.dto.FeedbackSubmitResponseDto;
 import com.hellointerview.backend.entity.Practice;
 import com.hellointerview.backend.entity.PracticeFeedback;
+import com.hellointerview.backend.entity.PracticeFeedbackRequestStatus;
 import com.hellointerview.backend.entity.PracticeMain;
 import com.hellointerview.backend.entity.PracticeTranscriptSegment;
 import com.hellointerview.backend.exception.BadRequestException;
+import com.hellointerview.backend.exception.ClientDisconnectedException;
 import com.hellointerview.backend.exception.ConflictException;
 import com.hellointerview.backend.exception.FeedbackInProgressException;
 import com.hellointerview.backend.exception.GradeMappingException;
@@ -18,27 +21,53 @@ import com.hellointerview.backend.repository.PracticeRepository;
 import com.hellointerview.backend.repository.PracticeTranscriptSegmentRepository;
 import com.hellointerview.backend.service.feedback.DiagramToTextConverter;
 import com.hellointerview.backend.service.feedback.AdmissionEnterOutcome;
+import com.hellointerview.backend.service.feedback.AdmissionSignal;
+import com.hellointerview.backend.service.feedback.FeedbackAsyncProperties;
+import com.hellointerview.backend.service.feedback.FeedbackCancellation;
 import com.hellointerview.backend.service.feedback.FeedbackClaimResult;
 import com.hellointerview.backend.service.feedback.FeedbackIdempotencyCoordinator;
+import com.hellointerview.backend.service.feedback.FeedbackJobEventPublisher;
+import com.hellointerview.backend.service.feedback.FeedbackJobExecutor;
+import com.hellointerview.backend.service.feedback.FeedbackPromptBudgeter;
 import com.hellointerview.backend.service.feedback.FeedbackStrategyBAdmissionGate;
 import com.hellointerview.backend.service.feedback.FeedbackInputFingerprint;
 import com.hellointerview.backend.service.feedback.FeedbackReliabilityMetrics;
+import com.hellointerview.backend.service.feedback.FeedbackResultCache;
+import com.hellointerview.backend.service.feedback.FeedbackResultCacheKey;
+import com.hellointerview.backend.service.feedback.FeedbackShadowEvaluator;
+import com.hellointerview.backend.service.feedback.FeedbackSingleFlight;
 import com.hellointerview.backend.service.feedback.FeedbackSubmitResponseMapper;
+import com.hellointerview.backend.service.feedback.FeedbackTokenStream;
 import com.hellointerview.backend.service.feedback.LlmFeedbackClient;
 import com.hellointerview.backend.service.feedback.LlmFeedbackInput;
 import com.hellointerview.backend.service.feedback.LlmFeedbackResult;
 import com.hellointerview.backend.service.feedback.LlmProviderException;
+import com.hellointerview.backend.service.feedback.LlmTokenSink;
+import com.hellointerview.backend.service.feedback.RequestDeadline;
+import com.hellointerview.backend.service.feedback.RequestDeadlineResolver;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class PracticeFeedbackService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PracticeFeedbackService.class);
+
     private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
 
     private final PracticeRepository practiceRepository;
@@ -48,6 +77,14 @@ public class PracticeFeedbackService {
     private final ObjectMapper objectMapper;
     private final FeedbackStrategyBAdmissionGate strategyBAdmissionGate;
     private final FeedbackReliabilityMetrics reliabilityMetrics;
+    private final FeedbackJobExecutor jobExecutor;
+    private final FeedbackJobEventPublisher jobEventPublisher;
+    private final FeedbackAsyncProperties asyncProperties;
+    private final FeedbackResultCache resultCache;
+    private final FeedbackSingleFlight singleFlight;
+    private final RequestDeadlineResolver deadlineResolver;
+    private final FeedbackPromptBudgeter promptBudgeter;
+    private final FeedbackShadowEvaluator shadowEvaluator;
 
     public PracticeFeedbackService(PracticeRepository practiceRepository,
                                    PracticeTranscriptSegmentRepository transcriptSegmentRepository,
@@ -55,7 +92,15 @@ public class PracticeFeedbackService {
                                    LlmFeedbackClient llmFeedbackClient,
                                    ObjectMapper objectMapper,
                                    FeedbackStrategyBAdmissionGate strategyBAdmissionGate,
-                                   MeterRegistry meterRegistry) {
+                                   MeterRegistry meterRegistry,
+                                   FeedbackJobExecutor jobExecutor,
+                                   FeedbackJobEventPublisher jobEventPublisher,
+                                   FeedbackAsyncProperties asyncProperties,
+                                   FeedbackResultCache resultCache,
+                                   FeedbackSingleFlight singleFlight,
+                                   RequestDeadlineResolver deadlineResolver,
+                                   FeedbackPromptBudgeter promptBudgeter,
+                                   FeedbackShadowEvaluator shadowEvaluator) {
         this.practiceRepository = practiceRepository;
         this.transcriptSegmentRepository = transcriptSegmentRepository;
         this.idempotencyCoordinator = idempotencyCoordinator;
@@ -63,14 +108,216 @@ public class PracticeFeedbackService {
         this.objectMapper = objectMapper;
         this.strategyBAdmissionGate = strategyBAdmissionGate;
         this.reliabilityMetrics = FeedbackReliabilityMetrics.fromRegistry(meterRegistry);
+        this.jobExecutor = jobExecutor;
+        this.jobEventPublisher = jobEventPublisher;
+        this.asyncProperties = asyncProperties;
+        this.resultCache = resultCache;
+        this.singleFlight = singleFlight;
+        this.deadlineResolver = deadlineResolver;
+        this.promptBudgeter = promptBudgeter;
+        this.shadowEvaluator = shadowEvaluator;
+    }
+
+    public boolean isAsyncEnabled() {
+        return asyncProperties.enabled();
     }
 
     /**
      * Not {@code @Transactional}: claim, LLM, and finalize use separate transactions in
-     * {@link FeedbackIdempotencyCoordinator} so the claim commits before external I/O.
+     * {@link FeedbackIdempotencyCoordinator} so the claim commits before external I/O. Everything runs under one
+     * {@link RequestDeadline}.
      */
     public FeedbackSubmitResponseDto submitFeedback(Long practiceId, String idempotencyKeyHeader) {
+        return deadlineResolver.newDeadline().call(() -> submitFeedbackWithinDeadline(practiceId, idempotencyKeyHeader));
+    }
+
+    private FeedbackSubmitResponseDto submitFeedbackWithinDeadline(Long practiceId, String idempotencyKeyHeader) {
+        long requestStartNanos = System.nanoTime();
+        PreparedFeedback prepared = prepare(practiceId, idempotencyKeyHeader);
+        FeedbackClaimResult claim = claim(prepared);
+        if (claim instanceof FeedbackClaimResult.Replay replay) {
+            reliabilityMetrics.recordRequestOutcome("success");
+            reliabilityMetrics.recordE2eLatency("success", durationSince(requestStartNanos));
+            return replay.dto();
+        }
+        rejectIfConflict(claim, requestStartNanos);
+        if (claim instanceof FeedbackClaimResult.InProgress) {
+            reliabilityMetrics.recordRequestOutcome("rejected");
+            reliabilityMetrics.recordE2eLatency("rejected", durationSince(requestStartNanos));
+            throw new FeedbackInProgressException(
+                    "Feedback generation is already in progress for this Idempotency-Key",
+                    5
+            );
+        }
+        long requestId = requireProceed(claim).requestId();
+        Optional<PracticeFeedback> cached = finalizeFromCache(requestId, prepared, requestStartNanos);
+        if (cached.isPresent()) {
+            return FeedbackSubmitResponseMapper.toDto(prepared.practice(), cached.get());
+        }
+        AdmissionEnterOutcome admission = enterAdmission(requestId, requestStartNanos, prepared.userId());
+        PracticeFeedback saved = generateAndFinalize(requestId, prepared, admission, requestStartNanos, null,
+                new FeedbackCancellation());
+        return FeedbackSubmitResponseMapper.toDto(prepared.practice(), saved);
+    }
+
+    /**
+     * Same contract as {@link #submitFeedback(Long, String)}, but the provider call and finalize run on an unbounded
+     * virtual thread from {@link FeedbackJobExecutor} behind an async servlet response, so only admission bounds
+     * them, as on the blocking path. When the client disconnects the provider call is cancelled and the claim is
+     * marked {@code client_disconnected}, so a retry with the same Idempotency-Key re-claims the row; when the
+     * deadline passes first it is cancelled and marked {@code llm_timeout}.
+     */
+    public DeferredResult<FeedbackSubmitResponseDto> submitFeedbackCancellable(Long practiceId,
+                                                                              String idempotencyKeyHeader) {
+        RequestDeadline deadline = deadlineResolver.newDeadline();
+        return deadline.call(() -> submitFeedbackCancellableWithinDeadline(practiceId, idempotencyKeyHeader, deadline));
+    }
+
+    private DeferredResult<FeedbackSubmitResponseDto> submitFeedbackCancellableWithinDeadline(
+            Long practiceId,
+            String idempotencyKeyHeader,
+            RequestDeadline deadline) {
         long requestStartNanos = System.nanoTime();
+        PreparedFeedback prepared = prepare(practiceId, idempotencyKeyHeader);
+        FeedbackClaimResult claim = claim(prepared);
+        Duration timeout = deadline.expiresAt().isPresent() ? deadline.remaining() : asyncProperties.sseTimeout();
+        DeferredResult<FeedbackSubmitResponseDto> response = new DeferredResult<>(Math.max(1L, timeout.toMillis()));
+        if (claim instanceof FeedbackClaimResult.Replay replay) {
+            reliabilityMetrics.recordRequestOutcome("success");
+            reliabilityMetrics.recordE2eLatency("success", durationSince(requestStartNanos));
+            response.setResult(replay.dto());
+            return response;
+        }
+        rejectIfConflict(claim, requestStartNanos);
+        if (claim instanceof FeedbackClaimResult.InProgress) {
+            reliabilityMetrics.recordRequestOutcome("rejected");
+            reliabilityMetrics.recordE2eLatency("rejected", durationSince(requestStartNanos));
+            throw new FeedbackInProgressException(
+                    "Feedback generation is already in progress for this Idempotency-Key",
+                    5
+            );
+        }
+        long requestId = requireProceed(claim).requestId();
+        Optional<PracticeFeedback> cached = finalizeFromCache(requestId, prepared, requestStartNanos);
+        if (cached.isPresent()) {
+            response.setResult(FeedbackSubmitResponseMapper.toDto(prepared.practice(), cached.get()));
+            return response;
+        }
+        AdmissionEnterOutcome admission = enterAdmission(requestId, requestStartNanos, prepared.userId());
+        FeedbackCancellation cancellation = new FeedbackCancellation();
+        response.onError(e -> cancellation.cancel());
+        response.onTimeout(() -> {
+            cancellation.timeOut();
+            response.setErrorResult(new LlmTimeoutException("Feedback request deadline passed"));
+        });
+        dispatchJob(jobExecutor::executeUnbounded, requestId, admission, requestStartNanos, () -> deadline.run(() ->
+                runCancellableJob(requestId, prepared, admission, requestStartNanos, cancellation, response)));
+        return response;
+    }
+
+    /**
+     * Claims on the request thread and hands the provider call plus finalize to {@link FeedbackJobExecutor}. A
+     * retry with the same Idempotency-Key while the job runs attaches to the existing handle instead of failing.
+     */
+    public FeedbackRequestStatusDto submitFeedbackAsync(Long practiceId, String idempotencyKeyHeader) {
+        RequestDeadline deadline = deadlineResolver.newDeadline();
+        return deadline.call(() -> submitFeedbackAsyncWithinDeadline(practiceId, idempotencyKeyHeader, deadline));
+    }
+
+    private FeedbackRequestStatusDto submitFeedbackAsyncWithinDeadline(Long practiceId,
+                                                                      String idempotencyKeyHeader,
+                                                                      RequestDeadline deadline) {
+        long requestStartNanos = System.nanoTime();
+        PreparedFeedback prepared = prepare(practiceId, idempotencyKeyHeader);
+        FeedbackClaimResult claim = claim(prepared);
+        if (claim instanceof FeedbackClaimResult.Replay replay) {
+            reliabilityMetrics.recordRequestOutcome("success");
+            reliabilityMetrics.recordE2eLatency("success", durationSince(requestStartNanos));
+            return getFeedbackRequestStatus(practiceId, replay.requestId());
+        }
+        rejectIfConflict(claim, requestStartNanos);
+        if (claim instanceof FeedbackClaimResult.InProgress inProgress) {
+            return getFeedbackRequestStatus(practiceId, inProgress.requestId());
+        }
+        long requestId = requireProceed(claim).requestId();
+        if (finalizeFromCache(requestId, prepared, requestStartNanos).isPresent()) {
+            return getFeedbackRequestStatus(practiceId, requestId);
+        }
+        AdmissionEnterOutcome admission = enterAdmission(requestId, requestStartNanos, prepared.userId());
+        dispatchJob(requestId, admission, requestStartNanos,
+                () -> deadline.run(() -> runFeedbackJob(requestId, prepared, admission, requestStartNanos)));
+        return new FeedbackRequestStatusDto(
+                requestId,
+                practiceId,
+                PracticeFeedbackRequestStatus.CLAIMED.name(),
+                null,
+                null,
+                Instant.now()
+        );
+    }
+
+    /**
+     * Streams {@code feedback_text} over SSE while the provider generates it. Claim and admission happen on the
+     * request thread, so validation, conflict and capacity errors still surface as regular error responses; the
+     * provider call and finalize run on {@link FeedbackJobExecutor} and push events to the returned emitter.
+     */
+    public SseEmitter submitFeedbackStreaming(Long practiceId, String idempotencyKeyHeader) {
+        RequestDeadline deadline = deadlineResolver.newDeadline();
+        return deadline.call(() -> submitFeedbackStreamingWithinDeadline(practiceId, idempotencyKeyHeader, deadline));
+    }
+
+    private SseEmitter submitFeedbackStreamingWithinDeadline(Long practiceId,
+                                                             String idempotencyKeyHeader,
+                                                             RequestDeadline deadline) {
+        long requestStartNanos = System.nanoTime();
+        PreparedFeedback prepared = prepare(practiceId, idempotencyKeyHeader);
+        FeedbackClaimResult claim = claim(prepared);
+        FeedbackTokenStream stream = new FeedbackTokenStream(
+                new SseEmitter(asyncProperties.sseTimeout().toMillis()),
+                new FeedbackCancellation()
+        );
+        if (claim instanceof FeedbackClaimResult.Replay replay) {
+            reliabilityMetrics.recordRequestOutcome("success");
+            reliabilityMetrics.recordE2eLatency("success", durationSince(requestStartNanos));
+            stream.onToken(replay.dto().feedback().feedbackText());
+            stream.completed(replay.dto());
+            return stream.emitter();
+        }
+        rejectIfConflict(claim, requestStartNanos);
+        if (claim instanceof FeedbackClaimResult.InProgress) {
+            reliabilityMetrics.recordRequestOutcome("rejected");
+            reliabilityMetrics.recordE2eLatency("rejected", durationSince(requestStartNanos));
+            throw new FeedbackInProgressException(
+                    "Feedback generation is already in progress for this Idempotency-Key",
+                    5
+            );
+        }
+        long requestId = requireProceed(claim).requestId();
+        Optional<PracticeFeedback> cached = finalizeFromCache(requestId, prepared, requestStartNanos);
+        if (cached.isPresent()) {
+            stream.onToken(cached.get().getFeedbackText());
+            stream.completed(FeedbackSubmitResponseMapper.toDto(prepared.practice(), cached.get()));
+            return stream.emitter();
+        }
+        AdmissionEnterOutcome admission = enterAdmission(requestId, requestStartNanos, prepared.userId());
+        dispatchJob(requestId, admission, requestStartNanos,
+                () -> deadline.run(() -> runStreamingJob(requestId, prepared, admission, requestStartNanos, stream)));
+        return stream.emitter();
+    }
+
+    public FeedbackRequestStatusDto getFeedbackRequestStatus(Long practiceId, Long requestId) {
+        return idempotencyCoordinator.findStatus(requestId)
+                .filter(status -> status.practiceId().equals(practiceId))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Feedback request with id " + requestId + " does not exist for practice " + practiceId));
+    }
+
+    public SseEmitter subscribeFeedbackRequestEvents(Long practiceId, Long requestId) {
+        getFeedbackRequestStatus(practiceId, requestId);
+        return jobEventPublisher.subscribe(requestId, () -> getFeedbackRequestStatus(practiceId, requestId));
+    }
+
+    private PreparedFeedback prepare(Long practiceId, String idempotencyKeyHeader) {
         String normalizedKey = normalizeIdempotencyKey(idempotencyKeyHeader);
         reliabilityMetrics.recordRequestOutcome("accepted");
 
@@ -78,7 +325,6 @@ public class PracticeFeedbackService {
                 .orElseThrow(() -> new ResourceNotFoundException("Practice with id " + practiceId + " does not exist"));
 
         PracticeMain main = practice.getPracticeMain();
-        Long userId = main.getUserId();
 
         List<PracticeTranscriptSegment> segments =
                 transcriptSegmentRepository.findByPractice_PracticeIdOrderBySegmentOrderAsc(practiceId);
@@ -92,6 +338,12 @@ public class PracticeFeedbackService {
 
         String sectionJson = writeSectionJson(sectionMap);
         String fingerprint = FeedbackInputFingerprint.compute(practiceId, sectionJson, segments);
+        String contentFingerprint = FeedbackInputFingerprint.computeContent(
+                practice.getQuestion().getType().getDisplayName(),
+                practice.getQuestion().getDescription(),
+                sectionJson,
+                segments
+        );
         String diagramText = DiagramToTextConverter.diagramToText(sectionMap);
         String combinedTranscript = TranscriptAggregation.buildCombinedTranscript(segments);
 
@@ -102,78 +354,348 @@ public class PracticeFeedbackService {
                 diagramText,
                 combinedTranscript
         );
+        return new PreparedFeedback(practice, main.getUserId(), normalizedKey, fingerprint, contentFingerprint, llmInput);
+    }
+
+    /**
+     * Fits the prepared input to the prompt budget of the provider about to run. Only called for a provider call, so
+     * replays, cache hits and single-flight followers record no prompt metrics.
+     */
+    private LlmFeedbackInput fittedInput(PreparedFeedback prepared) {
+        return promptBudgeter.fit(prepared.llmInput(), llmFeedbackClient);
+    }
 
+    private FeedbackClaimResult claim(PreparedFeedback prepared) {
         long claimStartNanos = System.nanoTime();
-        FeedbackClaimResult claim = idempotencyCoordinator.claimOrInsert(userId, normalizedKey, practice, fingerprint);
+        FeedbackClaimResult claim = idempotencyCoordinator.claimOrInsert(
+                prepared.userId(),
+                prepared.idempotencyKey(),
+                prepared.practice(),
+                prepared.fingerprint()
+        );
         reliabilityMetrics.recordStageLatency("claim", durationSince(claimStartNanos));
-        if (claim instanceof FeedbackClaimResult.Replay replay) {
-            reliabilityMetrics.recordRequestOutcome("success");
-            reliabilityMetrics.recordE2eLatency("success", durationSince(requestStartNanos));
-            return replay.dto();
-        }
+        return claim;
+    }
+
+    private void rejectIfConflict(FeedbackClaimResult claim, long requestStartNanos) {
         if (claim instanceof FeedbackClaimResult.Conflict conflict) {
             reliabilityMetrics.recordRequestOutcome("rejected");
             reliabilityMetrics.recordE2eLatency("rejected", durationSince(requestStartNanos));
             throw new ConflictException(conflict.message());
         }
-        if (claim instanceof FeedbackClaimResult.InProgress) {
-            reliabilityMetrics.recordRequestOutcome("rejected");
-            reliabilityMetrics.recordE2eLatency("rejected", durationSince(requestStartNanos));
-            throw new FeedbackInProgressException(
-                    "Feedback generation is already in progress for this Idempotency-Key",
-                    5
-            );
-        }
+    }
+
+    private static FeedbackClaimResult.Proceed requireProceed(FeedbackClaimResult claim) {
         if (!(claim instanceof FeedbackClaimResult.Proceed proceed)) {
             throw new IllegalStateException("Unexpected claim result: " + claim);
         }
+        return proceed;
+    }
 
-        AdmissionEnterOutcome admission = strategyBAdmissionGate.tryEnter(llmFeedbackClient);
+    private AdmissionEnterOutcome enterAdmission(long requestId, long requestStartNanos, Long userId) {
+        AdmissionEnterOutcome admission = strategyBAdmissionGate.tryEnter(llmFeedbackClient, userId);
         if (!admission.mayProceed()) {
-            idempotencyCoordinator.markRequestFailed(proceed.requestId(), "local_capacity_reject");
+            idempotencyCoordinator.markRequestFailed(requestId, "local_capacity_reject");
             reliabilityMetrics.recordRequestOutcome("rejected");
             reliabilityMetrics.recordE2eLatency("rejected", durationSince(requestStartNanos));
             throw new LocalCapacityRejectedException(
                     Objects.requireNonNullElse(admission.retryAfterSecondsIfRejected(), 1));
         }
+        return admission;
+    }
+
+    /**
+     * Runs the provider call and finalize, marking the claim failed on every error path. Always releases the
+     * admission slot acquired by {@link #enterAdmission(long, long, Long)}. Only the provider call is cancellable;
+     * once a result is in hand it is finalized even if the client has gone.
+     */
+    private PracticeFeedback generateAndFinalize(long requestId,
+                                                 PreparedFeedback prepared,
+                                                 AdmissionEnterOutcome admission,
+                                                 long requestStartNanos,
+                                                 LlmTokenSink tokenSink,
+                                                 FeedbackCancellation cancellation) {
+        long providerStartNanos = System.nanoTime();
+        FeedbackSingleFlight.Flight flight;
+        try {
+            flight = singleFlight.execute(resultCacheKey(prepared), () -> cancellation.call(
+                    () -> tokenSink == null
+                            ? llmFeedbackClient.generate(fittedInput(prepared))
+                            : llmFeedbackClient.generateStreaming(fittedInput(prepared), tokenSink)));
+        } catch (RuntimeException e) {
+            throw failProvider(requestId, admission, requestStartNanos, providerStartNanos, e);
+        }
+        if (!flight.leader() && tokenSink != null) {
+            tokenSink.onToken(flight.result().feedbackText());
+        }
+        return finalizeProvided(requestId, prepared, admission, requestStartNanos, providerStartNanos, flight);
+    }
+
+    /**
+     * Same as {@link #generateAndFinalize} without a token sink, but the provider call goes through
+     * {@link LlmFeedbackClient#generateAsync} so no thread waits on it; finalize then runs on an unbounded virtual
+     * thread under the caller's {@link RequestDeadline}. Only used when the client has a non-blocking transport.
+     */
+    private CompletableFuture<PracticeFeedback> generateAndFinalizeAsync(long requestId,
+                                                                        PreparedFeedback prepared,
+                                                                        AdmissionEnterOutcome admission,
+                                                                        long requestStartNanos,
+                                                                        FeedbackCancellation cancellation) {
+        RequestDeadline deadline = RequestDeadline.current().orElse(RequestDeadline.unbounded());
+        long providerStartNanos = System.nanoTime();
+        CompletableFuture<FeedbackSingleFlight.Flight> flight;
+        try {
+            flight = singleFlight.executeAsync(resultCacheKey(prepared), () -> cancellation.call(
+                    () -> llmFeedbackClient.generateAsync(fittedInput(prepared))));
+        } catch (RuntimeException e) {
+            flight = CompletableFuture.failedFuture(e);
+        }
+        return flight.handleAsync((provided, error) -> deadline.call(() -> {
+            if (error != null) {
+                throw failProvider(requestId, admission, requestStartNanos, providerStartNanos, unwrap(error));
+            }
+            return finalizeProvided(requestId, prepared, admission, requestStartNanos, providerStartNanos, provided);
+        }), jobExecutor::executeUnbounded);
+    }
+
+    /**
+     * Marks the claim failed for a provider call that did not produce a result and releases admission; returns
+     * {@code e} for the caller to throw.
+     */
+    private RuntimeException failProvider(long requestId,
+                                          AdmissionEnterOutcome admission,
+                                          long requestStartNanos,
+                                          long providerStartNanos,
+                                          RuntimeException e) {
+        Duration providerLatency = Duration.ZERO;
+        AdmissionSignal admissionSignal = AdmissionSignal.IGNORE;
+        try {
+            if (e instanceof LlmTimeoutException) {
+                providerLatency = durationSince(providerStartNanos);
+                admissionSignal = AdmissionSignal.OVERLOAD;
+                long finalizeStartNanos = System.nanoTime();
+                idempotencyCoordinator.markRequestFailed(requestId, "llm_timeout");
+                reliabilityMetrics.recordStageLatency("finalize", durationSince(finalizeStartNanos));
+                reliabilityMetrics.recordRequestOutcome("degraded");
+                reliabilityMetrics.recordE2eLatency("degraded", durationSince(requestStartNanos));
+            } else if (e instanceof LlmProviderException providerException) {
+                boolean transientFailure = providerException.isTransientFailure();
+                providerLatency = durationSince(providerStartNanos);
+                admissionSignal = transientFailure ? AdmissionSignal.OVERLOAD : AdmissionSignal.IGNORE;
+                long finalizeStartNanos = System.nanoTime();
+                idempotencyCoordinator.markRequestFailed(
+                        requestId,
+                        transientFailure ? "llm_transient_failure" : "llm_terminal_failure"
+                );
+                reliabilityMetrics.recordStageLatency("finalize", durationSince(finalizeStartNanos));
+                reliabilityMetrics.recordRequestOutcome(transientFailure ? "degraded" : "rejected");
+                reliabilityMetrics.recordE2eLatency(transientFailure ? "degraded" : "rejected", durationSince(requestStartNanos));
+            } else if (e instanceof ClientDisconnectedException) {
+                idempotencyCoordinator.markRequestFailed(requestId, "client_disconnected");
+                reliabilityMetrics.recordRequestOutcome("abandoned");
+                reliabilityMetrics.recordE2eLatency("abandoned", durationSince(requestStartNanos));
+            }
+        } finally {
+            strategyBAdmissionGate.leave(admission, providerLatency, admissionSignal);
+        }
+        return e;
+    }
 
+    /**
+     * Finalizes the claim from a provider result, fills the result cache and releases admission as a success.
+     */
+    private PracticeFeedback finalizeProvided(long requestId,
+                                              PreparedFeedback prepared,
+                                              AdmissionEnterOutcome admission,
+                                              long requestStartNanos,
+                                              long providerStartNanos,
+                                              FeedbackSingleFlight.Flight flight) {
+        Duration providerLatency = durationSince(providerStartNanos);
         try {
-            long providerStartNanos = System.nanoTime();
-            LlmFeedbackResult result = llmFeedbackClient.generate(llmInput);
-            reliabilityMetrics.recordStageLatency("provider", durationSince(providerStartNanos));
+            LlmFeedbackResult result = flight.result();
+            reliabilityMetrics.recordStageLatency("provider", providerLatency);
             long finalizeStartNanos = System.nanoTime();
-            PracticeFeedback saved = idempotencyCoordinator.finalizeSuccessful(proceed.requestId(), practice, result);
+            PracticeFeedback saved = idempotencyCoordinator.finalizeSuccessful(requestId, prepared.practice(), result);
             reliabilityMetrics.recordStageLatency("finalize", durationSince(finalizeStartNanos));
+            resultCache.put(resultCacheKey(prepared), result);
+            if (flight.leader()) {
+                shadowEvaluator.offer(prepared.llmInput(), llmFeedbackClient.admissionWorkloadKey(), result,
+                        providerLatency, saved.getPracticeFeedbackId());
+            }
             reliabilityMetrics.recordRequestOutcome("success");
             reliabilityMetrics.recordE2eLatency("success", durationSince(requestStartNanos));
-            return FeedbackSubmitResponseMapper.toDto(practice, saved);
-        } catch (LlmTimeoutException e) {
+            return saved;
+        } catch (GradeMappingException e) {
             long finalizeStartNanos = System.nanoTime();
-            idempotencyCoordinator.markRequestFailed(proceed.requestId(), "llm_timeout");
+            idempotencyCoordinator.markRequestFailed(requestId, "grade_mapping_failed");
             reliabilityMetrics.recordStageLatency("finalize", durationSince(finalizeStartNanos));
-            reliabilityMetrics.recordRequestOutcome("degraded");
-            reliabilityMetrics.recordE2eLatency("degraded", durationSince(requestStartNanos));
+            reliabilityMetrics.recordRequestOutcome("rejected");
+            reliabilityMetrics.recordE2eLatency("rejected", durationSince(requestStartNanos));
             throw e;
-        } catch (LlmProviderException e) {
-            long finalizeStartNanos = System.nanoTime();
-            idempotencyCoordinator.markRequestFailed(
-                    proceed.requestId(),
-                    e.isTransientFailure() ? "llm_transient_failure" : "llm_terminal_failure"
-            );
+        } finally {
+            strategyBAdmissionGate.leave(admission, providerLatency, AdmissionSignal.SUCCESS);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+    }
+
+    /**
+     * Completes a claimed request from the result cache without touching admission or the provider. Empty when the
+     * cache is disabled for this provider or has no entry for this content, provider, model and prompt version.
+     */
+    private Optional<PracticeFeedback> finalizeFromCache(long requestId,
+                                                         PreparedFeedback prepared,
+                                                         long requestStartNanos) {
+        if (!resultCache.isEnabledFor(llmFeedbackClient.admissionWorkloadKey().provider())) {
+            return Optional.empty();
+        }
+        long lookupStartNanos = System.nanoTime();
+        Optional<LlmFeedbackResult> cached = resultCache.get(resultCacheKey(prepared));
+        reliabilityMetrics.recordStageLatency("cache_lookup", durationSince(lookupStartNanos));
+        if (cached.isEmpty()) {
+            return Optional.empty();
+        }
+        long finalizeStartNanos = System.nanoTime();
+        try {
+            PracticeFeedback saved = idempotencyCoordinator.finalizeSuccessful(requestId, prepared.practice(), cached.get());
             reliabilityMetrics.recordStageLatency("finalize", durationSince(finalizeStartNanos));
-            reliabilityMetrics.recordRequestOutcome(e.isTransientFailure() ? "degraded" : "rejected");
-            reliabilityMetrics.recordE2eLatency(e.isTransientFailure() ? "degraded" : "rejected", durationSince(requestStartNanos));
-            throw e;
+            reliabilityMetrics.recordRequestOutcome("success");
+            reliabilityMetrics.recordE2eLatency("success", durationSince(requestStartNanos));
+            return Optional.of(saved);
         } catch (GradeMappingException e) {
-            long finalizeStartNanos = System.nanoTime();
-            idempotencyCoordinator.markRequestFailed(proceed.requestId(), "grade_mapping_failed");
-            reliabilityMetrics.recordStageLatency("finalize", durationSince(finalizeStartNanos));
+            idempotencyCoordinator.markRequestFailed(requestId, "grade_mapping_failed");
             reliabilityMetrics.recordRequestOutcome("rejected");
             reliabilityMetrics.recordE2eLatency("rejected", durationSince(requestStartNanos));
             throw e;
-        } finally {
+        }
+    }
+
+    private FeedbackResultCacheKey resultCacheKey(PreparedFeedback prepared) {
+        return FeedbackResultCacheKey.of(prepared.contentFingerprint(), llmFeedbackClient.admissionWorkloadKey());
+    }
+
+    /**
+     * Hands a claimed, admitted request to the worker pool; a full pool releases both and answers 503.
+     */
+    private void dispatchJob(long requestId, AdmissionEnterOutcome admission, long requestStartNanos, Runnable job) {
+        dispatchJob(jobExecutor::execute, requestId, admission, requestStartNanos, job);
+    }
+
+    private void dispatchJob(Executor executor,
+                             long requestId,
+                             AdmissionEnterOutcome admission,
+                             long requestStartNanos,
+                             Runnable job) {
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
             strategyBAdmissionGate.leave(admission);
+            idempotencyCoordinator.markRequestFailed(requestId, "local_capacity_reject");
+            reliabilityMetrics.recordRequestOutcome("rejected");
+            reliabilityMetrics.recordE2eLatency("rejected", durationSince(requestStartNanos));
+            throw new LocalCapacityRejectedException(asyncProperties.retryAfterSeconds());
+        }
+    }
+
+    private void runFeedbackJob(long requestId,
+                                PreparedFeedback prepared,
+                                AdmissionEnterOutcome admission,
+                                long requestStartNanos) {
+        if (llmFeedbackClient.supportsAsync()) {
+            generateAndFinalizeAsync(requestId, prepared, admission, requestStartNanos, new FeedbackCancellation())
+                    .whenComplete((saved, error) -> completeFeedbackJob(requestId, error == null ? null : unwrap(error)));
+            return;
+        }
+        RuntimeException failure = null;
+        try {
+            generateAndFinalize(requestId, prepared, admission, requestStartNanos, null, new FeedbackCancellation());
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        completeFeedbackJob(requestId, failure);
+    }
+
+    private void completeFeedbackJob(long requestId, RuntimeException failure) {
+        if (failure != null) {
+            logger.warn("Async feedback job {} failed: {}", requestId, failure.getMessage());
         }
+        idempotencyCoordinator.findStatus(requestId).ifPresent(jobEventPublisher::publish);
+    }
+
+    private void runStreamingJob(long requestId,
+                                 PreparedFeedback prepared,
+                                 AdmissionEnterOutcome admission,
+                                 long requestStartNanos,
+                                 FeedbackTokenStream stream) {
+        try {
+            PracticeFeedback saved = generateAndFinalize(requestId, prepared, admission, requestStartNanos, stream,
+                    stream.cancellation());
+            stream.completed(FeedbackSubmitResponseMapper.toDto(prepared.practice(), saved));
+        } catch (RuntimeException e) {
+            logger.warn("Streamed feedback request {} failed: {}", requestId, e.getMessage());
+            stream.failed(failureCode(e), e.getMessage());
+        } finally {
+            idempotencyCoordinator.findStatus(requestId).ifPresent(jobEventPublisher::publish);
+        }
+    }
+
+    private void runCancellableJob(long requestId,
+                                   PreparedFeedback prepared,
+                                   AdmissionEnterOutcome admission,
+                                   long requestStartNanos,
+                                   FeedbackCancellation cancellation,
+                                   DeferredResult<FeedbackSubmitResponseDto> response) {
+        if (llmFeedbackClient.supportsAsync()) {
+            generateAndFinalizeAsync(requestId, prepared, admission, requestStartNanos, cancellation)
+                    .whenComplete((saved, error) -> completeCancellableJob(requestId, prepared, response, saved,
+                            error == null ? null : unwrap(error)));
+            return;
+        }
+        PracticeFeedback saved = null;
+        RuntimeException failure = null;
+        try {
+            saved = generateAndFinalize(requestId, prepared, admission, requestStartNanos, null, cancellation);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        completeCancellableJob(requestId, prepared, response, saved, failure);
+    }
+
+    private void completeCancellableJob(long requestId,
+                                        PreparedFeedback prepared,
+                                        DeferredResult<FeedbackSubmitResponseDto> response,
+                                        PracticeFeedback saved,
+                                        RuntimeException failure) {
+        try {
+            if (failure == null) {
+                response.setResult(FeedbackSubmitResponseMapper.toDto(prepared.practice(), saved));
+            } else if (failure instanceof ClientDisconnectedException) {
+                logger.info("Feedback request {} abandoned by its client", requestId);
+            } else {
+                response.setErrorResult(failure);
+            }
+        } finally {
+            idempotencyCoordinator.findStatus(requestId).ifPresent(jobEventPublisher::publish);
+        }
+    }
+
+    private static String failureCode(RuntimeException e) {
+        if (e instanceof LlmTimeoutException) {
+            return "llm_timeout";
+        }
+        if (e instanceof LlmProviderException providerException) {
+            return providerException.isTransientFailure() ? "llm_transient_failure" : "llm_terminal_failure";
+        }
+        if (e instanceof GradeMappingException) {
+            return "grade_mapping_failed";
+        }
+        if (e instanceof ClientDisconnectedException) {
+            return "client_disconnected";
+        }
+        return "internal_error";
     }
 
     private static Duration durationSince(long startNanos) {
@@ -194,6 +716,16 @@ public class PracticeFeedbackService {
         return trimmed;
     }
 
+    private record PreparedFeedback(
+            Practice practice,
+            Long userId,
+            String idempotencyKey,
+            String fingerprint,
+            String contentFingerprint,
+            LlmFeedbackInput llmInput
+    ) {
+    }
+
     private String writeSectionJson(Map<String, Object> sectionMap) {
         try {
             return objectMapper.writeValueAsString(sectionMap);
@@ -203,7 +735,7 @@ public class PracticeFeedbackService {
     }
 
     @SuppressWarnings("unchecked")
-    private static Map<String, Object> extractSectionMap(Map<String, Object> whiteboard, String sectionKey) {
+    static Map<String, Object> extractSectionMap(Map<String, Object> whiteboard, String sectionKey) {
         if (whiteboard == null) {
             return Map.of();
         }
@@ -4,8 +4,10 @@ import com.hellointerview.backend.dto.PracticeQuestionStateDto;
 import com.hellointerview.backend.dto.TranscriptSegmentDto;
 import com.hellointerview.backend.entity.Practice;
 import com.hellointerview.backend.entity.PracticeTranscriptSegment;
+import com.hellointerview.backend.entity.PracticeTranscriptSegmentHistory;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 final class TranscriptAggregation {
 
@@ -13,8 +15,15 @@ final class TranscriptAggregation {
     }
 
     static String buildCombinedTranscript(List<PracticeTranscriptSegment> orderedSegments) {
-        return orderedSegments.stream()
-                .map(PracticeTranscriptSegment::getTranscriptText)
+        return joinTranscriptTexts(orderedSegments.stream().map(PracticeTranscriptSegment::getTranscriptText));
+    }
+
+    static String buildCombinedHistoryTranscript(List<PracticeTranscriptSegmentHistory> orderedSegments) {
+        return joinTranscriptTexts(orderedSegments.stream().map(PracticeTranscriptSegmentHistory::getTranscriptText));
+    }
+
+    private static String joinTranscriptTexts(Stream<String> texts) {
+        return texts
                 .filter(text -> text != null && !text.isBlank())
                 .map(String::trim)
                 .reduce((left, right) -> left + " " + right)
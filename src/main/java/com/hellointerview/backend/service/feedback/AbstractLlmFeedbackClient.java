@@ -2,29 +2,55 @@ package com.hellointerview.backend.service.feedback;
 
 import com.hellointerview.backend.exception.LlmTimeoutException;
 import org.slf4j.Logger;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientResponseException;
 
+import java.io.IOException;
 import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 abstract class AbstractLlmFeedbackClient implements LlmFeedbackClient {
 
+    private static final DefaultResponseErrorHandler STATUS_HANDLER = new DefaultResponseErrorHandler();
+
     private final FeedbackPromptTemplate promptTemplate;
     private final LlmRetryPolicyProperties retryPolicyProperties;
     private final Logger logger;
     private final LlmProviderMetrics metrics;
+    private final LlmProviderResilience resilience;
 
     protected AbstractLlmFeedbackClient(FeedbackPromptTemplate promptTemplate,
                                         LlmRetryPolicyProperties retryPolicyProperties,
                                         Logger logger,
                                         LlmProviderMetrics metrics) {
+        this(promptTemplate, retryPolicyProperties, logger, metrics, LlmProviderResilience.disabled());
+    }
+
+    protected AbstractLlmFeedbackClient(FeedbackPromptTemplate promptTemplate,
+                                        LlmRetryPolicyProperties retryPolicyProperties,
+                                        Logger logger,
+                                        LlmProviderMetrics metrics,
+                                        LlmProviderResilience resilience) {
         this.promptTemplate = promptTemplate;
         this.retryPolicyProperties = retryPolicyProperties;
         this.logger = logger;
         this.metrics = metrics;
+        this.resilience = resilience;
     }
 
     @Override
@@ -34,111 +60,462 @@ abstract class AbstractLlmFeedbackClient implements LlmFeedbackClient {
 
     @Override
     public LlmFeedbackResult generate(LlmFeedbackInput input) throws LlmTimeoutException {
-        String prompt = promptTemplate.render(input);
+        return generateWithRetries(input, null);
+    }
+
+    @Override
+    public LlmFeedbackResult generateStreaming(LlmFeedbackInput input, LlmTokenSink sink) throws LlmTimeoutException {
+        return generateWithRetries(input, sink);
+    }
+
+    /**
+     * Runs the same retry loop as {@link #generate(LlmFeedbackInput)} without blocking a thread between attempts:
+     * backoff waits are scheduled and each attempt goes through {@link #invokeProviderAsync(FeedbackPrompt)}. The
+     * caller's {@link RequestDeadline} and {@link FeedbackCancellation} are captured here and carried across threads.
+     */
+    @Override
+    public CompletableFuture<LlmFeedbackResult> generateAsync(LlmFeedbackInput input) {
+        FeedbackPrompt prompt = promptTemplate.build(input);
+        CompletableFuture<LlmFeedbackResult> outcome = new CompletableFuture<>();
+        attemptAsync(prompt, new RetryState(retryPolicyProperties),
+                RequestDeadline.current().orElse(RequestDeadline.unbounded()),
+                FeedbackCancellation.current().orElse(null),
+                outcome);
+        return outcome;
+    }
+
+    private LlmFeedbackResult generateWithRetries(LlmFeedbackInput input, LlmTokenSink sink) {
+        FeedbackPrompt prompt = promptTemplate.build(input);
         String provider = providerName();
         String model = modelName();
-        int attempts = retryPolicyProperties.maxAttempts();
-        Duration nextBackoff = retryPolicyProperties.initialBackoff();
-        RuntimeException lastTransientFailure = null;
+        RetryState retry = new RetryState(retryPolicyProperties);
 
-        for (int attempt = 1; attempt <= attempts; attempt++) {
+        FeedbackTextStreamExtractor stream = null;
+
+        while (retry.next()) {
+            sleepQuietly(cooldownWait(provider, model, retry));
             long attemptStartNanos = System.nanoTime();
+            LlmCircuitBreaker.Permission permission =
+                    beginAttempt(provider, model, retry, FeedbackCancellation.current().orElse(null));
+            if (stream != null && stream.emitted()) {
+                sink.onReset();
+            }
             metrics.incrementInflight(provider, model);
+            Duration wait;
             try {
-                LlmFeedbackResult result = invokeProvider(prompt);
-                metrics.recordCall(provider, model, attempt, "success", durationSince(attemptStartNanos));
-                metrics.recordCallsPerSuccess(provider, model, attempt);
-                if (attempt > 1) {
-                    metrics.recordRetryOutcome(provider, model, "success_after_retry");
+                LlmFeedbackResult result;
+                if (sink == null) {
+                    result = invokeProvider(prompt);
+                } else {
+                    stream = new FeedbackTextStreamExtractor(sink,
+                            () -> metrics.recordFirstToken(provider, model, durationSince(attemptStartNanos)));
+                    result = invokeProviderStreaming(prompt, stream::accept);
+                    stream.finish(result);
                 }
+                onAttemptSuccess(provider, model, retry, attemptStartNanos);
                 return result;
-            } catch (LlmTimeoutException e) {
-                metrics.recordCall(provider, model, attempt, "failure", durationSince(attemptStartNanos));
-                metrics.recordFailureClass(provider, model, "provider_timeout");
-                if (attempt == attempts) {
-                    if (attempts > 1) {
-                        metrics.recordRetryOutcome(provider, model, "exhausted");
-                    }
-                    throw e;
-                }
-                metrics.recordRetryAttempt(provider, model, "timeout");
-                sleepQuietly(nextBackoff.plusMillis(randomJitterMillis()));
-                nextBackoff = multiplyBackoff(nextBackoff);
-                lastTransientFailure = e;
-            } catch (ResourceAccessException e) {
-                metrics.recordCall(provider, model, attempt, "failure", durationSince(attemptStartNanos));
-                if (!isTimeout(e)) {
-                    metrics.recordFailureClass(provider, model, "unknown");
-                    throw new LlmProviderException(providerName() + " network call failed", true, e);
-                }
-                metrics.recordFailureClass(provider, model, "provider_timeout");
-                if (attempt == attempts) {
-                    if (attempts > 1) {
-                        metrics.recordRetryOutcome(provider, model, "exhausted");
-                    }
-                    throw new LlmTimeoutException("Timed out waiting for " + providerName() + " response");
+            } catch (RuntimeException e) {
+                wait = onAttemptFailure(provider, model, retry, attemptStartNanos, e);
+            } finally {
+                boolean abandoned = FeedbackCancellation.current().filter(FeedbackCancellation::isCancelled).isPresent();
+                endAttempt(provider, model, permission, retry, abandoned);
+            }
+            // The breaker sees the failure (and a half-open probe frees its slot) before the backoff, not after it.
+            sleepQuietly(wait);
+        }
+        throw exhausted(provider, model, retry);
+    }
+
+    private void attemptAsync(FeedbackPrompt prompt,
+                              RetryState retry,
+                              RequestDeadline deadline,
+                              FeedbackCancellation cancellation,
+                              CompletableFuture<LlmFeedbackResult> outcome) {
+        String provider = providerName();
+        String model = modelName();
+        if (outcome.isDone()) {
+            return;
+        }
+        if (!retry.next()) {
+            outcome.completeExceptionally(exhausted(provider, model, retry));
+            return;
+        }
+        Duration cooldown;
+        try {
+            cooldown = deadline.call(() -> cooldownWait(provider, model, retry));
+        } catch (RuntimeException e) {
+            outcome.completeExceptionally(e);
+            return;
+        }
+        if (cooldown.isPositive()) {
+            CompletableFuture.delayedExecutor(cooldown.toNanos(), TimeUnit.NANOSECONDS)
+                    .execute(() -> startAttemptAsync(prompt, retry, deadline, cancellation, outcome));
+            return;
+        }
+        startAttemptAsync(prompt, retry, deadline, cancellation, outcome);
+    }
+
+    private void startAttemptAsync(FeedbackPrompt prompt,
+                                   RetryState retry,
+                                   RequestDeadline deadline,
+                                   FeedbackCancellation cancellation,
+                                   CompletableFuture<LlmFeedbackResult> outcome) {
+        String provider = providerName();
+        String model = modelName();
+        long attemptStartNanos = System.nanoTime();
+        LlmCircuitBreaker.Permission permission;
+        try {
+            permission = deadline.call(() -> beginAttempt(provider, model, retry, cancellation));
+        } catch (RuntimeException e) {
+            outcome.completeExceptionally(e);
+            return;
+        }
+        metrics.incrementInflight(provider, model);
+        CompletableFuture<LlmFeedbackResult> call;
+        try {
+            call = deadline.call(() -> invokeProviderAsync(prompt));
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        // Cancelling the caller's outcome or the request's cancellation aborts this attempt's exchange.
+        CompletableFuture<LlmFeedbackResult> inFlight = call;
+        Runnable abort = () -> inFlight.cancel(true);
+        if (cancellation != null) {
+            cancellation.onCancel(abort);
+        }
+        outcome.whenComplete((ignored, error) -> {
+            if (outcome.isCancelled()) {
+                abort.run();
+            }
+        });
+        call.whenComplete((result, error) -> {
+            if (cancellation != null) {
+                cancellation.removeOnCancel(abort);
+            }
+            Duration wait = null;
+            try {
+                if (outcome.isCancelled()) {
+                    return;
                 }
-                metrics.recordRetryAttempt(provider, model, "timeout");
-                sleepQuietly(nextBackoff.plusMillis(randomJitterMillis()));
-                nextBackoff = multiplyBackoff(nextBackoff);
-                lastTransientFailure = e;
-            } catch (RestClientResponseException e) {
-                metrics.recordCall(provider, model, attempt, "failure", durationSince(attemptStartNanos));
-                HttpStatusCode statusCode = e.getStatusCode();
-                metrics.recordHttpStatus(provider, model, statusCode.value());
-                String failureClass = LlmProviderMetrics.classifyHttpStatus(statusCode.value());
-                metrics.recordFailureClass(provider, model, failureClass);
-                if (isTransientHttp(statusCode.value())) {
-                    if (attempt == attempts) {
-                        if (attempts > 1) {
-                            metrics.recordRetryOutcome(provider, model, "exhausted");
-                        }
-                        throw new LlmProviderException(providerName() + " transient failure after retries", true, e);
-                    }
-                    Duration retryDelay = parseRetryAfter(e);
-                    if (retryDelay != null) {
-                        metrics.recordRetryAttempt(provider, model, statusCode.value() == 429 ? "429" : "5xx");
-                        metrics.recordRetryAfterSeconds(provider, model, retryDelay);
-                        sleepQuietly(retryDelay);
-                    } else {
-                        metrics.recordRetryAttempt(provider, model, statusCode.value() == 429 ? "429" : "5xx");
-                        sleepQuietly(nextBackoff.plusMillis(randomJitterMillis()));
-                        nextBackoff = multiplyBackoff(nextBackoff);
-                    }
-                    lastTransientFailure = e;
-                    continue;
+                if (error == null) {
+                    onAttemptSuccess(provider, model, retry, attemptStartNanos);
+                    outcome.complete(result);
+                    return;
                 }
+                RuntimeException failure = asyncFailure(error, cancellation);
+                wait = deadline.call(() -> onAttemptFailure(provider, model, retry, attemptStartNanos, failure));
+            } catch (RuntimeException e) {
+                outcome.completeExceptionally(e);
+            } finally {
+                endAttempt(provider, model, permission, retry,
+                        outcome.isCancelled() || cancellation != null && cancellation.isCancelled());
+            }
+            if (wait != null) {
+                CompletableFuture.delayedExecutor(Math.max(0L, wait.toNanos()), TimeUnit.NANOSECONDS)
+                        .execute(() -> attemptAsync(prompt, retry, deadline, cancellation, outcome));
+            }
+        });
+    }
+
+    /**
+     * How long to hold an attempt back while the provider cools down after a 429; throws when the cooldown outlasts
+     * {@code max-queue-wait} or the request deadline.
+     */
+    private Duration cooldownWait(String provider, String model, RetryState retry) {
+        Duration remaining = resilience.cooldownRemaining(provider);
+        if (!remaining.isPositive()) {
+            return Duration.ZERO;
+        }
+        boolean canWait = remaining.compareTo(resilience.cooldownMaxQueueWait()) <= 0
+                && RequestDeadline.current().map(deadline -> deadline.canCoverAttemptAfter(remaining)).orElse(true);
+        if (!canWait) {
+            metrics.recordCooldownWait(provider, model, "rejected");
+            metrics.recordFailureClass(provider, model, "cooldown");
+            if (retry.attempt > 1) {
+                metrics.recordRetryOutcome(provider, model, "cooldown");
+            }
+            throw new LlmProviderException(provider + " cooling down after 429; failing fast", true);
+        }
+        metrics.recordCooldownWait(provider, model, "queued");
+        return remaining;
+    }
+
+    /**
+     * Checks cancellation, the request deadline and the circuit breaker before an attempt; throws when it may not
+     * start.
+     */
+    private LlmCircuitBreaker.Permission beginAttempt(String provider,
+                                                      String model,
+                                                      RetryState retry,
+                                                      FeedbackCancellation cancellation) {
+        retry.breakerFailureClass = null;
+        if (cancellation != null) {
+            cancellation.throwIfCancelled();
+        }
+        if (RequestDeadline.current().filter(RequestDeadline::expired).isPresent()) {
+            metrics.recordFailureClass(provider, model, "deadline_exceeded");
+            throw new LlmTimeoutException("Request deadline passed before calling " + provider);
+        }
+        LlmCircuitBreaker.Permission permission = resilience.acquire(provider, model);
+        if (!permission.permitted()) {
+            metrics.recordFailureClass(provider, model, "circuit_open");
+            if (retry.attempt > 1) {
+                metrics.recordRetryOutcome(provider, model, "circuit_open");
+            }
+            throw new LlmProviderException(provider + " circuit open; failing fast", true);
+        }
+        return permission;
+    }
+
+    private void onAttemptSuccess(String provider, String model, RetryState retry, long attemptStartNanos) {
+        metrics.recordCall(provider, model, retry.attempt, "success", durationSince(attemptStartNanos));
+        metrics.recordCallsPerSuccess(provider, model, retry.attempt);
+        if (retry.attempt == 1) {
+            resilience.onFirstAttemptSuccess(provider, model);
+        } else {
+            metrics.recordRetryOutcome(provider, model, "success_after_retry");
+        }
+    }
+
+    private void endAttempt(String provider,
+                            String model,
+                            LlmCircuitBreaker.Permission permission,
+                            RetryState retry,
+                            boolean abandoned) {
+        resilience.onAttemptResult(provider, model, permission,
+                abandoned ? LlmProviderResilience.CLIENT_CANCELLED : retry.breakerFailureClass);
+        metrics.decrementInflight(provider, model);
+    }
+
+    /**
+     * Records a failed attempt and returns how long to wait before the next one, or throws when the failure is
+     * terminal, attempts are used up, or the deadline or retry budget rules out another try.
+     */
+    private Duration onAttemptFailure(String provider,
+                                      String model,
+                                      RetryState retry,
+                                      long attemptStartNanos,
+                                      RuntimeException failure) {
+        if (failure instanceof LlmTimeoutException e) {
+            retry.breakerFailureClass = "provider_timeout";
+            metrics.recordCall(provider, model, retry.attempt, "failure", durationSince(attemptStartNanos));
+            metrics.recordFailureClass(provider, model, "provider_timeout");
+            if (retry.last()) {
+                recordExhausted(provider, model, retry);
+                throw e;
+            }
+            Duration wait = retry.nextBackoff.plusMillis(randomJitterMillis());
+            stopIfDeadlineCannotCover(provider, model, wait, () -> e);
+            spendRetryBudget(provider, model, "timeout", e);
+            metrics.recordRetryAttempt(provider, model, "timeout");
+            retry.nextBackoff = multiplyBackoff(retry.nextBackoff);
+            retry.lastTransientFailure = e;
+            return wait;
+        }
+        if (failure instanceof ResourceAccessException e) {
+            metrics.recordCall(provider, model, retry.attempt, "failure", durationSince(attemptStartNanos));
+            if (!isTimeout(e)) {
+                boolean poolExhausted = LlmHttpTransport.isPoolExhausted(e);
+                retry.breakerFailureClass = poolExhausted ? "pool_exhausted" : "network";
+                metrics.recordFailureClass(provider, model, poolExhausted ? "pool_exhausted" : "unknown");
+                throw new LlmProviderException(providerName() + " network call failed", true, e);
+            }
+            retry.breakerFailureClass = "provider_timeout";
+            metrics.recordFailureClass(provider, model, "provider_timeout");
+            if (retry.last()) {
+                recordExhausted(provider, model, retry);
+                throw new LlmTimeoutException("Timed out waiting for " + providerName() + " response");
+            }
+            Duration wait = retry.nextBackoff.plusMillis(randomJitterMillis());
+            stopIfDeadlineCannotCover(provider, model, wait,
+                    () -> new LlmTimeoutException("Timed out waiting for " + providerName() + " response"));
+            spendRetryBudget(provider, model, "timeout", e);
+            metrics.recordRetryAttempt(provider, model, "timeout");
+            retry.nextBackoff = multiplyBackoff(retry.nextBackoff);
+            retry.lastTransientFailure = e;
+            return wait;
+        }
+        if (failure instanceof RestClientResponseException e) {
+            metrics.recordCall(provider, model, retry.attempt, "failure", durationSince(attemptStartNanos));
+            HttpStatusCode statusCode = e.getStatusCode();
+            metrics.recordHttpStatus(provider, model, statusCode.value());
+            String failureClass = LlmProviderMetrics.classifyHttpStatus(statusCode.value());
+            retry.breakerFailureClass = failureClass;
+            metrics.recordFailureClass(provider, model, failureClass);
+            if (!isTransientHttp(statusCode.value())) {
                 throw new LlmProviderException(
                         providerName() + " terminal failure status " + statusCode.value(),
                         false,
                         e
                 );
-            } catch (LlmProviderException e) {
-                metrics.recordCall(provider, model, attempt, "failure", durationSince(attemptStartNanos));
-                metrics.recordFailureClass(provider, model, LlmProviderMetrics.classifyProviderException(e));
-                throw e;
-            } finally {
-                metrics.decrementInflight(provider, model);
             }
+            Duration retryDelay = parseRetryAfter(e);
+            if (statusCode.value() == 429) {
+                resilience.tripCooldown(provider, retryDelay);
+            }
+            if (retry.last()) {
+                recordExhausted(provider, model, retry);
+                throw new LlmProviderException(providerName() + " transient failure after retries", true, e);
+            }
+            String trigger = statusCode.value() == 429 ? "429" : "5xx";
+            Duration wait = retryDelay != null ? retryDelay : retry.nextBackoff.plusMillis(randomJitterMillis());
+            stopIfDeadlineCannotCover(provider, model, wait, () -> new LlmProviderException(
+                    providerName() + " transient failure; no time left to retry", true, e));
+            spendRetryBudget(provider, model, trigger, e);
+            metrics.recordRetryAttempt(provider, model, trigger);
+            if (retryDelay != null) {
+                metrics.recordRetryAfterSeconds(provider, model, retryDelay);
+            } else {
+                retry.nextBackoff = multiplyBackoff(retry.nextBackoff);
+            }
+            retry.lastTransientFailure = e;
+            return wait;
+        }
+        if (failure instanceof LlmProviderException e) {
+            metrics.recordCall(provider, model, retry.attempt, "failure", durationSince(attemptStartNanos));
+            retry.breakerFailureClass = LlmProviderMetrics.classifyProviderException(e);
+            metrics.recordFailureClass(provider, model, retry.breakerFailureClass);
+            throw e;
         }
+        throw failure;
+    }
 
-        if (lastTransientFailure != null) {
-            if (attempts > 1) {
-                metrics.recordRetryOutcome(provider, model, "exhausted");
-            }
-            throw new LlmProviderException(providerName() + " transient failure after retries", true, lastTransientFailure);
+    private RuntimeException exhausted(String provider, String model, RetryState retry) {
+        if (retry.lastTransientFailure != null) {
+            recordExhausted(provider, model, retry);
+            return new LlmProviderException(providerName() + " transient failure after retries", true,
+                    retry.lastTransientFailure);
+        }
+        return new LlmProviderException(providerName() + " call failed unexpectedly", true);
+    }
+
+    private void recordExhausted(String provider, String model, RetryState retry) {
+        if (retry.maxAttempts > 1) {
+            metrics.recordRetryOutcome(provider, model, "exhausted");
+        }
+    }
+
+    /**
+     * Unwraps the future's failure into the exception types the retry loop classifies. Anything that fails after
+     * the request was cancelled surfaces as the cancellation's failure, as with {@link FeedbackCancellation#call}.
+     */
+    private RuntimeException asyncFailure(Throwable error, FeedbackCancellation cancellation) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cancellation != null && cancellation.isCancelled()) {
+            return cancellation.cancelledFailure(cause);
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new LlmProviderException(providerName() + " async call failed", true, cause);
+    }
+
+    /**
+     * Gives up instead of retrying when the request deadline cannot cover {@code wait} plus one more attempt.
+     */
+    private void stopIfDeadlineCannotCover(String provider,
+                                           String model,
+                                           Duration wait,
+                                           Supplier<RuntimeException> failure) {
+        if (RequestDeadline.current().map(deadline -> deadline.canCoverAttemptAfter(wait)).orElse(true)) {
+            return;
+        }
+        metrics.recordRetryOutcome(provider, model, "deadline_exhausted");
+        throw failure.get();
+    }
+
+    /**
+     * Fails fast with a transient error instead of retrying once the provider/model retry budget is spent.
+     */
+    private void spendRetryBudget(String provider, String model, String trigger, RuntimeException cause) {
+        if (resilience.tryAcquireRetry(provider, model)) {
+            return;
         }
-        throw new LlmProviderException(providerName() + " call failed unexpectedly", true);
+        metrics.recordRetrySuppressed(provider, model, trigger);
+        metrics.recordRetryOutcome(provider, model, "budget_exhausted");
+        throw new LlmProviderException(providerName() + " retry budget exhausted", true, cause);
+    }
+
+    /**
+     * Releases the outbound transport. Provider beans close on shutdown; {@link RoutingLlmFeedbackClient} closes the
+     * clients it built.
+     */
+    void closeTransport() {
+    }
+
+    protected final LlmProviderMetrics metrics() {
+        return metrics;
     }
 
     protected abstract String providerName();
 
     protected abstract String modelName();
 
-    protected abstract LlmFeedbackResult invokeProvider(String prompt) throws LlmTimeoutException;
+    protected abstract LlmFeedbackResult invokeProvider(FeedbackPrompt prompt) throws LlmTimeoutException;
+
+    /**
+     * Streaming variant of {@link #invokeProvider(FeedbackPrompt)}: pushes raw completion text to {@code chunks} as it
+     * arrives and returns the parsed result once the provider signals completion.
+     */
+    protected LlmFeedbackResult invokeProviderStreaming(FeedbackPrompt prompt, Consumer<String> chunks)
+            throws LlmTimeoutException {
+        return invokeProvider(prompt);
+    }
+
+    /**
+     * Non-blocking variant of {@link #invokeProvider(FeedbackPrompt)}. Failures complete the future with the same
+     * exception types the blocking call throws. Defaults to running the blocking call on the caller's thread.
+     */
+    protected CompletableFuture<LlmFeedbackResult> invokeProviderAsync(FeedbackPrompt prompt) {
+        try {
+            return CompletableFuture.completedFuture(invokeProvider(prompt));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * {@code exchange()} bypasses RestClient's status handling; this restores it so streamed calls fail with the
+     * same {@link RestClientResponseException} types the retry loop classifies.
+     */
+    protected static void throwIfError(ClientHttpResponse response) throws IOException {
+        if (STATUS_HANDLER.hasError(response)) {
+            STATUS_HANDLER.handleError(response);
+        }
+    }
 
     protected Duration parseRetryAfter(RestClientResponseException e) {
-        return null;
+        HttpHeaders headers = e.getResponseHeaders();
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Duration delay = parseRetryAfter(value, Instant.now());
+        if (delay == null) {
+            logger.debug("Ignoring unparseable Retry-After header from {}: {}", providerName(), value);
+        }
+        return delay;
+    }
+
+    /**
+     * Parses a {@code Retry-After} value given as delta-seconds or an HTTP-date; a date in the past means no wait.
+     * Returns null when the value is neither.
+     */
+    static Duration parseRetryAfter(String value, Instant now) {
+        String trimmed = value.trim();
+        try {
+            long seconds = Long.parseLong(trimmed);
+            return seconds <= 0 ? Duration.ZERO : Duration.ofSeconds(seconds);
+        } catch (NumberFormatException ignored) {
+            // not delta-seconds; try HTTP-date
+        }
+        try {
+            Duration untilDate = Duration.between(now,
+                    ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+            return untilDate.isNegative() ? Duration.ZERO : untilDate;
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
     }
 
     protected boolean isTransientHttp(int status) {
@@ -147,7 +524,7 @@ abstract class AbstractLlmFeedbackClient implements LlmFeedbackClient {
 
     protected static boolean isTimeout(ResourceAccessException e) {
         for (Throwable cause = e; cause != null; cause = cause.getCause()) {
-            if (cause instanceof SocketTimeoutException) {
+            if (cause instanceof SocketTimeoutException || cause instanceof HttpTimeoutException) {
                 return true;
             }
         }
@@ -182,4 +559,34 @@ abstract class AbstractLlmFeedbackClient implements LlmFeedbackClient {
     private Duration durationSince(long startNanos) {
         return Duration.ofNanos(System.nanoTime() - startNanos);
     }
+
+    /**
+     * Attempt counter and backoff for one call. Async attempts touch it from one thread at a time, each handing over
+     * to the next through the future chain.
+     */
+    private static final class RetryState {
+
+        private final int maxAttempts;
+        private int attempt;
+        private Duration nextBackoff;
+        private RuntimeException lastTransientFailure;
+        private String breakerFailureClass;
+
+        private RetryState(LlmRetryPolicyProperties policy) {
+            this.maxAttempts = policy.maxAttempts();
+            this.nextBackoff = policy.initialBackoff();
+        }
+
+        private boolean next() {
+            if (attempt >= maxAttempts) {
+                return false;
+            }
+            attempt++;
+            return true;
+        }
+
+        private boolean last() {
+            return attempt == maxAttempts;
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package com.hellointerview.backend.service.feedback;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limit for one provider/model. A success while the limit is in use grows it by {@code 1/limit}
+ * (about +1 per window of calls); an overload signal, or a latency above {@code latency-tolerance} times the smoothed
+ * baseline, multiplies it by {@code backoff-ratio}. The baseline is an EWMA of successful call latency, so it
+ * follows slow drifts (model swap, longer prompts) while reacting to sudden queueing.
+ */
+final class AdaptiveConcurrencyLimiter {
+
+    private final AdaptiveConcurrencyProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double limit;
+    private double baselineMillis = Double.NaN;
+    private int inflight;
+
+    AdaptiveConcurrencyLimiter(AdaptiveConcurrencyProperties properties, int initialLimit) {
+        this.properties = properties;
+        this.limit = initialLimit;
+    }
+
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inflight >= (int) limit) {
+                return false;
+            }
+            inflight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(Duration latency, AdmissionSignal signal) {
+        lock.lock();
+        try {
+            int inflightBefore = inflight;
+            inflight = Math.max(0, inflight - 1);
+            switch (signal) {
+                case OVERLOAD -> decrease();
+                case SUCCESS -> onSuccess(latency.toNanos() / 1_000_000.0, inflightBefore);
+                case IGNORE -> {
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inflight() {
+        lock.lock();
+        try {
+            return inflight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(double latencyMillis, int inflightBefore) {
+        if (Double.isNaN(baselineMillis)) {
+            baselineMillis = latencyMillis;
+        } else if (latencyMillis > baselineMillis * properties.latencyTolerance()) {
+            decrease();
+        } else if (inflightBefore * 2 >= (int) limit) {
+            // Only grow while the limit is actually the constraint; idle periods must not inflate it.
+            limit = Math.min(properties.maxLimit(), limit + 1.0 / limit);
+        }
+        baselineMillis += properties.smoothing() * (latencyMillis - baselineMillis);
+    }
+
+    private void decrease() {
+        limit = Math.max(properties.minLimit(), limit * properties.backoffRatio());
+    }
+}
@@ -0,0 +1,47 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * AIMD admission limit per provider/model. When enabled it gates all feedback traffic except Strategy B lab traffic,
+ * which keeps its fixed semaphore; {@code initial-limits} seeds the limit per provider (lower-case name) before any samples.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.feedback.adaptive-concurrency")
+public record AdaptiveConcurrencyProperties(
+        boolean enabled,
+        @Min(1) @Max(10_000) int initialLimit,
+        @Min(1) @Max(10_000) int minLimit,
+        @Min(1) @Max(10_000) int maxLimit,
+        @DecimalMin("0.1") @DecimalMax("0.99") double backoffRatio,
+        @DecimalMin("1.0") double latencyTolerance,
+        @DecimalMin("0.001") @DecimalMax("1.0") double smoothing,
+        @Min(1) @Max(86400) int retryAfterSeconds,
+        Map<String, Integer> initialLimits
+) {
+    public AdaptiveConcurrencyProperties {
+        if (minLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                    "ai.llm.feedback.adaptive-concurrency.min-limit must not exceed max-limit");
+        }
+        initialLimits = initialLimits == null ? Map.of() : Map.copyOf(initialLimits);
+    }
+
+    public static AdaptiveConcurrencyProperties disabled() {
+        return new AdaptiveConcurrencyProperties(false, 8, 1, 256, 0.9, 2.0, 0.1, 2, Map.of());
+    }
+
+    int initialLimitFor(String provider) {
+        Integer configured = initialLimits.get(provider.toLowerCase(Locale.ROOT));
+        int initial = configured == null ? initialLimit : configured;
+        return Math.max(minLimit, Math.min(maxLimit, initial));
+    }
+}
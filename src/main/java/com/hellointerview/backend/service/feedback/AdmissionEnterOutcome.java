@@ -1,23 +1,36 @@
 package com.hellointerview.backend.service.feedback;
 
 /**
- * Result of Strategy B admission: either no gate applied, a slot was acquired, or the request was rejected.
+ * Result of admission: either no gate applied, a slot was acquired, or the request was rejected. {@code adaptive}
+ * tells {@link FeedbackStrategyBAdmissionGate#leave} which limiter owns the slot; {@code admittedAtNanos} feeds the
+ * wait queue's service-time estimate, {@code priority} names the class whose share the slot counts against, and
+ * {@code userKey} the user whose in-flight cap it counts against ({@code null} when unattributed).
  */
 public record AdmissionEnterOutcome(
         boolean mayProceed,
         String semaphoreKey,
-        Integer retryAfterSecondsIfRejected
+        Integer retryAfterSecondsIfRejected,
+        boolean adaptive,
+        long admittedAtNanos,
+        FeedbackPriority priority,
+        String userKey
 ) {
     public static AdmissionEnterOutcome bypass() {
-        return new AdmissionEnterOutcome(true, null, null);
+        return new AdmissionEnterOutcome(true, null, null, false, 0L, FeedbackPriority.INTERACTIVE, null);
     }
 
     public static AdmissionEnterOutcome rejected(int retryAfterSeconds) {
-        return new AdmissionEnterOutcome(false, null, retryAfterSeconds);
+        return new AdmissionEnterOutcome(false, null, retryAfterSeconds, false, 0L, FeedbackPriority.INTERACTIVE, null);
     }
 
-    public static AdmissionEnterOutcome admitted(AdmissionWorkloadKey key) {
-        return new AdmissionEnterOutcome(true, key.compositeKey(), null);
+    public static AdmissionEnterOutcome admitted(AdmissionWorkloadKey key, FeedbackPriority priority, String userKey) {
+        return new AdmissionEnterOutcome(true, key.compositeKey(), null, false, System.nanoTime(), priority, userKey);
+    }
+
+    public static AdmissionEnterOutcome admittedAdaptive(AdmissionWorkloadKey key,
+                                                         FeedbackPriority priority,
+                                                         String userKey) {
+        return new AdmissionEnterOutcome(true, key.compositeKey(), null, true, System.nanoTime(), priority, userKey);
     }
 
     public boolean mustReleaseSemaphore() {
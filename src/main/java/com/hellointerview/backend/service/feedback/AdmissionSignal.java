@@ -0,0 +1,13 @@
+package com.hellointerview.backend.service.feedback;
+
+/**
+ * What a finished provider call says about load, fed back to the admission limit on release.
+ */
+public enum AdmissionSignal {
+    /** Provider answered; its latency is compared against the baseline. */
+    SUCCESS,
+    /** Timeout, throttling or transient provider failure: back off. */
+    OVERLOAD,
+    /** Outcome says nothing about provider load (terminal config error, cancelled before the call). */
+    IGNORE
+}
@@ -0,0 +1,406 @@
+package com.hellointerview.backend.service.feedback;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+
+/**
+ * Wait for admission slots of one provider/model, highest {@link FeedbackPriority} class first. Within a class,
+ * waiters are served deficit-round-robin across users, which is FIFO when there is only one user or fairness is off.
+ * Only the waiter the schedule picks retries the limit, and every release wakes the picks, so newcomers never
+ * overtake queued requests of their own or a higher class. A higher class only yields when its
+ * {@link FeedbackPriorityShares} cap keeps it from using the slot, and a user only yields while at its
+ * {@link FeedbackUserShares} in-flight cap. Expected wait is estimated from the EWMA of slot hold time divided by the
+ * current limit.
+ */
+final class AdmissionWaitQueue {
+
+    private static final double SERVICE_TIME_SMOOTHING = 0.2;
+    private static final FeedbackPriority[] CLASSES = FeedbackPriority.values();
+    /**
+     * Weights are at least 0.1, so a flow reaches a full quantum within ten top-ups.
+     */
+    private static final int MAX_ROUNDS = 11;
+
+    enum Result {
+        ADMITTED,
+        QUEUE_FULL,
+        DEADLINE,
+        TIMEOUT,
+        INTERRUPTED,
+        PREEMPTED,
+        USER_LIMIT
+    }
+
+    record Entry(Result result, long waitedNanos) {
+    }
+
+    private final BooleanSupplier tryAcquire;
+    private final IntSupplier capacity;
+    private final int maxDepth;
+    private final FeedbackPriorityShares shares;
+    private final FeedbackUserShares userShares;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<FeedbackPriority, ClassQueue> waiters = new EnumMap<>(FeedbackPriority.class);
+    private int depth;
+    private double serviceNanos = Double.NaN;
+
+    AdmissionWaitQueue(BooleanSupplier tryAcquire,
+                       IntSupplier capacity,
+                       int maxDepth,
+                       FeedbackPriorityShares shares,
+                       FeedbackUserShares userShares) {
+        this.tryAcquire = tryAcquire;
+        this.capacity = capacity;
+        this.maxDepth = maxDepth;
+        this.shares = shares;
+        this.userShares = userShares;
+        for (FeedbackPriority priority : CLASSES) {
+            waiters.put(priority, new ClassQueue());
+        }
+    }
+
+    /**
+     * Takes a slot immediately when nobody of the same or a higher class is waiting to use one, otherwise waits up
+     * to {@code maxWaitNanos}. Requests whose expected wait plus service time exceeds {@code deadlineNanos} are shed
+     * without waiting. A full queue only preempts a lower-class waiter once the newcomer is sure to take its place.
+     * A user at its in-flight cap who may not wait ({@code maxWaitNanos} of zero) is shed as {@link Result#USER_LIMIT}.
+     */
+    Entry enter(FeedbackPriority priority, String user, long deadlineNanos, long maxWaitNanos) {
+        long startNanos = System.nanoTime();
+        lock.lock();
+        try {
+            boolean atUserCap = user != null && userShares.atInflightCap(user);
+            if (!atUserCap && !queuedAhead(priority) && acquire(priority, user)) {
+                return new Entry(Result.ADMITTED, 0L);
+            }
+            if (user != null && ((atUserCap && maxWaitNanos <= 0)
+                    || queuedBy(user) >= userShares.maxQueued(maxDepth))) {
+                return new Entry(Result.USER_LIMIT, 0L);
+            }
+            Waiter victim = depth >= maxDepth ? victimBelow(priority) : null;
+            if (depth >= maxDepth && victim == null) {
+                return new Entry(Result.QUEUE_FULL, 0L);
+            }
+            long expectedService = Double.isNaN(serviceNanos) ? 0L : (long) serviceNanos;
+            long waitBudget = Math.min(maxWaitNanos, deadlineNanos - expectedService);
+            if (waitBudget <= 0 || expectedWaitNanos(positionOf(priority)) > waitBudget) {
+                return new Entry(Result.DEADLINE, 0L);
+            }
+            if (victim != null) {
+                preempt(victim);
+            }
+            return await(priority, user, waitBudget, startNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Called after the underlying slot was released; feeds the service-time estimate and wakes the scheduled
+     * waiters.
+     */
+    void onRelease(long heldNanos, FeedbackPriority priority, String user) {
+        lock.lock();
+        try {
+            shares.released(priority);
+            userShares.released(user);
+            if (heldNanos > 0) {
+                serviceNanos = Double.isNaN(serviceNanos)
+                        ? heldNanos
+                        : serviceNanos + SERVICE_TIME_SMOOTHING * (heldNanos - serviceNanos);
+            }
+            signalScheduled();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int depth() {
+        lock.lock();
+        try {
+            return depth;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waiters of all users hashing to {@code bucket}; see {@link FeedbackUserShares#bucketOf(String)}.
+     */
+    int depthOfBucket(int bucket) {
+        lock.lock();
+        try {
+            int total = 0;
+            for (ClassQueue queue : waiters.values()) {
+                for (UserQueue userQueue : queue.users.values()) {
+                    if (userShares.bucketOf(userQueue.user) == bucket) {
+                        total += userQueue.waiters.size();
+                    }
+                }
+            }
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int maxUserDepth() {
+        lock.lock();
+        try {
+            Map<String, Integer> byUser = new HashMap<>();
+            for (ClassQueue queue : waiters.values()) {
+                for (UserQueue userQueue : queue.users.values()) {
+                    byUser.merge(String.valueOf(userQueue.user), userQueue.waiters.size(), Integer::sum);
+                }
+            }
+            return byUser.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry await(FeedbackPriority priority, String user, long waitBudgetNanos, long startNanos) {
+        Waiter self = new Waiter(lock.newCondition(), user);
+        ClassQueue queue = waiters.get(priority);
+        queue.add(self);
+        depth++;
+        long remaining = waitBudgetNanos;
+        try {
+            while (true) {
+                if (self.preempted) {
+                    return new Entry(Result.PREEMPTED, System.nanoTime() - startNanos);
+                }
+                if (mayTry(self, priority) && acquire(priority, user)) {
+                    queue.served(self);
+                    return new Entry(Result.ADMITTED, System.nanoTime() - startNanos);
+                }
+                if (remaining <= 0) {
+                    return new Entry(Result.TIMEOUT, System.nanoTime() - startNanos);
+                }
+                remaining = self.condition.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Entry(Result.INTERRUPTED, System.nanoTime() - startNanos);
+        } finally {
+            if (queue.remove(self)) {
+                depth--;
+            }
+            signalScheduled();
+        }
+    }
+
+    private boolean acquire(FeedbackPriority priority, String user) {
+        if (userShares.atInflightCap(user)
+                || !shares.allows(priority, capacity.getAsInt())
+                || !tryAcquire.getAsBoolean()) {
+            return false;
+        }
+        shares.acquired(priority);
+        userShares.acquired(user);
+        return true;
+    }
+
+    /**
+     * True when a waiter of {@code priority} or of a higher class that could use a free slot is already queued.
+     */
+    private boolean queuedAhead(FeedbackPriority priority) {
+        int limit = capacity.getAsInt();
+        for (FeedbackPriority other : CLASSES) {
+            if (other.ordinal() > priority.ordinal()) {
+                return false;
+            }
+            if (waiters.get(other).next() != null && (other == priority || shares.allows(other, limit))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean mayTry(Waiter self, FeedbackPriority priority) {
+        if (waiters.get(priority).next() != self) {
+            return false;
+        }
+        int limit = capacity.getAsInt();
+        for (FeedbackPriority higher : CLASSES) {
+            if (higher == priority) {
+                return true;
+            }
+            if (waiters.get(higher).next() != null && shares.allows(higher, limit)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The newest waiter of the heaviest user in the lowest class below {@code priority}, if any.
+     */
+    private Waiter victimBelow(FeedbackPriority priority) {
+        for (int i = CLASSES.length - 1; i > priority.ordinal(); i--) {
+            Waiter victim = waiters.get(CLASSES[i]).newestOfHeaviestUser();
+            if (victim != null) {
+                return victim;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drops {@code victim} from its queue to free a position for a higher-class newcomer.
+     */
+    private void preempt(Waiter victim) {
+        for (ClassQueue queue : waiters.values()) {
+            if (queue.remove(victim)) {
+                victim.preempted = true;
+                depth--;
+                victim.condition.signal();
+                return;
+            }
+        }
+    }
+
+    private int queuedBy(String user) {
+        int queued = 0;
+        for (ClassQueue queue : waiters.values()) {
+            UserQueue userQueue = queue.users.get(user);
+            if (userQueue != null) {
+                queued += userQueue.waiters.size();
+            }
+        }
+        return queued;
+    }
+
+    private int positionOf(FeedbackPriority priority) {
+        int ahead = 0;
+        for (FeedbackPriority other : CLASSES) {
+            if (other.ordinal() > priority.ordinal()) {
+                break;
+            }
+            ahead += waiters.get(other).size;
+        }
+        return ahead + 1;
+    }
+
+    private void signalScheduled() {
+        for (ClassQueue queue : waiters.values()) {
+            Waiter next = queue.next();
+            if (next != null) {
+                next.condition.signal();
+            }
+        }
+    }
+
+    private long expectedWaitNanos(int position) {
+        if (Double.isNaN(serviceNanos)) {
+            return 0L;
+        }
+        return (long) (position * serviceNanos / Math.max(1, capacity.getAsInt()));
+    }
+
+    /**
+     * Waiters of one class, one FIFO per user. Users take turns in {@code rotation}; a turn tops the user's deficit
+     * up by its weight, and the user is served while its deficit covers one slot. Capped users are skipped.
+     */
+    private final class ClassQueue {
+
+        private final Map<String, UserQueue> users = new HashMap<>();
+        private final ArrayDeque<UserQueue> rotation = new ArrayDeque<>();
+        private int size;
+
+        private void add(Waiter waiter) {
+            users.computeIfAbsent(waiter.user, user -> {
+                UserQueue queue = new UserQueue(user);
+                rotation.addLast(queue);
+                return queue;
+            }).waiters.addLast(waiter);
+            size++;
+        }
+
+        private boolean remove(Waiter waiter) {
+            UserQueue queue = users.get(waiter.user);
+            if (queue == null || !queue.waiters.remove(waiter)) {
+                return false;
+            }
+            size--;
+            if (queue.waiters.isEmpty()) {
+                users.remove(waiter.user);
+                rotation.remove(queue);
+            }
+            return true;
+        }
+
+        /**
+         * The waiter the schedule serves next, or {@code null} when every queued user is at its in-flight cap.
+         */
+        private Waiter next() {
+            int turns = rotation.size() * MAX_ROUNDS;
+            for (int i = 0; i < turns; i++) {
+                UserQueue front = rotation.peekFirst();
+                if (!userShares.atInflightCap(front.user)) {
+                    if (front.deficit < 1.0) {
+                        front.deficit += userShares.weight(front.user);
+                    }
+                    if (front.deficit >= 1.0) {
+                        return front.waiters.peekFirst();
+                    }
+                }
+                rotation.addLast(rotation.pollFirst());
+            }
+            return null;
+        }
+
+        /**
+         * Charges the user one slot and ends its turn once the deficit no longer covers another.
+         */
+        private void served(Waiter waiter) {
+            UserQueue queue = users.get(waiter.user);
+            if (queue == null) {
+                return;
+            }
+            queue.deficit -= 1.0;
+            if (queue.deficit < 1.0 && rotation.peekFirst() == queue) {
+                rotation.addLast(rotation.pollFirst());
+            }
+        }
+
+        private Waiter newestOfHeaviestUser() {
+            UserQueue heaviest = null;
+            for (UserQueue queue : rotation) {
+                if (heaviest == null || queue.waiters.size() > heaviest.waiters.size()) {
+                    heaviest = queue;
+                }
+            }
+            return heaviest == null ? null : heaviest.waiters.peekLast();
+        }
+    }
+
+    private static final class UserQueue {
+
+        private final String user;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private double deficit;
+
+        private UserQueue(String user) {
+            this.user = user;
+        }
+    }
+
+    private static final class Waiter {
+
+        private final Condition condition;
+        private final String user;
+        private boolean preempted;
+
+        private Waiter(Condition condition, String user) {
+            this.condition = condition;
+            this.user = user;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Bounded wait in front of each admission limit, at most {@code max-depth} requests deep. Waiters are served by
+ * priority class and deficit-round-robin across users within a class (see {@link AdmissionWaitQueue}). A request
+ * waits at most {@code max-wait} for a slot and is shed up front when the measured service rate says its deadline
+ * cannot be met; the deadline is the one bound to the request, else what {@link RequestDeadlineResolver} derives
+ * from {@code X-Request-Deadline} or {@code deadline.default-budget}.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.feedback.admission-queue")
+public record FeedbackAdmissionQueueProperties(
+        boolean enabled,
+        @Min(0) @Max(100_000) int maxDepth,
+        @NotNull Duration maxWait
+) {
+    public static FeedbackAdmissionQueueProperties disabled() {
+        return new FeedbackAdmissionQueueProperties(false, 0, Duration.ZERO);
+    }
+}
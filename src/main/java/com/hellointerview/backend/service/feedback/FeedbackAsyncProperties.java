@@ -0,0 +1,27 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Async feedback job mode: clients opting in with {@code Prefer: respond-async} get 202 plus a job handle while a
+ * bounded worker pool runs the provider call and finalize. With {@code cancel-on-disconnect}, synchronous submits
+ * run on their own virtual threads behind an async servlet response, so a client disconnect cancels the provider
+ * call.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.feedback.async")
+public record FeedbackAsyncProperties(
+        boolean enabled,
+        @Min(1) @Max(512) int workerThreads,
+        @Min(0) @Max(100_000) int queueCapacity,
+        @NotNull Duration sseTimeout,
+        @Min(1) @Max(86400) int retryAfterSeconds,
+        boolean cancelOnDisconnect
+) {
+}
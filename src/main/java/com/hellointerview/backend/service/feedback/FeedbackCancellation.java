@@ -0,0 +1,154 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.exception.ClientDisconnectedException;
+import com.hellointerview.backend.exception.LlmTimeoutException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Cancels provider work for one feedback request once its client has gone away. Work runs inside
+ * {@link #call(Supplier)}; {@link #cancel()} interrupts the threads inside it and runs the abort hooks that the HTTP
+ * transports register for in-flight requests, since blocking socket reads do not react to interrupts.
+ * {@link #timeOut()} cancels the same way when the request deadline fires first, but the work then fails as a timeout
+ * rather than a disconnect.
+ */
+public final class FeedbackCancellation {
+
+    private static final ThreadLocal<FeedbackCancellation> CURRENT = new ThreadLocal<>();
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile boolean timedOut;
+    private final ReentrantLock workersLock = new ReentrantLock();
+    private final Set<Thread> workers = new HashSet<>();
+    private final List<Runnable> abortHooks = new CopyOnWriteArrayList<>();
+
+    public static Optional<FeedbackCancellation> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Registers {@code hook} on the cancellation bound to this thread, if any; runs it at once if already cancelled.
+     */
+    static void onCancelIfBound(Runnable hook) {
+        FeedbackCancellation cancellation = CURRENT.get();
+        if (cancellation != null) {
+            cancellation.onCancel(hook);
+        }
+    }
+
+    /**
+     * Registers {@code hook} to run on {@link #cancel()}; runs it at once if already cancelled. For work that leaves
+     * the thread running {@link #call(Supplier)}, such as an in-flight async provider call.
+     */
+    void onCancel(Runnable hook) {
+        abortHooks.add(hook);
+        if (isCancelled()) {
+            hook.run();
+        }
+    }
+
+    /**
+     * Drops a hook registered with {@link #onCancel(Runnable)} once the work it aborts has finished.
+     */
+    void removeOnCancel(Runnable hook) {
+        abortHooks.remove(hook);
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * Cancels because the request deadline expired while the client was still waiting.
+     */
+    public void timeOut() {
+        if (!isCancelled()) {
+            timedOut = true;
+        }
+        cancel();
+    }
+
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        for (Runnable hook : abortHooks) {
+            try {
+                hook.run();
+            } catch (RuntimeException ignored) {
+                // Best effort: the transport may already have released the request.
+            }
+        }
+        workersLock.lock();
+        try {
+            workers.forEach(Thread::interrupt);
+        } finally {
+            workersLock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code body} with this cancellation bound. A failure after {@link #cancel()} surfaces as
+     * {@link ClientDisconnectedException} (or {@link LlmTimeoutException} after {@link #timeOut()}) whatever the
+     * provider threw, and a pending interrupt is cleared so pooled threads are handed back clean.
+     */
+    public <T> T call(Supplier<T> body) {
+        FeedbackCancellation previous = CURRENT.get();
+        Thread thread = Thread.currentThread();
+        CURRENT.set(this);
+        workersLock.lock();
+        try {
+            workers.add(thread);
+        } finally {
+            workersLock.unlock();
+        }
+        try {
+            throwIfCancelled();
+            return body.get();
+        } catch (RuntimeException e) {
+            throw isCancelled() ? cancelledFailure(e) : e;
+        } finally {
+            workersLock.lock();
+            try {
+                workers.remove(thread);
+                if (isCancelled()) {
+                    Thread.interrupted();
+                }
+            } finally {
+                workersLock.unlock();
+            }
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    void throwIfCancelled() {
+        if (isCancelled()) {
+            throw cancelledFailure(null);
+        }
+    }
+
+    /**
+     * The exception work fails with once cancelled; {@code cause} is kept unless it already is that exception.
+     */
+    RuntimeException cancelledFailure(Throwable cause) {
+        if (timedOut) {
+            return cause instanceof LlmTimeoutException timeout
+                    ? timeout
+                    : new LlmTimeoutException("Request deadline expired; provider call cancelled", cause);
+        }
+        return cause instanceof ClientDisconnectedException disconnected
+                ? disconnected
+                : new ClientDisconnectedException("Client disconnected; provider call cancelled", cause);
+    }
+}
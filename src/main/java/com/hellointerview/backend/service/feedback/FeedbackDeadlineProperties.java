@@ -0,0 +1,25 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * End-to-end budget for one feedback request: {@code X-Request-Deadline} when sent (capped at {@code max-budget}),
+ * else {@code default-budget}. Provider retries stop once less than {@code min-attempt-budget} would be left for the
+ * next attempt.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.feedback.deadline")
+public record FeedbackDeadlineProperties(
+        boolean enabled,
+        @NotNull Duration defaultBudget,
+        @NotNull Duration maxBudget,
+        @NotNull Duration minAttemptBudget
+) {
+    public static FeedbackDeadlineProperties disabled() {
+        return new FeedbackDeadlineProperties(false, Duration.ofSeconds(90), Duration.ofSeconds(120), Duration.ZERO);
+    }
+}
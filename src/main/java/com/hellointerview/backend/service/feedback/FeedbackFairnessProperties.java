@@ -0,0 +1,45 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Map;
+
+/**
+ * Per-user fairness inside each admission limit, keyed on {@code PracticeMain.userId}. Queued requests of one
+ * priority class are served deficit-round-robin across users, weighted by {@code weights} (user id to weight, else
+ * {@code default-weight}). A user holds at most {@code max-inflight-per-user} slots and {@code max-queue-share} of the
+ * wait queue. Per-user queue depth is exported in {@code metric-buckets} hashed buckets to keep cardinality bounded.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.feedback.fairness")
+public record FeedbackFairnessProperties(
+        boolean enabled,
+        @Min(1) @Max(10_000) int maxInflightPerUser,
+        @DecimalMin("0.0") @DecimalMax("1.0") double maxQueueShare,
+        @DecimalMin("0.1") @DecimalMax("10.0") double defaultWeight,
+        Map<String, Double> weights,
+        @Min(1) @Max(256) int metricBuckets
+) {
+    public FeedbackFairnessProperties {
+        weights = weights == null ? Map.of() : Map.copyOf(weights);
+        for (Map.Entry<String, Double> weight : weights.entrySet()) {
+            if (weight.getValue() == null || weight.getValue() < 0.1 || weight.getValue() > 10.0) {
+                throw new IllegalArgumentException(
+                        "ai.llm.feedback.fairness.weights." + weight.getKey() + " must be between 0.1 and 10.0");
+            }
+        }
+    }
+
+    public static FeedbackFairnessProperties disabled() {
+        return new FeedbackFairnessProperties(false, 10_000, 1.0, 1.0, Map.of(), 1);
+    }
+
+    double weightFor(String user) {
+        return user == null ? defaultWeight : weights.getOrDefault(user, defaultWeight);
+    }
+}
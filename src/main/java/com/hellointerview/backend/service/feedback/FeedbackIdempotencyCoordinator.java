@@ -1,5 +1,6 @@
 package com.hellointerview.backend.service.feedback;
 
+import com.hellointerview.backend.dto.FeedbackRequestStatusDto;
 import com.hellointerview.backend.entity.Practice;
 import com.hellointerview.backend.entity.PracticeFeedback;
 import com.hellointerview.backend.entity.PracticeFeedbackRequest;
@@ -14,12 +15,18 @@ import org.springframework.transaction.annotation.Transactional;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Optional;
 
 @Component
 public class FeedbackIdempotencyCoordinator {
 
     static final int STALE_CLAIM_AFTER_MINUTES = 15;
 
+    /**
+     * Floor for the deadline-derived statement timeout, so marking a request failed after its deadline still lands.
+     */
+    static final long MIN_STATEMENT_TIMEOUT_MILLIS = 1_000L;
+
     private final PracticeFeedbackRequestRepository requestRepository;
     private final PracticeFeedbackRepository feedbackRepository;
 
@@ -34,6 +41,7 @@ public class FeedbackIdempotencyCoordinator {
                                              String idempotencyKey,
                                              Practice practice,
                                              String fingerprint) {
+        applyDeadlineStatementTimeout();
         Instant now = Instant.now();
         var existingOpt = requestRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
         if (existingOpt.isPresent()) {
@@ -92,14 +100,17 @@ public class FeedbackIdempotencyCoordinator {
         if (fb == null) {
             return new FeedbackClaimResult.Conflict("Completed idempotency row is missing practice_feedback reference");
         }
-        return new FeedbackClaimResult.Replay(FeedbackSubmitResponseMapper.toDto(row.getPractice(), fb));
+        return new FeedbackClaimResult.Replay(
+                row.getPracticeFeedbackRequestId(),
+                FeedbackSubmitResponseMapper.toDto(row.getPractice(), fb)
+        );
     }
 
     private FeedbackClaimResult handleClaimed(PracticeFeedbackRequest row, String fingerprint) {
         if (!fingerprint.equals(row.getInputFingerprint())) {
             return new FeedbackClaimResult.Conflict("Idempotency-Key reused with different persisted inputs");
         }
-        return new FeedbackClaimResult.InProgress();
+        return new FeedbackClaimResult.InProgress(row.getPracticeFeedbackRequestId());
     }
 
     private FeedbackClaimResult handleFailed(PracticeFeedbackRequest row, String fingerprint) {
@@ -116,6 +127,7 @@ public class FeedbackIdempotencyCoordinator {
 
     @Transactional
     public PracticeFeedback finalizeSuccessful(long requestId, Practice practice, LlmFeedbackResult result) {
+        applyDeadlineStatementTimeout();
         PracticeFeedbackRequest req = requestRepository.findById(requestId)
                 .orElseThrow(() -> new IllegalStateException("practice_feedback_request not found: " + requestId));
         double score = clampScoreForPersistence(result.score());
@@ -135,6 +147,7 @@ public class FeedbackIdempotencyCoordinator {
 
     @Transactional
     public void markRequestFailed(long requestId, String errorCode) {
+        applyDeadlineStatementTimeout();
         PracticeFeedbackRequest req = requestRepository.findById(requestId)
                 .orElseThrow(() -> new IllegalStateException("practice_feedback_request not found: " + requestId));
         req.setStatus(PracticeFeedbackRequestStatus.FAILED);
@@ -143,6 +156,22 @@ public class FeedbackIdempotencyCoordinator {
         requestRepository.save(req);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<FeedbackRequestStatusDto> findStatus(long requestId) {
+        return requestRepository.findWithPracticeAndFeedbackById(requestId)
+                .map(FeedbackSubmitResponseMapper::toStatusDto);
+    }
+
+    /**
+     * Bounds every statement of the surrounding transaction by the time left on the bound {@link RequestDeadline}.
+     */
+    private void applyDeadlineStatementTimeout() {
+        RequestDeadline.current().ifPresent(deadline -> {
+            long millis = Math.max(MIN_STATEMENT_TIMEOUT_MILLIS, deadline.remaining().toMillis());
+            requestRepository.setLocalStatementTimeout(millis + "ms");
+        });
+    }
+
     private static boolean isPostgresUniqueViolation(DataIntegrityViolationException ex) {
         for (Throwable c = ex; c != null; c = c.getCause()) {
             if (c instanceof SQLException sql && "23505".equals(sql.getSQLState())) {
@@ -159,7 +188,7 @@ public class FeedbackIdempotencyCoordinator {
     /**
      * Finite out-of-range scores are clamped to [0, 100]. NaN/infinite scores cannot be stored or graded (PRD §2.4).
      */
-    private static double clampScoreForPersistence(double score) {
+    static double clampScoreForPersistence(double score) {
         if (Double.isNaN(score) || Double.isInfinite(score)) {
             throw new GradeMappingException("LLM returned a non-finite score");
         }
@@ -34,4 +34,34 @@ public final class FeedbackInputFingerprint {
             throw new IllegalStateException(e);
         }
     }
+
+    /**
+     * Practice-independent digest of everything the prompt is built from, so identical resubmissions (same question,
+     * diagram and transcript) map to one result-cache entry. Hashes full transcript text rather than
+     * {@link String#hashCode()} since a collision here would serve another submission's feedback.
+     */
+    public static String computeContent(String questionType,
+                                        String questionDescription,
+                                        String sectionJson,
+                                        List<PracticeTranscriptSegment> segments) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            updateField(md, questionType);
+            updateField(md, questionDescription);
+            updateField(md, sectionJson);
+            for (PracticeTranscriptSegment s : segments) {
+                updateField(md, s.getTranscriptText());
+            }
+            return HexFormat.of().formatHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void updateField(MessageDigest md, String value) {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        md.update(String.valueOf(bytes.length).getBytes(StandardCharsets.UTF_8));
+        md.update((byte) ':');
+        md.update(bytes);
+    }
 }
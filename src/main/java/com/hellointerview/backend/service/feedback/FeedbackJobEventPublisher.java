@@ -0,0 +1,84 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.dto.FeedbackRequestStatusDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * In-process fan-out of async feedback job status to server-sent-event subscribers, keyed by
+ * {@code practice_feedback_request_id}. Subscribers on another node only see the final state via polling.
+ */
+@Component
+public class FeedbackJobEventPublisher {
+
+    static final String EVENT_STATUS = "status";
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackJobEventPublisher.class);
+
+    private final FeedbackAsyncProperties properties;
+    private final ConcurrentHashMap<Long, List<SseEmitter>> emittersByRequestId = new ConcurrentHashMap<>();
+
+    public FeedbackJobEventPublisher(FeedbackAsyncProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Registers before reading the current status so a job finishing concurrently is never missed; a subscriber may
+     * therefore see the terminal event twice.
+     */
+    public SseEmitter subscribe(long requestId, Supplier<FeedbackRequestStatusDto> currentStatus) {
+        SseEmitter emitter = new SseEmitter(properties.sseTimeout().toMillis());
+        List<SseEmitter> emitters = emittersByRequestId.computeIfAbsent(requestId, id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> remove(requestId, emitter));
+        emitter.onTimeout(() -> remove(requestId, emitter));
+        emitter.onError(e -> remove(requestId, emitter));
+
+        FeedbackRequestStatusDto status = currentStatus.get();
+        send(emitter, status);
+        if (status.isTerminal()) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    public void publish(FeedbackRequestStatusDto status) {
+        List<SseEmitter> emitters = status.isTerminal()
+                ? emittersByRequestId.remove(status.practiceFeedbackRequestId())
+                : emittersByRequestId.get(status.practiceFeedbackRequestId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(emitter, status);
+            if (status.isTerminal()) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, FeedbackRequestStatusDto status) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_STATUS).data(status));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping feedback job subscriber for request {}: {}",
+                    status.practiceFeedbackRequestId(), e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(long requestId, SseEmitter emitter) {
+        emittersByRequestId.computeIfPresent(requestId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package com.hellointerview.backend.service.feedback;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded worker pool for async feedback jobs. A full queue surfaces as {@link RejectedExecutionException} so the
+ * caller can release the claim and answer 503 instead of buffering unbounded LLM work. With
+ * {@code spring.threads.virtual.enabled} the workers are virtual threads, so provider waits and retry backoff sleeps
+ * unmount instead of parking a platform thread; the pool size then acts purely as a concurrency bound.
+ * {@link #executeUnbounded(Runnable)} starts a virtual thread per job instead, for synchronous requests that only
+ * run off the request thread so they can be cancelled and are already bounded by admission.
+ */
+@Component
+public class FeedbackJobExecutor {
+
+    private static final String METRIC_QUEUE_DEPTH = "feedback_async_queue_depth";
+    private static final String METRIC_ACTIVE_JOBS = "feedback_async_active_jobs";
+    private static final String THREAD_NAME_PREFIX = "feedback-job-";
+    private static final String UNBOUNDED_THREAD_NAME_PREFIX = "feedback-sync-";
+
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService unboundedExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(UNBOUNDED_THREAD_NAME_PREFIX, 1).factory());
+
+    public FeedbackJobExecutor(FeedbackAsyncProperties properties, MeterRegistry meterRegistry, Environment environment) {
+        BlockingQueue<Runnable> queue = properties.queueCapacity() > 0
+                ? new ArrayBlockingQueue<>(properties.queueCapacity())
+                : new SynchronousQueue<>();
+        this.executor = new ThreadPoolExecutor(
+                properties.workerThreads(),
+                properties.workerThreads(),
+                60L,
+                TimeUnit.SECONDS,
+                queue,
+                threadFactory(environment),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_QUEUE_DEPTH, executor, e -> e.getQueue().size()).register(meterRegistry);
+            Gauge.builder(METRIC_ACTIVE_JOBS, executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        }
+    }
+
+    private static ThreadFactory threadFactory(Environment environment) {
+        if (environment != null && Threading.VIRTUAL.isActive(environment)) {
+            return Thread.ofVirtual().name(THREAD_NAME_PREFIX, 1).factory();
+        }
+        return new NamedThreadFactory(THREAD_NAME_PREFIX);
+    }
+
+    public void execute(Runnable job) throws RejectedExecutionException {
+        executor.execute(job);
+    }
+
+    /**
+     * Runs {@code job} on its own virtual thread; rejects only after shutdown.
+     */
+    public void executeUnbounded(Runnable job) throws RejectedExecutionException {
+        unboundedExecutor.execute(job);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        shutdown(executor);
+        shutdown(unboundedExecutor);
+    }
+
+    private static void shutdown(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        private NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
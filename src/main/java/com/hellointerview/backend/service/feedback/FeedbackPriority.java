@@ -0,0 +1,72 @@
+package com.hellointerview.backend.service.feedback;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Admission class of a feedback request, highest first. Work without a servlet request (background jobs) binds its
+ * class to the thread with {@link #call(Supplier)}; {@link FeedbackPriorityResolver} reads it via {@link #bound()}.
+ */
+public enum FeedbackPriority {
+
+    /**
+     * A user waiting on their own submission.
+     */
+    INTERACTIVE,
+
+    /**
+     * Re-grades and backfills; nobody is waiting on the response.
+     */
+    BACKGROUND,
+
+    /**
+     * Lab and load-test traffic.
+     */
+    LAB;
+
+    private static final ThreadLocal<FeedbackPriority> BOUND = new ThreadLocal<>();
+
+    static Optional<FeedbackPriority> bound() {
+        return Optional.ofNullable(BOUND.get());
+    }
+
+    static Optional<FeedbackPriority> parse(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(valueOf(value.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException ignored) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Lower-case name used as the {@code priority} metric tag.
+     */
+    String tagValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public <T> T call(Supplier<T> body) {
+        FeedbackPriority previous = BOUND.get();
+        BOUND.set(this);
+        try {
+            return body.get();
+        } finally {
+            if (previous == null) {
+                BOUND.remove();
+            } else {
+                BOUND.set(previous);
+            }
+        }
+    }
+
+    public void run(Runnable body) {
+        call(() -> {
+            body.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Priority lanes inside each admission limit. Every {@link FeedbackPriority} class keeps {@code reserved-share} of
+ * the limit that other classes may not take, and may borrow idle capacity up to {@code max-share}. Waiters are
+ * served highest class first, and a full queue drops its newest lowest-class waiter to make room for a higher one.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.feedback.priority")
+public record FeedbackPriorityProperties(
+        boolean enabled,
+        @Valid @NotNull Lane interactive,
+        @Valid @NotNull Lane background,
+        @Valid @NotNull Lane lab
+) {
+    public FeedbackPriorityProperties {
+        if (interactive.reservedShare() + background.reservedShare() + lab.reservedShare() > 1.0) {
+            throw new IllegalArgumentException("ai.llm.feedback.priority reserved shares must add up to at most 1.0");
+        }
+    }
+
+    public static FeedbackPriorityProperties disabled() {
+        Lane open = new Lane(0.0, 1.0);
+        return new FeedbackPriorityProperties(false, open, open, open);
+    }
+
+    Lane lane(FeedbackPriority priority) {
+        return switch (priority) {
+            case INTERACTIVE -> interactive;
+            case BACKGROUND -> background;
+            case LAB -> lab;
+        };
+    }
+
+    /**
+     * @param reservedShare fraction of the limit held back for this class even when it is idle
+     * @param maxShare      fraction of the limit this class may occupy, borrowed capacity included
+     */
+    public record Lane(
+            @DecimalMin("0.0") @DecimalMax("1.0") double reservedShare,
+            @DecimalMin("0.0") @DecimalMax("1.0") double maxShare
+    ) {
+        public Lane {
+            if (maxShare < reservedShare) {
+                throw new IllegalArgumentException("ai.llm.feedback.priority max-share must be >= reserved-share");
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+/**
+ * Resolves the {@link FeedbackPriority} of the current request: a class bound to the thread, then
+ * {@code X-Feedback-Priority}, then lab traffic by its {@code X-Lab-Strategy-Id} header. Everything else is
+ * interactive.
+ */
+@Component
+class FeedbackPriorityResolver {
+
+    static final String HEADER_PRIORITY = "X-Feedback-Priority";
+
+    private final LabRequestContextResolver labRequestContextResolver;
+
+    FeedbackPriorityResolver(LabRequestContextResolver labRequestContextResolver) {
+        this.labRequestContextResolver = labRequestContextResolver;
+    }
+
+    FeedbackPriority resolve() {
+        Optional<FeedbackPriority> bound = FeedbackPriority.bound();
+        if (bound.isPresent()) {
+            return bound.get();
+        }
+        Optional<FeedbackPriority> requested = FeedbackPriority.parse(header());
+        if (requested.isPresent()) {
+            return requested.get();
+        }
+        if (labRequestContextResolver.resolve().strategyId() != null) {
+            return FeedbackPriority.LAB;
+        }
+        return FeedbackPriority.INTERACTIVE;
+    }
+
+    private static String header() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        return request == null ? null : request.getHeader(HEADER_PRIORITY);
+    }
+}
@@ -0,0 +1,69 @@
+package com.hellointerview.backend.service.feedback;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Per-class slot accounting for one admission limit. {@link #allows} and the counters are called under the owning
+ * {@link AdmissionWaitQueue}'s lock; the array only makes {@link #inflight} safe to read from metric gauges.
+ */
+final class FeedbackPriorityShares {
+
+    private static final FeedbackPriority[] CLASSES = FeedbackPriority.values();
+
+    private final FeedbackPriorityProperties properties;
+    private final AtomicIntegerArray inflight = new AtomicIntegerArray(CLASSES.length);
+
+    FeedbackPriorityShares(FeedbackPriorityProperties properties) {
+        this.properties = properties;
+    }
+
+    static FeedbackPriorityShares unlimited() {
+        return new FeedbackPriorityShares(FeedbackPriorityProperties.disabled());
+    }
+
+    /**
+     * True when {@code priority} is under its {@code max-share} and one more slot still leaves room for the unused
+     * reservations of the other classes. Does not check the limit itself; the underlying limiter does.
+     */
+    boolean allows(FeedbackPriority priority, int limit) {
+        if (!properties.enabled()) {
+            return true;
+        }
+        if (inflight.get(priority.ordinal()) >= maxSlots(priority, limit)) {
+            return false;
+        }
+        int total = 0;
+        int heldForOthers = 0;
+        for (FeedbackPriority other : CLASSES) {
+            int used = inflight.get(other.ordinal());
+            total += used;
+            if (other != priority) {
+                heldForOthers += Math.max(0, reservedSlots(other, limit) - used);
+            }
+        }
+        return total + 1 + heldForOthers <= limit;
+    }
+
+    void acquired(FeedbackPriority priority) {
+        inflight.incrementAndGet(priority.ordinal());
+    }
+
+    void released(FeedbackPriority priority) {
+        inflight.updateAndGet(priority.ordinal(), value -> Math.max(0, value - 1));
+    }
+
+    int inflight(FeedbackPriority priority) {
+        return inflight.get(priority.ordinal());
+    }
+
+    private int reservedSlots(FeedbackPriority priority, int limit) {
+        return (int) Math.floor(properties.lane(priority).reservedShare() * limit);
+    }
+
+    /**
+     * At least one slot, so a small limit never locks a class out entirely.
+     */
+    private int maxSlots(FeedbackPriority priority, int limit) {
+        return Math.max(1, (int) Math.floor(properties.lane(priority).maxShare() * limit));
+    }
+}
@@ -0,0 +1,12 @@
+package com.hellointerview.backend.service.feedback;
+
+/**
+ * A rendered feedback prompt: the {@code prefix} is identical on every call for a given
+ * {@link FeedbackPromptTemplate#VERSION}, so providers can cache it; the {@code suffix} carries the request.
+ */
+record FeedbackPrompt(String prefix, String suffix) {
+
+    String text() {
+        return prefix + suffix;
+    }
+}
@@ -0,0 +1,50 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Input token budget for the rendered feedback prompt. The {@code -by-model} maps are keyed by lower-case model name
+ * or, failing that, provider name; anything unlisted uses the top-level defaults.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.feedback.prompt-budget")
+public record FeedbackPromptBudgetProperties(
+        boolean enabled,
+        @Min(256) int maxInputTokens,
+        @DecimalMin("1.0") double charsPerToken,
+        @DecimalMin("0.1") @DecimalMax("0.9") double minTranscriptShare,
+        Map<String, Integer> maxInputTokensByModel,
+        Map<String, Double> charsPerTokenByModel
+) {
+    public FeedbackPromptBudgetProperties {
+        maxInputTokensByModel = maxInputTokensByModel == null ? Map.of() : Map.copyOf(maxInputTokensByModel);
+        charsPerTokenByModel = charsPerTokenByModel == null ? Map.of() : Map.copyOf(charsPerTokenByModel);
+    }
+
+    public static FeedbackPromptBudgetProperties disabled() {
+        return new FeedbackPromptBudgetProperties(false, 6000, 4.0, 0.6, Map.of(), Map.of());
+    }
+
+    int maxInputTokensFor(AdmissionWorkloadKey key) {
+        return lookup(maxInputTokensByModel, key, maxInputTokens);
+    }
+
+    double charsPerTokenFor(AdmissionWorkloadKey key) {
+        return lookup(charsPerTokenByModel, key, charsPerToken);
+    }
+
+    private static <T> T lookup(Map<String, T> byModel, AdmissionWorkloadKey key, T fallback) {
+        T model = byModel.get(key.model().toLowerCase(Locale.ROOT));
+        if (model != null) {
+            return model;
+        }
+        return byModel.getOrDefault(key.provider().toLowerCase(Locale.ROOT), fallback);
+    }
+}
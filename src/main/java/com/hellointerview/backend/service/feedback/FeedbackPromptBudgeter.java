@@ -0,0 +1,238 @@
+package com.hellointerview.backend.service.feedback;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Fits an {@link LlmFeedbackInput} into the input token budget of the provider/model before it is rendered. Repeated
+ * diagram lines are always collapsed. If the prompt is still over budget, the transcript is compacted with an
+ * extractive map-reduce pass (map: an equal-sized excerpt from each chunk of sentences; reduce: join the excerpts in
+ * order), and then trailing diagram lines are dropped. Tokens are estimated from characters per token.
+ */
+@Component
+public class FeedbackPromptBudgeter {
+
+    static final String TRANSCRIPT_GAP = " [...] ";
+
+    private static final String METRIC_PROMPT_TOKENS = "llm_prompt_estimated_tokens";
+    private static final String METRIC_COMPACTIONS_TOTAL = "llm_prompt_compactions_total";
+
+    private static final Pattern FILLER = Pattern.compile("(?i)\\b(?:u+m+|u+h+|erm|hmm+)\\b[,.]?\\s*");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?])\\s+");
+    private static final int CHUNK_CHARS = 600;
+    private static final int WORDS_PER_WINDOW = 40;
+
+    private final FeedbackPromptBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final FeedbackPromptTemplate template = new FeedbackPromptTemplate();
+
+    public FeedbackPromptBudgeter(FeedbackPromptBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Fits {@code input} for {@code client}. A routing client picks its provider per call and fits for that member
+     * itself, so its input is returned as is.
+     */
+    public LlmFeedbackInput fit(LlmFeedbackInput input, LlmFeedbackClient client) {
+        if (client instanceof RoutingLlmFeedbackClient) {
+            return input;
+        }
+        return fit(input, client.admissionWorkloadKey());
+    }
+
+    /**
+     * Returns {@code input} itself when disabled; otherwise an input whose rendered prompt fits the budget as far as
+     * the question text allows.
+     */
+    public LlmFeedbackInput fit(LlmFeedbackInput input, AdmissionWorkloadKey key) {
+        if (!properties.enabled()) {
+            return input;
+        }
+        double charsPerToken = properties.charsPerTokenFor(key);
+        long budgetChars = (long) (properties.maxInputTokensFor(key) * charsPerToken);
+        recordTokens(key, "raw", estimateTokens(template.render(input).length(), charsPerToken));
+
+        String diagram = dedupeLines(input.diagramTextDescription());
+        if (length(diagram) != length(input.diagramTextDescription())) {
+            recordCompaction(key, "diagram_dedup");
+        }
+        String transcript = input.combinedTranscript();
+        LlmFeedbackInput fitted = withParts(input, diagram, transcript);
+        if (template.render(fitted).length() > budgetChars) {
+            long availableChars = Math.max(0L, budgetChars - template.render(withParts(input, "", "")).length());
+            long transcriptBudget = Math.max(availableChars - length(diagram),
+                    (long) (availableChars * properties.minTranscriptShare()));
+            if (length(transcript) > transcriptBudget) {
+                transcript = compactTranscript(transcript, (int) transcriptBudget);
+                recordCompaction(key, "transcript");
+            }
+            long diagramBudget = availableChars - length(transcript);
+            if (length(diagram) > diagramBudget) {
+                diagram = truncateLines(diagram, (int) Math.max(0L, diagramBudget));
+                recordCompaction(key, "diagram_truncate");
+            }
+            fitted = withParts(input, diagram, transcript);
+        }
+        recordTokens(key, "fitted", estimateTokens(template.render(fitted).length(), charsPerToken));
+        return fitted;
+    }
+
+    static int estimateTokens(int chars, double charsPerToken) {
+        return (int) Math.ceil(chars / charsPerToken);
+    }
+
+    /**
+     * Keeps the first occurrence of each line, suffixed with {@code (xN)} when it appeared N times.
+     */
+    static String dedupeLines(String text) {
+        if (text == null || text.isBlank()) {
+            return text;
+        }
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String line : text.split("\n")) {
+            counts.merge(line.stripTrailing(), 1, Integer::sum);
+        }
+        List<String> lines = new ArrayList<>(counts.size());
+        counts.forEach((line, count) -> lines.add(count > 1 ? line + " (x" + count + ")" : line));
+        return String.join("\n", lines);
+    }
+
+    static String compactTranscript(String transcript, int maxChars) {
+        String cleaned = WHITESPACE.matcher(FILLER.matcher(transcript).replaceAll("")).replaceAll(" ").trim();
+        if (cleaned.length() <= maxChars) {
+            return cleaned;
+        }
+        if (maxChars <= 0) {
+            return "";
+        }
+        List<String> sentences = sentences(cleaned);
+        int chunkCount = Math.max(1, Math.min(sentences.size(), maxChars / CHUNK_CHARS));
+        int share = (maxChars - (chunkCount - 1) * TRANSCRIPT_GAP.length()) / chunkCount;
+        List<String> excerpts = new ArrayList<>(chunkCount);
+        for (int c = 0; c < chunkCount; c++) {
+            List<String> chunk = sentences.subList(c * sentences.size() / chunkCount,
+                    (c + 1) * sentences.size() / chunkCount);
+            String excerpt = excerpt(chunk, share);
+            if (!excerpt.isEmpty()) {
+                excerpts.add(excerpt);
+            }
+        }
+        return String.join(TRANSCRIPT_GAP, excerpts);
+    }
+
+    /**
+     * Keeps whole lines from the top and replaces the rest with one marker line.
+     */
+    static String truncateLines(String text, int maxChars) {
+        String[] lines = text.split("\n");
+        StringBuilder kept = new StringBuilder();
+        int keptLines = 0;
+        for (String line : lines) {
+            boolean last = keptLines == lines.length - 1;
+            int reserve = last ? 0 : 1 + omittedMarker(lines.length - keptLines - 1).length();
+            if (kept.length() + (kept.isEmpty() ? 0 : 1) + line.length() + reserve > maxChars) {
+                break;
+            }
+            if (!kept.isEmpty()) {
+                kept.append('\n');
+            }
+            kept.append(line);
+            keptLines++;
+        }
+        if (keptLines == lines.length) {
+            return kept.toString();
+        }
+        String marker = omittedMarker(lines.length - keptLines);
+        return kept.isEmpty() ? marker : kept + "\n" + marker;
+    }
+
+    private static String omittedMarker(int omitted) {
+        return "- (" + omitted + " more diagram lines omitted)";
+    }
+
+    /**
+     * Splits on sentence ends; runs longer than one chunk (unpunctuated speech-to-text) are split into word windows.
+     */
+    private static List<String> sentences(String text) {
+        List<String> sentences = new ArrayList<>();
+        for (String sentence : SENTENCE_END.split(text)) {
+            if (sentence.length() <= CHUNK_CHARS) {
+                sentences.add(sentence);
+                continue;
+            }
+            String[] words = sentence.split(" ");
+            for (int i = 0; i < words.length; i += WORDS_PER_WINDOW) {
+                sentences.add(String.join(" ", List.of(words).subList(i, Math.min(words.length, i + WORDS_PER_WINDOW))));
+            }
+        }
+        return sentences;
+    }
+
+    private static String excerpt(List<String> chunk, int maxChars) {
+        StringBuilder excerpt = new StringBuilder();
+        for (String sentence : chunk) {
+            if (excerpt.isEmpty()) {
+                excerpt.append(clip(sentence, maxChars));
+            } else if (excerpt.length() + 1 + sentence.length() <= maxChars) {
+                excerpt.append(' ').append(sentence);
+            } else {
+                break;
+            }
+        }
+        return excerpt.toString();
+    }
+
+    private static String clip(String sentence, int maxChars) {
+        if (sentence.length() <= maxChars) {
+            return sentence;
+        }
+        int cut = sentence.lastIndexOf(' ', maxChars);
+        return sentence.substring(0, cut > 0 ? cut : Math.max(0, maxChars));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static LlmFeedbackInput withParts(LlmFeedbackInput input, String diagram, String transcript) {
+        return new LlmFeedbackInput(
+                input.practiceId(),
+                input.questionType(),
+                input.questionDescription(),
+                diagram,
+                transcript
+        );
+    }
+
+    private void recordTokens(AdmissionWorkloadKey key, String stage, int tokens) {
+        if (meterRegistry == null) {
+            return;
+        }
+        DistributionSummary.builder(METRIC_PROMPT_TOKENS)
+                .baseUnit("tokens")
+                .tags("provider", key.provider(), "model", key.model(), "stage", stage)
+                .register(meterRegistry)
+                .record(tokens);
+    }
+
+    private void recordCompaction(AdmissionWorkloadKey key, String step) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_COMPACTIONS_TOTAL)
+                .tags("provider", key.provider(), "model", key.model(), "step", step)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -2,12 +2,36 @@ package com.hellointerview.backend.service.feedback;
 
 final class FeedbackPromptTemplate {
 
-    String render(LlmFeedbackInput input) {
-        return """
-                You are an expert system design interviewer providing constructive feedback.
-                Return valid JSON only with this schema:
-                {"feedback_text":"string","score":number}
-
+    /**
+     * Bump whenever the rendered prompt changes; it is part of the result-cache key and of the name of the
+     * provider-side prefix cache.
+     */
+    static final String VERSION = "v3";
+
+    /**
+     * Persona, output contract and rubric. Kept ahead of any per-request text so providers can reuse its evaluation.
+     */
+    static final String PREFIX = """
+            You are an expert system design interviewer providing constructive feedback.
+            Return valid JSON only with this schema:
+            {"feedback_text":"string","score":number}
+
+            Evaluate the submission below on:
+            1. Completeness
+            2. Correctness
+            3. Clarity
+            4. Best Practices
+            5. Improvements
+
+            Constraints:
+            - score must be in range 0-100
+            - feedback_text must be specific and actionable
+            - output JSON only, no markdown fences
+
+            """;
+
+    FeedbackPrompt build(LlmFeedbackInput input) {
+        return new FeedbackPrompt(PREFIX, """
                 Question Type: %s
                 Question: %s
 
@@ -16,24 +40,16 @@ final class FeedbackPromptTemplate {
 
                 Spoken Explanation Transcript (if provided):
                 %s
-
-                Evaluate:
-                1. Completeness
-                2. Correctness
-                3. Clarity
-                4. Best Practices
-                5. Improvements
-
-                Constraints:
-                - score must be in range 0-100
-                - feedback_text must be specific and actionable
-                - output JSON only, no markdown fences
                 """.formatted(
                 safe(input.questionType()),
                 safe(input.questionDescription()),
                 safe(input.diagramTextDescription()),
                 safe(input.combinedTranscript())
-        );
+        ));
+    }
+
+    String render(LlmFeedbackInput input) {
+        return build(input).text();
     }
 
     private static String safe(String value) {
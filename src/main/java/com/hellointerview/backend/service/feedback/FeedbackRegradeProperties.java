@@ -0,0 +1,40 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Bulk re-grade of {@code practice_feedback_history}. A job splits history into {@code partitions} by feedback id,
+ * each worker walks its partition in keyset pages of {@code chunk-size}, and all workers together stay under
+ * {@code max-qps} provider calls. {@code max-partitions} and {@code max-qps-ceiling} cap what a start request may ask
+ * for. A request the admission gate rejects waits {@code admission-backoff} and is retried.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.feedback.regrade")
+public record FeedbackRegradeProperties(
+        boolean enabled,
+        @Min(1) @Max(64) int partitions,
+        @Min(1) @Max(64) int maxPartitions,
+        @Min(1) @Max(1_000) int chunkSize,
+        @DecimalMin("0.01") @DecimalMax("1000.0") double maxQps,
+        @DecimalMin("0.01") @DecimalMax("1000.0") double maxQpsCeiling,
+        @NotNull Duration admissionBackoff
+) {
+    public FeedbackRegradeProperties {
+        if (partitions > maxPartitions || maxQps > maxQpsCeiling) {
+            throw new IllegalArgumentException(
+                    "ai.llm.feedback.regrade partitions and max-qps must not exceed max-partitions and max-qps-ceiling");
+        }
+    }
+
+    public static FeedbackRegradeProperties disabled() {
+        return new FeedbackRegradeProperties(false, 4, 16, 50, 1.0, 10.0, Duration.ofSeconds(2));
+    }
+}
@@ -0,0 +1,161 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.entity.FeedbackRegradeCheckpoint;
+import com.hellointerview.backend.entity.FeedbackRegradeJob;
+import com.hellointerview.backend.entity.FeedbackRegradeJobStatus;
+import com.hellointerview.backend.entity.PracticeFeedbackHistory;
+import com.hellointerview.backend.entity.PracticeFeedbackRegrade;
+import com.hellointerview.backend.exception.ResourceNotFoundException;
+import com.hellointerview.backend.repository.FeedbackRegradeCheckpointRepository;
+import com.hellointerview.backend.repository.FeedbackRegradeJobRepository;
+import com.hellointerview.backend.repository.PracticeFeedbackHistoryRepository;
+import com.hellointerview.backend.repository.PracticeFeedbackRegradeRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Persistence for re-grade jobs. A result row and its partition checkpoint are written in one transaction, so a
+ * resumed job neither repeats nor skips an item; the unique (job, source feedback) key backs that up.
+ */
+@Component
+public class FeedbackRegradeStore {
+
+    public enum ItemOutcome {
+        SUCCEEDED,
+        FAILED,
+        SKIPPED
+    }
+
+    private final FeedbackRegradeJobRepository jobRepository;
+    private final FeedbackRegradeCheckpointRepository checkpointRepository;
+    private final PracticeFeedbackRegradeRepository regradeRepository;
+    private final PracticeFeedbackHistoryRepository historyRepository;
+
+    public FeedbackRegradeStore(FeedbackRegradeJobRepository jobRepository,
+                                FeedbackRegradeCheckpointRepository checkpointRepository,
+                                PracticeFeedbackRegradeRepository regradeRepository,
+                                PracticeFeedbackHistoryRepository historyRepository) {
+        this.jobRepository = jobRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.regradeRepository = regradeRepository;
+        this.historyRepository = historyRepository;
+    }
+
+    @Transactional
+    public FeedbackRegradeJob createJob(String label,
+                                        AdmissionWorkloadKey workloadKey,
+                                        int partitions,
+                                        int chunkSize,
+                                        double maxQps) {
+        FeedbackRegradeJob job = jobRepository.save(FeedbackRegradeJob.builder()
+                .label(label)
+                .provider(workloadKey.provider())
+                .model(workloadKey.model())
+                .promptVersion(FeedbackPromptTemplate.VERSION)
+                .status(FeedbackRegradeJobStatus.RUNNING)
+                .partitions(partitions)
+                .chunkSize(chunkSize)
+                .maxQps(maxQps)
+                .totalItems(historyRepository.count())
+                .build());
+        for (int partition = 0; partition < partitions; partition++) {
+            checkpointRepository.save(FeedbackRegradeCheckpoint.builder()
+                    .regradeJobId(job.getRegradeJobId())
+                    .partitionNo(partition)
+                    .build());
+        }
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public FeedbackRegradeJob getJob(long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Regrade job with id " + jobId + " does not exist"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<FeedbackRegradeCheckpoint> checkpoints(long jobId) {
+        return checkpointRepository.findByRegradeJobIdOrderByPartitionNoAsc(jobId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PracticeFeedbackHistory> nextChunk(FeedbackRegradeJob job, FeedbackRegradeCheckpoint checkpoint) {
+        return historyRepository.findRegradeChunk(
+                checkpoint.getLastFeedbackId(),
+                job.getPartitions(),
+                checkpoint.getPartitionNo(),
+                PageRequest.of(0, job.getChunkSize())
+        );
+    }
+
+    /**
+     * Advances the checkpoint past {@code source} and, for {@link ItemOutcome#SUCCEEDED}, stores the new grade.
+     * Returns the updated checkpoint.
+     */
+    @Transactional
+    public FeedbackRegradeCheckpoint recordItem(FeedbackRegradeJob job,
+                                                long checkpointId,
+                                                PracticeFeedbackHistory source,
+                                                ItemOutcome outcome,
+                                                LlmFeedbackResult result) {
+        FeedbackRegradeCheckpoint checkpoint = checkpointRepository.findById(checkpointId)
+                .orElseThrow(() -> new IllegalStateException("feedback_regrade_checkpoint not found: " + checkpointId));
+        if (outcome == ItemOutcome.SUCCEEDED
+                && !regradeRepository.existsByRegradeJobIdAndSourceFeedbackId(job.getRegradeJobId(),
+                source.getPracticeFeedbackId())) {
+            regradeRepository.save(PracticeFeedbackRegrade.builder()
+                    .regradeJobId(job.getRegradeJobId())
+                    .sourceFeedbackId(source.getPracticeFeedbackId())
+                    .practiceId(source.getPractice().getPracticeId())
+                    .provider(job.getProvider())
+                    .model(job.getModel())
+                    .promptVersion(job.getPromptVersion())
+                    .feedbackText(result.feedbackText())
+                    .score(FeedbackIdempotencyCoordinator.clampScoreForPersistence(result.score()))
+                    .previousScore(source.getScore())
+                    .generatedAt(Instant.now())
+                    .build());
+        }
+        checkpoint.setLastFeedbackId(source.getPracticeFeedbackId());
+        checkpoint.setProcessed(checkpoint.getProcessed() + 1);
+        switch (outcome) {
+            case SUCCEEDED -> checkpoint.setSucceeded(checkpoint.getSucceeded() + 1);
+            case FAILED -> checkpoint.setFailed(checkpoint.getFailed() + 1);
+            case SKIPPED -> checkpoint.setSkipped(checkpoint.getSkipped() + 1);
+        }
+        return checkpointRepository.save(checkpoint);
+    }
+
+    @Transactional
+    public void markPartitionDone(long checkpointId) {
+        checkpointRepository.findById(checkpointId).ifPresent(checkpoint -> {
+            checkpoint.setDone(true);
+            checkpointRepository.save(checkpoint);
+        });
+    }
+
+    /**
+     * Sets the job's status; {@link FeedbackRegradeJobStatus#COMPLETED} only when every partition is done, otherwise
+     * the job is left {@link FeedbackRegradeJobStatus#PAUSED} so it can be resumed.
+     */
+    @Transactional
+    public FeedbackRegradeJob finishRun(long jobId) {
+        FeedbackRegradeJob job = getJob(jobId);
+        boolean allDone = checkpointRepository.findByRegradeJobIdOrderByPartitionNoAsc(jobId).stream()
+                .allMatch(FeedbackRegradeCheckpoint::getDone);
+        job.setStatus(allDone ? FeedbackRegradeJobStatus.COMPLETED : FeedbackRegradeJobStatus.PAUSED);
+        job.setCompletedAt(allDone ? Instant.now() : null);
+        return jobRepository.save(job);
+    }
+
+    @Transactional
+    public FeedbackRegradeJob markRunning(long jobId) {
+        FeedbackRegradeJob job = getJob(jobId);
+        job.setStatus(FeedbackRegradeJobStatus.RUNNING);
+        return jobRepository.save(job);
+    }
+}
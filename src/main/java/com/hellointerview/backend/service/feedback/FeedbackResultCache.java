@@ -0,0 +1,221 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.entity.FeedbackResultCacheEntry;
+import com.hellointerview.backend.repository.FeedbackResultCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Two-tier cache of LLM feedback results keyed by {@link FeedbackResultCacheKey#digest()}. Lookups never fail the
+ * request: a Postgres tier error is logged and treated as a miss.
+ */
+@Component
+public class FeedbackResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackResultCache.class);
+
+    private static final String METRIC_LOOKUPS_TOTAL = "feedback_result_cache_lookups_total";
+    private static final String METRIC_EVICTIONS_TOTAL = "feedback_result_cache_evictions_total";
+    private static final String METRIC_ENTRIES = "feedback_result_cache_entries";
+    private static final String TIER_MEMORY = "memory";
+    private static final String TIER_POSTGRES = "postgres";
+
+    private final FeedbackResultCacheProperties properties;
+    private final FeedbackResultCacheRepository repository;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CachedResult> memory;
+
+    public FeedbackResultCache(FeedbackResultCacheProperties properties,
+                               FeedbackResultCacheRepository repository,
+                               MeterRegistry meterRegistry) {
+        this(properties, repository, meterRegistry, Clock.systemUTC());
+    }
+
+    FeedbackResultCache(FeedbackResultCacheProperties properties,
+                        FeedbackResultCacheRepository repository,
+                        MeterRegistry meterRegistry,
+                        Clock clock) {
+        this.properties = properties;
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                if (size() > properties.maxEntries()) {
+                    recordEviction(TIER_MEMORY, "size");
+                    return true;
+                }
+                return false;
+            }
+        };
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_ENTRIES, this, FeedbackResultCache::memorySize)
+                    .tag("tier", TIER_MEMORY)
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Whether results from {@code provider} are cached; the lab stub only is with {@code stub-enabled}.
+     */
+    public boolean isEnabledFor(String provider) {
+        return properties.enabled()
+                && (properties.stubEnabled() || !StubLlmFeedbackClient.PROVIDER_NAME.equals(provider));
+    }
+
+    public boolean isPersistent() {
+        return properties.enabled() && properties.persistentEnabled();
+    }
+
+    public Optional<LlmFeedbackResult> get(FeedbackResultCacheKey key) {
+        if (!isEnabledFor(key.provider())) {
+            return Optional.empty();
+        }
+        String digest = key.digest();
+        Instant now = clock.instant();
+        Optional<LlmFeedbackResult> fromMemory = getFromMemory(digest, now);
+        if (fromMemory.isPresent()) {
+            recordLookup(TIER_MEMORY, "hit");
+            return fromMemory;
+        }
+        recordLookup(TIER_MEMORY, "miss");
+        if (!properties.persistentEnabled()) {
+            return Optional.empty();
+        }
+        Optional<FeedbackResultCacheEntry> persisted = findPersisted(digest, now);
+        if (persisted.isEmpty()) {
+            recordLookup(TIER_POSTGRES, "miss");
+            return Optional.empty();
+        }
+        recordLookup(TIER_POSTGRES, "hit");
+        FeedbackResultCacheEntry entry = persisted.get();
+        LlmFeedbackResult result = new LlmFeedbackResult(entry.getFeedbackText(), entry.getScore());
+        putInMemory(digest, new CachedResult(result, entry.getExpiresAt()));
+        return Optional.of(result);
+    }
+
+    public void put(FeedbackResultCacheKey key, LlmFeedbackResult result) {
+        if (!isEnabledFor(key.provider()) || result == null) {
+            return;
+        }
+        String digest = key.digest();
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(properties.ttl());
+        putInMemory(digest, new CachedResult(result, expiresAt));
+        if (!properties.persistentEnabled()) {
+            return;
+        }
+        try {
+            repository.save(FeedbackResultCacheEntry.builder()
+                    .cacheKey(digest)
+                    .provider(key.provider())
+                    .model(key.model())
+                    .promptVersion(key.promptVersion())
+                    .feedbackText(result.feedbackText())
+                    .score(result.score())
+                    .createdAt(now)
+                    .expiresAt(expiresAt)
+                    .build());
+        } catch (DataAccessException e) {
+            logger.warn("Unable to persist feedback result cache entry {}: {}", digest, e.getMessage());
+        }
+    }
+
+    private Optional<LlmFeedbackResult> getFromMemory(String digest, Instant now) {
+        lock.lock();
+        try {
+            CachedResult cached = memory.get(digest);
+            if (cached == null) {
+                return Optional.empty();
+            }
+            if (!cached.expiresAt().isAfter(now)) {
+                memory.remove(digest);
+                recordEviction(TIER_MEMORY, "expired");
+                return Optional.empty();
+            }
+            return Optional.of(cached.result());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putInMemory(String digest, CachedResult cached) {
+        lock.lock();
+        try {
+            memory.put(digest, cached);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<FeedbackResultCacheEntry> findPersisted(String digest, Instant now) {
+        try {
+            Optional<FeedbackResultCacheEntry> entry = repository.findById(digest);
+            if (entry.isPresent() && !entry.get().getExpiresAt().isAfter(now)) {
+                int purged = repository.deleteExpired(now);
+                if (meterRegistry != null && purged > 0) {
+                    evictionCounter(TIER_POSTGRES, "expired").increment(purged);
+                }
+                return Optional.empty();
+            }
+            return entry;
+        } catch (DataAccessException e) {
+            logger.warn("Feedback result cache lookup failed for {}: {}", digest, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private int memorySize() {
+        lock.lock();
+        try {
+            return memory.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordLookup(String tier, String outcome) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_LOOKUPS_TOTAL)
+                .tags("tier", tier, "outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void recordEviction(String tier, String reason) {
+        if (meterRegistry == null) {
+            return;
+        }
+        evictionCounter(tier, reason).increment();
+    }
+
+    private Counter evictionCounter(String tier, String reason) {
+        return Counter.builder(METRIC_EVICTIONS_TOTAL)
+                .tags("tier", tier, "reason", reason)
+                .register(meterRegistry);
+    }
+
+    private record CachedResult(LlmFeedbackResult result, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.hellointerview.backend.service.feedback;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Result-cache identity: the practice-independent content fingerprint plus everything that changes what the model
+ * would answer (provider, model, prompt template version).
+ */
+public record FeedbackResultCacheKey(String contentFingerprint, String provider, String model, String promptVersion) {
+
+    public static FeedbackResultCacheKey of(String contentFingerprint, AdmissionWorkloadKey workloadKey) {
+        return new FeedbackResultCacheKey(
+                contentFingerprint,
+                workloadKey.provider(),
+                workloadKey.model(),
+                FeedbackPromptTemplate.VERSION
+        );
+    }
+
+    public String digest() {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(String.join("|", contentFingerprint, provider, model, promptVersion)
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Content-addressed feedback result cache: an LRU in-memory tier bounded by {@code max-entries}, optionally backed
+ * by the {@code feedback_result_cache} table so results survive restarts and are shared across nodes. Results from
+ * the lab stub are only cached with {@code stub-enabled}, so repeated load runs over the same content keep reaching
+ * the provider path they are meant to measure.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.feedback.result-cache")
+public record FeedbackResultCacheProperties(
+        boolean enabled,
+        @Min(1) @Max(1_000_000) int maxEntries,
+        @NotNull Duration ttl,
+        boolean persistentEnabled,
+        boolean stubEnabled
+) {
+}
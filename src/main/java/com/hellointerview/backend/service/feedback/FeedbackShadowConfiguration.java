@@ -0,0 +1,66 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hellointerview.backend.repository.FeedbackShadowComparisonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Builds the {@link FeedbackShadowEvaluator}. The candidate client is created here rather than registered as a bean,
+ * so it never competes with the primary {@link LlmFeedbackClient} for injection, and it gets
+ * {@link LlmProviderResilience#disabled()} so shadow failures cannot open the primary provider's circuit.
+ */
+@Configuration
+class FeedbackShadowConfiguration {
+
+    @Bean(destroyMethod = "close")
+    FeedbackShadowEvaluator feedbackShadowEvaluator(FeedbackShadowProperties properties,
+                                                    FeedbackShadowComparisonRepository repository,
+                                                    RestClient.Builder restClientBuilder,
+                                                    ObjectMapper objectMapper,
+                                                    MeterRegistry meterRegistry,
+                                                    OllamaLlmProperties ollamaProperties,
+                                                    GeminiLlmProperties geminiProperties,
+                                                    StubLlmProperties stubProperties,
+                                                    LlmHttpTransportProperties transportProperties,
+                                                    LlmPromptCacheProperties promptCacheProperties,
+                                                    OllamaWarmupProperties ollamaWarmupProperties,
+                                                    LabRequestContextResolver contextResolver,
+                                                    FeedbackPromptBudgeter promptBudgeter) {
+        if (!properties.enabled()) {
+            return FeedbackShadowEvaluator.disabled();
+        }
+        String model = properties.model();
+        LlmProviderResilience resilience = LlmProviderResilience.disabled();
+        LlmFeedbackClient shadowClient = switch (properties.provider()) {
+            case "ollama" -> new OllamaLlmFeedbackClient(restClientBuilder.clone(), objectMapper, meterRegistry,
+                    model == null ? ollamaProperties : withModel(ollamaProperties, model), transportProperties,
+                    resilience, ollamaWarmupProperties);
+            case "gemini" -> new GeminiLlmFeedbackClient(restClientBuilder.clone(), objectMapper, meterRegistry,
+                    model == null ? geminiProperties : withModel(geminiProperties, model), transportProperties,
+                    resilience, promptCacheProperties);
+            case "stub" -> new StubLlmFeedbackClient(meterRegistry,
+                    model == null ? stubProperties : withModel(stubProperties, model), contextResolver, resilience);
+            default -> throw new IllegalArgumentException(
+                    "Unknown ai.llm.feedback.shadow.provider: " + properties.provider());
+        };
+        return new FeedbackShadowEvaluator(properties, shadowClient, repository, meterRegistry, promptBudgeter);
+    }
+
+    private static OllamaLlmProperties withModel(OllamaLlmProperties p, String model) {
+        return new OllamaLlmProperties(p.baseUrl(), model, p.connectTimeout(), p.readTimeout(), p.maxAttempts(),
+                p.initialBackoff(), p.backoffMultiplier(), p.maxJitterMillis());
+    }
+
+    private static GeminiLlmProperties withModel(GeminiLlmProperties p, String model) {
+        return new GeminiLlmProperties(p.baseUrl(), p.apiKey(), model, p.connectTimeout(), p.readTimeout(),
+                p.maxAttempts(), p.initialBackoff(), p.backoffMultiplier(), p.maxJitterMillis());
+    }
+
+    private static StubLlmProperties withModel(StubLlmProperties p, String model) {
+        return new StubLlmProperties(model, p.maxAttempts(), p.initialBackoff(), p.backoffMultiplier(),
+                p.maxJitterMillis(), p.latencyDelayMillis());
+    }
+}
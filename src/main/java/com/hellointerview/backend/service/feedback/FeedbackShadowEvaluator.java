@@ -0,0 +1,211 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.entity.FeedbackShadowComparison;
+import com.hellointerview.backend.exception.LlmTimeoutException;
+import com.hellointerview.backend.repository.FeedbackShadowComparisonRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Replays a sample of primary feedback inputs against a candidate provider/model and stores both results side by side
+ * in {@code feedback_shadow_comparison}. {@link #offer} never blocks and never throws: it hands the call to a virtual
+ * thread only if one of the {@code max-concurrent} shadow permits is free, and drops the sample otherwise. The shadow
+ * client has its own transport and no circuit breaker or retry budget shared with the primary, and the untrimmed
+ * input is fitted to the shadow model's own prompt budget.
+ */
+public class FeedbackShadowEvaluator implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackShadowEvaluator.class);
+
+    private static final String METRIC_REQUESTS_TOTAL = "feedback_shadow_requests_total";
+    private static final String METRIC_LATENCY_MS = "feedback_shadow_latency_ms";
+    private static final String METRIC_SCORE_DELTA = "feedback_shadow_score_delta";
+    private static final String METRIC_INFLIGHT = "feedback_shadow_inflight";
+
+    private final FeedbackShadowProperties properties;
+    private final LlmFeedbackClient shadowClient;
+    private final FeedbackPromptBudgeter promptBudgeter;
+    private final FeedbackShadowComparisonRepository repository;
+    private final MeterRegistry meterRegistry;
+    private final DoubleSupplier sampler;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+
+    FeedbackShadowEvaluator(FeedbackShadowProperties properties,
+                            LlmFeedbackClient shadowClient,
+                            FeedbackShadowComparisonRepository repository,
+                            MeterRegistry meterRegistry,
+                            FeedbackPromptBudgeter promptBudgeter) {
+        this(properties, shadowClient, repository, meterRegistry, promptBudgeter,
+                () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    FeedbackShadowEvaluator(FeedbackShadowProperties properties,
+                            LlmFeedbackClient shadowClient,
+                            FeedbackShadowComparisonRepository repository,
+                            MeterRegistry meterRegistry,
+                            FeedbackPromptBudgeter promptBudgeter,
+                            DoubleSupplier sampler) {
+        this.properties = properties;
+        this.shadowClient = shadowClient;
+        this.promptBudgeter = promptBudgeter;
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+        this.sampler = sampler;
+        this.permits = new Semaphore(properties.maxConcurrent());
+        this.executor = isEnabled()
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("feedback-shadow-", 0).factory())
+                : null;
+        if (isEnabled() && meterRegistry != null) {
+            Gauge.builder(METRIC_INFLIGHT, permits, p -> properties.maxConcurrent() - p.availablePermits())
+                    .register(meterRegistry);
+        }
+    }
+
+    public static FeedbackShadowEvaluator disabled() {
+        return new FeedbackShadowEvaluator(FeedbackShadowProperties.disabled(), null, null, null,
+                new FeedbackPromptBudgeter(FeedbackPromptBudgetProperties.disabled(), null));
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled() && shadowClient != null;
+    }
+
+    /**
+     * Samples a freshly generated primary result for shadow evaluation. Returns whether a shadow call was started.
+     */
+    public boolean offer(LlmFeedbackInput input,
+                         AdmissionWorkloadKey primaryKey,
+                         LlmFeedbackResult primaryResult,
+                         Duration primaryLatency,
+                         Long practiceFeedbackId) {
+        if (!isEnabled() || sampler.getAsDouble() >= properties.sampleRate()) {
+            return false;
+        }
+        if (!permits.tryAcquire()) {
+            recordOutcome("dropped");
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    evaluate(input, primaryKey, primaryResult, primaryLatency, practiceFeedbackId);
+                } finally {
+                    permits.release();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            recordOutcome("dropped");
+            return false;
+        }
+    }
+
+    private void evaluate(LlmFeedbackInput input,
+                          AdmissionWorkloadKey primaryKey,
+                          LlmFeedbackResult primaryResult,
+                          Duration primaryLatency,
+                          Long practiceFeedbackId) {
+        AdmissionWorkloadKey shadowKey = shadowClient.admissionWorkloadKey();
+        long startNanos = System.nanoTime();
+        LlmFeedbackResult shadowResult = null;
+        String outcome;
+        try {
+            shadowResult = shadowClient.generate(promptBudgeter.fit(input, shadowClient));
+            outcome = "succeeded";
+        } catch (LlmTimeoutException e) {
+            outcome = "timeout";
+        } catch (RuntimeException e) {
+            outcome = "failed";
+            logger.debug("Shadow feedback call to {} failed: {}", shadowKey.compositeKey(), e.getMessage());
+        }
+        long shadowLatencyMs = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+        Double scoreDelta = shadowResult == null ? null : shadowResult.score() - primaryResult.score();
+        recordOutcome(outcome);
+        if (shadowResult != null) {
+            recordLatency("primary", primaryLatency.toMillis());
+            recordLatency("shadow", shadowLatencyMs);
+            recordScoreDelta(scoreDelta);
+        }
+        try {
+            repository.save(FeedbackShadowComparison.builder()
+                    .practiceId(input.practiceId())
+                    .practiceFeedbackId(practiceFeedbackId)
+                    .promptVersion(FeedbackPromptTemplate.VERSION)
+                    .primaryProvider(primaryKey.provider())
+                    .primaryModel(primaryKey.model())
+                    .primaryScore(primaryResult.score())
+                    .primaryLatencyMs(primaryLatency.toMillis())
+                    .shadowProvider(shadowKey.provider())
+                    .shadowModel(shadowKey.model())
+                    .shadowOutcome(outcome)
+                    .shadowScore(shadowResult == null ? null : shadowResult.score())
+                    .shadowLatencyMs(shadowLatencyMs)
+                    .scoreDelta(scoreDelta)
+                    .shadowFeedbackText(shadowResult == null ? null : shadowResult.feedbackText())
+                    .build());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to store shadow comparison for practice {}: {}", input.practiceId(), e.getMessage());
+        }
+    }
+
+    private void recordOutcome(String outcome) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_REQUESTS_TOTAL)
+                .tag("model", shadowClient.admissionWorkloadKey().model())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void recordLatency(String role, long latencyMs) {
+        if (meterRegistry == null) {
+            return;
+        }
+        DistributionSummary.builder(METRIC_LATENCY_MS)
+                .baseUnit("milliseconds")
+                .tag("role", role)
+                .register(meterRegistry)
+                .record(Math.max(0L, latencyMs));
+    }
+
+    /**
+     * Summaries drop negative samples, so the delta is recorded as a magnitude under {@code direction}
+     * ({@code higher} when the shadow scored above the primary).
+     */
+    private void recordScoreDelta(double delta) {
+        if (meterRegistry == null) {
+            return;
+        }
+        String direction = delta > 0 ? "higher" : delta < 0 ? "lower" : "same";
+        DistributionSummary.builder(METRIC_SCORE_DELTA)
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .record(Math.abs(delta));
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (shadowClient instanceof AbstractLlmFeedbackClient client) {
+            client.closeTransport();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Shadow evaluation of a candidate {@code provider} (ollama, gemini, stub) and {@code model} (blank keeps that
+ * provider's configured model). A {@code sample-rate} fraction of freshly generated feedback is replayed against the
+ * candidate after the primary result is stored; at most {@code max-concurrent} shadow calls run at once and samples
+ * beyond that are dropped rather than queued.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.feedback.shadow")
+public record FeedbackShadowProperties(
+        boolean enabled,
+        String provider,
+        String model,
+        @DecimalMin("0.0") @DecimalMax("1.0") double sampleRate,
+        @Min(1) @Max(256) int maxConcurrent
+) {
+    private static final Set<String> PROVIDERS = Set.of("ollama", "gemini", "stub");
+
+    public FeedbackShadowProperties {
+        provider = provider == null ? "" : provider.trim().toLowerCase(Locale.ROOT);
+        model = model == null || model.isBlank() ? null : model.trim();
+        if (enabled && !PROVIDERS.contains(provider)) {
+            throw new IllegalArgumentException("ai.llm.feedback.shadow.provider must be one of " + PROVIDERS);
+        }
+    }
+
+    public static FeedbackShadowProperties disabled() {
+        return new FeedbackShadowProperties(false, null, null, 0.0, 1);
+    }
+}
@@ -0,0 +1,278 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.exception.ClientDisconnectedException;
+import com.hellointerview.backend.exception.LlmTimeoutException;
+import com.hellointerview.backend.repository.FeedbackSingleFlightLeaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for provider calls keyed by {@link FeedbackResultCacheKey}: while one caller (the leader) is
+ * generating, concurrent callers with the same content attach to its future. Every caller still finalizes its own
+ * {@code practice_feedback_request} row; only the provider call is shared. A follower waits no longer than its own
+ * {@link RequestDeadline} and then fails with {@link LlmTimeoutException}.
+ */
+@Component
+public class FeedbackSingleFlight {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackSingleFlight.class);
+
+    private static final String METRIC_CALLS_TOTAL = "feedback_single_flight_total";
+    private static final String METRIC_INFLIGHT_KEYS = "feedback_single_flight_inflight_keys";
+
+    private final FeedbackSingleFlightProperties properties;
+    private final FeedbackSingleFlightLeaseRepository leaseRepository;
+    private final FeedbackResultCache resultCache;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, CompletableFuture<LlmFeedbackResult>> inflight = new ConcurrentHashMap<>();
+
+    public FeedbackSingleFlight(FeedbackSingleFlightProperties properties,
+                                FeedbackSingleFlightLeaseRepository leaseRepository,
+                                FeedbackResultCache resultCache,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.leaseRepository = leaseRepository;
+        this.resultCache = resultCache;
+        this.meterRegistry = meterRegistry;
+        if (properties.crossNodeEnabled() && !resultCache.isPersistent()) {
+            logger.warn("ai.llm.feedback.single-flight.cross-node-enabled needs the persistent result cache tier; "
+                    + "coalescing stays in-process");
+        }
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_INFLIGHT_KEYS, inflight, ConcurrentHashMap::size).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Runs {@code call} unless an identical call is already in flight, in which case its result (or failure) is
+     * shared. {@link Flight#leader()} tells the caller whether its own call ran.
+     */
+    public Flight execute(FeedbackResultCacheKey key, Supplier<LlmFeedbackResult> call) {
+        if (!properties.enabled()) {
+            return new Flight(call.get(), true);
+        }
+        String digest = key.digest();
+        CompletableFuture<LlmFeedbackResult> mine = new CompletableFuture<>();
+        CompletableFuture<LlmFeedbackResult> existing = inflight.putIfAbsent(digest, mine);
+        if (existing != null) {
+            record("follower");
+            try {
+                return new Flight(awaitWithinDeadline(existing), false);
+            } catch (ClientDisconnectedException e) {
+                // The leader's client went away; this caller is still connected, so run (or join) a fresh call.
+                return execute(key, call);
+            }
+        }
+        try {
+            LlmFeedbackResult result = crossNodeEnabled() ? runWithLease(key, digest, call) : call.get();
+            record("leader");
+            mine.complete(result);
+            return new Flight(result, true);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(digest, mine);
+        }
+    }
+
+    /**
+     * Non-blocking form of {@link #execute} for calls that return a future. The cross-node path polls the database,
+     * so with {@code cross-node-enabled} this falls back to {@link #execute} on the caller's thread.
+     */
+    public CompletableFuture<Flight> executeAsync(FeedbackResultCacheKey key,
+                                                  Supplier<CompletableFuture<LlmFeedbackResult>> call) {
+        if (!properties.enabled()) {
+            return start(call).thenApply(result -> new Flight(result, true));
+        }
+        if (crossNodeEnabled()) {
+            try {
+                return CompletableFuture.completedFuture(execute(key, () -> await(start(call))));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        String digest = key.digest();
+        CompletableFuture<LlmFeedbackResult> mine = new CompletableFuture<>();
+        CompletableFuture<LlmFeedbackResult> existing = inflight.putIfAbsent(digest, mine);
+        if (existing != null) {
+            record("follower");
+            return withinDeadline(existing).handle((result, error) -> error == null
+                            ? CompletableFuture.completedFuture(new Flight(result, false))
+                            : unwrap(error) instanceof ClientDisconnectedException
+                            ? executeAsync(key, call)
+                            : CompletableFuture.<Flight>failedFuture(unwrap(error)))
+                    .thenCompose(flight -> flight);
+        }
+        return start(call).handle((result, error) -> {
+            inflight.remove(digest, mine);
+            if (error != null) {
+                RuntimeException failure = unwrap(error);
+                mine.completeExceptionally(failure);
+                throw failure;
+            }
+            record("leader");
+            mine.complete(result);
+            return new Flight(result, true);
+        });
+    }
+
+    /**
+     * A view of the leader's future that times out with {@link LlmTimeoutException} when the caller's deadline does;
+     * the leader itself is not affected.
+     */
+    private static CompletableFuture<LlmFeedbackResult> withinDeadline(CompletableFuture<LlmFeedbackResult> leader) {
+        Optional<RequestDeadline> deadline = RequestDeadline.current().filter(d -> d.expiresAt().isPresent());
+        if (deadline.isEmpty()) {
+            return leader;
+        }
+        return leader.copy()
+                .orTimeout(deadline.get().remaining().toNanos(), TimeUnit.NANOSECONDS)
+                .exceptionallyCompose(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    return CompletableFuture.failedFuture(
+                            cause instanceof TimeoutException ? followerTimeout() : unwrap(cause));
+                });
+    }
+
+    private static LlmFeedbackResult awaitWithinDeadline(CompletableFuture<LlmFeedbackResult> leader) {
+        Optional<RequestDeadline> deadline = RequestDeadline.current().filter(d -> d.expiresAt().isPresent());
+        if (deadline.isEmpty()) {
+            return await(leader);
+        }
+        try {
+            return leader.get(deadline.get().remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw followerTimeout();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmTimeoutException("Interrupted while waiting for identical feedback call", e);
+        }
+    }
+
+    private static LlmTimeoutException followerTimeout() {
+        return new LlmTimeoutException("Deadline expired while waiting for identical feedback call");
+    }
+
+    private static CompletableFuture<LlmFeedbackResult> start(Supplier<CompletableFuture<LlmFeedbackResult>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean crossNodeEnabled() {
+        return properties.crossNodeEnabled() && resultCache.isPersistent() && leaseRepository != null;
+    }
+
+    /**
+     * Takes a {@code feedback_single_flight_lease} row for the digest, good for {@code cross-node-wait-timeout}, and
+     * releases it after the provider call; no connection is held while the provider runs. Nodes that find a live lease
+     * poll the result cache and take over once the lease is released or expires without a result.
+     */
+    private LlmFeedbackResult runWithLease(FeedbackResultCacheKey key,
+                                           String digest,
+                                           Supplier<LlmFeedbackResult> call) {
+        String holder = UUID.randomUUID().toString();
+        Duration ttl = properties.crossNodeWaitTimeout();
+        long deadlineNanos = System.nanoTime() + ttl.toNanos();
+        while (true) {
+            boolean acquired;
+            try {
+                acquired = leaseRepository.tryAcquire(digest, holder, ttl.toMillis() / 1000.0) > 0;
+            } catch (DataAccessException e) {
+                logger.warn("Single-flight lease unavailable for feedback content {}, calling provider locally: {}",
+                        digest, e.getMessage());
+                return call.get();
+            }
+            if (acquired) {
+                try {
+                    Optional<LlmFeedbackResult> finishedElsewhere = resultCache.get(key);
+                    if (finishedElsewhere.isPresent()) {
+                        record("remote_follower");
+                        return finishedElsewhere.get();
+                    }
+                    LlmFeedbackResult result = call.get();
+                    resultCache.put(key, result);
+                    return result;
+                } finally {
+                    releaseLease(digest, holder);
+                }
+            }
+            Optional<LlmFeedbackResult> shared = resultCache.get(key);
+            if (shared.isPresent()) {
+                record("remote_follower");
+                return shared.get();
+            }
+            if (System.nanoTime() >= deadlineNanos) {
+                record("remote_wait_timeout");
+                return call.get();
+            }
+            if (!sleep(properties.crossNodePollInterval().toMillis())) {
+                return call.get();
+            }
+        }
+    }
+
+    private void releaseLease(String digest, String holder) {
+        try {
+            leaseRepository.release(digest, holder);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to release single-flight lease for feedback content {}: {}", digest, e.getMessage());
+        }
+    }
+
+    private static LlmFeedbackResult await(CompletableFuture<LlmFeedbackResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void record(String role) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_CALLS_TOTAL).tag("role", role).register(meterRegistry).increment();
+    }
+
+    public record Flight(LlmFeedbackResult result, boolean leader) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Coalescing of concurrent provider calls for identical content. {@code cross-node-enabled} extends it across
+ * instances with a lease row in {@code feedback_single_flight_lease} that expires after
+ * {@code cross-node-wait-timeout}; followers on other nodes pick the result up from the persistent result cache tier,
+ * so it requires {@code ai.llm.feedback.result-cache.persistent-enabled}.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.feedback.single-flight")
+public record FeedbackSingleFlightProperties(
+        boolean enabled,
+        boolean crossNodeEnabled,
+        @NotNull Duration crossNodePollInterval,
+        @NotNull Duration crossNodeWaitTimeout
+) {
+}
@@ -1,56 +1,261 @@
 package com.hellointerview.backend.service.feedback;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Locale;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
 
+/**
+ * Local admission for LLM feedback calls. Strategy B lab traffic is always gated by the fixed
+ * {@code strategy-b-admission.max-concurrent} semaphore; with {@code ai.llm.feedback.adaptive-concurrency.enabled} all
+ * other requests are gated by an {@link AdaptiveConcurrencyLimiter} per provider/model, and otherwise they bypass.
+ * Either way, a request that finds the limit full waits in an {@link AdmissionWaitQueue} when
+ * {@code admission-queue.enabled} is set, and is rejected otherwise. With {@code priority.enabled} each limit is split
+ * into {@link FeedbackPriority} lanes (see {@link FeedbackPriorityProperties}), and with {@code fairness.enabled} each
+ * lane is shared fairly across users (see {@link FeedbackFairnessProperties}).
+ */
 @Component
 public class FeedbackStrategyBAdmissionGate {
 
+    private static final String METRIC_ADMISSION_LIMIT = "feedback_admission_limit";
+    private static final String METRIC_ADMISSION_INFLIGHT = "feedback_admission_inflight";
+    private static final String METRIC_QUEUE_DEPTH = "feedback_admission_queue_depth";
+    private static final String METRIC_QUEUE_WAIT_MS = "feedback_admission_queue_wait_ms";
+    private static final String METRIC_SHED_TOTAL = "feedback_admission_shed_total";
+    private static final String METRIC_PRIORITY_INFLIGHT = "feedback_admission_priority_inflight";
+    private static final String METRIC_USER_QUEUE_DEPTH = "feedback_admission_user_queue_depth";
+    private static final String METRIC_USER_QUEUE_DEPTH_MAX = "feedback_admission_user_queue_depth_max";
+
     private final LabRequestContextResolver labRequestContextResolver;
+    private final RequestDeadlineResolver deadlineResolver;
     private final FeedbackStrategyBAdmissionProperties properties;
+    private final AdaptiveConcurrencyProperties adaptiveProperties;
+    private final FeedbackAdmissionQueueProperties queueProperties;
+    private final FeedbackPriorityResolver priorityResolver;
+    private final FeedbackPriorityProperties priorityProperties;
+    private final FeedbackFairnessProperties fairnessProperties;
+    private final MeterRegistry meterRegistry;
     private final LlmProviderMetrics metrics;
-    private final ConcurrentHashMap<String, Semaphore> semaphoresByWorkloadKey = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SemaphoreLane> semaphoresByWorkloadKey = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AdaptiveLane> limitersByWorkloadKey = new ConcurrentHashMap<>();
 
     public FeedbackStrategyBAdmissionGate(LabRequestContextResolver labRequestContextResolver,
+                                          RequestDeadlineResolver deadlineResolver,
                                           FeedbackStrategyBAdmissionProperties properties,
+                                          AdaptiveConcurrencyProperties adaptiveProperties,
+                                          FeedbackAdmissionQueueProperties queueProperties,
+                                          FeedbackPriorityResolver priorityResolver,
+                                          FeedbackPriorityProperties priorityProperties,
+                                          FeedbackFairnessProperties fairnessProperties,
                                           MeterRegistry meterRegistry) {
         this.labRequestContextResolver = labRequestContextResolver;
+        this.deadlineResolver = deadlineResolver;
         this.properties = properties;
+        this.adaptiveProperties = adaptiveProperties;
+        this.queueProperties = queueProperties;
+        this.priorityResolver = priorityResolver;
+        this.priorityProperties = priorityProperties;
+        this.fairnessProperties = fairnessProperties;
+        this.meterRegistry = meterRegistry;
         this.metrics = LlmProviderMetrics.fromRegistry(meterRegistry);
     }
 
     /**
-     * When {@link AdmissionEnterOutcome#mayProceed()} is false, the caller must not invoke the LLM and must not call
-     * {@link #leave(AdmissionEnterOutcome)}. Otherwise {@link #leave(AdmissionEnterOutcome)} must run after the LLM
-     * completes (success or failure) if {@link AdmissionEnterOutcome#mustReleaseSemaphore()} is true.
+     * May block the calling thread for up to {@code admission-queue.max-wait}. When
+     * {@link AdmissionEnterOutcome#mayProceed()} is false, the caller must not invoke the LLM and must not call
+     * {@link #leave(AdmissionEnterOutcome)}. Otherwise {@link #leave(AdmissionEnterOutcome, Duration, AdmissionSignal)}
+     * must run after the LLM completes (success or failure) if {@link AdmissionEnterOutcome#mustReleaseSemaphore()} is
+     * true.
      */
     public AdmissionEnterOutcome tryEnter(LlmFeedbackClient client) {
-        if (!isStrategyB()) {
-            return AdmissionEnterOutcome.bypass();
-        }
+        return tryEnter(client, null);
+    }
+
+    /**
+     * As {@link #tryEnter(LlmFeedbackClient)}, scheduling the request as {@code userId}'s flow when fairness is
+     * enabled.
+     */
+    public AdmissionEnterOutcome tryEnter(LlmFeedbackClient client, Long userId) {
         AdmissionWorkloadKey key = client.admissionWorkloadKey();
-        Semaphore semaphore = semaphoresByWorkloadKey.computeIfAbsent(
-                key.compositeKey(),
-                k -> new Semaphore(properties.maxConcurrent(), true)
-        );
-        if (!semaphore.tryAcquire()) {
-            metrics.recordFailureClass(key.provider(), key.model(), "local_capacity_reject");
-            return AdmissionEnterOutcome.rejected(properties.retryAfterSeconds());
+        String user = fairnessProperties.enabled() && userId != null ? userId.toString() : null;
+        if (isStrategyB()) {
+            FeedbackPriority priority = priority();
+            SemaphoreLane lane = semaphoresByWorkloadKey.computeIfAbsent(key.compositeKey(),
+                    k -> newSemaphoreLane(key));
+            return enter(key, lane.queue(), priority, user)
+                    ? AdmissionEnterOutcome.admitted(key, priority, user)
+                    : AdmissionEnterOutcome.rejected(properties.retryAfterSeconds());
         }
-        return AdmissionEnterOutcome.admitted(key);
+        if (!adaptiveProperties.enabled()) {
+            return AdmissionEnterOutcome.bypass();
+        }
+        FeedbackPriority priority = priority();
+        AdaptiveLane lane = limitersByWorkloadKey.computeIfAbsent(key.compositeKey(), k -> newAdaptiveLane(key));
+        return enter(key, lane.queue(), priority, user)
+                ? AdmissionEnterOutcome.admittedAdaptive(key, priority, user)
+                : AdmissionEnterOutcome.rejected(adaptiveProperties.retryAfterSeconds());
     }
 
+    /**
+     * Releases the slot without feeding the adaptive limit, for requests that never reached the provider.
+     */
     public void leave(AdmissionEnterOutcome outcome) {
+        leave(outcome, Duration.ZERO, AdmissionSignal.IGNORE);
+    }
+
+    /**
+     * Releases the slot and, for adaptive admission, feeds the provider call latency and outcome into the limit.
+     */
+    public void leave(AdmissionEnterOutcome outcome, Duration latency, AdmissionSignal signal) {
         if (!outcome.mustReleaseSemaphore()) {
             return;
         }
-        Semaphore semaphore = semaphoresByWorkloadKey.get(outcome.semaphoreKey());
-        if (semaphore != null) {
-            semaphore.release();
+        long heldNanos = System.nanoTime() - outcome.admittedAtNanos();
+        if (outcome.adaptive()) {
+            AdaptiveLane lane = limitersByWorkloadKey.get(outcome.semaphoreKey());
+            if (lane != null) {
+                lane.limiter().release(latency, signal);
+                lane.queue().onRelease(heldNanos, outcome.priority(), outcome.userKey());
+            }
+            return;
+        }
+        SemaphoreLane lane = semaphoresByWorkloadKey.get(outcome.semaphoreKey());
+        if (lane != null) {
+            lane.semaphore().release();
+            lane.queue().onRelease(heldNanos, outcome.priority(), outcome.userKey());
+        }
+    }
+
+    private FeedbackPriority priority() {
+        return priorityProperties.enabled() ? priorityResolver.resolve() : FeedbackPriority.INTERACTIVE;
+    }
+
+    private boolean enter(AdmissionWorkloadKey key, AdmissionWaitQueue queue, FeedbackPriority priority, String user) {
+        AdmissionWaitQueue.Entry entry = queueProperties.enabled()
+                ? queue.enter(priority, user, deadlineBudgetNanos(), queueProperties.maxWait().toNanos())
+                : queue.enter(priority, user, 0L, 0L);
+        if (entry.result() == AdmissionWaitQueue.Result.ADMITTED) {
+            if (queueProperties.enabled()) {
+                recordWait(key, priority, "admitted", entry.waitedNanos());
+            }
+            return true;
+        }
+        metrics.recordFailureClass(key.provider(), key.model(), "local_capacity_reject");
+        String reason = entry.result().name().toLowerCase(Locale.ROOT);
+        if (queueProperties.enabled()) {
+            recordWait(key, priority, reason, entry.waitedNanos());
+        }
+        recordShed(key, priority, reason);
+        return false;
+    }
+
+    private long deadlineBudgetNanos() {
+        return RequestDeadline.current()
+                .map(RequestDeadline::remaining)
+                .orElseGet(deadlineResolver::remainingBudget)
+                .toNanos();
+    }
+
+    private SemaphoreLane newSemaphoreLane(AdmissionWorkloadKey key) {
+        Semaphore semaphore = new Semaphore(properties.maxConcurrent(), true);
+        FeedbackPriorityShares shares = new FeedbackPriorityShares(priorityProperties);
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(
+                semaphore::tryAcquire,
+                properties::maxConcurrent,
+                queueProperties.maxDepth(),
+                shares,
+                new FeedbackUserShares(fairnessProperties)
+        );
+        registerQueueGauge(key, queue);
+        registerPriorityGauges(key, shares);
+        return new SemaphoreLane(semaphore, queue);
+    }
+
+    private AdaptiveLane newAdaptiveLane(AdmissionWorkloadKey key) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                adaptiveProperties,
+                adaptiveProperties.initialLimitFor(key.provider())
+        );
+        FeedbackPriorityShares shares = new FeedbackPriorityShares(priorityProperties);
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(
+                limiter::tryAcquire,
+                limiter::limit,
+                queueProperties.maxDepth(),
+                shares,
+                new FeedbackUserShares(fairnessProperties)
+        );
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_ADMISSION_LIMIT, limiter, AdaptiveConcurrencyLimiter::limit)
+                    .tags("provider", key.provider(), "model", key.model())
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_ADMISSION_INFLIGHT, limiter, AdaptiveConcurrencyLimiter::inflight)
+                    .tags("provider", key.provider(), "model", key.model())
+                    .register(meterRegistry);
+        }
+        registerQueueGauge(key, queue);
+        registerPriorityGauges(key, shares);
+        return new AdaptiveLane(limiter, queue);
+    }
+
+    private void registerQueueGauge(AdmissionWorkloadKey key, AdmissionWaitQueue queue) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder(METRIC_QUEUE_DEPTH, queue, AdmissionWaitQueue::depth)
+                .tags("provider", key.provider(), "model", key.model())
+                .register(meterRegistry);
+        if (!fairnessProperties.enabled()) {
+            return;
+        }
+        for (int bucket = 0; bucket < fairnessProperties.metricBuckets(); bucket++) {
+            int userBucket = bucket;
+            Gauge.builder(METRIC_USER_QUEUE_DEPTH, queue, q -> q.depthOfBucket(userBucket))
+                    .tags("provider", key.provider(), "model", key.model(), "user_bucket", Integer.toString(bucket))
+                    .register(meterRegistry);
         }
+        Gauge.builder(METRIC_USER_QUEUE_DEPTH_MAX, queue, AdmissionWaitQueue::maxUserDepth)
+                .tags("provider", key.provider(), "model", key.model())
+                .register(meterRegistry);
+    }
+
+    private void registerPriorityGauges(AdmissionWorkloadKey key, FeedbackPriorityShares shares) {
+        if (meterRegistry == null || !priorityProperties.enabled()) {
+            return;
+        }
+        for (FeedbackPriority priority : FeedbackPriority.values()) {
+            Gauge.builder(METRIC_PRIORITY_INFLIGHT, shares, s -> s.inflight(priority))
+                    .tags("provider", key.provider(), "model", key.model(), "priority", priority.tagValue())
+                    .register(meterRegistry);
+        }
+    }
+
+    private void recordWait(AdmissionWorkloadKey key, FeedbackPriority priority, String outcome, long waitedNanos) {
+        if (meterRegistry == null) {
+            return;
+        }
+        DistributionSummary.builder(METRIC_QUEUE_WAIT_MS)
+                .baseUnit("milliseconds")
+                .tags("provider", key.provider(), "model", key.model(), "priority", priority.tagValue(),
+                        "outcome", outcome)
+                .register(meterRegistry)
+                .record(waitedNanos / 1_000_000.0);
+    }
+
+    private void recordShed(AdmissionWorkloadKey key, FeedbackPriority priority, String reason) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_SHED_TOTAL)
+                .tags("provider", key.provider(), "model", key.model(), "priority", priority.tagValue(),
+                        "reason", reason)
+                .register(meterRegistry)
+                .increment();
     }
 
     private boolean isStrategyB() {
@@ -60,4 +265,10 @@ public class FeedbackStrategyBAdmissionGate {
         }
         return "B".equalsIgnoreCase(strategyId.trim());
     }
+
+    private record SemaphoreLane(Semaphore semaphore, AdmissionWaitQueue queue) {
+    }
+
+    private record AdaptiveLane(AdaptiveConcurrencyLimiter limiter, AdmissionWaitQueue queue) {
+    }
 }
@@ -2,9 +2,11 @@ package com.hellointerview.backend.service.feedback;
 
 import com.hellointerview.backend.dto.FeedbackGradeView;
 import com.hellointerview.backend.dto.FeedbackPayloadDto;
+import com.hellointerview.backend.dto.FeedbackRequestStatusDto;
 import com.hellointerview.backend.dto.FeedbackSubmitResponseDto;
 import com.hellointerview.backend.entity.Practice;
 import com.hellointerview.backend.entity.PracticeFeedback;
+import com.hellointerview.backend.entity.PracticeFeedbackRequest;
 
 import java.time.Instant;
 
@@ -29,4 +31,16 @@ public final class FeedbackSubmitResponseMapper {
                 feedback.getGeneratedAt()
         );
     }
+
+    public static FeedbackRequestStatusDto toStatusDto(PracticeFeedbackRequest request) {
+        PracticeFeedback feedback = request.getPracticeFeedback();
+        return new FeedbackRequestStatusDto(
+                request.getPracticeFeedbackRequestId(),
+                request.getPractice().getPracticeId(),
+                request.getStatus().name(),
+                request.getErrorCode(),
+                feedback == null ? null : toDto(request.getPractice(), feedback).feedback(),
+                request.getUpdatedAt()
+        );
+    }
 }
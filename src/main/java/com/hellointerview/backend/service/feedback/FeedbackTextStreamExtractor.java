@@ -0,0 +1,153 @@
+package com.hellointerview.backend.service.feedback;
+
+/**
+ * Incrementally pulls the {@code feedback_text} string value out of a streamed JSON completion and forwards the
+ * decoded characters to a {@link LlmTokenSink}. The complete raw text is kept for the final parse, since
+ * {@code score} usually arrives last.
+ */
+final class FeedbackTextStreamExtractor {
+
+    private static final String FIELD = "\"feedback_text\"";
+
+    private enum State {
+        SEEK_FIELD,
+        SEEK_COLON,
+        SEEK_OPEN_QUOTE,
+        IN_VALUE,
+        DONE
+    }
+
+    private final LlmTokenSink sink;
+    private final Runnable onFirstToken;
+    private final StringBuilder raw = new StringBuilder();
+    private State state = State.SEEK_FIELD;
+    private int position;
+    private boolean emitted;
+
+    FeedbackTextStreamExtractor(LlmTokenSink sink, Runnable onFirstToken) {
+        this.sink = sink;
+        this.onFirstToken = onFirstToken;
+    }
+
+    void accept(String chunk) {
+        if (chunk == null || chunk.isEmpty()) {
+            return;
+        }
+        raw.append(chunk);
+        StringBuilder decoded = new StringBuilder();
+        advance(decoded);
+        emit(decoded.toString());
+    }
+
+    String rawText() {
+        return raw.toString();
+    }
+
+    boolean emitted() {
+        return emitted;
+    }
+
+    /**
+     * Delivers the parsed text in one piece when nothing could be streamed (non-streaming provider, or a completion
+     * that did not put {@code feedback_text} in a parseable position).
+     */
+    void finish(LlmFeedbackResult result) {
+        if (!emitted && result != null) {
+            emit(result.feedbackText());
+        }
+    }
+
+    private void advance(StringBuilder decoded) {
+        while (position < raw.length() && state != State.DONE) {
+            switch (state) {
+                case SEEK_FIELD -> {
+                    int index = raw.indexOf(FIELD, Math.max(0, position - FIELD.length()));
+                    if (index < 0) {
+                        position = raw.length();
+                        return;
+                    }
+                    position = index + FIELD.length();
+                    state = State.SEEK_COLON;
+                }
+                case SEEK_COLON -> {
+                    char c = raw.charAt(position++);
+                    if (c == ':') {
+                        state = State.SEEK_OPEN_QUOTE;
+                    } else if (!Character.isWhitespace(c)) {
+                        state = State.SEEK_FIELD;
+                    }
+                }
+                case SEEK_OPEN_QUOTE -> {
+                    char c = raw.charAt(position++);
+                    if (c == '"') {
+                        state = State.IN_VALUE;
+                    } else if (!Character.isWhitespace(c)) {
+                        state = State.SEEK_FIELD;
+                    }
+                }
+                case IN_VALUE -> {
+                    if (!decodeNext(decoded)) {
+                        return;
+                    }
+                }
+                case DONE -> {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes one character or escape sequence; returns false when the escape is split across chunks.
+     */
+    private boolean decodeNext(StringBuilder decoded) {
+        char c = raw.charAt(position);
+        if (c == '"') {
+            position++;
+            state = State.DONE;
+            return true;
+        }
+        if (c != '\\') {
+            decoded.append(c);
+            position++;
+            return true;
+        }
+        if (position + 1 >= raw.length()) {
+            return false;
+        }
+        char escaped = raw.charAt(position + 1);
+        if (escaped == 'u') {
+            if (position + 6 > raw.length()) {
+                return false;
+            }
+            try {
+                decoded.append((char) Integer.parseInt(raw.substring(position + 2, position + 6), 16));
+            } catch (NumberFormatException e) {
+                decoded.append(raw, position, position + 6);
+            }
+            position += 6;
+            return true;
+        }
+        decoded.append(switch (escaped) {
+            case 'n' -> '\n';
+            case 't' -> '\t';
+            case 'r' -> '\r';
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            default -> escaped;
+        });
+        position += 2;
+        return true;
+    }
+
+    private void emit(String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        if (!emitted) {
+            emitted = true;
+            onFirstToken.run();
+        }
+        sink.onToken(text);
+    }
+}
@@ -0,0 +1,93 @@
+package com.hellointerview.backend.service.feedback;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * SSE side of a streamed feedback request: {@code token} events carry {@code {"text": ...}} slices of
+ * {@code feedback_text}, {@code reset} tells the client to drop text from a failed attempt, and the stream ends with
+ * either {@code completed} (the regular submit response) or {@code error}. A client that disconnects or times out
+ * triggers the {@link FeedbackCancellation}, which aborts the provider call.
+ */
+public class FeedbackTokenStream implements LlmTokenSink {
+
+    public static final String EVENT_TOKEN = "token";
+    public static final String EVENT_RESET = "reset";
+    public static final String EVENT_COMPLETED = "completed";
+    public static final String EVENT_ERROR = "error";
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackTokenStream.class);
+
+    private final SseEmitter emitter;
+    private final FeedbackCancellation cancellation;
+    private volatile boolean open = true;
+
+    public FeedbackTokenStream(SseEmitter emitter) {
+        this(emitter, new FeedbackCancellation());
+    }
+
+    public FeedbackTokenStream(SseEmitter emitter, FeedbackCancellation cancellation) {
+        this.emitter = emitter;
+        this.cancellation = cancellation;
+        emitter.onCompletion(() -> open = false);
+        emitter.onTimeout(this::clientGone);
+        emitter.onError(e -> clientGone());
+    }
+
+    public SseEmitter emitter() {
+        return emitter;
+    }
+
+    public FeedbackCancellation cancellation() {
+        return cancellation;
+    }
+
+    @Override
+    public void onToken(String text) {
+        send(EVENT_TOKEN, Map.of("text", text));
+    }
+
+    @Override
+    public void onReset() {
+        send(EVENT_RESET, Map.of());
+    }
+
+    public void completed(Object response) {
+        send(EVENT_COMPLETED, response);
+        close();
+    }
+
+    public void failed(String errorCode, String message) {
+        send(EVENT_ERROR, Map.of("error_code", errorCode, "message", message == null ? "" : message));
+        close();
+    }
+
+    private void send(String event, Object data) {
+        if (!open) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Feedback stream client went away before '{}' event: {}", event, e.getMessage());
+            clientGone();
+        }
+    }
+
+    private void clientGone() {
+        open = false;
+        cancellation.cancel();
+    }
+
+    private void close() {
+        if (open) {
+            open = false;
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.hellointerview.backend.service.feedback;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user slot accounting for one admission limit. Called under the owning {@link AdmissionWaitQueue}'s lock.
+ * Requests without a user ({@code null}) are scheduled as one shared flow and are exempt from the per-user caps.
+ */
+final class FeedbackUserShares {
+
+    private final FeedbackFairnessProperties properties;
+    private final Map<String, Integer> inflight = new HashMap<>();
+
+    FeedbackUserShares(FeedbackFairnessProperties properties) {
+        this.properties = properties;
+    }
+
+    static FeedbackUserShares unlimited() {
+        return new FeedbackUserShares(FeedbackFairnessProperties.disabled());
+    }
+
+    boolean enabled() {
+        return properties.enabled();
+    }
+
+    boolean atInflightCap(String user) {
+        return properties.enabled() && user != null
+                && inflight.getOrDefault(user, 0) >= properties.maxInflightPerUser();
+    }
+
+    /**
+     * Most waiters one user may have queued in a queue of {@code maxDepth}; at least one.
+     */
+    int maxQueued(int maxDepth) {
+        if (!properties.enabled()) {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(1, (int) Math.floor(properties.maxQueueShare() * maxDepth));
+    }
+
+    double weight(String user) {
+        return properties.enabled() ? properties.weightFor(user) : 1.0;
+    }
+
+    int bucketOf(String user) {
+        return user == null ? 0 : Math.floorMod(user.hashCode(), properties.metricBuckets());
+    }
+
+    void acquired(String user) {
+        if (properties.enabled() && user != null) {
+            inflight.merge(user, 1, Integer::sum);
+        }
+    }
+
+    void released(String user) {
+        if (properties.enabled() && user != null) {
+            inflight.computeIfPresent(user, (key, count) -> count <= 1 ? null : count - 1);
+        }
+    }
+}
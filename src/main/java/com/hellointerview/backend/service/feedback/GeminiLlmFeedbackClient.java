@@ -7,19 +7,35 @@ import com.hellointerview.backend.exception.LlmTimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 @Service
 @ConditionalOnProperty(prefix = "ai.llm", name = "provider", havingValue = "gemini")
@@ -31,33 +47,54 @@ public class GeminiLlmFeedbackClient extends AbstractLlmFeedbackClient {
     private final ObjectMapper objectMapper;
     private final LlmFeedbackResponseParser responseParser;
     private final GeminiLlmProperties properties;
+    private final LlmHttpTransport transport;
+    private final GeminiPromptCache promptCache;
 
     @Autowired
     public GeminiLlmFeedbackClient(RestClient.Builder restClientBuilder,
                                    ObjectMapper objectMapper,
                                    MeterRegistry meterRegistry,
-                                   GeminiLlmProperties properties) {
-        this(restClientBuilder, objectMapper, properties, LlmProviderMetrics.fromRegistry(meterRegistry));
+                                   GeminiLlmProperties properties,
+                                   LlmHttpTransportProperties transportProperties,
+                                   LlmProviderResilience resilience,
+                                   LlmPromptCacheProperties promptCacheProperties) {
+        this(restClientBuilder, objectMapper, properties, LlmProviderMetrics.fromRegistry(meterRegistry),
+                LlmHttpTransport.create("Gemini", transportProperties.gemini(), properties.connectTimeout(),
+                        properties.readTimeout(), meterRegistry),
+                resilience, promptCacheProperties);
     }
 
     GeminiLlmFeedbackClient(RestClient.Builder restClientBuilder,
                             ObjectMapper objectMapper,
                             GeminiLlmProperties properties,
-                            LlmProviderMetrics metrics) {
-        super(new FeedbackPromptTemplate(), properties, logger, metrics);
+                            LlmProviderMetrics metrics,
+                            LlmHttpTransport transport,
+                            LlmProviderResilience resilience,
+                            LlmPromptCacheProperties promptCacheProperties) {
+        super(new FeedbackPromptTemplate(), properties, logger, metrics, resilience);
         if (properties.apiKey() == null || properties.apiKey().isBlank()) {
             throw new IllegalArgumentException("ai.llm.gemini.api-key must not be blank when provider is gemini");
         }
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setConnectTimeout((int) properties.connectTimeout().toMillis());
-        requestFactory.setReadTimeout((int) properties.readTimeout().toMillis());
         this.restClient = restClientBuilder
                 .baseUrl(properties.baseUrl())
-                .requestFactory(requestFactory)
+                .requestFactory(transport.requestFactory())
                 .build();
         this.objectMapper = objectMapper;
         this.responseParser = new LlmFeedbackResponseParser(objectMapper);
         this.properties = properties;
+        this.transport = transport;
+        this.promptCache = new GeminiPromptCache(promptCacheProperties, metrics, properties.model());
+    }
+
+    @Override
+    @PreDestroy
+    void closeTransport() {
+        transport.close();
+    }
+
+    @Override
+    public boolean supportsAsync() {
+        return transport.supportsAsync();
     }
 
     @Override
@@ -71,7 +108,21 @@ public class GeminiLlmFeedbackClient extends AbstractLlmFeedbackClient {
     }
 
     @Override
-    protected LlmFeedbackResult invokeProvider(String prompt) throws LlmTimeoutException {
+    protected LlmFeedbackResult invokeProvider(FeedbackPrompt prompt) throws LlmTimeoutException {
+        Optional<String> cachedContent = promptCache.nameFor(prompt.prefix(), this::createCachedContent);
+        try {
+            return generateContent(prompt, cachedContent);
+        } catch (RestClientResponseException e) {
+            if (!isCachedContentMissing(cachedContent, e)) {
+                throw e;
+            }
+            promptCache.invalidate(cachedContent.get());
+            return generateContent(prompt, promptCache.nameFor(prompt.prefix(), this::createCachedContent));
+        }
+    }
+
+    private LlmFeedbackResult generateContent(FeedbackPrompt prompt, Optional<String> cachedContent)
+            throws LlmTimeoutException {
         String responseBody;
         try {
             responseBody = restClient.post()
@@ -80,17 +131,7 @@ public class GeminiLlmFeedbackClient extends AbstractLlmFeedbackClient {
                             .queryParam("key", properties.apiKey())
                             .build(properties.model()))
                     .contentType(MediaType.APPLICATION_JSON)
-                    .body(Map.of(
-                            "contents", List.of(
-                                    Map.of(
-                                            "role", "user",
-                                            "parts", List.of(
-                                                    Map.of("text", prompt)
-                                            )
-                                    )
-                            ),
-                            "generationConfig", Map.of("responseMimeType", "application/json")
-                    ))
+                    .body(requestBody(prompt, cachedContent))
                     .retrieve()
                     .body(String.class);
         } catch (ResourceAccessException e) {
@@ -106,6 +147,221 @@ public class GeminiLlmFeedbackClient extends AbstractLlmFeedbackClient {
         return parseGeminiJson(responseBody);
     }
 
+    /**
+     * Only the {@code async} transport sends without blocking; other transports fall back to the blocking call.
+     * Creating the cached content stays blocking, as it happens at most once per TTL.
+     */
+    @Override
+    protected CompletableFuture<LlmFeedbackResult> invokeProviderAsync(FeedbackPrompt prompt) {
+        if (!transport.supportsAsync()) {
+            return super.invokeProviderAsync(prompt);
+        }
+        Optional<String> cachedContent = promptCache.nameFor(prompt.prefix(), this::createCachedContent);
+        // Completed by hand rather than with exceptionallyCompose so cancelling it reaches whichever send is in flight.
+        CompletableFuture<LlmFeedbackResult> outcome = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<LlmFeedbackResult>> inFlight =
+                new AtomicReference<>(generateContentAsync(prompt, cachedContent));
+        outcome.whenComplete((ignored, error) -> {
+            if (outcome.isCancelled()) {
+                inFlight.get().cancel(true);
+            }
+        });
+        inFlight.get().whenComplete((result, error) -> {
+            if (error == null) {
+                outcome.complete(result);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (!(cause instanceof RestClientResponseException e) || !isCachedContentMissing(cachedContent, e)) {
+                outcome.completeExceptionally(cause);
+                return;
+            }
+            promptCache.invalidate(cachedContent.get());
+            CompletableFuture<LlmFeedbackResult> retry =
+                    generateContentAsync(prompt, promptCache.nameFor(prompt.prefix(), this::createCachedContent));
+            inFlight.set(retry);
+            if (outcome.isCancelled()) {
+                retry.cancel(true);
+            }
+            retry.whenComplete((retried, retryError) -> {
+                if (retryError == null) {
+                    outcome.complete(retried);
+                } else {
+                    outcome.completeExceptionally(retryError);
+                }
+            });
+        });
+        return outcome;
+    }
+
+    private CompletableFuture<LlmFeedbackResult> generateContentAsync(FeedbackPrompt prompt,
+                                                                      Optional<String> cachedContent) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(requestBody(prompt, cachedContent));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(
+                    new LlmProviderException("Unable to serialize Gemini request", false, e));
+        }
+        URI uri = UriComponentsBuilder.fromHttpUrl(properties.baseUrl())
+                .path("/v1beta/models/{model}:generateContent")
+                .queryParam("key", properties.apiKey())
+                .encode()
+                .buildAndExpand(properties.model())
+                .toUri();
+        return transport.sendAsync(HttpRequest.newBuilder(uri)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body)),
+                responseBody -> {
+                    if (responseBody == null || responseBody.isBlank()) {
+                        throw new LlmProviderException("Gemini returned an empty response payload", true);
+                    }
+                    return parseGeminiJson(responseBody);
+                });
+    }
+
+    /**
+     * {@code :streamGenerateContent?alt=sse} returns one {@code data:} event per partial candidate; each carries the
+     * next slice of the completion text.
+     */
+    @Override
+    protected LlmFeedbackResult invokeProviderStreaming(FeedbackPrompt prompt, Consumer<String> chunks)
+            throws LlmTimeoutException {
+        Optional<String> cachedContent = promptCache.nameFor(prompt.prefix(), this::createCachedContent);
+        try {
+            return streamGenerateContent(prompt, cachedContent, chunks);
+        } catch (RestClientResponseException e) {
+            if (!isCachedContentMissing(cachedContent, e)) {
+                throw e;
+            }
+            promptCache.invalidate(cachedContent.get());
+            return streamGenerateContent(prompt, promptCache.nameFor(prompt.prefix(), this::createCachedContent), chunks);
+        }
+    }
+
+    private LlmFeedbackResult streamGenerateContent(FeedbackPrompt prompt,
+                                                    Optional<String> cachedContent,
+                                                    Consumer<String> chunks) throws LlmTimeoutException {
+        String completion;
+        try {
+            completion = restClient.post()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/v1beta/models/{model}:streamGenerateContent")
+                            .queryParam("alt", "sse")
+                            .queryParam("key", properties.apiKey())
+                            .build(properties.model()))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .body(requestBody(prompt, cachedContent))
+                    .exchange((request, response) -> {
+                        throwIfError(response);
+                        return readSse(response.getBody(), chunks);
+                    });
+        } catch (ResourceAccessException e) {
+            if (isTimeout(e)) {
+                throw new LlmTimeoutException("Timed out waiting for Gemini response");
+            }
+            throw e;
+        }
+
+        if (completion == null || completion.isBlank()) {
+            throw new LlmProviderException("Gemini returned an empty response payload", true);
+        }
+        return responseParser.parse(completion, providerName());
+    }
+
+    private String readSse(InputStream body, Consumer<String> chunks) throws IOException {
+        StringBuilder completion = new StringBuilder();
+        JsonNode usage = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
+                JsonNode event = objectMapper.readTree(line.substring("data:".length()).trim());
+                if (event.has("usageMetadata")) {
+                    usage = event.get("usageMetadata");
+                }
+                for (JsonNode part : event.path("candidates").path(0).path("content").path("parts")) {
+                    String chunk = part.path("text").asText("");
+                    if (!chunk.isEmpty()) {
+                        completion.append(chunk);
+                        chunks.accept(chunk);
+                    }
+                }
+            }
+        }
+        if (usage != null) {
+            recordUsage(usage);
+        }
+        return completion.toString();
+    }
+
+    /**
+     * The static prefix travels as {@code systemInstruction}, or inside the referenced cached content when there is
+     * one; Gemini rejects a request that sets both.
+     */
+    private static Map<String, Object> requestBody(FeedbackPrompt prompt, Optional<String> cachedContent) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        cachedContent.ifPresentOrElse(
+                name -> body.put("cachedContent", name),
+                () -> body.put("systemInstruction", systemInstruction(prompt.prefix()))
+        );
+        body.put("contents", List.of(
+                Map.of(
+                        "role", "user",
+                        "parts", List.of(
+                                Map.of("text", prompt.suffix())
+                        )
+                )
+        ));
+        body.put("generationConfig", Map.of("responseMimeType", "application/json"));
+        return body;
+    }
+
+    private static Map<String, Object> systemInstruction(String prefix) {
+        return Map.of("parts", List.of(Map.of("text", prefix)));
+    }
+
+    private GeminiPromptCache.Created createCachedContent(String prefix, Duration ttl) {
+        JsonNode response = restClient.post()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/v1beta/cachedContents")
+                        .queryParam("key", properties.apiKey())
+                        .build())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of(
+                        "model", "models/" + properties.model(),
+                        "displayName", "feedback-prompt-" + FeedbackPromptTemplate.VERSION,
+                        "systemInstruction", systemInstruction(prefix),
+                        "ttl", ttl.toSeconds() + "s"
+                ))
+                .retrieve()
+                .body(JsonNode.class);
+        String name = response == null ? "" : response.path("name").asText("");
+        if (name.isBlank()) {
+            throw new LlmProviderException("Gemini cachedContents response missing name", false);
+        }
+        Instant expiresAt = null;
+        try {
+            String expireTime = response.path("expireTime").asText("");
+            expiresAt = expireTime.isBlank() ? null : Instant.parse(expireTime);
+        } catch (DateTimeParseException ignored) {
+            logger.debug("Ignoring unparseable expireTime for Gemini cached content {}", name);
+        }
+        return new GeminiPromptCache.Created(name, expiresAt);
+    }
+
+    /**
+     * A cached content that expired or was deleted server-side answers 403/404 before any output, so the request is
+     * sent once more with a fresh handle (or the prefix inline).
+     */
+    private static boolean isCachedContentMissing(Optional<String> cachedContent, RestClientResponseException e) {
+        int status = e.getStatusCode().value();
+        return cachedContent.isPresent() && (status == 403 || status == 404);
+    }
+
     private LlmFeedbackResult parseGeminiJson(String rawResponse) {
         try {
             JsonNode responseNode = objectMapper.readTree(rawResponse);
@@ -118,6 +374,7 @@ public class GeminiLlmFeedbackClient extends AbstractLlmFeedbackClient {
             if (!textNode.isTextual() || textNode.asText().isBlank()) {
                 throw new LlmProviderException("Gemini response missing content text", false);
             }
+            recordUsage(responseNode.path("usageMetadata"));
 
             return responseParser.parse(textNode.asText(), providerName());
         } catch (JsonProcessingException e) {
@@ -125,22 +382,21 @@ public class GeminiLlmFeedbackClient extends AbstractLlmFeedbackClient {
         }
     }
 
-    @Override
-    protected Duration parseRetryAfter(RestClientResponseException e) {
-        HttpHeaders headers = e.getResponseHeaders();
-        if (headers == null) {
-            return null;
-        }
-        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
-        if (value == null || value.isBlank()) {
-            return null;
-        }
-        try {
-            long seconds = Long.parseLong(value.trim());
-            return seconds <= 0 ? Duration.ZERO : Duration.ofSeconds(seconds);
-        } catch (NumberFormatException ignored) {
-            logger.debug("Ignoring non-numeric Retry-After header from Gemini: {}", value);
-            return null;
+    /**
+     * Streaming responses repeat {@code usageMetadata} with running totals; only the last event's counts are final.
+     * Gemini reports no server-side timings.
+     */
+    private void recordUsage(JsonNode usage) {
+        recordTokens(usage, "promptTokenCount", "prompt");
+        recordTokens(usage, "candidatesTokenCount", "completion");
+        recordTokens(usage, "cachedContentTokenCount", "cached_prompt");
+        recordTokens(usage, "thoughtsTokenCount", "thoughts");
+    }
+
+    private void recordTokens(JsonNode usage, String field, String kind) {
+        JsonNode count = usage.path(field);
+        if (count.canConvertToLong()) {
+            metrics().recordTokens(providerName(), properties.model(), kind, count.asLong());
         }
     }
 }
@@ -0,0 +1,112 @@
+package com.hellointerview.backend.service.feedback;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gemini {@code cachedContents} handle for the static prompt prefix of one model. The first request that needs it
+ * creates the handle; it is recreated {@code refresh-margin} before expiry, and a changed prefix (new
+ * {@link FeedbackPromptTemplate#VERSION}) never matches an old handle. Only one thread creates at a time; the others
+ * keep using the current handle or send the prefix inline meanwhile.
+ */
+final class GeminiPromptCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeminiPromptCache.class);
+
+    @FunctionalInterface
+    interface Creator {
+        Created create(String prefix, Duration ttl);
+    }
+
+    /**
+     * {@code expiresAt} may be null when the provider did not report one; the configured ttl applies then.
+     */
+    record Created(String name, Instant expiresAt) {
+    }
+
+    private record Handle(String name, String prefix, Instant expiresAt) {
+    }
+
+    private final LlmPromptCacheProperties properties;
+    private final LlmProviderMetrics metrics;
+    private final String model;
+    private final ReentrantLock createLock = new ReentrantLock();
+    private volatile Handle handle;
+    private volatile Instant retryAt = Instant.MIN;
+
+    GeminiPromptCache(LlmPromptCacheProperties properties, LlmProviderMetrics metrics, String model) {
+        this.properties = properties;
+        this.metrics = metrics;
+        this.model = model;
+    }
+
+    /**
+     * Returns the cached-content name to reference for {@code prefix}, or empty to send the prefix inline.
+     */
+    Optional<String> nameFor(String prefix, Creator creator) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        Handle current = usable(handle, prefix, now);
+        if (current != null && now.isBefore(current.expiresAt().minus(properties.refreshMargin()))) {
+            metrics.recordPromptCache("Gemini", model, "hit");
+            return Optional.of(current.name());
+        }
+        if (now.isBefore(retryAt) || !createLock.tryLock()) {
+            return fallback(current);
+        }
+        try {
+            current = usable(handle, prefix, now);
+            if (current != null && now.isBefore(current.expiresAt().minus(properties.refreshMargin()))) {
+                metrics.recordPromptCache("Gemini", model, "hit");
+                return Optional.of(current.name());
+            }
+            Created created = creator.create(prefix, properties.ttl());
+            Instant expiresAt = created.expiresAt() == null ? now.plus(properties.ttl()) : created.expiresAt();
+            handle = new Handle(created.name(), prefix, expiresAt);
+            metrics.recordPromptCache("Gemini", model, "created");
+            return Optional.of(created.name());
+        } catch (RuntimeException e) {
+            retryAt = now.plus(properties.failureBackoff());
+            metrics.recordPromptCache("Gemini", model, "create_failed");
+            logger.warn("Could not create Gemini cached prompt prefix for {}; sending it inline for {}: {}",
+                    model, properties.failureBackoff(), e.getMessage());
+            return fallback(current);
+        } finally {
+            createLock.unlock();
+        }
+    }
+
+    /**
+     * Drops {@code name} after the provider reported it missing, so the next request recreates it.
+     */
+    void invalidate(String name) {
+        Handle current = handle;
+        if (current != null && current.name().equals(name)) {
+            handle = null;
+            metrics.recordPromptCache("Gemini", model, "invalidated");
+        }
+    }
+
+    private Optional<String> fallback(Handle current) {
+        if (current != null) {
+            metrics.recordPromptCache("Gemini", model, "hit");
+            return Optional.of(current.name());
+        }
+        metrics.recordPromptCache("Gemini", model, "inline");
+        return Optional.empty();
+    }
+
+    private static Handle usable(Handle handle, String prefix, Instant now) {
+        if (handle == null || !handle.prefix().equals(prefix) || !now.isBefore(handle.expiresAt())) {
+            return null;
+        }
+        return handle;
+    }
+}
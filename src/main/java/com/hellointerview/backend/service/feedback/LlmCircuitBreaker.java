@@ -0,0 +1,165 @@
+package com.hellointerview.backend.service.feedback;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Closed/open/half-open breaker for one provider/model. Every acquired {@link Permission} must be completed with
+ * {@link #onResult(Permission, boolean)}; results from permissions issued before the last transition are ignored so
+ * slow calls from a previous state cannot flip the current one.
+ */
+final class LlmCircuitBreaker {
+
+    enum State {
+        CLOSED(0),
+        HALF_OPEN(1),
+        OPEN(2);
+
+        private final int gaugeValue;
+
+        State(int gaugeValue) {
+            this.gaugeValue = gaugeValue;
+        }
+
+        int gaugeValue() {
+            return gaugeValue;
+        }
+    }
+
+    record Permission(boolean permitted, long generation) {
+        static final Permission DENIED = new Permission(false, -1L);
+    }
+
+    private final LlmCircuitBreakerProperties properties;
+    private final LongSupplier nanoClock;
+    private final BiConsumer<State, State> transitionListener;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] window;
+    private State state = State.CLOSED;
+    private long generation;
+    private int windowCount;
+    private int windowIndex;
+    private int windowFailures;
+    private long openedAtNanos;
+    private int probesIssued;
+    private int probeSuccesses;
+
+    LlmCircuitBreaker(LlmCircuitBreakerProperties properties,
+                      LongSupplier nanoClock,
+                      BiConsumer<State, State> transitionListener) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.transitionListener = transitionListener;
+        this.window = new boolean[properties.windowSize()];
+    }
+
+    Permission tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN
+                    && nanoClock.getAsLong() - openedAtNanos >= properties.openDuration().toNanos()) {
+                transitionTo(State.HALF_OPEN);
+            }
+            return switch (state) {
+                case CLOSED -> new Permission(true, generation);
+                case HALF_OPEN -> {
+                    if (probesIssued >= properties.halfOpenProbes()) {
+                        yield Permission.DENIED;
+                    }
+                    probesIssued++;
+                    yield new Permission(true, generation);
+                }
+                case OPEN -> Permission.DENIED;
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onResult(Permission permission, boolean failure) {
+        if (!permission.permitted()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (permission.generation() != generation) {
+                return;
+            }
+            if (state == State.CLOSED) {
+                record(failure);
+                if (windowCount >= properties.minimumCalls()
+                        && windowFailures >= properties.failureRateThreshold() * windowCount) {
+                    transitionTo(State.OPEN);
+                }
+            } else if (state == State.HALF_OPEN) {
+                if (failure) {
+                    transitionTo(State.OPEN);
+                } else if (++probeSuccesses >= properties.halfOpenProbes()) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Completes a permission whose call was abandoned by its client: nothing is recorded, and a half-open probe slot
+     * is handed back.
+     */
+    void onAbandoned(Permission permission) {
+        if (!permission.permitted()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (permission.generation() == generation && state == State.HALF_OPEN && probesIssued > 0) {
+                probesIssued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        generation++;
+        probesIssued = 0;
+        probeSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        }
+        if (next == State.CLOSED) {
+            windowCount = 0;
+            windowIndex = 0;
+            windowFailures = 0;
+        }
+        transitionListener.accept(previous, next);
+    }
+}
@@ -0,0 +1,31 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Per provider/model circuit breaker over the last {@code window-size} provider attempts. Opens when at least
+ * {@code minimum-calls} were recorded and the failure rate reaches {@code failure-rate-threshold}; after
+ * {@code open-duration} lets {@code half-open-probes} calls through to decide whether to close again.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.circuit-breaker")
+public record LlmCircuitBreakerProperties(
+        boolean enabled,
+        @DecimalMin("0.01") @DecimalMax("1.0") double failureRateThreshold,
+        @Min(1) @Max(10_000) int minimumCalls,
+        @Min(1) @Max(10_000) int windowSize,
+        @NotNull Duration openDuration,
+        @Min(1) @Max(1_000) int halfOpenProbes
+) {
+    public static LlmCircuitBreakerProperties disabled() {
+        return new LlmCircuitBreakerProperties(false, 0.5, 10, 20, Duration.ofSeconds(30), 3);
+    }
+}
@@ -0,0 +1,34 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Provider-wide pause after a 429 carrying {@code Retry-After} (delta-seconds or HTTP-date), capped at
+ * {@code max-cooldown}. New calls to that provider wait for the cooldown to end if it ends within
+ * {@code max-queue-wait} and fail fast as transient otherwise. {@code mode=local} keeps cooldowns per node;
+ * {@code mode=postgres} also shares them through the {@code llm_provider_cooldown} table, which each node re-reads
+ * at most every {@code refresh-interval} per provider.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.cooldown")
+public record LlmCooldownProperties(
+        boolean enabled,
+        @NotNull Mode mode,
+        @NotNull Duration maxCooldown,
+        @NotNull Duration maxQueueWait,
+        @NotNull Duration refreshInterval
+) {
+    public enum Mode {
+        LOCAL,
+        POSTGRES
+    }
+
+    public static LlmCooldownProperties disabled() {
+        return new LlmCooldownProperties(false, Mode.LOCAL, Duration.ofMinutes(5), Duration.ZERO,
+                Duration.ofSeconds(1));
+    }
+}
@@ -2,10 +2,42 @@ package com.hellointerview.backend.service.feedback;
 
 import com.hellointerview.backend.exception.LlmTimeoutException;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface LlmFeedbackClient {
 
     LlmFeedbackResult generate(LlmFeedbackInput input) throws LlmTimeoutException;
 
+    /**
+     * Same contract as {@link #generate(LlmFeedbackInput)} but forwards {@code feedback_text} to {@code sink} as it
+     * is produced. Clients without a streaming transport deliver the whole text as one token.
+     */
+    default LlmFeedbackResult generateStreaming(LlmFeedbackInput input, LlmTokenSink sink) throws LlmTimeoutException {
+        LlmFeedbackResult result = generate(input);
+        sink.onToken(result.feedbackText());
+        return result;
+    }
+
+    /**
+     * Non-blocking form of {@link #generate(LlmFeedbackInput)}; failures complete the future with the exceptions
+     * {@code generate} would throw. Clients without a non-blocking transport run {@code generate} on the caller's
+     * thread.
+     */
+    default CompletableFuture<LlmFeedbackResult> generateAsync(LlmFeedbackInput input) {
+        try {
+            return CompletableFuture.completedFuture(generate(input));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * True when {@link #generateAsync(LlmFeedbackInput)} returns without waiting on the provider.
+     */
+    default boolean supportsAsync() {
+        return false;
+    }
+
     /**
      * Workload identity for Strategy B admission and provider-scoped metrics. All {@link AbstractLlmFeedbackClient}
      * implementations supply a stable key.
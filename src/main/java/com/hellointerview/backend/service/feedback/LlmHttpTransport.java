@@ -0,0 +1,430 @@
+package com.hellointerview.backend.service.feedback;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Request factory plus the connection resources behind it for one provider. Pooled and HTTP/2 transports sit behind
+ * a lease gate capped at {@code max-connections}, which is where lease wait time and pool exhaustion are measured.
+ */
+final class LlmHttpTransport implements AutoCloseable {
+
+    private static final String METRIC_POOL_LEASE_MS = "llm_provider_pool_lease_ms";
+    private static final String METRIC_POOL_EXHAUSTED_TOTAL = "llm_provider_pool_exhausted_total";
+    private static final String METRIC_POOL_IN_USE = "llm_provider_pool_in_use";
+    private static final String METRIC_POOL_MAX = "llm_provider_pool_max";
+    private static final String METRIC_POOL_IDLE_CONNECTIONS = "llm_provider_pool_idle_connections";
+
+    private final ClientHttpRequestFactory requestFactory;
+    private final AutoCloseable resources;
+    private final HttpClient asyncClient;
+    private final Duration readTimeout;
+
+    private LlmHttpTransport(ClientHttpRequestFactory requestFactory, AutoCloseable resources) {
+        this(requestFactory, resources, null, null);
+    }
+
+    private LlmHttpTransport(ClientHttpRequestFactory requestFactory,
+                             AutoCloseable resources,
+                             HttpClient asyncClient,
+                             Duration readTimeout) {
+        this.requestFactory = requestFactory;
+        this.resources = resources;
+        this.asyncClient = asyncClient;
+        this.readTimeout = readTimeout;
+    }
+
+    static LlmHttpTransport simple(Duration connectTimeout, Duration readTimeout) {
+        return new LlmHttpTransport(deadlineAware(readTimeout, timeout -> {
+            SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory() {
+                @Override
+                protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+                    super.prepareConnection(connection, httpMethod);
+                    FeedbackCancellation.onCancelIfBound(connection::disconnect);
+                }
+            };
+            requestFactory.setConnectTimeout((int) connectTimeout.toMillis());
+            requestFactory.setReadTimeout((int) Math.max(1L, timeout.toMillis()));
+            return requestFactory;
+        }), () -> { });
+    }
+
+    static LlmHttpTransport create(String provider,
+                                   LlmHttpTransportProperties.Provider settings,
+                                   Duration connectTimeout,
+                                   Duration readTimeout,
+                                   MeterRegistry meterRegistry) {
+        if (settings == null || settings.type() == LlmHttpTransportProperties.Type.SIMPLE) {
+            return simple(connectTimeout, readTimeout);
+        }
+        if (settings.type() == LlmHttpTransportProperties.Type.ASYNC) {
+            return async(connectTimeout, readTimeout);
+        }
+        Tags tags = Tags.of("provider", provider, "transport", settings.type().name().toLowerCase());
+        LeaseGate gate = new LeaseGate(provider, settings.maxConnections(), settings.leaseTimeout(), meterRegistry, tags);
+        if (settings.type() == LlmHttpTransportProperties.Type.HTTP2) {
+            return http2(connectTimeout, readTimeout, gate);
+        }
+        return pooled(settings, connectTimeout, readTimeout, gate, meterRegistry, tags);
+    }
+
+    ClientHttpRequestFactory requestFactory() {
+        return requestFactory;
+    }
+
+    /**
+     * True for the {@code async} transport, whose {@link #sendAsync} does not block.
+     */
+    boolean supportsAsync() {
+        return asyncClient != null;
+    }
+
+    /**
+     * Sends {@code request} on the JDK client's selector thread and completes with {@code mapper} applied to the
+     * response body. Failures use the exception types RestClient throws on the blocking path:
+     * {@link RestClientResponseException} for error statuses and {@link ResourceAccessException} around I/O errors and
+     * timeouts, so the retry loop classifies both paths alike. The read timeout is capped to the
+     * {@link RequestDeadline} bound to the calling thread. Cancelling the returned future aborts the exchange, which is
+     * why the mapping happens here rather than in a dependent stage the caller would hold instead.
+     */
+    <T> CompletableFuture<T> sendAsync(java.net.http.HttpRequest.Builder request, Function<String, T> mapper) {
+        if (asyncClient == null) {
+            throw new IllegalStateException("Transport does not support async sends");
+        }
+        Duration timeout = RequestDeadline.capToRemaining(readTimeout);
+        CompletableFuture<HttpResponse<String>> sent = asyncClient.sendAsync(
+                request.timeout(timeout.isZero() ? Duration.ofMillis(1) : timeout).build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        CompletableFuture<T> mapped = new CompletableFuture<>();
+        sent.whenComplete((response, error) -> {
+            try {
+                mapped.complete(mapper.apply(responseBody(response, error)));
+            } catch (RuntimeException e) {
+                mapped.completeExceptionally(e);
+            }
+        });
+        mapped.whenComplete((ignored, error) -> {
+            if (mapped.isCancelled()) {
+                sent.cancel(true);
+            }
+        });
+        return mapped;
+    }
+
+    private static String responseBody(HttpResponse<String> response, Throwable error) {
+        if (error != null) {
+            throw asyncIoFailure(error);
+        }
+        if (response.statusCode() >= 400) {
+                HttpHeaders headers = new HttpHeaders();
+            response.headers().map().forEach(headers::addAll);
+            throw new RestClientResponseException(
+                    response.statusCode() + " from " + response.uri(),
+                    HttpStatusCode.valueOf(response.statusCode()),
+                    "",
+                    headers,
+                    response.body() == null ? null : response.body().getBytes(StandardCharsets.UTF_8),
+                    StandardCharsets.UTF_8);
+        }
+        return response.body();
+    }
+
+    /**
+     * True when the call never reached the provider because no connection could be leased in time.
+     */
+    static boolean isPoolExhausted(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PoolExhaustedException || cause instanceof ConnectionRequestTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        try {
+            resources.close();
+        } catch (Exception ignored) {
+            // Shutdown path; sockets are released with the process anyway.
+        }
+    }
+
+    private static LlmHttpTransport pooled(LlmHttpTransportProperties.Provider settings,
+                                           Duration connectTimeout,
+                                           Duration readTimeout,
+                                           LeaseGate gate,
+                                           MeterRegistry meterRegistry,
+                                           Tags tags) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(settings.maxConnections())
+                .setMaxConnPerRoute(settings.maxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .build())
+                .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(settings.leaseTimeout().toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(settings.idleTimeout().toMillis()))
+                // Retries are owned by AbstractLlmFeedbackClient so attempts stay visible in the retry metrics.
+                .disableAutomaticRetries()
+                .build();
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_POOL_IDLE_CONNECTIONS, connectionManager, m -> m.getTotalStats().getAvailable())
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+        HttpComponentsClientHttpRequestFactory delegate = new HttpComponentsClientHttpRequestFactory(httpClient) {
+            @Override
+            protected ClassicHttpRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+                ClassicHttpRequest request = super.createHttpUriRequest(httpMethod, uri);
+                if (request instanceof HttpUriRequestBase cancellable) {
+                    FeedbackCancellation.onCancelIfBound(cancellable::cancel);
+                }
+                return request;
+            }
+        };
+        delegate.setHttpContextFactory((method, uri) -> {
+            Duration responseTimeout = RequestDeadline.capToRemaining(readTimeout);
+            if (responseTimeout.equals(readTimeout)) {
+                return null;
+            }
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(RequestConfig.custom()
+                    .setConnectionRequestTimeout(Timeout.ofMilliseconds(settings.leaseTimeout().toMillis()))
+                    .setResponseTimeout(Timeout.ofMilliseconds(Math.max(1L, responseTimeout.toMillis())))
+                    .build());
+            return context;
+        });
+        return new LlmHttpTransport(
+                new InterceptingClientHttpRequestFactory(delegate, List.of(gate)),
+                delegate::destroy
+        );
+    }
+
+    /**
+     * The JDK client reacts to the interrupt from {@link FeedbackCancellation#cancel()}, so no abort hook is needed.
+     */
+    private static LlmHttpTransport http2(Duration connectTimeout,
+                                          Duration readTimeout,
+                                          LeaseGate gate) {
+        // Idle HTTP/2 connections are reaped by the JDK client itself (jdk.httpclient.keepalive.timeout).
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+        ClientHttpRequestFactory delegate = deadlineAware(readTimeout, timeout -> {
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+            requestFactory.setReadTimeout(timeout.isZero() ? Duration.ofMillis(1) : timeout);
+            return requestFactory;
+        });
+        return new LlmHttpTransport(new InterceptingClientHttpRequestFactory(delegate, List.of(gate)), httpClient);
+    }
+
+    /**
+     * Blocking calls go through the same JDK client as {@link #sendAsync}, over HTTP/1.1 since local providers
+     * rarely speak h2c.
+     */
+    private static LlmHttpTransport async(Duration connectTimeout, Duration readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+        ClientHttpRequestFactory requestFactory = deadlineAware(readTimeout, timeout -> {
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+            factory.setReadTimeout(timeout.isZero() ? Duration.ofMillis(1) : timeout);
+            return factory;
+        });
+        return new LlmHttpTransport(requestFactory, httpClient, httpClient, readTimeout);
+    }
+
+    private static RuntimeException asyncIoFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IOException io) {
+            return new ResourceAccessException("I/O error on async request: " + io.getMessage(), io);
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    /**
+     * Uses {@code readTimeout} unless a {@link RequestDeadline} is bound with less time left, in which case the
+     * request gets a factory built for the remaining time. The factories only hold settings, so building one per
+     * request is cheap; the connection resources stay shared.
+     */
+    private static ClientHttpRequestFactory deadlineAware(Duration readTimeout,
+                                                          Function<Duration, ClientHttpRequestFactory> withReadTimeout) {
+        ClientHttpRequestFactory standard = withReadTimeout.apply(readTimeout);
+        return (uri, method) -> {
+            Duration timeout = RequestDeadline.capToRemaining(readTimeout);
+            return (timeout.equals(readTimeout) ? standard : withReadTimeout.apply(timeout)).createRequest(uri, method);
+        };
+    }
+
+    static final class PoolExhaustedException extends IOException {
+        PoolExhaustedException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class LeaseGate implements ClientHttpRequestInterceptor {
+
+        private final String provider;
+        private final int maxConnections;
+        private final Duration leaseTimeout;
+        private final Semaphore permits;
+        private final DistributionSummary leaseLatency;
+        private final Counter exhausted;
+
+        private LeaseGate(String provider, int maxConnections, Duration leaseTimeout,
+                          MeterRegistry meterRegistry, Tags tags) {
+            this.provider = provider;
+            this.maxConnections = maxConnections;
+            this.leaseTimeout = leaseTimeout;
+            this.permits = new Semaphore(maxConnections, true);
+            if (meterRegistry != null) {
+                this.leaseLatency = DistributionSummary.builder(METRIC_POOL_LEASE_MS)
+                        .baseUnit("milliseconds")
+                        .tags(tags)
+                        .register(meterRegistry);
+                this.exhausted = Counter.builder(METRIC_POOL_EXHAUSTED_TOTAL).tags(tags).register(meterRegistry);
+                Gauge.builder(METRIC_POOL_IN_USE, permits, p -> maxConnections - p.availablePermits())
+                        .tags(tags)
+                        .register(meterRegistry);
+                Gauge.builder(METRIC_POOL_MAX, () -> maxConnections).tags(tags).register(meterRegistry);
+            } else {
+                this.leaseLatency = null;
+                this.exhausted = null;
+            }
+        }
+
+        @Override
+        public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+                throws IOException {
+            long startNanos = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(leaseTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for a " + provider + " connection");
+            }
+            if (leaseLatency != null) {
+                leaseLatency.record(Math.max(0.0, Duration.ofNanos(System.nanoTime() - startNanos).toMillis()));
+            }
+            if (!acquired) {
+                if (exhausted != null) {
+                    exhausted.increment();
+                }
+                throw new PoolExhaustedException(provider + " connection pool exhausted (" + maxConnections
+                        + " in use, waited " + leaseTimeout.toMillis() + " ms)");
+            }
+            try {
+                return new LeasedResponse(execution.execute(request, body), permits);
+            } catch (IOException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Holds the lease until the body has been consumed and the response closed.
+     */
+    private static final class LeasedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private LeasedResponse(ClientHttpResponse delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Outbound HTTP transport per LLM provider. {@code simple} opens one connection per call, {@code pooled} keeps
+ * connections alive in an Apache HttpClient 5 pool, and {@code http2} multiplexes calls over a JDK
+ * {@link java.net.http.HttpClient} connection. {@code async} also runs on a JDK client and additionally serves
+ * {@link LlmFeedbackClient#generateAsync} without holding a thread while the provider works.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.transport")
+public record LlmHttpTransportProperties(
+        @Valid @NotNull Provider ollama,
+        @Valid @NotNull Provider gemini
+) {
+
+    public enum Type {
+        SIMPLE,
+        POOLED,
+        HTTP2,
+        ASYNC
+    }
+
+    /**
+     * @param maxConnections pooled connections (or concurrent HTTP/2 streams) a provider may hold at once; async
+     *                       calls are bounded by admission instead
+     * @param idleTimeout    idle pooled connections older than this are evicted
+     * @param leaseTimeout   how long a call waits for a free connection before failing as pool exhausted
+     */
+    public record Provider(
+            @NotNull Type type,
+            @Min(1) @Max(1024) int maxConnections,
+            @NotNull Duration idleTimeout,
+            @NotNull Duration leaseTimeout
+    ) {
+    }
+}
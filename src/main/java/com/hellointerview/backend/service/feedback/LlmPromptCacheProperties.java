@@ -0,0 +1,31 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Explicit provider-side cache of the static prompt prefix (Gemini {@code cachedContents}). A handle is recreated
+ * {@code refresh-margin} before its {@code ttl} runs out; after a failed creation the prefix is sent inline for
+ * {@code failure-backoff}.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.prompt-cache")
+public record LlmPromptCacheProperties(
+        boolean enabled,
+        @NotNull Duration ttl,
+        @NotNull Duration refreshMargin,
+        @NotNull Duration failureBackoff
+) {
+    public LlmPromptCacheProperties {
+        if (enabled && refreshMargin.compareTo(ttl) >= 0) {
+            throw new IllegalArgumentException("ai.llm.prompt-cache.refresh-margin must be shorter than ttl");
+        }
+    }
+
+    public static LlmPromptCacheProperties disabled() {
+        return new LlmPromptCacheProperties(false, Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofMinutes(5));
+    }
+}
@@ -1,6 +1,8 @@
 package com.hellointerview.backend.service.feedback;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
@@ -8,7 +10,35 @@ import org.springframework.context.annotation.Configuration;
         OllamaLlmProperties.class,
         GeminiLlmProperties.class,
         StubLlmProperties.class,
-        FeedbackStrategyBAdmissionProperties.class
+        OllamaWarmupProperties.class,
+        FeedbackStrategyBAdmissionProperties.class,
+        AdaptiveConcurrencyProperties.class,
+        FeedbackAdmissionQueueProperties.class,
+        FeedbackPriorityProperties.class,
+        FeedbackFairnessProperties.class,
+        FeedbackRegradeProperties.class,
+        FeedbackShadowProperties.class,
+        FeedbackAsyncProperties.class,
+        FeedbackDeadlineProperties.class,
+        FeedbackPromptBudgetProperties.class,
+        LlmHttpTransportProperties.class,
+        LlmCircuitBreakerProperties.class,
+        LlmRetryBudgetProperties.class,
+        LlmCooldownProperties.class,
+        LlmPromptCacheProperties.class,
+        LlmRoutingProperties.class,
+        FeedbackResultCacheProperties.class,
+        FeedbackSingleFlightProperties.class
 })
 public class LlmProviderConfiguration {
+
+    @Bean
+    OllamaModelHealthIndicator ollamaModelHealthIndicator(ObjectProvider<OllamaModelWarmer> warmer) {
+        return new OllamaModelHealthIndicator(warmer);
+    }
+
+    @Bean
+    OllamaModelHealthIndicator ollamaModelReadinessHealthIndicator(ObjectProvider<OllamaModelWarmer> warmer) {
+        return new OllamaModelHealthIndicator(warmer, true);
+    }
 }
@@ -0,0 +1,146 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.repository.LlmProviderCooldownRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-provider cooldown set by a 429's {@code Retry-After} and read by every call to that provider. The local end time
+ * only ever moves later. With a repository (postgres mode) a trip is also written to {@code llm_provider_cooldown} and
+ * other nodes' trips are picked up at most every {@code refresh-interval}; database errors fall back to local state.
+ */
+final class LlmProviderCooldown {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmProviderCooldown.class);
+
+    private static final String METRIC_TRIPS_TOTAL = "llm_provider_cooldown_trips_total";
+    private static final String METRIC_REMAINING_SECONDS = "llm_provider_cooldown_remaining_seconds";
+
+    private static final LlmProviderCooldown DISABLED =
+            new LlmProviderCooldown(LlmCooldownProperties.disabled(), null, null);
+
+    private final LlmCooldownProperties properties;
+    private final LlmProviderCooldownRepository repository;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoTime;
+    private final ConcurrentHashMap<String, ProviderState> states = new ConcurrentHashMap<>();
+
+    LlmProviderCooldown(LlmCooldownProperties properties,
+                        LlmProviderCooldownRepository repository,
+                        MeterRegistry meterRegistry) {
+        this(properties, repository, meterRegistry, System::nanoTime);
+    }
+
+    LlmProviderCooldown(LlmCooldownProperties properties,
+                        LlmProviderCooldownRepository repository,
+                        MeterRegistry meterRegistry,
+                        LongSupplier nanoTime) {
+        this.properties = properties;
+        this.repository = properties.mode() == LlmCooldownProperties.Mode.POSTGRES ? repository : null;
+        this.meterRegistry = meterRegistry;
+        this.nanoTime = nanoTime;
+    }
+
+    static LlmProviderCooldown disabled() {
+        return DISABLED;
+    }
+
+    Duration maxQueueWait() {
+        return properties.maxQueueWait();
+    }
+
+    /**
+     * Starts or extends the provider's cooldown to {@code retryAfter} from now, capped at {@code max-cooldown}.
+     */
+    void trip(String provider, Duration retryAfter) {
+        if (!properties.enabled() || retryAfter == null || !retryAfter.isPositive()) {
+            return;
+        }
+        Duration cooldown = retryAfter.compareTo(properties.maxCooldown()) > 0 ? properties.maxCooldown() : retryAfter;
+        long now = nanoTime.getAsLong();
+        state(provider).extendTo(now + cooldown.toNanos());
+        logger.warn("{} asked us to back off; cooling down all calls for {} ms", provider, cooldown.toMillis());
+        if (meterRegistry != null) {
+            Counter.builder(METRIC_TRIPS_TOTAL)
+                    .tag("provider", provider)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        if (repository != null) {
+            try {
+                repository.extend(provider, cooldown.toMillis() / 1000.0);
+            } catch (DataAccessException e) {
+                logger.warn("Failed to share {} cooldown: {}", provider, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Time left before calls to {@code provider} may go out; zero when it is not cooling down.
+     */
+    Duration remaining(String provider) {
+        if (!properties.enabled()) {
+            return Duration.ZERO;
+        }
+        ProviderState state = state(provider);
+        long now = nanoTime.getAsLong();
+        if (repository != null) {
+            refreshFromRepository(provider, state, now);
+        }
+        return Duration.ofNanos(Math.max(0L, state.untilNanos.get() - now));
+    }
+
+    private void refreshFromRepository(String provider, ProviderState state, long now) {
+        long due = state.nextRefreshNanos.get();
+        if (now - due < 0 || !state.nextRefreshNanos.compareAndSet(due, now + properties.refreshInterval().toNanos())) {
+            return;
+        }
+        try {
+            Double remainingMillis = repository.remainingMillis(provider);
+            if (remainingMillis != null && remainingMillis > 0) {
+                state.extendTo(now + TimeUnit.MICROSECONDS.toNanos(Math.round(remainingMillis * 1000)));
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Failed to read shared {} cooldown: {}", provider, e.getMessage());
+        }
+    }
+
+    private ProviderState state(String provider) {
+        return states.computeIfAbsent(provider, key -> {
+            ProviderState state = new ProviderState(nanoTime.getAsLong());
+            if (meterRegistry != null) {
+                Gauge.builder(METRIC_REMAINING_SECONDS, state,
+                                s -> Math.max(0L, s.untilNanos.get() - nanoTime.getAsLong()) / 1_000_000_000.0)
+                        .tag("provider", provider)
+                        .baseUnit("seconds")
+                        .register(meterRegistry);
+            }
+            return state;
+        });
+    }
+
+    private static final class ProviderState {
+
+        private final AtomicLong untilNanos;
+        private final AtomicLong nextRefreshNanos;
+
+        private ProviderState(long now) {
+            this.untilNanos = new AtomicLong(now);
+            this.nextRefreshNanos = new AtomicLong(now);
+        }
+
+        private void extendTo(long until) {
+            untilNanos.accumulateAndGet(until, Math::max);
+        }
+    }
+}
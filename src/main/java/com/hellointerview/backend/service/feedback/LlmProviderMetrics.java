@@ -19,10 +19,16 @@ final class LlmProviderMetrics {
     private static final String METRIC_FAILURES_TOTAL = "llm_provider_failures_total";
     private static final String METRIC_HTTP_STATUS_TOTAL = "llm_provider_http_status_total";
     private static final String METRIC_RETRY_ATTEMPTS_TOTAL = "llm_provider_retry_attempts_total";
+    private static final String METRIC_RETRY_SUPPRESSED_TOTAL = "llm_provider_retry_suppressed_total";
     private static final String METRIC_RETRY_OUTCOME_TOTAL = "llm_provider_retry_outcome_total";
     private static final String METRIC_INFLIGHT_CALLS = "llm_provider_inflight_calls";
     private static final String METRIC_RETRY_AFTER_SECONDS = "llm_provider_retry_after_seconds";
+    private static final String METRIC_COOLDOWN_WAITS_TOTAL = "llm_provider_cooldown_waits_total";
     private static final String METRIC_CALLS_PER_SUCCESS = "llm_provider_calls_per_success";
+    private static final String METRIC_FIRST_TOKEN_LATENCY_MS = "llm_provider_first_token_latency_ms";
+    private static final String METRIC_PROMPT_CACHE_TOTAL = "llm_provider_prompt_cache_total";
+    private static final String METRIC_REPORTED_DURATION_MS = "llm_provider_reported_duration_ms";
+    private static final String METRIC_TOKENS = "llm_provider_tokens";
     private static final String HEADER_STRATEGY_ID = "X-Lab-Strategy-Id";
     private static final String HEADER_SCENARIO_ID = "X-Lab-Scenario-Id";
     private static final String HEADER_RUN_ID = "X-Lab-Run-Id";
@@ -127,6 +133,28 @@ final class LlmProviderMetrics {
                 .increment();
     }
 
+    void recordRetrySuppressed(String provider, String model, String trigger) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_RETRY_SUPPRESSED_TOTAL)
+                .tags(providerTags(provider, model))
+                .tags("provider", provider, "model", model, "trigger", trigger)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    void recordPromptCache(String provider, String model, String outcome) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_PROMPT_CACHE_TOTAL)
+                .tags(providerTags(provider, model))
+                .tags("provider", provider, "model", model, "outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
     void recordRetryOutcome(String provider, String model, String outcome) {
         if (meterRegistry == null) {
             return;
@@ -150,6 +178,67 @@ final class LlmProviderMetrics {
                 .record(Math.max(0.0, retryAfter.toMillis() / 1000.0));
     }
 
+    /**
+     * Counts attempts that found the provider cooling down: {@code queued} waited it out, {@code rejected} failed fast.
+     */
+    void recordCooldownWait(String provider, String model, String outcome) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_COOLDOWN_WAITS_TOTAL)
+                .tags(providerTags(provider, model))
+                .tags("provider", provider, "model", model, "outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Time from the start of a streamed attempt until the first {@code feedback_text} characters reached the sink.
+     */
+    void recordFirstToken(String provider, String model, Duration sinceAttemptStart) {
+        if (meterRegistry == null) {
+            return;
+        }
+        DistributionSummary.builder(METRIC_FIRST_TOKEN_LATENCY_MS)
+                .baseUnit("milliseconds")
+                .tags(providerTags(provider, model))
+                .tags("provider", provider, "model", model)
+                .register(meterRegistry)
+                .record(Math.max(0.0, sinceAttemptStart.toMillis()));
+    }
+
+    /**
+     * Records a phase of a call as timed by the provider itself ({@code total}, {@code load}, {@code prompt_eval},
+     * {@code eval}), or {@code overhead}: our wall time minus the provider total, i.e. network and queueing.
+     */
+    void recordReportedDuration(String provider, String model, String phase, Duration duration) {
+        if (meterRegistry == null) {
+            return;
+        }
+        DistributionSummary.builder(METRIC_REPORTED_DURATION_MS)
+                .baseUnit("milliseconds")
+                .tags(providerTags(provider, model))
+                .tags("provider", provider, "model", model, "phase", phase)
+                .register(meterRegistry)
+                .record(Math.max(0.0, duration.toNanos() / 1_000_000.0));
+    }
+
+    /**
+     * Records provider-reported token usage of one successful call; {@code kind} is {@code prompt},
+     * {@code completion}, {@code cached_prompt} or {@code thoughts}.
+     */
+    void recordTokens(String provider, String model, String kind, long tokens) {
+        if (meterRegistry == null || tokens < 0) {
+            return;
+        }
+        DistributionSummary.builder(METRIC_TOKENS)
+                .baseUnit("tokens")
+                .tags(providerTags(provider, model))
+                .tags("provider", provider, "model", model, "kind", kind)
+                .register(meterRegistry)
+                .record(tokens);
+    }
+
     void recordCallsPerSuccess(String provider, String model, int attemptsForSuccess) {
         if (meterRegistry == null || attemptsForSuccess <= 0) {
             return;
@@ -189,7 +278,7 @@ final class LlmProviderMetrics {
         return "unknown";
     }
 
-    private static Tags providerTags(String provider, String model) {
+    static Tags providerTags(String provider, String model) {
         LabTags tags = LabTags.current();
         return Tags.of(
                 "strategy_id", tags.strategyId,
@@ -0,0 +1,215 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.repository.LlmProviderCooldownRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Shared per provider/model protection state used by {@link AbstractLlmFeedbackClient}: the circuit breaker, the
+ * retry budget and the provider-wide 429 cooldown. One instance is shared by whichever provider client is active.
+ */
+@Component
+class LlmProviderResilience {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmProviderResilience.class);
+
+    private static final String METRIC_CIRCUIT_STATE = "llm_provider_circuit_state";
+    private static final String METRIC_CIRCUIT_TRANSITIONS_TOTAL = "llm_provider_circuit_transitions_total";
+    private static final String METRIC_RETRY_BUDGET_TOKENS = "llm_provider_retry_budget_tokens";
+
+    /**
+     * Failure classes that say the provider itself is unhealthy. Auth/config errors, parse failures and local pool
+     * exhaustion do not count against the breaker.
+     */
+    static final Set<String> BREAKER_FAILURE_CLASSES = Set.of(
+            "provider_timeout",
+            "provider_5xx",
+            "throttling_429",
+            "network"
+    );
+
+    /**
+     * Failure class for attempts cut short because the client disconnected; says nothing about provider health.
+     * Like any class outside {@link #BREAKER_FAILURE_CLASSES}, it releases the permission without counting the call
+     * as a success or a failure.
+     */
+    static final String CLIENT_CANCELLED = "client_cancelled";
+
+    private static final LlmCircuitBreaker.Permission NO_BREAKER = new LlmCircuitBreaker.Permission(true, -1L);
+
+    private static final LlmProviderResilience DISABLED =
+            new LlmProviderResilience(LlmCircuitBreakerProperties.disabled(), LlmRetryBudgetProperties.disabled(), null);
+
+    private final LlmCircuitBreakerProperties breakerProperties;
+    private final LlmRetryBudgetProperties retryBudgetProperties;
+    private final LlmProviderCooldown cooldown;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, LlmCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LlmRetryBudget> retryBudgets = new ConcurrentHashMap<>();
+
+    LlmProviderResilience(LlmCircuitBreakerProperties breakerProperties,
+                          LlmRetryBudgetProperties retryBudgetProperties,
+                          MeterRegistry meterRegistry) {
+        this(breakerProperties, retryBudgetProperties, LlmProviderCooldown.disabled(), meterRegistry);
+    }
+
+    @Autowired
+    LlmProviderResilience(LlmCircuitBreakerProperties breakerProperties,
+                          LlmRetryBudgetProperties retryBudgetProperties,
+                          LlmCooldownProperties cooldownProperties,
+                          ObjectProvider<LlmProviderCooldownRepository> cooldownRepository,
+                          MeterRegistry meterRegistry) {
+        this(breakerProperties, retryBudgetProperties,
+                new LlmProviderCooldown(cooldownProperties, cooldownRepository.getIfAvailable(), meterRegistry),
+                meterRegistry);
+    }
+
+    LlmProviderResilience(LlmCircuitBreakerProperties breakerProperties,
+                          LlmRetryBudgetProperties retryBudgetProperties,
+                          LlmProviderCooldown cooldown,
+                          MeterRegistry meterRegistry) {
+        this.breakerProperties = breakerProperties;
+        this.retryBudgetProperties = retryBudgetProperties;
+        this.cooldown = cooldown;
+        this.meterRegistry = meterRegistry;
+    }
+
+    static LlmProviderResilience disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Same cooldown, but no circuit breaker or retry budget. Used by the lab stub, whose injected faults would
+     * otherwise open a circuit or drain a budget that outlives the run that caused it.
+     */
+    LlmProviderResilience forLabStub() {
+        return new LlmProviderResilience(LlmCircuitBreakerProperties.disabled(), LlmRetryBudgetProperties.disabled(),
+                cooldown, meterRegistry);
+    }
+
+    /**
+     * Empty permission (always permitted, never recorded) when the breaker is disabled.
+     */
+    LlmCircuitBreaker.Permission acquire(String provider, String model) {
+        if (!breakerProperties.enabled()) {
+            return NO_BREAKER;
+        }
+        return breaker(provider, model).tryAcquire();
+    }
+
+    void onAttemptResult(String provider, String model, LlmCircuitBreaker.Permission permission, String failureClass) {
+        if (permission == NO_BREAKER) {
+            return;
+        }
+        LlmCircuitBreaker breaker = breaker(provider, model);
+        if (failureClass == null) {
+            breaker.onResult(permission, false);
+        } else if (BREAKER_FAILURE_CLASSES.contains(failureClass)) {
+            breaker.onResult(permission, true);
+        } else {
+            breaker.onAbandoned(permission);
+        }
+    }
+
+    LlmCircuitBreaker.State state(String provider, String model) {
+        if (!breakerProperties.enabled()) {
+            return LlmCircuitBreaker.State.CLOSED;
+        }
+        return breaker(provider, model).state();
+    }
+
+    void onFirstAttemptSuccess(String provider, String model) {
+        if (retryBudgetProperties.enabled()) {
+            retryBudget(provider, model).onFirstAttemptSuccess();
+        }
+    }
+
+    /**
+     * True when the retry may go ahead; always true with the budget disabled.
+     */
+    boolean tryAcquireRetry(String provider, String model) {
+        return !retryBudgetProperties.enabled() || retryBudget(provider, model).tryWithdraw();
+    }
+
+    /**
+     * Time left on the provider's 429 cooldown; zero when calls may go out now.
+     */
+    Duration cooldownRemaining(String provider) {
+        return cooldown.remaining(provider);
+    }
+
+    /**
+     * Longest cooldown a new call waits out instead of failing fast.
+     */
+    Duration cooldownMaxQueueWait() {
+        return cooldown.maxQueueWait();
+    }
+
+    void tripCooldown(String provider, Duration retryAfter) {
+        cooldown.trip(provider, retryAfter);
+    }
+
+    /**
+     * One budget per provider/model and lab strategy, scenario and run, so the gauge's lab tags describe the budget
+     * they report on.
+     */
+    private LlmRetryBudget retryBudget(String provider, String model) {
+        Tags labTags = LlmProviderMetrics.providerTags(provider, model);
+        String key = provider + "::" + model + labTags.stream().map(tag -> "::" + tag.getValue())
+                .collect(Collectors.joining());
+        return retryBudgets.computeIfAbsent(key, k -> {
+            LlmRetryBudget budget = new LlmRetryBudget(retryBudgetProperties);
+            if (meterRegistry != null) {
+                Gauge.builder(METRIC_RETRY_BUDGET_TOKENS, budget, LlmRetryBudget::tokens)
+                        .tags(labTags)
+                        .tags("provider", provider, "model", model)
+                        .register(meterRegistry);
+            }
+            return budget;
+        });
+    }
+
+    private LlmCircuitBreaker breaker(String provider, String model) {
+        return breakers.computeIfAbsent(provider + "::" + model, key -> newBreaker(provider, model));
+    }
+
+    private LlmCircuitBreaker newBreaker(String provider, String model) {
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(breakerProperties, System::nanoTime,
+                (from, to) -> onTransition(provider, model, from, to));
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_CIRCUIT_STATE, breaker, b -> b.state().gaugeValue())
+                    .tags("provider", provider, "model", model)
+                    .register(meterRegistry);
+        }
+        return breaker;
+    }
+
+    private void onTransition(String provider, String model, LlmCircuitBreaker.State from, LlmCircuitBreaker.State to) {
+        logger.warn("{} circuit for model {} moved {} -> {}", provider, model, from, to);
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_CIRCUIT_TRANSITIONS_TOTAL)
+                .tags(
+                        "provider", provider,
+                        "model", model,
+                        "from", from.name().toLowerCase(Locale.ROOT),
+                        "to", to.name().toLowerCase(Locale.ROOT)
+                )
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,27 @@
+package com.hellointerview.backend.service.feedback;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spaces provider calls at least {@code 1 / qps} apart across all threads sharing the throttle. Each caller reserves
+ * the next free slot with a CAS and sleeps until it, so there is no burst after an idle period.
+ */
+public final class LlmQpsThrottle {
+
+    private final long intervalNanos;
+    private final AtomicLong nextSlotNanos = new AtomicLong(System.nanoTime());
+
+    public LlmQpsThrottle(double qps) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / qps);
+    }
+
+    public void acquire() throws InterruptedException {
+        long now = System.nanoTime();
+        long slot = nextSlotNanos.getAndUpdate(next -> Math.max(next, now) + intervalNanos);
+        long waitNanos = Math.max(slot, now) - now;
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.hellointerview.backend.service.feedback;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket that caps retries to a share of successful first attempts. Starts full so a cold node can still
+ * retry a few isolated failures.
+ */
+final class LlmRetryBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double tokens;
+
+    LlmRetryBudget(LlmRetryBudgetProperties properties) {
+        this.ratio = properties.ratio();
+        this.maxTokens = properties.maxTokens();
+        this.tokens = maxTokens;
+    }
+
+    void onFirstAttemptSuccess() {
+        lock.lock();
+        try {
+            tokens = Math.min(maxTokens, tokens + ratio);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Spends one token for a retry; false when less than a whole token is left.
+     */
+    boolean tryWithdraw() {
+        lock.lock();
+        try {
+            if (tokens < 1.0) {
+                return false;
+            }
+            tokens -= 1.0;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double tokens() {
+        lock.lock();
+        try {
+            return tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Per provider/model retry budget: every successful first attempt deposits {@code ratio} tokens (up to
+ * {@code max-tokens}) and every retry spends one, so retries stay near {@code ratio} of first-attempt successes.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.retry-budget")
+public record LlmRetryBudgetProperties(
+        boolean enabled,
+        @DecimalMin("0.001") @DecimalMax("1.0") double ratio,
+        @Min(1) @Max(100_000) int maxTokens
+) {
+    public static LlmRetryBudgetProperties disabled() {
+        return new LlmRetryBudgetProperties(false, 0.1, 10);
+    }
+}
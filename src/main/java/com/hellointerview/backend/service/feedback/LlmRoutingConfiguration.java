@@ -0,0 +1,51 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@code ai.llm.provider=routing} builds one client per entry of {@code ai.llm.routing.providers} (none of the single
+ * provider beans is active then) and exposes them as a single {@link RoutingLlmFeedbackClient}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ai.llm", name = "provider", havingValue = "routing")
+class LlmRoutingConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    RoutingLlmFeedbackClient routingLlmFeedbackClient(RestClient.Builder restClientBuilder,
+                                                      ObjectMapper objectMapper,
+                                                      MeterRegistry meterRegistry,
+                                                      LlmRoutingProperties routingProperties,
+                                                      OllamaLlmProperties ollamaProperties,
+                                                      GeminiLlmProperties geminiProperties,
+                                                      StubLlmProperties stubProperties,
+                                                      LlmHttpTransportProperties transportProperties,
+                                                      LlmProviderResilience resilience,
+                                                      LlmPromptCacheProperties promptCacheProperties,
+                                                      OllamaWarmupProperties ollamaWarmupProperties,
+                                                      LabRequestContextResolver contextResolver,
+                                                      FeedbackPromptBudgeter promptBudgeter) {
+        List<LlmFeedbackClient> members = new ArrayList<>();
+        for (String provider : routingProperties.providers()) {
+            members.add(switch (provider.trim().toLowerCase(Locale.ROOT)) {
+                case "ollama" -> new OllamaLlmFeedbackClient(restClientBuilder.clone(), objectMapper, meterRegistry,
+                        ollamaProperties, transportProperties, resilience, ollamaWarmupProperties);
+                case "gemini" -> new GeminiLlmFeedbackClient(restClientBuilder.clone(), objectMapper, meterRegistry,
+                        geminiProperties, transportProperties, resilience, promptCacheProperties);
+                case "stub" -> new StubLlmFeedbackClient(meterRegistry, stubProperties, contextResolver, resilience);
+                default -> throw new IllegalArgumentException("Unknown ai.llm.routing.providers entry: " + provider);
+            });
+        }
+        return new RoutingLlmFeedbackClient(members, routingProperties.hedge(), meterRegistry, promptBudgeter);
+    }
+}
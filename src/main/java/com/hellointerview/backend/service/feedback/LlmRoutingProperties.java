@@ -0,0 +1,38 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Used when {@code ai.llm.provider=routing}: {@code providers} is the failover order (ollama, gemini, stub). With
+ * {@code hedge.enabled} a second request goes to the next provider once the primary has been outstanding longer than
+ * its observed {@code hedge.percentile} latency ({@code hedge.initial-delay} until {@code hedge.min-samples} calls).
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.routing")
+public record LlmRoutingProperties(
+        List<String> providers,
+        @NotNull Hedge hedge
+) {
+    public LlmRoutingProperties {
+        providers = providers == null ? List.of() : List.copyOf(providers);
+    }
+
+    public record Hedge(
+            boolean enabled,
+            @NotNull Duration initialDelay,
+            @NotNull Duration minDelay,
+            @DecimalMin("0.5") @DecimalMax("0.999") double percentile,
+            @Min(1) @Max(10_000) int minSamples,
+            @Min(1) @Max(10_000) int sampleWindow
+    ) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.hellointerview.backend.service.feedback;
+
+/**
+ * Receives {@code feedback_text} incrementally while the provider is still generating.
+ */
+public interface LlmTokenSink {
+
+    void onToken(String text);
+
+    /**
+     * Called before a retry attempt when the failed attempt already emitted text; the sink should discard it.
+     */
+    default void onReset() {
+    }
+}
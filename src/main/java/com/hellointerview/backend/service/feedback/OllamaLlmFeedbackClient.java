@@ -1,19 +1,35 @@
 package com.hellointerview.backend.service.feedback;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hellointerview.backend.exception.LlmTimeoutException;
 import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @Service
 @ConditionalOnProperty(prefix = "ai.llm", name = "provider", havingValue = "ollama")
@@ -23,31 +39,54 @@ public class OllamaLlmFeedbackClient extends AbstractLlmFeedbackClient {
     private static final String GENERATE_PATH = "/api/generate";
 
     private final RestClient restClient;
+    private final ObjectMapper objectMapper;
     private final LlmFeedbackResponseParser responseParser;
     private final OllamaLlmProperties properties;
+    private final LlmHttpTransport transport;
+    private final String keepAlive;
 
     @Autowired
     public OllamaLlmFeedbackClient(RestClient.Builder restClientBuilder,
                                    ObjectMapper objectMapper,
                                    MeterRegistry meterRegistry,
-                                   OllamaLlmProperties properties) {
-        this(restClientBuilder, objectMapper, properties, LlmProviderMetrics.fromRegistry(meterRegistry));
+                                   OllamaLlmProperties properties,
+                                   LlmHttpTransportProperties transportProperties,
+                                   LlmProviderResilience resilience,
+                                   OllamaWarmupProperties warmupProperties) {
+        this(restClientBuilder, objectMapper, properties, LlmProviderMetrics.fromRegistry(meterRegistry),
+                LlmHttpTransport.create("Ollama", transportProperties.ollama(), properties.connectTimeout(),
+                        properties.readTimeout(), meterRegistry),
+                resilience, warmupProperties);
     }
 
     OllamaLlmFeedbackClient(RestClient.Builder restClientBuilder,
                             ObjectMapper objectMapper,
                             OllamaLlmProperties properties,
-                            LlmProviderMetrics metrics) {
-        super(new FeedbackPromptTemplate(), properties, logger, metrics);
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setConnectTimeout((int) properties.connectTimeout().toMillis());
-        requestFactory.setReadTimeout((int) properties.readTimeout().toMillis());
+                            LlmProviderMetrics metrics,
+                            LlmHttpTransport transport,
+                            LlmProviderResilience resilience,
+                            OllamaWarmupProperties warmupProperties) {
+        super(new FeedbackPromptTemplate(), properties, logger, metrics, resilience);
         this.restClient = restClientBuilder
                 .baseUrl(properties.baseUrl())
-                .requestFactory(requestFactory)
+                .requestFactory(transport.requestFactory())
                 .build();
+        this.objectMapper = objectMapper;
         this.responseParser = new LlmFeedbackResponseParser(objectMapper);
         this.properties = properties;
+        this.transport = transport;
+        this.keepAlive = warmupProperties.enabled() ? warmupProperties.keepAlive().toSeconds() + "s" : null;
+    }
+
+    @Override
+    @PreDestroy
+    void closeTransport() {
+        transport.close();
+    }
+
+    @Override
+    public boolean supportsAsync() {
+        return transport.supportsAsync();
     }
 
     @Override
@@ -61,18 +100,14 @@ public class OllamaLlmFeedbackClient extends AbstractLlmFeedbackClient {
     }
 
     @Override
-    protected LlmFeedbackResult invokeProvider(String prompt) throws LlmTimeoutException {
+    protected LlmFeedbackResult invokeProvider(FeedbackPrompt prompt) throws LlmTimeoutException {
+        long startNanos = System.nanoTime();
         OllamaGenerateResponse response;
         try {
             response = restClient.post()
                     .uri(GENERATE_PATH)
                     .contentType(MediaType.APPLICATION_JSON)
-                    .body(Map.of(
-                            "model", properties.model(),
-                            "prompt", prompt,
-                            "stream", false,
-                            "format", "json"
-                    ))
+                    .body(requestBody(prompt, false))
                     .retrieve()
                     .body(OllamaGenerateResponse.class);
         } catch (ResourceAccessException e) {
@@ -85,13 +120,205 @@ public class OllamaLlmFeedbackClient extends AbstractLlmFeedbackClient {
         if (response == null || response.response() == null || response.response().isBlank()) {
             throw new LlmProviderException("Ollama returned an empty response payload", true);
         }
+        recordUsage(response, startNanos);
         return parseModelJson(response.response());
     }
 
+    /**
+     * {@code stream=true} makes Ollama answer with NDJSON, one {@code {"response":"...","done":false}} object per
+     * generated chunk and a final {@code done=true} object.
+     */
+    @Override
+    protected LlmFeedbackResult invokeProviderStreaming(FeedbackPrompt prompt, Consumer<String> chunks)
+            throws LlmTimeoutException {
+        long startNanos = System.nanoTime();
+        String completion;
+        try {
+            completion = restClient.post()
+                    .uri(GENERATE_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .body(requestBody(prompt, true))
+                    .exchange((request, response) -> {
+                        throwIfError(response);
+                        return readNdjson(response.getBody(), chunks, startNanos);
+                    });
+        } catch (ResourceAccessException e) {
+            if (isTimeout(e)) {
+                throw new LlmTimeoutException("Timed out waiting for Ollama response");
+            }
+            throw e;
+        }
+
+        if (completion == null || completion.isBlank()) {
+            throw new LlmProviderException("Ollama returned an empty response payload", true);
+        }
+        return parseModelJson(completion);
+    }
+
+    /**
+     * Only the {@code async} transport sends without blocking; other transports fall back to the blocking call.
+     */
+    @Override
+    protected CompletableFuture<LlmFeedbackResult> invokeProviderAsync(FeedbackPrompt prompt) {
+        if (!transport.supportsAsync()) {
+            return super.invokeProviderAsync(prompt);
+        }
+        long startNanos = System.nanoTime();
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(requestBody(prompt, false));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(
+                    new LlmProviderException("Unable to serialize Ollama request", false, e));
+        }
+        return transport.sendAsync(HttpRequest.newBuilder(URI.create(properties.baseUrl() + GENERATE_PATH))
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body)),
+                responseBody -> {
+                    OllamaGenerateResponse response = readResponse(responseBody);
+                    if (response == null || response.response() == null || response.response().isBlank()) {
+                        throw new LlmProviderException("Ollama returned an empty response payload", true);
+                    }
+                    recordUsage(response, startNanos);
+                    return parseModelJson(response.response());
+                });
+    }
+
+    /**
+     * Loads the model without generating anything (Ollama treats an empty prompt as a load request) and returns the
+     * load time Ollama reports; zero when the model was already resident.
+     */
+    Duration preload() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("model", properties.model());
+        body.put("prompt", "");
+        body.put("stream", false);
+        putKeepAlive(body);
+        OllamaGenerateResponse response = restClient.post()
+                .uri(GENERATE_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+                .retrieve()
+                .body(OllamaGenerateResponse.class);
+        long loadNanos = response == null || response.loadDuration() == null ? 0L : response.loadDuration();
+        return Duration.ofNanos(loadNanos);
+    }
+
+    /**
+     * Generates a single token behind the feedback prompt prefix, which also leaves that prefix in the KV cache.
+     * Bypasses retries and the circuit breaker; failures propagate to the caller.
+     */
+    void probe() {
+        Map<String, Object> body = requestBody(new FeedbackPrompt(FeedbackPromptTemplate.PREFIX, "Reply with {}."), false);
+        body.put("options", Map.of("num_predict", 1));
+        restClient.post()
+                .uri(GENERATE_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    /**
+     * The static prefix goes in {@code system}, which Ollama renders first: consecutive requests then share the same
+     * leading tokens and the runner reuses their KV cache instead of re-evaluating the rubric.
+     */
+    private Map<String, Object> requestBody(FeedbackPrompt prompt, boolean stream) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("model", properties.model());
+        body.put("system", prompt.prefix());
+        body.put("prompt", prompt.suffix());
+        body.put("stream", stream);
+        body.put("format", "json");
+        putKeepAlive(body);
+        return body;
+    }
+
+    private void putKeepAlive(Map<String, Object> body) {
+        if (keepAlive != null) {
+            body.put("keep_alive", keepAlive);
+        }
+    }
+
+    private String readNdjson(InputStream body, Consumer<String> chunks, long startNanos) throws IOException {
+        StringBuilder completion = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node = objectMapper.readTree(line);
+                if (node.hasNonNull("error")) {
+                    throw new LlmProviderException("Ollama stream failed: " + node.get("error").asText(), true);
+                }
+                String chunk = node.path("response").asText("");
+                if (!chunk.isEmpty()) {
+                    completion.append(chunk);
+                    chunks.accept(chunk);
+                }
+                if (node.path("done").asBoolean(false)) {
+                    recordUsage(objectMapper.treeToValue(node, OllamaGenerateResponse.class), startNanos);
+                    break;
+                }
+            }
+        }
+        return completion.toString();
+    }
+
+    private OllamaGenerateResponse readResponse(String responseBody) {
+        if (responseBody == null || responseBody.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(responseBody, OllamaGenerateResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new LlmProviderException("Unable to parse Ollama JSON response", false, e);
+        }
+    }
+
     private LlmFeedbackResult parseModelJson(String responseContent) {
         return responseParser.parse(responseContent, providerName());
     }
 
-    private record OllamaGenerateResponse(String response) {
+    /**
+     * Ollama reports durations in nanoseconds on the final response. {@code prompt_eval_count} only counts tokens
+     * that were actually evaluated, so it drops when the prompt prefix is served from the KV cache.
+     */
+    private void recordUsage(OllamaGenerateResponse response, long startNanos) {
+        LlmProviderMetrics metrics = metrics();
+        String model = properties.model();
+        recordPhase(metrics, model, "total", response.totalDuration());
+        recordPhase(metrics, model, "load", response.loadDuration());
+        recordPhase(metrics, model, "prompt_eval", response.promptEvalDuration());
+        recordPhase(metrics, model, "eval", response.evalDuration());
+        if (response.totalDuration() != null) {
+            recordPhase(metrics, model, "overhead", System.nanoTime() - startNanos - response.totalDuration());
+        }
+        if (response.promptEvalCount() != null) {
+            metrics.recordTokens(providerName(), model, "prompt", response.promptEvalCount());
+        }
+        if (response.evalCount() != null) {
+            metrics.recordTokens(providerName(), model, "completion", response.evalCount());
+        }
+    }
+
+    private void recordPhase(LlmProviderMetrics metrics, String model, String phase, Long nanos) {
+        if (nanos != null) {
+            metrics.recordReportedDuration(providerName(), model, phase, Duration.ofNanos(Math.max(0L, nanos)));
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record OllamaGenerateResponse(
+            String response,
+            @JsonProperty("total_duration") Long totalDuration,
+            @JsonProperty("load_duration") Long loadDuration,
+            @JsonProperty("prompt_eval_count") Long promptEvalCount,
+            @JsonProperty("prompt_eval_duration") Long promptEvalDuration,
+            @JsonProperty("eval_count") Long evalCount,
+            @JsonProperty("eval_duration") Long evalDuration
+    ) {
     }
 }
@@ -0,0 +1,51 @@
+package com.hellointerview.backend.service.feedback;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Ollama model health from {@link OllamaModelWarmer}. The {@code ollamaModel} indicator follows the latest probe:
+ * OUT_OF_SERVICE while it is pending, slow or failing. The {@code ollamaModelReadiness} indicator, part of the
+ * readiness group, latches UP after the first successful warm-up, so a slow probe later on does not pull a serving
+ * pod out of the load balancer. Both are UP when Ollama is not the provider or warm-up is disabled. Registered by
+ * {@link LlmProviderConfiguration} so the readiness group always finds them.
+ */
+public class OllamaModelHealthIndicator implements HealthIndicator {
+
+    private final ObjectProvider<OllamaModelWarmer> warmer;
+    private final boolean readiness;
+
+    public OllamaModelHealthIndicator(ObjectProvider<OllamaModelWarmer> warmer) {
+        this(warmer, false);
+    }
+
+    public OllamaModelHealthIndicator(ObjectProvider<OllamaModelWarmer> warmer, boolean readiness) {
+        this.warmer = warmer;
+        this.readiness = readiness;
+    }
+
+    @Override
+    public Health health() {
+        OllamaModelWarmer active = warmer.getIfAvailable();
+        if (active == null || !active.enabled()) {
+            return Health.up().withDetail("warmup", "disabled").build();
+        }
+        OllamaModelWarmer.Status status = active.status();
+        boolean up = readiness ? active.warmedUp() : status.state() == OllamaModelWarmer.State.READY;
+        Health.Builder health = up ? Health.up() : Health.outOfService();
+        health.withDetail("model", active.model())
+                .withDetail("state", status.state().name())
+                .withDetail("readyLatencyThresholdMs", active.readyLatencyThreshold().toMillis());
+        if (status.probeLatency() != null) {
+            health.withDetail("probeLatencyMs", status.probeLatency().toMillis());
+        }
+        if (status.checkedAt() != null) {
+            health.withDetail("checkedAt", status.checkedAt().toString());
+        }
+        if (status.error() != null) {
+            health.withDetail("error", status.error());
+        }
+        return health.build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.hellointerview.backend.service.feedback;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Preloads the Ollama model once the application is ready, then keeps it resident by probing every
+ * {@code ai.llm.ollama-warmup.ping-interval} during business hours. Until the first probe succeeds it retries every
+ * {@code startup-retry-interval}, regardless of the hour. The latest outcome backs the {@code ollamaModel}
+ * {@link OllamaModelHealthIndicator}; readiness only waits for the first successful warm-up.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ai.llm", name = "provider", havingValue = "ollama")
+public class OllamaModelWarmer {
+
+    enum State {
+        PENDING,
+        READY,
+        SLOW,
+        FAILED
+    }
+
+    record Status(State state, Duration probeLatency, Instant checkedAt, String error) {
+        static final Status PENDING = new Status(State.PENDING, null, null, null);
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(OllamaModelWarmer.class);
+
+    private static final String METRIC_MODEL_READY = "llm_ollama_model_ready";
+    private static final String METRIC_PROBE_LATENCY_MS = "llm_ollama_warmup_probe_latency_ms";
+    private static final String METRIC_LOAD_MS = "llm_ollama_warmup_load_ms";
+
+    private final OllamaLlmFeedbackClient client;
+    private final OllamaWarmupProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private ScheduledExecutorService scheduler;
+    private volatile Status status = Status.PENDING;
+    private volatile boolean warmedUp;
+
+    @Autowired
+    public OllamaModelWarmer(OllamaLlmFeedbackClient client,
+                             OllamaWarmupProperties properties,
+                             MeterRegistry meterRegistry) {
+        this(client, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    OllamaModelWarmer(OllamaLlmFeedbackClient client,
+                      OllamaWarmupProperties properties,
+                      MeterRegistry meterRegistry,
+                      Clock clock) {
+        this.client = client;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_MODEL_READY, this, warmer -> warmer.status.state() == State.READY ? 1 : 0)
+                    .tag("model", client.modelName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("ollama-warmup").daemon().factory());
+        scheduler.schedule(this::tickAndReschedule, 0L, TimeUnit.MILLISECONDS);
+    }
+
+    private void tickAndReschedule() {
+        try {
+            tick();
+        } finally {
+            Duration next = warmedUp ? properties.pingInterval() : properties.startupRetryInterval();
+            try {
+                scheduler.schedule(this::tickAndReschedule, next.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ignored) {
+                // Shutting down.
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    boolean enabled() {
+        return properties.enabled();
+    }
+
+    Duration readyLatencyThreshold() {
+        return properties.readyLatencyThreshold();
+    }
+
+    String model() {
+        return client.modelName();
+    }
+
+    Status status() {
+        return status;
+    }
+
+    /**
+     * True once any probe has finished within the latency threshold; later slow or failed probes do not reset it.
+     */
+    boolean warmedUp() {
+        return warmedUp;
+    }
+
+    void tick() {
+        Status current = status;
+        int hour = clock.instant().atZone(properties.zone()).getHour();
+        if (current.state() == State.READY && !properties.inBusinessHours(hour)) {
+            return;
+        }
+        try {
+            Duration load = client.preload();
+            if (!load.isZero()) {
+                logger.info("Loaded Ollama model {} in {} ms", client.modelName(), load.toMillis());
+                record(METRIC_LOAD_MS, "loaded", load);
+            }
+            long probeStartNanos = System.nanoTime();
+            client.probe();
+            Duration latency = Duration.ofNanos(System.nanoTime() - probeStartNanos);
+            boolean fast = latency.compareTo(properties.readyLatencyThreshold()) <= 0;
+            record(METRIC_PROBE_LATENCY_MS, fast ? "ready" : "slow", latency);
+            status = new Status(fast ? State.READY : State.SLOW, latency, clock.instant(), null);
+            if (fast) {
+                warmedUp = true;
+            } else {
+                logger.warn("Ollama model {} probe took {} ms (threshold {} ms)", client.modelName(),
+                        latency.toMillis(), properties.readyLatencyThreshold().toMillis());
+            }
+        } catch (RuntimeException e) {
+            status = new Status(State.FAILED, null, clock.instant(), e.getMessage());
+            logger.warn("Ollama model {} warm-up failed: {}", client.modelName(), e.getMessage());
+        }
+    }
+
+    private void record(String metric, String outcome, Duration duration) {
+        if (meterRegistry == null) {
+            return;
+        }
+        DistributionSummary.builder(metric)
+                .baseUnit("milliseconds")
+                .tags("model", client.modelName(), "outcome", outcome)
+                .register(meterRegistry)
+                .record(duration.toNanos() / 1_000_000.0);
+    }
+}
@@ -0,0 +1,51 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * Keeps the Ollama model resident. Every Ollama request carries {@code keep-alive}; after startup the model is
+ * preloaded and probed, and the probe repeats every {@code ping-interval} during business hours
+ * ({@code [business-hours-start, business-hours-end)} in {@code zone}; equal hours mean all day). Until the first
+ * warm-up succeeds it retries every {@code startup-retry-interval} instead. Readiness requires one probe to have
+ * finished within {@code ready-latency-threshold}.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.ollama-warmup")
+public record OllamaWarmupProperties(
+        boolean enabled,
+        @NotNull Duration keepAlive,
+        @NotNull Duration pingInterval,
+        @Min(0) @Max(23) int businessHoursStart,
+        @Min(0) @Max(23) int businessHoursEnd,
+        @NotNull ZoneId zone,
+        @NotNull Duration readyLatencyThreshold,
+        @NotNull Duration startupRetryInterval
+) {
+    public OllamaWarmupProperties {
+        if (enabled && pingInterval.compareTo(keepAlive) >= 0) {
+            throw new IllegalArgumentException("ai.llm.ollama-warmup.ping-interval must be shorter than keep-alive");
+        }
+    }
+
+    public static OllamaWarmupProperties disabled() {
+        return new OllamaWarmupProperties(false, Duration.ofMinutes(5), Duration.ofMinutes(4), 0, 0,
+                ZoneId.of("UTC"), Duration.ofSeconds(5), Duration.ofSeconds(15));
+    }
+
+    boolean inBusinessHours(int hourOfDay) {
+        if (businessHoursStart == businessHoursEnd) {
+            return true;
+        }
+        if (businessHoursStart < businessHoursEnd) {
+            return hourOfDay >= businessHoursStart && hourOfDay < businessHoursEnd;
+        }
+        return hourOfDay >= businessHoursStart || hourOfDay < businessHoursEnd;
+    }
+}
@@ -0,0 +1,97 @@
+package com.hellointerview.backend.service.feedback;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Absolute deadline for one feedback request, bound to the thread doing the work with {@link #call(Supplier)} so
+ * the provider clients, HTTP transports and JDBC write-backs can read it via {@link #current()} without threading it
+ * through every signature. {@link #unbounded()} binds nothing.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+    private static final RequestDeadline UNBOUNDED = new RequestDeadline(null, Duration.ZERO);
+    private static final Duration NO_LIMIT = Duration.ofNanos(Long.MAX_VALUE);
+
+    private final Instant expiresAt;
+    private final Duration minAttemptBudget;
+
+    private RequestDeadline(Instant expiresAt, Duration minAttemptBudget) {
+        this.expiresAt = expiresAt;
+        this.minAttemptBudget = minAttemptBudget;
+    }
+
+    public static RequestDeadline at(Instant expiresAt, Duration minAttemptBudget) {
+        return new RequestDeadline(expiresAt, minAttemptBudget);
+    }
+
+    public static RequestDeadline unbounded() {
+        return UNBOUNDED;
+    }
+
+    public static Optional<RequestDeadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Shrinks {@code timeout} to the time left on the current deadline, if one is bound.
+     */
+    static Duration capToRemaining(Duration timeout) {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return timeout;
+        }
+        Duration remaining = deadline.remaining();
+        return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    public Optional<Instant> expiresAt() {
+        return Optional.ofNullable(expiresAt);
+    }
+
+    public Duration remaining() {
+        if (expiresAt == null) {
+            return NO_LIMIT;
+        }
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    public boolean expired() {
+        return expiresAt != null && !Instant.now().isBefore(expiresAt);
+    }
+
+    /**
+     * True when, after waiting {@code wait}, at least {@code min-attempt-budget} would be left for another attempt.
+     */
+    boolean canCoverAttemptAfter(Duration wait) {
+        return expiresAt == null || remaining().compareTo(wait.plus(minAttemptBudget)) >= 0;
+    }
+
+    public <T> T call(Supplier<T> body) {
+        if (expiresAt == null) {
+            return body.get();
+        }
+        RequestDeadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return body.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public void run(Runnable body) {
+        call(() -> {
+            body.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package com.hellointerview.backend.service.feedback;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Reads the client deadline from {@code X-Request-Deadline}: epoch milliseconds or an ISO-8601 instant. Missing or
+ * unparseable values yield empty so callers fall back to their configured default.
+ */
+@Component
+public class RequestDeadlineResolver {
+
+    static final String HEADER_REQUEST_DEADLINE = "X-Request-Deadline";
+
+    private final FeedbackDeadlineProperties properties;
+
+    RequestDeadlineResolver() {
+        this(FeedbackDeadlineProperties.disabled());
+    }
+
+    @Autowired
+    public RequestDeadlineResolver(FeedbackDeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Starts the end-to-end deadline for the current request; {@link RequestDeadline#unbounded()} when disabled.
+     */
+    public RequestDeadline newDeadline() {
+        if (!properties.enabled()) {
+            return RequestDeadline.unbounded();
+        }
+        Instant now = Instant.now();
+        Instant latest = now.plus(properties.maxBudget());
+        Instant expiresAt = resolve()
+                .map(requested -> requested.isAfter(latest) ? latest : requested)
+                .orElseGet(() -> now.plus(properties.defaultBudget()));
+        return RequestDeadline.at(expiresAt, properties.minAttemptBudget());
+    }
+
+    /**
+     * Time left for the current request when no {@link RequestDeadline} is bound yet: the client deadline capped at
+     * {@code max-budget}, else {@code default-budget}. Applies even when end-to-end deadlines are disabled.
+     */
+    public Duration remainingBudget() {
+        Instant now = Instant.now();
+        return resolve()
+                .map(requested -> Duration.between(now, requested))
+                .map(left -> left.compareTo(properties.maxBudget()) > 0 ? properties.maxBudget() : left)
+                .orElse(properties.defaultBudget());
+    }
+
+    Optional<Instant> resolve() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return Optional.empty();
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        if (request == null) {
+            return Optional.empty();
+        }
+        return parse(request.getHeader(HEADER_REQUEST_DEADLINE));
+    }
+
+    static Optional<Instant> parse(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        String trimmed = value.trim();
+        try {
+            if (trimmed.chars().allMatch(Character::isDigit)) {
+                return Optional.of(Instant.ofEpochMilli(Long.parseLong(trimmed)));
+            }
+            return Optional.of(Instant.parse(trimmed));
+        } catch (NumberFormatException | DateTimeParseException ignored) {
+            return Optional.empty();
+        }
+    }
+}
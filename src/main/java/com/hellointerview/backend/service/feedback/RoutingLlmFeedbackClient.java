@@ -0,0 +1,341 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.exception.LlmTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@link LlmFeedbackClient} over an ordered list of provider clients. Timeouts and transient failures fail over to the
+ * next provider; terminal failures are returned as is. Optionally hedges the first provider with the second after a
+ * percentile-based delay and keeps whichever succeeds first, cancelling the other. Streaming requests are never
+ * hedged, since two providers would interleave tokens on one sink. Each member gets the input fitted to its own
+ * prompt budget when it is called.
+ */
+class RoutingLlmFeedbackClient implements LlmFeedbackClient, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoutingLlmFeedbackClient.class);
+
+    private static final String METRIC_ROUTE_TOTAL = "llm_provider_route_total";
+    private static final String METRIC_HEDGES_TOTAL = "llm_provider_hedges_total";
+
+    private final List<LlmFeedbackClient> members;
+    private final LlmRoutingProperties.Hedge hedge;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService hedgeExecutor;
+    private final LatencyWindow[] latencies;
+    private final AdmissionWorkloadKey workloadKey;
+    private final FeedbackPromptBudgeter promptBudgeter;
+
+    RoutingLlmFeedbackClient(List<LlmFeedbackClient> members,
+                             LlmRoutingProperties.Hedge hedge,
+                             MeterRegistry meterRegistry,
+                             FeedbackPromptBudgeter promptBudgeter) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("ai.llm.routing.providers must list at least one provider");
+        }
+        this.members = List.copyOf(members);
+        this.hedge = hedge;
+        this.meterRegistry = meterRegistry;
+        this.promptBudgeter = promptBudgeter;
+        this.hedgeExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("llm-hedge-", 0).factory());
+        this.latencies = new LatencyWindow[members.size()];
+        Arrays.setAll(latencies, i -> new LatencyWindow(hedge.sampleWindow()));
+        this.workloadKey = new AdmissionWorkloadKey(
+                "Routing",
+                members.stream()
+                        .map(member -> member.admissionWorkloadKey().compositeKey())
+                        .collect(Collectors.joining(","))
+        );
+    }
+
+    @Override
+    public AdmissionWorkloadKey admissionWorkloadKey() {
+        return workloadKey;
+    }
+
+    @Override
+    public LlmFeedbackResult generate(LlmFeedbackInput input) throws LlmTimeoutException {
+        int next = 0;
+        RuntimeException lastFailure = null;
+        if (hedge.enabled() && members.size() > 1) {
+            AtomicBoolean hedgeFired = new AtomicBoolean();
+            try {
+                return generateHedged(input, hedgeFired);
+            } catch (RuntimeException e) {
+                if (!isFailoverable(e)) {
+                    throw e;
+                }
+                lastFailure = e;
+                next = hedgeFired.get() ? 2 : 1;
+            }
+        }
+        for (int i = next; i < members.size(); i++) {
+            try {
+                return call(i, input, i == 0 ? "primary" : "failover");
+            } catch (RuntimeException e) {
+                if (!isFailoverable(e)) {
+                    throw e;
+                }
+                lastFailure = e;
+            }
+        }
+        throw lastFailure;
+    }
+
+    @Override
+    public LlmFeedbackResult generateStreaming(LlmFeedbackInput input, LlmTokenSink sink) throws LlmTimeoutException {
+        RuntimeException lastFailure = null;
+        for (int i = 0; i < members.size(); i++) {
+            ResettingSink memberSink = new ResettingSink(sink);
+            try {
+                long startNanos = System.nanoTime();
+                LlmFeedbackResult result = members.get(i).generateStreaming(fitFor(i, input), memberSink);
+                latencies[i].record(System.nanoTime() - startNanos);
+                recordRoute(i, i == 0 ? "primary" : "failover", "success");
+                return result;
+            } catch (RuntimeException e) {
+                recordRoute(i, i == 0 ? "primary" : "failover", "failure");
+                if (!isFailoverable(e)) {
+                    throw e;
+                }
+                if (memberSink.emitted) {
+                    sink.onReset();
+                }
+                lastFailure = e;
+            }
+        }
+        throw lastFailure;
+    }
+
+    @Override
+    public void close() {
+        hedgeExecutor.shutdownNow();
+        for (LlmFeedbackClient member : members) {
+            if (member instanceof AbstractLlmFeedbackClient client) {
+                client.closeTransport();
+            }
+        }
+    }
+
+    /**
+     * Runs the primary on the hedge executor; if it is still outstanding after {@link #hedgeDelayNanos()} the backup
+     * starts too. The first success wins and the other call is interrupted; if both fail the later failure is thrown.
+     */
+    private LlmFeedbackResult generateHedged(LlmFeedbackInput input, AtomicBoolean hedgeFired) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        CallerScope scope = new CallerScope(requestAttributes,
+                RequestDeadline.current().orElse(RequestDeadline.unbounded()),
+                FeedbackCancellation.current().orElse(null));
+        CompletableFuture<LlmFeedbackResult> winner = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        AtomicInteger winnerIndex = new AtomicInteger(-1);
+        Future<?> primary = submit(0, "primary", input, scope, winner, outstanding, winnerIndex);
+        Future<?> backup = null;
+        try {
+            try {
+                return winner.get(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // The primary may have failed between the timeout and here; then plain failover takes over.
+                if (outstanding.getAndUpdate(n -> n == 0 ? 0 : n + 1) != 0) {
+                    hedgeFired.set(true);
+                    recordHedge("fired");
+                    backup = submit(1, "hedge", input, scope, winner, outstanding, winnerIndex);
+                }
+            }
+            LlmFeedbackResult result = winner.get();
+            if (hedgeFired.get()) {
+                recordHedge(winnerIndex.get() == 1 ? "hedge_won" : "primary_won");
+            }
+            return result;
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmProviderException("Interrupted while waiting for hedged provider call", true, e);
+        } finally {
+            primary.cancel(true);
+            if (backup != null) {
+                backup.cancel(true);
+            }
+        }
+    }
+
+    private Future<?> submit(int index,
+                             String role,
+                             LlmFeedbackInput input,
+                             CallerScope scope,
+                             CompletableFuture<LlmFeedbackResult> winner,
+                             AtomicInteger outstanding,
+                             AtomicInteger winnerIndex) {
+        return hedgeExecutor.submit(() -> {
+            RequestContextHolder.setRequestAttributes(scope.requestAttributes());
+            try {
+                LlmFeedbackResult result = scope.call(() -> call(index, input, role));
+                if (winnerIndex.compareAndSet(-1, index)) {
+                    winner.complete(result);
+                }
+            } catch (RuntimeException e) {
+                if (outstanding.decrementAndGet() == 0 || !isFailoverable(e)) {
+                    winner.completeExceptionally(e);
+                }
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+    }
+
+    private LlmFeedbackResult call(int index, LlmFeedbackInput input, String role) {
+        long startNanos = System.nanoTime();
+        try {
+            LlmFeedbackResult result = members.get(index).generate(fitFor(index, input));
+            latencies[index].record(System.nanoTime() - startNanos);
+            recordRoute(index, role, "success");
+            return result;
+        } catch (RuntimeException e) {
+            recordRoute(index, role, Thread.currentThread().isInterrupted() ? "cancelled" : "failure");
+            logger.debug("Routed {} call to {} failed: {}", role, members.get(index).admissionWorkloadKey(), e.getMessage());
+            throw e;
+        }
+    }
+
+    private LlmFeedbackInput fitFor(int index, LlmFeedbackInput input) {
+        return promptBudgeter.fit(input, members.get(index).admissionWorkloadKey());
+    }
+
+    long hedgeDelayNanos() {
+        long observed = latencies[0].percentileNanos(hedge.percentile(), hedge.minSamples());
+        long delay = observed < 0 ? hedge.initialDelay().toNanos() : observed;
+        return Math.max(hedge.minDelay().toNanos(), delay);
+    }
+
+    private static boolean isFailoverable(RuntimeException e) {
+        if (e instanceof LlmTimeoutException) {
+            return true;
+        }
+        return e instanceof LlmProviderException providerException && providerException.isTransientFailure();
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new LlmProviderException("Hedged provider call failed", true, e.getCause());
+    }
+
+    private void recordRoute(int index, String role, String outcome) {
+        if (meterRegistry == null) {
+            return;
+        }
+        AdmissionWorkloadKey key = members.get(index).admissionWorkloadKey();
+        Counter.builder(METRIC_ROUTE_TOTAL)
+                .tags("provider", key.provider(), "model", key.model(), "role", role, "outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void recordHedge(String outcome) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_HEDGES_TOTAL).tag("outcome", outcome).register(meterRegistry).increment();
+    }
+
+    /**
+     * Caller state a hedge worker thread needs: request attributes, the request deadline and its cancellation.
+     */
+    private record CallerScope(RequestAttributes requestAttributes,
+                               RequestDeadline deadline,
+                               FeedbackCancellation cancellation) {
+
+        <T> T call(Supplier<T> body) {
+            return cancellation == null ? deadline.call(body) : deadline.call(() -> cancellation.call(body));
+        }
+    }
+
+    /**
+     * Forwards tokens and remembers whether anything reached the client, so failover can send a reset first.
+     */
+    private static final class ResettingSink implements LlmTokenSink {
+        private final LlmTokenSink delegate;
+        private volatile boolean emitted;
+
+        private ResettingSink(LlmTokenSink delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onToken(String text) {
+            emitted = true;
+            delegate.onToken(text);
+        }
+
+        @Override
+        public void onReset() {
+            delegate.onReset();
+        }
+    }
+
+    /**
+     * Ring buffer of recent successful call latencies for one provider.
+     */
+    private static final class LatencyWindow {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] samples;
+        private int count;
+        private int index;
+
+        private LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        void record(long nanos) {
+            lock.lock();
+            try {
+                samples[index] = nanos;
+                index = (index + 1) % samples.length;
+                count = Math.min(count + 1, samples.length);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Returns -1 until {@code minSamples} latencies were recorded.
+         */
+        long percentileNanos(double percentile, int minSamples) {
+            long[] snapshot;
+            lock.lock();
+            try {
+                if (count < minSamples) {
+                    return -1L;
+                }
+                snapshot = Arrays.copyOf(samples, count);
+            } finally {
+                lock.unlock();
+            }
+            Arrays.sort(snapshot);
+            int rank = (int) Math.ceil(percentile * snapshot.length) - 1;
+            return snapshot[Math.max(0, Math.min(rank, snapshot.length - 1))];
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.hellointerview.backend.exception.LlmTimeoutException;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
@@ -21,20 +22,31 @@ public class StubLlmFeedbackClient extends AbstractLlmFeedbackClient {
 
     private static final Logger logger = LoggerFactory.getLogger(StubLlmFeedbackClient.class);
 
+    static final String PROVIDER_NAME = "Stub";
+
     private final StubLlmProperties properties;
     private final LabRequestContextResolver contextResolver;
 
     public StubLlmFeedbackClient(MeterRegistry meterRegistry,
                                  StubLlmProperties properties,
                                  LabRequestContextResolver contextResolver) {
-        super(new FeedbackPromptTemplate(), new StrategyAwareRetryProperties(properties, contextResolver), logger, LlmProviderMetrics.fromRegistry(meterRegistry));
+        this(meterRegistry, properties, contextResolver, LlmProviderResilience.disabled());
+    }
+
+    @Autowired
+    public StubLlmFeedbackClient(MeterRegistry meterRegistry,
+                                 StubLlmProperties properties,
+                                 LabRequestContextResolver contextResolver,
+                                 LlmProviderResilience resilience) {
+        super(new FeedbackPromptTemplate(), new StrategyAwareRetryProperties(properties, contextResolver), logger,
+                LlmProviderMetrics.fromRegistry(meterRegistry), resilience.forLabStub());
         this.properties = properties;
         this.contextResolver = contextResolver;
     }
 
     @Override
     protected String providerName() {
-        return "Stub";
+        return PROVIDER_NAME;
     }
 
     @Override
@@ -43,7 +55,7 @@ public class StubLlmFeedbackClient extends AbstractLlmFeedbackClient {
     }
 
     @Override
-    protected LlmFeedbackResult invokeProvider(String prompt) throws LlmTimeoutException {
+    protected LlmFeedbackResult invokeProvider(FeedbackPrompt prompt) throws LlmTimeoutException {
         LabRequestContextResolver.LabRequestContext context = contextResolver.resolve();
         FaultMode mode = FaultMode.fromHeader(context.faultMode());
         if (isFaultWindowActive(context)) {
@@ -56,9 +68,9 @@ public class StubLlmFeedbackClient extends AbstractLlmFeedbackClient {
                 }
             }
         }
-        Long practiceId = extractPracticeId(prompt);
+        Long practiceId = extractPracticeId(prompt.text());
         String text = "Stub AI feedback for practice " + practiceId + ". "
-                + "Prompt length: " + prompt.length() + " characters.";
+                + "Prompt length: " + prompt.text().length() + " characters.";
         return new LlmFeedbackResult(text, 85.5);
     }
 
@@ -0,0 +1,127 @@
+package com.hellointerview.backend.service.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-node token buckets in a {@link ConcurrentHashMap}. Each bucket is an immutable state swapped by CAS, so taking
+ * a token never blocks. At most one caller per {@code idle-ttl / 2} sweeps out buckets that have been idle for
+ * {@code idle-ttl} and are full again, which loses no state. At {@code max-buckets}, at most one caller per second
+ * sweeps out every full bucket; while the map is still full, new clients get a throwaway full bucket that is not kept,
+ * so the map never grows past the cap.
+ */
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private static final String METRIC_BUCKETS = "api_rate_limit_buckets";
+    private static final String METRIC_OVERFLOW_TOTAL = "api_rate_limit_bucket_overflow_total";
+    private static final long FORCED_SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final long idleTtlNanos;
+    private final int maxBuckets;
+    private final LongSupplier nanoTime;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepNanos;
+    private final AtomicLong nextForcedSweepNanos;
+    private final Counter overflow;
+
+    public LocalRateLimitStore(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    LocalRateLimitStore(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.idleTtlNanos = properties.idleTtl().toNanos();
+        this.maxBuckets = properties.maxBuckets();
+        this.nanoTime = nanoTime;
+        this.nextSweepNanos = new AtomicLong(nanoTime.getAsLong() + idleTtlNanos / 2);
+        this.nextForcedSweepNanos = new AtomicLong(nanoTime.getAsLong());
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_BUCKETS, buckets, ConcurrentHashMap::size)
+                    .tag("mode", "local")
+                    .register(meterRegistry);
+            this.overflow = Counter.builder(METRIC_OVERFLOW_TOTAL).register(meterRegistry);
+        } else {
+            this.overflow = null;
+        }
+    }
+
+    @Override
+    public Optional<RateLimitDecision> tryAcquire(String bucketKey, RateLimitProperties.Limit limit) {
+        long now = nanoTime.getAsLong();
+        maybeSweep(now);
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                if (overflow != null) {
+                    overflow.increment();
+                }
+                return Optional.of(new TokenBucket(limit, now).tryConsume(now));
+            }
+            bucket = buckets.computeIfAbsent(bucketKey, key -> new TokenBucket(limit, now));
+        }
+        return Optional.of(bucket.tryConsume(now));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void maybeSweep(long now) {
+        long due = nextSweepNanos.get();
+        if (now - due >= 0 && nextSweepNanos.compareAndSet(due, now + idleTtlNanos / 2)) {
+            buckets.entrySet().removeIf(entry -> entry.getValue().idleAndFull(now, idleTtlNanos));
+        }
+        if (buckets.size() < maxBuckets) {
+            return;
+        }
+        long forcedDue = nextForcedSweepNanos.get();
+        if (now - forcedDue >= 0 && nextForcedSweepNanos.compareAndSet(forcedDue, now + FORCED_SWEEP_INTERVAL_NANOS)) {
+            buckets.entrySet().removeIf(entry -> entry.getValue().idleAndFull(now, 0L));
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private final RateLimitProperties.Limit limit;
+        private final double tokensPerNano;
+        private final AtomicReference<State> state;
+
+        private TokenBucket(RateLimitProperties.Limit limit, long nowNanos) {
+            this.limit = limit;
+            this.tokensPerNano = limit.tokensPerSecond() / 1_000_000_000.0;
+            this.state = new AtomicReference<>(new State(limit.capacity(), nowNanos));
+        }
+
+        private RateLimitDecision tryConsume(long nowNanos) {
+            while (true) {
+                State current = state.get();
+                double tokens = refilled(current, nowNanos);
+                boolean allowed = tokens >= 1.0;
+                State next = new State(allowed ? tokens - 1.0 : tokens, Math.max(nowNanos, current.updatedAtNanos()));
+                if (state.compareAndSet(current, next)) {
+                    return RateLimitDecision.of(limit, allowed, next.tokens());
+                }
+            }
+        }
+
+        private boolean idleAndFull(long nowNanos, long idleTtlNanos) {
+            State current = state.get();
+            return nowNanos - current.updatedAtNanos() >= idleTtlNanos
+                    && refilled(current, nowNanos) >= limit.capacity();
+        }
+
+        private double refilled(State current, long nowNanos) {
+            long elapsed = Math.max(0L, nowNanos - current.updatedAtNanos());
+            return Math.min(limit.capacity(), current.tokens() + elapsed * tokensPerNano);
+        }
+    }
+
+    private record State(double tokens, long updatedAtNanos) {
+    }
+}
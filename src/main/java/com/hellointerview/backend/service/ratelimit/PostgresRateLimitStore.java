@@ -0,0 +1,60 @@
+package com.hellointerview.backend.service.ratelimit;
+
+import com.hellointerview.backend.repository.RateLimitBucketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets shared across nodes in the {@code rate_limit_bucket} table, one upsert per request. A bucket row
+ * expires {@code idle-ttl} (at least one window) after its last use, when it would be full again anyway; at most one
+ * caller per {@code idle-ttl} deletes expired rows. A database error lets the request through.
+ */
+public class PostgresRateLimitStore implements RateLimitStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresRateLimitStore.class);
+
+    private final RateLimitBucketRepository repository;
+    private final long idleTtlNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicLong nextSweepNanos;
+
+    public PostgresRateLimitStore(RateLimitBucketRepository repository, RateLimitProperties properties) {
+        this(repository, properties, System::nanoTime);
+    }
+
+    PostgresRateLimitStore(RateLimitBucketRepository repository,
+                           RateLimitProperties properties,
+                           LongSupplier nanoTime) {
+        this.repository = repository;
+        this.idleTtlNanos = properties.idleTtl().toNanos();
+        this.nanoTime = nanoTime;
+        this.nextSweepNanos = new AtomicLong(nanoTime.getAsLong() + idleTtlNanos);
+    }
+
+    @Override
+    public Optional<RateLimitDecision> tryAcquire(String bucketKey, RateLimitProperties.Limit limit) {
+        try {
+            maybeSweep();
+            double ttlSeconds = Math.max(idleTtlNanos, limit.window().toNanos()) / 1_000_000_000.0;
+            RateLimitBucketRepository.ConsumedToken consumed = repository.tryConsume(
+                    bucketKey, limit.capacity(), limit.tokensPerSecond(), ttlSeconds);
+            return Optional.of(RateLimitDecision.of(limit, consumed.getGranted(), consumed.getTokens()));
+        } catch (DataAccessException e) {
+            logger.warn("Rate limit bucket update failed for {}: {}", bucketKey, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void maybeSweep() {
+        long now = nanoTime.getAsLong();
+        long due = nextSweepNanos.get();
+        if (now - due >= 0 && nextSweepNanos.compareAndSet(due, now + idleTtlNanos)) {
+            repository.deleteExpired();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.hellointerview.backend.service.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hellointerview.backend.repository.RateLimitBucketRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers {@link RateLimitFilter} when {@code api.rate-limit.enabled} is set, backed by the store named by
+ * {@code api.rate-limit.mode}.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "api.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitConfiguration {
+
+    @Bean
+    RateLimitStore rateLimitStore(RateLimitProperties properties,
+                                  RateLimitBucketRepository repository,
+                                  MeterRegistry meterRegistry) {
+        return switch (properties.mode()) {
+            case LOCAL -> new LocalRateLimitStore(properties, meterRegistry);
+            case POSTGRES -> new PostgresRateLimitStore(repository, properties);
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                            RateLimitStore store,
+                                                            ObjectMapper objectMapper,
+                                                            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(properties, store, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/v1/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
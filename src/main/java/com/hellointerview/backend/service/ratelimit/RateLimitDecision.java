@@ -0,0 +1,24 @@
+package com.hellointerview.backend.service.ratelimit;
+
+/**
+ * Outcome of taking one token, with the values for the {@code RateLimit-*} response headers. {@code resetSeconds}
+ * is the time until the bucket is full again; {@code retryAfterSeconds} the time until the next token, zero when
+ * {@code allowed}.
+ */
+public record RateLimitDecision(
+        boolean allowed,
+        int limit,
+        int remaining,
+        long resetSeconds,
+        long retryAfterSeconds,
+        String policy
+) {
+    static RateLimitDecision of(RateLimitProperties.Limit limit, boolean allowed, double tokensLeft) {
+        double tokens = Math.max(0.0, Math.min(limit.capacity(), tokensLeft));
+        double rate = limit.tokensPerSecond();
+        long reset = (long) Math.ceil((limit.capacity() - tokens) / rate);
+        long retryAfter = allowed ? 0L : Math.max(1L, (long) Math.ceil((1.0 - tokens) / rate));
+        return new RateLimitDecision(allowed, limit.capacity(), (int) Math.floor(tokens), reset, retryAfter,
+                limit.policy());
+    }
+}
@@ -0,0 +1,120 @@
+package com.hellointerview.backend.service.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hellointerview.backend.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Takes one token from the caller's bucket for the matched {@link RateLimitedEndpoint} before the request reaches the
+ * controller. Every limited response carries {@code RateLimit-Limit}, {@code RateLimit-Remaining},
+ * {@code RateLimit-Reset} and {@code RateLimit-Policy}; an empty bucket answers 429 with {@code Retry-After} and the
+ * usual {@link ErrorResponse} body.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_USER_ID = "X-User-Id";
+    static final String HEADER_LIMIT = "RateLimit-Limit";
+    static final String HEADER_REMAINING = "RateLimit-Remaining";
+    static final String HEADER_RESET = "RateLimit-Reset";
+    static final String HEADER_POLICY = "RateLimit-Policy";
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final String METRIC_DECISIONS_TOTAL = "api_rate_limit_decisions_total";
+
+    private final RateLimitProperties properties;
+    private final RateLimitStore store;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties,
+                           RateLimitStore store,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return endpointOf(request).isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimitedEndpoint endpoint = endpointOf(request).orElseThrow();
+        Optional<RateLimitDecision> decision = store.tryAcquire(
+                endpoint.tagValue() + ":" + clientKey(request), properties.limitFor(endpoint));
+        if (decision.isEmpty()) {
+            recordDecision(endpoint, "store_error");
+            filterChain.doFilter(request, response);
+            return;
+        }
+        writeHeaders(response, decision.get());
+        if (decision.get().allowed()) {
+            recordDecision(endpoint, "allowed");
+            filterChain.doFilter(request, response);
+            return;
+        }
+        recordDecision(endpoint, "limited");
+        logger.warn("Rate limited {} for {}", endpoint, clientKey(request));
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Too many requests",
+                "Rate limit exceeded. Retry after " + decision.get().retryAfterSeconds() + " seconds.",
+                "rate_limited"
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.get().retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static Optional<RateLimitedEndpoint> endpointOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return RateLimitedEndpoint.match(request.getMethod(), path);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String userId = properties.trustUserHeader() ? request.getHeader(HEADER_USER_ID) : null;
+        if (userId != null && !userId.isBlank()) {
+            return "user:" + userId.trim();
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+    private static void writeHeaders(HttpServletResponse response, RateLimitDecision decision) {
+        response.setHeader(HEADER_LIMIT, String.valueOf(decision.limit()));
+        response.setHeader(HEADER_REMAINING, String.valueOf(decision.remaining()));
+        response.setHeader(HEADER_RESET, String.valueOf(decision.resetSeconds()));
+        response.setHeader(HEADER_POLICY, decision.policy());
+    }
+
+    private void recordDecision(RateLimitedEndpoint endpoint, String outcome) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_DECISIONS_TOTAL)
+                .tags("endpoint", endpoint.tagValue(), "mode", properties.mode().name().toLowerCase(Locale.ROOT),
+                        "outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
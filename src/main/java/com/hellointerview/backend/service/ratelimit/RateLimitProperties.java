@@ -0,0 +1,69 @@
+package com.hellointerview.backend.service.ratelimit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Token-bucket rate limits for the write endpoints in {@link RateLimitedEndpoint}, one bucket per client and
+ * endpoint. {@code mode=local} keeps buckets in memory per node and drops a bucket once it has been idle for
+ * {@code idle-ttl} and has refilled; {@code mode=postgres} shares them across nodes through the
+ * {@code rate_limit_bucket} table. Callers are keyed by remote address, or by {@code X-User-Id} with
+ * {@code trust-user-header}, which is only safe behind a gateway that sets the header itself.
+ */
+@Validated
+@ConfigurationProperties(prefix = "api.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        @NotNull Mode mode,
+        @NotNull Duration idleTtl,
+        @Min(1) @Max(10_000_000) int maxBuckets,
+        boolean trustUserHeader,
+        @Valid @NotNull Limit feedback,
+        @Valid @NotNull Limit transcriptSegments,
+        @Valid @NotNull Limit practiceMainUpdate
+) {
+    public enum Mode {
+        LOCAL,
+        POSTGRES
+    }
+
+    Limit limitFor(RateLimitedEndpoint endpoint) {
+        return switch (endpoint) {
+            case FEEDBACK_SUBMIT -> feedback;
+            case TRANSCRIPT_SEGMENTS -> transcriptSegments;
+            case PRACTICE_MAIN_UPDATE -> practiceMainUpdate;
+        };
+    }
+
+    /**
+     * @param capacity burst size; the bucket refills from empty to {@code capacity} over {@code window}
+     * @param window   time to refill a full bucket
+     */
+    public record Limit(
+            @Min(1) @Max(100_000) int capacity,
+            @NotNull Duration window
+    ) {
+        public Limit {
+            if (window != null && (window.isZero() || window.isNegative())) {
+                throw new IllegalArgumentException("api.rate-limit window must be positive");
+            }
+        }
+
+        double tokensPerSecond() {
+            return capacity / (window.toNanos() / 1_000_000_000.0);
+        }
+
+        /**
+         * {@code RateLimit-Policy} value, e.g. {@code 10;w=60}.
+         */
+        String policy() {
+            return capacity + ";w=" + Math.max(1, window.toSeconds());
+        }
+    }
+}
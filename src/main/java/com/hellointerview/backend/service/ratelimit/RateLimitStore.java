@@ -0,0 +1,12 @@
+package com.hellointerview.backend.service.ratelimit;
+
+import java.util.Optional;
+
+/**
+ * Where token buckets live. Empty means the store could not decide (e.g. the database is unavailable); the filter
+ * then lets the request through rather than failing it.
+ */
+public interface RateLimitStore {
+
+    Optional<RateLimitDecision> tryAcquire(String bucketKey, RateLimitProperties.Limit limit);
+}
@@ -0,0 +1,39 @@
+package com.hellointerview.backend.service.ratelimit;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Endpoints guarded by {@link RateLimitFilter}. Each reaches Postgres on every call, and feedback also reaches the
+ * LLM.
+ */
+public enum RateLimitedEndpoint {
+    FEEDBACK_SUBMIT("POST", "/api/v1/practices/[^/]+/feedbacks", "feedback"),
+    TRANSCRIPT_SEGMENTS("POST", "/api/v1/practice/[^/]+/transcript-segments", "transcript_segments"),
+    PRACTICE_MAIN_UPDATE("PATCH", "/api/v1/practice-main/[^/]+", "practice_main_update");
+
+    private static final RateLimitedEndpoint[] ENDPOINTS = values();
+
+    private final String method;
+    private final Pattern path;
+    private final String tagValue;
+
+    RateLimitedEndpoint(String method, String path, String tagValue) {
+        this.method = method;
+        this.path = Pattern.compile(path);
+        this.tagValue = tagValue;
+    }
+
+    public static Optional<RateLimitedEndpoint> match(String method, String path) {
+        for (RateLimitedEndpoint endpoint : ENDPOINTS) {
+            if (endpoint.method.equalsIgnoreCase(method) && endpoint.path.matcher(path).matches()) {
+                return Optional.of(endpoint);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public String tagValue() {
+        return tagValue;
+    }
+}
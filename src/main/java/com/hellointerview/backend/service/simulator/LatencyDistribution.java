@@ -0,0 +1,68 @@
+package com.hellointerview.backend.service.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * Time to first token of a simulated provider call. Configured as
+ * {@code {"distribution": "fixed", "ms": 500}},
+ * {@code {"distribution": "lognormal", "median_ms": 800, "sigma": 0.6}} or
+ * {@code {"distribution": "bimodal", "fast_median_ms": 400, "slow_median_ms": 8000, "slow_fraction": 0.1,
+ * "sigma": 0.3}}; bimodal draws from one of two lognormals, which is how a partly cold model pool behaves.
+ */
+public sealed interface LatencyDistribution {
+
+    Duration sample(RandomGenerator random);
+
+    static LatencyDistribution fromJson(JsonNode node, LatencyDistribution fallback) {
+        if (node == null || node.isMissingNode() || node.isNull()) {
+            return fallback;
+        }
+        String distribution = node.path("distribution").asText("fixed").toLowerCase(Locale.ROOT);
+        return switch (distribution) {
+            case "fixed" -> new Fixed(Duration.ofMillis(node.path("ms").asLong(0)));
+            case "lognormal" -> new LogNormal(node.path("median_ms").asDouble(500), node.path("sigma").asDouble(0.5));
+            case "bimodal" -> new Bimodal(
+                    new LogNormal(node.path("fast_median_ms").asDouble(400), node.path("sigma").asDouble(0.3)),
+                    new LogNormal(node.path("slow_median_ms").asDouble(8_000), node.path("sigma").asDouble(0.3)),
+                    node.path("slow_fraction").asDouble(0.1));
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + distribution);
+        };
+    }
+
+    record Fixed(Duration latency) implements LatencyDistribution {
+        @Override
+        public Duration sample(RandomGenerator random) {
+            return latency;
+        }
+    }
+
+    record LogNormal(double medianMs, double sigma) implements LatencyDistribution {
+        public LogNormal {
+            if (medianMs < 0 || sigma < 0) {
+                throw new IllegalArgumentException("lognormal median_ms and sigma must not be negative");
+            }
+        }
+
+        @Override
+        public Duration sample(RandomGenerator random) {
+            return Duration.ofMillis(Math.round(medianMs * Math.exp(sigma * random.nextGaussian())));
+        }
+    }
+
+    record Bimodal(LogNormal fast, LogNormal slow, double slowFraction) implements LatencyDistribution {
+        public Bimodal {
+            if (slowFraction < 0.0 || slowFraction > 1.0) {
+                throw new IllegalArgumentException("bimodal slow_fraction must be between 0 and 1");
+            }
+        }
+
+        @Override
+        public Duration sample(RandomGenerator random) {
+            return random.nextDouble() < slowFraction ? slow.sample(random) : fast.sample(random);
+        }
+    }
+}
@@ -0,0 +1,621 @@
+package com.hellointerview.backend.service.simulator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embeddable HTTP/1.1 server that answers like Ollama ({@code POST /api/generate}, NDJSON when {@code stream} is true)
+ * and Gemini ({@code :generateContent}, {@code :streamGenerateContent?alt=sse}, {@code cachedContents}), so load runs
+ * go through the real provider clients, transports and retry handling. Latency, token pacing and faults come from the
+ * active {@link SimulatorScenario}; its clock starts when the scenario is started. Each connection is served on a
+ * virtual thread with keep-alive, and faults work at the socket level (slow bodies, TCP resets).
+ * <p>
+ * Control API: {@code POST /_simulator/scenarios/{id}} (optional body {@code {"test_start_epoch_sec": n}} to share
+ * k6's clock) and {@code GET /_simulator/status}.
+ */
+public class LlmProviderSimulator implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmProviderSimulator.class);
+
+    private static final String METRIC_RESPONSES_TOTAL = "llm_simulator_responses_total";
+    private static final Pattern GEMINI_GENERATE_PATH =
+            Pattern.compile("/v1beta/models/([^/:]+):(generateContent|streamGenerateContent)");
+    private static final Pattern SCENARIO_PATH = Pattern.compile("/_simulator/scenarios/([A-Za-z0-9_-]+)");
+    private static final String FILLER = "Consider how the design handles failure, growth and consistency. ";
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int MAX_LINE_BYTES = 16 * 1024;
+    private static final int MAX_BODY_BYTES = 8 * 1024 * 1024;
+
+    private final Map<String, SimulatorScenario> scenarios;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier epochMillis;
+    private final int requestedPort;
+    private final ExecutorService connections =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("llm-simulator-", 0).factory());
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private final AtomicLong cachedContentIds = new AtomicLong();
+    private volatile ActiveScenario active;
+    private volatile ServerSocket serverSocket;
+
+    public LlmProviderSimulator(Map<String, SimulatorScenario> scenarios,
+                                String initialScenario,
+                                int port,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this(scenarios, initialScenario, port, objectMapper, meterRegistry, System::currentTimeMillis);
+    }
+
+    LlmProviderSimulator(Map<String, SimulatorScenario> scenarios,
+                         String initialScenario,
+                         int port,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         LongSupplier epochMillis) {
+        this.scenarios = Map.copyOf(scenarios);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.epochMillis = epochMillis;
+        this.requestedPort = port;
+        if (!startScenario(initialScenario, null)) {
+            throw new IllegalArgumentException("Unknown simulator scenario: " + initialScenario);
+        }
+    }
+
+    public static Map<String, SimulatorScenario> loadScenarios(Path file, ObjectMapper objectMapper)
+            throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return SimulatorScenario.parseAll(objectMapper.readTree(in));
+        }
+    }
+
+    public void start() throws IOException {
+        ServerSocket socket = new ServerSocket();
+        socket.setReuseAddress(true);
+        socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort));
+        serverSocket = socket;
+        Thread.ofVirtual().name("llm-simulator-accept").start(this::acceptLoop);
+        logger.info("LLM provider simulator listening on {} with scenario {}", baseUri(), active.scenario().id());
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Client connections the simulator is still serving; drops once a client aborts mid-response.
+     */
+    public int openConnections() {
+        return openSockets.size();
+    }
+
+    public URI baseUri() {
+        return URI.create("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + port());
+    }
+
+    /**
+     * Switches to scenario {@code id} and restarts its clock, at {@code startEpochSec} when given. Returns false for
+     * an unknown id.
+     */
+    public boolean startScenario(String id, Long startEpochSec) {
+        SimulatorScenario scenario = scenarios.get(id);
+        if (scenario == null) {
+            return false;
+        }
+        active = new ActiveScenario(scenario, startEpochSec == null ? epochMillis.getAsLong() : startEpochSec * 1000);
+        return true;
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                openSockets.add(socket);
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    logger.warn("LLM simulator accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            while (true) {
+                SimulatorRequest request = readRequest(in);
+                if (request == null) {
+                    return;
+                }
+                boolean reusable = handle(request, socket, out);
+                out.flush();
+                if (!reusable || !request.keepAlive()) {
+                    return;
+                }
+            }
+        } catch (SocketException e) {
+            logger.debug("LLM simulator connection closed: {}", e.getMessage());
+        } catch (IOException e) {
+            logger.debug("LLM simulator connection failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+
+    /**
+     * Answers one request. Returns whether the connection can carry another request.
+     */
+    private boolean handle(SimulatorRequest request, Socket socket, OutputStream out)
+            throws IOException, InterruptedException {
+        String path = request.path();
+        if (path.startsWith("/_simulator/")) {
+            return handleControl(request, out);
+        }
+        if ("GET".equals(request.method()) && ("/api/tags".equals(path) || "/api/ps".equals(path))) {
+            writeJson(out, 200, Map.of("models", List.of()), Map.of());
+            return true;
+        }
+        if ("POST".equals(request.method()) && "/v1beta/cachedContents".equals(path)) {
+            JsonNode body = readJson(request);
+            Duration ttl = parseSeconds(body == null ? null : body.path("ttl").asText(null));
+            writeJson(out, 200, Map.of(
+                    "name", "cachedContents/sim-" + cachedContentIds.incrementAndGet(),
+                    "expireTime", Instant.ofEpochMilli(epochMillis.getAsLong()).plus(ttl).toString()
+            ), Map.of());
+            return true;
+        }
+        Api api;
+        String model;
+        boolean stream;
+        JsonNode body = readJson(request);
+        Matcher gemini = GEMINI_GENERATE_PATH.matcher(path);
+        if ("POST".equals(request.method()) && "/api/generate".equals(path)) {
+            api = Api.OLLAMA;
+            model = body == null ? "simulated" : body.path("model").asText("simulated");
+            stream = body == null || body.path("stream").asBoolean(true);
+        } else if ("POST".equals(request.method()) && gemini.matches()) {
+            api = Api.GEMINI;
+            model = gemini.group(1);
+            stream = gemini.group(2).startsWith("stream");
+        } else {
+            writeJson(out, 404, Map.of("error", "Not found: " + request.method() + " " + path), Map.of());
+            recordResponse("none", "not_found");
+            return true;
+        }
+        if (body == null) {
+            writeError(out, api, 400, "Request body is not valid JSON", Map.of());
+            recordResponse(api.tag, "bad_request");
+            return true;
+        }
+        return generate(api, model, stream, body, socket, out);
+    }
+
+    private boolean generate(Api api, String model, boolean stream, JsonNode body, Socket socket, OutputStream out)
+            throws IOException, InterruptedException {
+        ActiveScenario current = active;
+        SimulatorScenario scenario = current.scenario();
+        SimulatorScenario.Fault fault = scenario.fault();
+        long elapsedSeconds = (epochMillis.getAsLong() - current.startedAtMillis()) / 1000;
+        SimulatorFaultMode mode = scenario.inFaultWindow(elapsedSeconds)
+                && ThreadLocalRandom.current().nextDouble() < fault.probability()
+                ? fault.mode()
+                : SimulatorFaultMode.NONE;
+        switch (mode) {
+            case THROTTLE_429 -> {
+                writeError(out, api, 429, "Resource exhausted (simulated)",
+                        Map.of("Retry-After", String.valueOf(fault.retryAfterSeconds())));
+                recordResponse(api.tag, "throttled");
+                return true;
+            }
+            case PROVIDER_5XX -> {
+                writeError(out, api, fault.status(), "Provider unavailable (simulated)", Map.of());
+                recordResponse(api.tag, "server_error");
+                return true;
+            }
+            case RESET -> {
+                recordResponse(api.tag, "reset");
+                socket.setSoLinger(true, 0);
+                socket.close();
+                return false;
+            }
+            default -> {
+                // generated below
+            }
+        }
+        SimulatorScenario.Behavior behavior = scenario.baseline();
+        Duration timeToFirstToken = mode == SimulatorFaultMode.LATENCY
+                ? fault.latency().sample(ThreadLocalRandom.current())
+                : behavior.timeToFirstToken().sample(ThreadLocalRandom.current());
+        String prompt = body.toString();
+        List<String> tokens = tokenize(completion(model, prompt, behavior.outputTokens()));
+        int promptTokens = Math.max(1, prompt.length() / CHARS_PER_TOKEN);
+        Duration generation = behavior.tokenInterval().multipliedBy(tokens.size());
+
+        if (mode == SimulatorFaultMode.SLOWLORIS) {
+            recordResponse(api.tag, "slowloris");
+            byte[] payload = objectMapper.writeValueAsBytes(
+                    finalResponse(api, model, tokens, promptTokens, timeToFirstToken, generation));
+            writeHead(out, 200, "application/json", Map.of("Content-Length", String.valueOf(payload.length)));
+            out.flush();
+            for (byte b : payload) {
+                Thread.sleep(fault.slowlorisInterval());
+                out.write(b);
+                out.flush();
+            }
+            return false;
+        }
+
+        Thread.sleep(timeToFirstToken);
+        if (!stream) {
+            Thread.sleep(generation);
+            writeJson(out, 200, finalResponse(api, model, tokens, promptTokens, timeToFirstToken, generation),
+                    Map.of());
+            recordResponse(api.tag, "ok");
+            return true;
+        }
+        writeHead(out, 200, api == Api.OLLAMA ? "application/x-ndjson" : "text/event-stream",
+                Map.of("Transfer-Encoding", "chunked"));
+        for (String token : tokens) {
+            writeChunk(out, streamEvent(api, model, token));
+            out.flush();
+            Thread.sleep(behavior.tokenInterval());
+        }
+        Object last = api == Api.OLLAMA
+                ? ollamaResponse(model, "", tokens.size(), promptTokens, timeToFirstToken, generation)
+                : geminiResponse(model, "", tokens.size(), promptTokens);
+        writeChunk(out, frame(api, objectMapper.writeValueAsString(last)));
+        out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        recordResponse(api.tag, "ok");
+        return true;
+    }
+
+    private boolean handleControl(SimulatorRequest request, OutputStream out) throws IOException {
+        Matcher scenarioPath = SCENARIO_PATH.matcher(request.path());
+        if ("POST".equals(request.method()) && scenarioPath.matches()) {
+            JsonNode body = readJson(request);
+            JsonNode start = body == null ? null : body.get("test_start_epoch_sec");
+            String id = scenarioPath.group(1);
+            if (!startScenario(id, start != null && start.canConvertToLong() ? start.asLong() : null)) {
+                writeJson(out, 404, Map.of("error", "Unknown scenario: " + id), Map.of());
+                return true;
+            }
+        } else if (!"GET".equals(request.method()) || !"/_simulator/status".equals(request.path())) {
+            writeJson(out, 404, Map.of("error", "Not found: " + request.method() + " " + request.path()), Map.of());
+            return true;
+        }
+        ActiveScenario current = active;
+        long elapsedSeconds = (epochMillis.getAsLong() - current.startedAtMillis()) / 1000;
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("scenario", current.scenario().id());
+        status.put("fault_mode", current.scenario().fault().mode().name().toLowerCase(Locale.ROOT));
+        status.put("fault_start_sec", current.scenario().faultStartSec());
+        status.put("fault_end_sec", current.scenario().faultEndSec());
+        status.put("elapsed_seconds", elapsedSeconds);
+        status.put("fault_active", current.scenario().inFaultWindow(elapsedSeconds));
+        writeJson(out, 200, status, Map.of());
+        return true;
+    }
+
+    private Object finalResponse(Api api,
+                                 String model,
+                                 List<String> tokens,
+                                 int promptTokens,
+                                 Duration timeToFirstToken,
+                                 Duration generation) {
+        String text = String.join("", tokens);
+        return api == Api.OLLAMA
+                ? ollamaResponse(model, text, tokens.size(), promptTokens, timeToFirstToken, generation)
+                : geminiResponse(model, text, tokens.size(), promptTokens);
+    }
+
+    private static Map<String, Object> ollamaResponse(String model,
+                                                      String text,
+                                                      int evalCount,
+                                                      int promptTokens,
+                                                      Duration timeToFirstToken,
+                                                      Duration generation) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("model", model);
+        response.put("created_at", Instant.now().toString());
+        response.put("response", text);
+        response.put("done", true);
+        response.put("done_reason", "stop");
+        response.put("total_duration", timeToFirstToken.plus(generation).toNanos());
+        response.put("load_duration", 0L);
+        response.put("prompt_eval_count", promptTokens);
+        response.put("prompt_eval_duration", timeToFirstToken.toNanos());
+        response.put("eval_count", evalCount);
+        response.put("eval_duration", generation.toNanos());
+        return response;
+    }
+
+    private static Map<String, Object> geminiResponse(String model, String text, int candidateTokens, int promptTokens) {
+        Map<String, Object> candidate = new LinkedHashMap<>();
+        candidate.put("content", Map.of("role", "model", "parts", text.isEmpty() ? List.of() : List.of(Map.of("text", text))));
+        candidate.put("finishReason", "STOP");
+        candidate.put("index", 0);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("candidates", List.of(candidate));
+        response.put("usageMetadata", Map.of(
+                "promptTokenCount", promptTokens,
+                "candidatesTokenCount", candidateTokens,
+                "totalTokenCount", promptTokens + candidateTokens
+        ));
+        response.put("modelVersion", model);
+        return response;
+    }
+
+    private byte[] streamEvent(Api api, String model, String token) throws JsonProcessingException {
+        Object event = api == Api.OLLAMA
+                ? Map.of("model", model, "created_at", Instant.now().toString(), "response", token, "done", false)
+                : Map.of("candidates", List.of(Map.of("content",
+                        Map.of("role", "model", "parts", List.of(Map.of("text", token))), "index", 0)));
+        return frame(api, objectMapper.writeValueAsString(event));
+    }
+
+    private static byte[] frame(Api api, String json) {
+        String framed = api == Api.OLLAMA ? json + "\n" : "data: " + json + "\r\n\r\n";
+        return framed.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The model output the feedback clients expect: a JSON object with {@code feedback_text} and {@code score}. The
+     * score is derived from the prompt so repeated inputs grade the same.
+     */
+    private String completion(String model, String prompt, int outputTokens) throws JsonProcessingException {
+        StringBuilder text = new StringBuilder("Simulated feedback from ").append(model).append(". ");
+        int targetChars = Math.max(text.length(), outputTokens * CHARS_PER_TOKEN - 32);
+        while (text.length() < targetChars) {
+            text.append(FILLER);
+        }
+        text.setLength(targetChars);
+        Map<String, Object> output = new LinkedHashMap<>();
+        output.put("feedback_text", text.toString().trim());
+        output.put("score", 40 + Math.floorMod(prompt.hashCode(), 61));
+        return objectMapper.writeValueAsString(output);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < text.length(); i += CHARS_PER_TOKEN) {
+            tokens.add(text.substring(i, Math.min(text.length(), i + CHARS_PER_TOKEN)));
+        }
+        return tokens;
+    }
+
+    private void writeError(OutputStream out, Api api, int status, String message, Map<String, String> headers)
+            throws IOException {
+        Object body = api == Api.OLLAMA
+                ? Map.of("error", message)
+                : Map.of("error", Map.of("code", status, "message", message, "status", geminiStatus(status)));
+        writeJson(out, status, body, headers);
+    }
+
+    private static String geminiStatus(int status) {
+        return switch (status) {
+            case 400 -> "INVALID_ARGUMENT";
+            case 429 -> "RESOURCE_EXHAUSTED";
+            case 500 -> "INTERNAL";
+            case 503 -> "UNAVAILABLE";
+            case 504 -> "DEADLINE_EXCEEDED";
+            default -> "UNKNOWN";
+        };
+    }
+
+    private void writeJson(OutputStream out, int status, Object body, Map<String, String> headers) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(body);
+        Map<String, String> allHeaders = new LinkedHashMap<>(headers);
+        allHeaders.put("Content-Length", String.valueOf(payload.length));
+        writeHead(out, status, "application/json", allHeaders);
+        out.write(payload);
+    }
+
+    private static void writeHead(OutputStream out, int status, String contentType, Map<String, String> headers)
+            throws IOException {
+        HttpStatus resolved = HttpStatus.resolve(status);
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(status).append(' ')
+                .append(resolved == null ? "Status" : resolved.getReasonPhrase()).append("\r\n")
+                .append("Content-Type: ").append(contentType).append("\r\n");
+        headers.forEach((name, value) -> head.append(name).append(": ").append(value).append("\r\n"));
+        head.append("\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void writeChunk(OutputStream out, byte[] data) throws IOException {
+        out.write((Integer.toHexString(data.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(data);
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private JsonNode readJson(SimulatorRequest request) {
+        if (request.body().length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(request.body());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Duration parseSeconds(String value) {
+        if (value == null || !value.endsWith("s")) {
+            return Duration.ofHours(1);
+        }
+        try {
+            return Duration.ofMillis((long) (Double.parseDouble(value.substring(0, value.length() - 1)) * 1000));
+        } catch (NumberFormatException e) {
+            return Duration.ofHours(1);
+        }
+    }
+
+    private void recordResponse(String api, String outcome) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(METRIC_RESPONSES_TOTAL)
+                .tag("api", api)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Reads one request; {@code null} when the client closed the connection between requests.
+     */
+    private static SimulatorRequest readRequest(InputStream in) throws IOException {
+        String requestLine = readLine(in);
+        if (requestLine == null) {
+            return null;
+        }
+        String[] parts = requestLine.split(" ");
+        if (parts.length != 3) {
+            throw new IOException("Malformed request line: " + requestLine);
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        String line;
+        while ((line = readLine(in)) != null && !line.isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+        byte[] body;
+        if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+            body = readChunkedBody(in);
+        } else {
+            int length = Integer.parseInt(headers.getOrDefault("content-length", "0"));
+            if (length > MAX_BODY_BYTES) {
+                throw new IOException("Request body too large: " + length);
+            }
+            body = in.readNBytes(length);
+        }
+        String target = parts[1];
+        int query = target.indexOf('?');
+        String connection = headers.getOrDefault("connection", "").toLowerCase(Locale.ROOT);
+        boolean keepAlive = "HTTP/1.1".equals(parts[2]) ? !connection.contains("close") : connection.contains("keep-alive");
+        return new SimulatorRequest(parts[0], query < 0 ? target : target.substring(0, query), body, keepAlive);
+    }
+
+    private static byte[] readChunkedBody(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            String sizeLine = readLine(in);
+            if (sizeLine == null) {
+                throw new IOException("Unexpected end of chunked body");
+            }
+            int extension = sizeLine.indexOf(';');
+            int size = Integer.parseInt((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+            if (size == 0) {
+                String trailer;
+                while ((trailer = readLine(in)) != null && !trailer.isEmpty()) {
+                    // trailers are ignored
+                }
+                return body.toByteArray();
+            }
+            if (body.size() + size > MAX_BODY_BYTES) {
+                throw new IOException("Request body too large");
+            }
+            body.write(in.readNBytes(size));
+            readLine(in);
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                break;
+            }
+            if (line.size() >= MAX_LINE_BYTES) {
+                throw new IOException("Header line too long");
+            }
+            line.write(b);
+        }
+        if (b == -1 && line.size() == 0) {
+            return null;
+        }
+        String value = line.toString(StandardCharsets.ISO_8859_1);
+        return value.endsWith("\r") ? value.substring(0, value.length() - 1) : value;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to close LLM simulator socket: {}", e.getMessage());
+        }
+        for (Socket socket : openSockets) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already closing
+            }
+        }
+        connections.shutdownNow();
+    }
+
+    private enum Api {
+        OLLAMA("ollama"),
+        GEMINI("gemini");
+
+        private final String tag;
+
+        Api(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private record SimulatorRequest(String method, String path, byte[] body, boolean keepAlive) {
+    }
+
+    private record ActiveScenario(SimulatorScenario scenario, long startedAtMillis) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.hellointerview.backend.service.simulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Starts {@link LlmProviderSimulator} when {@code ai.llm.simulator.enabled} is set. Lab use only: it runs inside the
+ * backend so a single process serves the load test, while provider calls still leave the JVM over HTTP.
+ */
+@Configuration
+@EnableConfigurationProperties(LlmSimulatorProperties.class)
+@ConditionalOnProperty(prefix = "ai.llm.simulator", name = "enabled", havingValue = "true")
+public class LlmSimulatorConfiguration {
+
+    @Bean(destroyMethod = "close")
+    LlmProviderSimulator llmProviderSimulator(LlmSimulatorProperties properties,
+                                              ObjectMapper objectMapper,
+                                              MeterRegistry meterRegistry) throws IOException {
+        LlmProviderSimulator simulator = new LlmProviderSimulator(
+                LlmProviderSimulator.loadScenarios(Path.of(properties.scenariosFile()), objectMapper),
+                properties.scenario(),
+                properties.port(),
+                objectMapper,
+                meterRegistry
+        );
+        simulator.start();
+        return simulator;
+    }
+}
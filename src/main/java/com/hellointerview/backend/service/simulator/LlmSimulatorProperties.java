@@ -0,0 +1,22 @@
+package com.hellointerview.backend.service.simulator;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * In-process HTTP simulator of the Ollama and Gemini APIs for load and chaos runs. It listens on {@code port} (point
+ * {@code OLLAMA_BASE_URL} or {@code GEMINI_BASE_URL} at it) and plays {@code scenario} from {@code scenarios-file}
+ * until another one is started through {@code POST /_simulator/scenarios/{id}}.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ai.llm.simulator")
+public record LlmSimulatorProperties(
+        boolean enabled,
+        @Min(0) @Max(65_535) int port,
+        @NotBlank String scenariosFile,
+        @NotBlank String scenario
+) {
+}
@@ -0,0 +1,36 @@
+package com.hellointerview.backend.service.simulator;
+
+import java.util.Locale;
+
+/**
+ * What the simulator does to a request inside a scenario's fault window. Names match {@code fault_mode} in
+ * {@code scenarios.json}.
+ */
+public enum SimulatorFaultMode {
+    NONE,
+    /** 429 with {@code Retry-After}. */
+    THROTTLE_429,
+    /** A 5xx status (503 unless configured). */
+    PROVIDER_5XX,
+    /** The fault latency distribution instead of the baseline one. */
+    LATENCY,
+    /** Headers promptly, then the body one byte per interval, so only the client's read timeout ends the call. */
+    SLOWLORIS,
+    /** The request is read and the connection is closed with a TCP reset. */
+    RESET;
+
+    static SimulatorFaultMode fromName(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "none" -> NONE;
+            case "429" -> THROTTLE_429;
+            case "5xx" -> PROVIDER_5XX;
+            case "latency" -> LATENCY;
+            case "slowloris" -> SLOWLORIS;
+            case "reset" -> RESET;
+            default -> throw new IllegalArgumentException("Unknown simulator fault mode: " + value);
+        };
+    }
+}
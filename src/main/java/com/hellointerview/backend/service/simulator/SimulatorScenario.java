@@ -0,0 +1,102 @@
+package com.hellointerview.backend.service.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One entry of {@code scenarios.json} as the simulator sees it. The fault window is the same one k6 uses
+ * ({@code warmup_seconds + steady_seconds} for {@code fault_seconds}) and {@code fault_mode} picks the fault. The
+ * optional {@code simulator} block shapes the provider; without it the defaults below apply:
+ * <pre>
+ * "simulator": {
+ *   "latency": {"distribution": "lognormal", "median_ms": 800, "sigma": 0.4},
+ *   "tokens_per_second": 50,
+ *   "output_tokens": 120,
+ *   "fault": {"probability": 1.0, "status": 503, "retry_after_seconds": 2,
+ *             "latency": {"distribution": "fixed", "ms": 3000}, "slowloris_interval_ms": 1000}
+ * }
+ * </pre>
+ */
+public record SimulatorScenario(
+        String id,
+        long faultStartSec,
+        long faultEndSec,
+        Behavior baseline,
+        Fault fault
+) {
+    private static final LatencyDistribution DEFAULT_LATENCY = new LatencyDistribution.LogNormal(800, 0.4);
+    private static final LatencyDistribution DEFAULT_FAULT_LATENCY =
+            new LatencyDistribution.Fixed(Duration.ofSeconds(3));
+
+    /**
+     * Healthy provider: time to first token, then {@code outputTokens} generated at {@code tokensPerSecond}.
+     */
+    public record Behavior(LatencyDistribution timeToFirstToken, double tokensPerSecond, int outputTokens) {
+        public Behavior {
+            if (tokensPerSecond <= 0 || outputTokens < 1) {
+                throw new IllegalArgumentException("tokens_per_second and output_tokens must be positive");
+            }
+        }
+
+        Duration tokenInterval() {
+            return Duration.ofNanos((long) (1_000_000_000L / tokensPerSecond));
+        }
+    }
+
+    public record Fault(
+            SimulatorFaultMode mode,
+            double probability,
+            int status,
+            int retryAfterSeconds,
+            LatencyDistribution latency,
+            Duration slowlorisInterval
+    ) {
+    }
+
+    public static SimulatorScenario steady(String id, Behavior baseline) {
+        return new SimulatorScenario(id, 0, 0, baseline, new Fault(SimulatorFaultMode.NONE, 0.0, 503, 0,
+                DEFAULT_FAULT_LATENCY, Duration.ofSeconds(1)));
+    }
+
+    public boolean inFaultWindow(long elapsedSeconds) {
+        return fault.mode() != SimulatorFaultMode.NONE && elapsedSeconds >= faultStartSec
+                && elapsedSeconds < faultEndSec;
+    }
+
+    static Map<String, SimulatorScenario> parseAll(JsonNode root) {
+        Map<String, SimulatorScenario> scenarios = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = root.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            scenarios.put(entry.getKey(), parse(entry.getKey(), entry.getValue()));
+        }
+        return scenarios;
+    }
+
+    static SimulatorScenario parse(String id, JsonNode node) {
+        long faultStart = node.path("warmup_seconds").asLong(0) + node.path("steady_seconds").asLong(0);
+        long faultEnd = faultStart + node.path("fault_seconds").asLong(0);
+        JsonNode simulator = node.path("simulator");
+        JsonNode fault = simulator.path("fault");
+        return new SimulatorScenario(
+                id,
+                faultStart,
+                faultEnd,
+                new Behavior(
+                        LatencyDistribution.fromJson(simulator.get("latency"), DEFAULT_LATENCY),
+                        simulator.path("tokens_per_second").asDouble(50),
+                        simulator.path("output_tokens").asInt(120)),
+                new Fault(
+                        SimulatorFaultMode.fromName(node.path("fault_mode").asText("none")),
+                        fault.path("probability").asDouble(1.0),
+                        fault.path("status").asInt(503),
+                        fault.path("retry_after_seconds").asInt(2),
+                        LatencyDistribution.fromJson(fault.get("latency"), DEFAULT_FAULT_LATENCY),
+                        Duration.ofMillis(fault.path("slowloris_interval_ms").asLong(1_000)))
+        );
+    }
+}
@@ -0,0 +1,14 @@
+-- Content-addressed LLM feedback results shared across practices and nodes (persistent tier of the result cache)
+
+CREATE TABLE feedback_result_cache (
+    cache_key VARCHAR(64) PRIMARY KEY,
+    provider VARCHAR(64) NOT NULL,
+    model VARCHAR(128) NOT NULL,
+    prompt_version VARCHAR(32) NOT NULL,
+    feedback_text TEXT NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_feedback_result_cache_expires_at ON feedback_result_cache(expires_at);
@@ -0,0 +1,11 @@
+-- Token buckets shared across nodes when api.rate-limit.mode=postgres
+
+CREATE TABLE rate_limit_bucket (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    granted BOOLEAN NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_rate_limit_bucket_expires_at ON rate_limit_bucket(expires_at);
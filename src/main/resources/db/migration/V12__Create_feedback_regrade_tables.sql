@@ -0,0 +1,67 @@
+-- Bulk re-grade of archived feedback: job, per-partition checkpoint and versioned results
+
+CREATE TABLE feedback_regrade_job (
+    regrade_job_id BIGSERIAL PRIMARY KEY,
+    label VARCHAR(128),
+    provider VARCHAR(64) NOT NULL,
+    model VARCHAR(128) NOT NULL,
+    prompt_version VARCHAR(32) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    partitions INTEGER NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    max_qps DOUBLE PRECISION NOT NULL,
+    total_items BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+    CONSTRAINT chk_feedback_regrade_job_partitions_positive
+        CHECK (partitions > 0)
+);
+
+CREATE TABLE feedback_regrade_checkpoint (
+    regrade_checkpoint_id BIGSERIAL PRIMARY KEY,
+    regrade_job_id BIGINT NOT NULL,
+    partition_no INTEGER NOT NULL,
+    last_feedback_id BIGINT NOT NULL DEFAULT 0,
+    processed BIGINT NOT NULL DEFAULT 0,
+    succeeded BIGINT NOT NULL DEFAULT 0,
+    failed BIGINT NOT NULL DEFAULT 0,
+    skipped BIGINT NOT NULL DEFAULT 0,
+    done BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_feedback_regrade_checkpoint_job
+        FOREIGN KEY (regrade_job_id)
+        REFERENCES feedback_regrade_job(regrade_job_id)
+        ON DELETE CASCADE,
+    CONSTRAINT uq_feedback_regrade_checkpoint_job_partition
+        UNIQUE (regrade_job_id, partition_no)
+);
+
+CREATE TABLE practice_feedback_regrade (
+    practice_feedback_regrade_id BIGSERIAL PRIMARY KEY,
+    regrade_job_id BIGINT NOT NULL,
+    source_feedback_id BIGINT NOT NULL,
+    practice_id BIGINT NOT NULL,
+    provider VARCHAR(64) NOT NULL,
+    model VARCHAR(128) NOT NULL,
+    prompt_version VARCHAR(32) NOT NULL,
+    feedback_text TEXT NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    previous_score DOUBLE PRECISION,
+    generated_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_practice_feedback_regrade_job
+        FOREIGN KEY (regrade_job_id)
+        REFERENCES feedback_regrade_job(regrade_job_id)
+        ON DELETE CASCADE,
+    CONSTRAINT fk_practice_feedback_regrade_source
+        FOREIGN KEY (source_feedback_id)
+        REFERENCES practice_feedback_history(practice_feedback_id),
+    CONSTRAINT fk_practice_feedback_regrade_practice
+        FOREIGN KEY (practice_id)
+        REFERENCES practice_history(practice_id),
+    CONSTRAINT uq_practice_feedback_regrade_job_source
+        UNIQUE (regrade_job_id, source_feedback_id)
+);
+
+CREATE INDEX idx_practice_feedback_regrade_practice_version
+    ON practice_feedback_regrade(practice_id, prompt_version);
@@ -0,0 +1,23 @@
+-- Paired primary/shadow results for evaluating a candidate provider or model on sampled live traffic
+
+CREATE TABLE feedback_shadow_comparison (
+    feedback_shadow_comparison_id BIGSERIAL PRIMARY KEY,
+    practice_id BIGINT NOT NULL,
+    practice_feedback_id BIGINT,
+    prompt_version VARCHAR(32) NOT NULL,
+    primary_provider VARCHAR(64) NOT NULL,
+    primary_model VARCHAR(255) NOT NULL,
+    primary_score DOUBLE PRECISION NOT NULL,
+    primary_latency_ms BIGINT NOT NULL,
+    shadow_provider VARCHAR(64) NOT NULL,
+    shadow_model VARCHAR(255) NOT NULL,
+    shadow_outcome VARCHAR(20) NOT NULL,
+    shadow_score DOUBLE PRECISION,
+    shadow_latency_ms BIGINT NOT NULL,
+    score_delta DOUBLE PRECISION,
+    shadow_feedback_text TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_feedback_shadow_comparison_models_created
+    ON feedback_shadow_comparison(shadow_provider, shadow_model, created_at);
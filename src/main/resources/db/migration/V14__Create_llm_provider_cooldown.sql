@@ -0,0 +1,7 @@
+-- Provider-wide cooldowns after a 429 with Retry-After, shared across nodes when ai.llm.cooldown.mode=postgres
+
+CREATE TABLE llm_provider_cooldown (
+    provider VARCHAR(64) PRIMARY KEY,
+    cooldown_until TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
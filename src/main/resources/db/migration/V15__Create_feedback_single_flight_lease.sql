@@ -0,0 +1,8 @@
+-- Cross-node single-flight leases for identical feedback content, used when
+-- ai.llm.feedback.single-flight.cross-node-enabled=true. A lease is taken over once it expires.
+
+CREATE TABLE feedback_single_flight_lease (
+    digest VARCHAR(64) PRIMARY KEY,
+    holder VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,58 @@
+package com.hellointerview.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void onPinned_WhenVirtualThreadSleepsInsideSynchronized_CountsPinningAtApplicationFrame() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, Duration.ofMillis(5));
+        monitor.start();
+        try {
+            Thread.ofVirtual().start(this::sleepWhileHoldingLock).join();
+
+            DistributionSummary pinnedMs = awaitPinnedSummary(registry, Duration.ofSeconds(10));
+
+            assertNotNull(pinnedMs, "no jdk.VirtualThreadPinned event was recorded");
+            assertTrue(pinnedMs.totalAmount() >= 5.0);
+            assertEquals("VirtualThreadPinningMonitorTest.sleepWhileHoldingLock", pinnedMs.getId().getTag("frame"));
+            assertTrue(registry.get("jvm_virtual_thread_pinned_total").counter().count() >= 1.0);
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    private void sleepWhileHoldingLock() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static DistributionSummary awaitPinnedSummary(SimpleMeterRegistry registry, Duration timeout)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            DistributionSummary summary = registry.find("jvm_virtual_thread_pinned_ms").summary();
+            if (summary != null && summary.count() > 0) {
+                return summary;
+            }
+            Thread.sleep(50);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+package com.hellointerview.backend.controller;
+
+import com.hellointerview.backend.dto.FeedbackRegradeProgressDto;
+import com.hellointerview.backend.dto.FeedbackRegradeStartRequest;
+import com.hellointerview.backend.exception.ConflictException;
+import com.hellointerview.backend.exception.GlobalExceptionHandler;
+import com.hellointerview.backend.exception.ResourceNotFoundException;
+import com.hellointerview.backend.service.FeedbackRegradeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class FeedbackRegradeControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private FeedbackRegradeService feedbackRegradeService;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new FeedbackRegradeController(feedbackRegradeService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void start_WhenAccepted_Returns202WithLocation() throws Exception {
+        when(feedbackRegradeService.start(any(FeedbackRegradeStartRequest.class))).thenReturn(progress("RUNNING"));
+
+        mockMvc.perform(post("/api/v1/feedback-regrade-jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"label\":\"rerun\",\"partitions\":2,\"max_qps\":0.5}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/feedback-regrade-jobs/7"))
+                .andExpect(jsonPath("$.regrade_job_id").value(7))
+                .andExpect(jsonPath("$.items_per_second").value(2.5))
+                .andExpect(jsonPath("$.partitions[0].last_feedback_id").value(40));
+        verify(feedbackRegradeService).start(new FeedbackRegradeStartRequest("rerun", 2, null, 0.5));
+    }
+
+    @Test
+    void start_WhenJobAlreadyRunning_Returns409() throws Exception {
+        when(feedbackRegradeService.start(any())).thenThrow(new ConflictException("Regrade job 7 is already running"));
+
+        mockMvc.perform(post("/api/v1/feedback-regrade-jobs"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void getProgress_WhenUnknownJob_Returns404() throws Exception {
+        when(feedbackRegradeService.progress(9L)).thenThrow(new ResourceNotFoundException("Regrade job with id 9"));
+
+        mockMvc.perform(get("/api/v1/feedback-regrade-jobs/9"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void pause_Returns202WithProgress() throws Exception {
+        when(feedbackRegradeService.pause(7L)).thenReturn(progress("RUNNING"));
+
+        mockMvc.perform(post("/api/v1/feedback-regrade-jobs/7/pause"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    private static FeedbackRegradeProgressDto progress(String status) {
+        return new FeedbackRegradeProgressDto(7L, "rerun", status, "ollama", "llama3", "v1", 0.5, 100L, 40L, 38L,
+                1L, 1L, 2, 2.5, 24L, Instant.parse("2026-02-13T10:00:00Z"), Instant.parse("2026-02-13T10:00:16Z"),
+                null, List.of(new FeedbackRegradeProgressDto.Partition(0, 40L, 40L, false)));
+    }
+}
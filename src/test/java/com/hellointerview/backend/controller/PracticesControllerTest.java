@@ -1,10 +1,13 @@
 package com.hellointerview.backend.controller;
 
 import com.hellointerview.backend.dto.FeedbackPayloadDto;
+import com.hellointerview.backend.dto.FeedbackRequestStatusDto;
 import com.hellointerview.backend.dto.FeedbackSubmitResponseDto;
+import com.hellointerview.backend.exception.ConflictException;
 import com.hellointerview.backend.exception.GlobalExceptionHandler;
 import com.hellointerview.backend.exception.GradeMappingException;
 import com.hellointerview.backend.service.PracticeFeedbackService;
+import com.hellointerview.backend.service.feedback.FeedbackTokenStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,16 +15,27 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,7 +48,8 @@ class PracticesControllerTest {
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(new PracticesController(practiceFeedbackService))
+        mockMvc = MockMvcBuilders.standaloneSetup(new PracticesController(practiceFeedbackService),
+                        new PracticeFeedbackSubmitController(practiceFeedbackService))
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
     }
@@ -67,6 +82,33 @@ class PracticesControllerTest {
                 .andExpect(jsonPath("$.feedback.practice_feedback_id", is(10)));
     }
 
+    @Test
+    void submitFeedback_WhenCancelOnDisconnectEnabled_AnswersThroughAsyncDispatch() throws Exception {
+        FeedbackSubmitResponseDto dto = new FeedbackSubmitResponseDto(
+                6L,
+                new FeedbackPayloadDto(16L, "deferred", 70.0, "Strong", "score_strong_green",
+                        Instant.parse("2026-02-13T10:00:00Z")),
+                Instant.parse("2026-02-13T10:00:00Z")
+        );
+        DeferredResult<FeedbackSubmitResponseDto> deferred = new DeferredResult<>();
+        when(practiceFeedbackService.submitFeedbackCancellable(eq(6L), eq("idem-6"))).thenReturn(deferred);
+        MockMvc cancellableMockMvc = MockMvcBuilders.standaloneSetup(
+                        new CancellablePracticeFeedbackSubmitController(practiceFeedbackService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        MvcResult started = cancellableMockMvc.perform(post("/api/v1/practices/6/feedbacks")
+                        .header("Idempotency-Key", "idem-6"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        deferred.setResult(dto);
+
+        cancellableMockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.feedback.feedback_text", is("deferred")));
+        verify(practiceFeedbackService, never()).submitFeedback(any(), any());
+    }
+
     @Test
     void submitFeedback_WithoutBody_Returns200() throws Exception {
         FeedbackSubmitResponseDto dto = new FeedbackSubmitResponseDto(
@@ -100,4 +142,84 @@ class PracticesControllerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.code").value("grade_mapping_failed"));
     }
+
+    @Test
+    void submitFeedback_WhenPreferRespondAsync_Returns202WithLocation() throws Exception {
+        when(practiceFeedbackService.isAsyncEnabled()).thenReturn(true);
+        when(practiceFeedbackService.submitFeedbackAsync(eq(4L), eq("idem-4"))).thenReturn(
+                new FeedbackRequestStatusDto(40L, 4L, "CLAIMED", null, null, Instant.parse("2026-02-13T10:00:00Z")));
+
+        mockMvc.perform(post("/api/v1/practices/4/feedbacks")
+                        .header("Idempotency-Key", "idem-4")
+                        .header("Prefer", "respond-async"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/practices/4/feedback-requests/40"))
+                .andExpect(jsonPath("$.practice_feedback_request_id", is(40)))
+                .andExpect(jsonPath("$.status", is("CLAIMED")));
+        verify(practiceFeedbackService, never()).submitFeedback(any(), any());
+    }
+
+    @Test
+    void submitFeedback_WhenPreferRespondAsyncButAsyncDisabled_RunsSynchronously() throws Exception {
+        FeedbackSubmitResponseDto dto = new FeedbackSubmitResponseDto(
+                5L,
+                new FeedbackPayloadDto(12L, "t", 50.0, "Developing", "score_developing_yellow",
+                        Instant.parse("2026-02-13T10:00:00Z")),
+                Instant.parse("2026-02-13T10:00:00Z")
+        );
+        when(practiceFeedbackService.isAsyncEnabled()).thenReturn(false);
+        when(practiceFeedbackService.submitFeedback(eq(5L), eq("idem-5"))).thenReturn(dto);
+
+        mockMvc.perform(post("/api/v1/practices/5/feedbacks")
+                        .header("Idempotency-Key", "idem-5")
+                        .header("Prefer", "respond-async"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.feedback.practice_feedback_id", is(12)));
+    }
+
+    @Test
+    void getFeedbackRequestStatus_WhenCompleted_ReturnsFeedback() throws Exception {
+        FeedbackPayloadDto payload = new FeedbackPayloadDto(13L, "done", 90.0, "Strong", "score_strong_green",
+                Instant.parse("2026-02-13T10:00:00Z"));
+        when(practiceFeedbackService.getFeedbackRequestStatus(6L, 60L)).thenReturn(
+                new FeedbackRequestStatusDto(60L, 6L, "COMPLETED", null, payload, Instant.parse("2026-02-13T10:00:00Z")));
+
+        mockMvc.perform(get("/api/v1/practices/6/feedback-requests/60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.feedback.practice_feedback_id", is(13)));
+    }
+
+    @Test
+    void submitFeedback_WhenAcceptEventStream_StreamsTokens() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        FeedbackTokenStream stream = new FeedbackTokenStream(emitter);
+        when(practiceFeedbackService.submitFeedbackStreaming(eq(7L), eq("idem-7"))).thenReturn(emitter);
+
+        MvcResult result = mockMvc.perform(post("/api/v1/practices/7/feedbacks")
+                        .header("Idempotency-Key", "idem-7")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        stream.onToken(" Good");
+        stream.failed("llm_timeout", "Timed out");
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("event:token")))
+                .andExpect(content().string(containsString("{\"text\":\" Good\"}")))
+                .andExpect(content().string(containsString("event:error")));
+        verify(practiceFeedbackService, never()).submitFeedback(any(), any());
+    }
+
+    @Test
+    void submitFeedback_WhenAcceptEventStreamAndConflict_Returns409() throws Exception {
+        when(practiceFeedbackService.submitFeedbackStreaming(eq(8L), eq("idem-8")))
+                .thenThrow(new ConflictException("Idempotency-Key reused with different input"));
+
+        mockMvc.perform(post("/api/v1/practices/8/feedbacks")
+                        .header("Idempotency-Key", "idem-8")
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
 }
@@ -0,0 +1,83 @@
+package com.hellointerview.backend.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the {@code tryConsume} upsert against a real Postgres, migrated by Flyway. Needs the datasource from
+ * {@code application.yml}, so it only runs when {@code DB_HOST} is set.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "DB_HOST", matches = ".+")
+class RateLimitBucketRepositoryTest {
+
+    @Autowired
+    private RateLimitBucketRepository repository;
+
+    private final String key = "test:" + UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteById(key);
+    }
+
+    @Test
+    void tryConsume_NewBucketStartsFullAndRejectsOnceEmpty() {
+        RateLimitBucketRepository.ConsumedToken first = repository.tryConsume(key, 2, 0.001, 60);
+        RateLimitBucketRepository.ConsumedToken second = repository.tryConsume(key, 2, 0.001, 60);
+        RateLimitBucketRepository.ConsumedToken third = repository.tryConsume(key, 2, 0.001, 60);
+
+        assertTrue(first.getGranted());
+        assertEquals(1.0, first.getTokens(), 0.01);
+        assertTrue(second.getGranted());
+        assertFalse(third.getGranted());
+        assertTrue(third.getTokens() < 1.0);
+    }
+
+    @Test
+    void tryConsume_RefillsByDatabaseClock() throws InterruptedException {
+        assertTrue(repository.tryConsume(key, 1, 10.0, 60).getGranted());
+        assertFalse(repository.tryConsume(key, 1, 10.0, 60).getGranted());
+
+        Thread.sleep(250);
+
+        assertTrue(repository.tryConsume(key, 1, 10.0, 60).getGranted());
+    }
+
+    @Test
+    void tryConsume_ConcurrentCallersNeverSpendMoreThanCapacity() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Boolean>> calls = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                calls.add(CompletableFuture.supplyAsync(
+                        () -> repository.tryConsume(key, 5, 0.001, 60).getGranted(), executor));
+            }
+
+            long granted = calls.stream().map(CompletableFuture::join).filter(Boolean::booleanValue).count();
+
+            assertEquals(5, granted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.hellointerview.backend.service;
+
+import com.hellointerview.backend.dto.FeedbackRegradeProgressDto;
+import com.hellointerview.backend.dto.FeedbackRegradeStartRequest;
+import com.hellointerview.backend.entity.FeedbackRegradeCheckpoint;
+import com.hellointerview.backend.entity.FeedbackRegradeJob;
+import com.hellointerview.backend.entity.FeedbackRegradeJobStatus;
+import com.hellointerview.backend.entity.PracticeFeedbackHistory;
+import com.hellointerview.backend.entity.PracticeHistory;
+import com.hellointerview.backend.entity.PracticeMainHistory;
+import com.hellointerview.backend.entity.Question;
+import com.hellointerview.backend.entity.QuestionType;
+import com.hellointerview.backend.exception.BadRequestException;
+import com.hellointerview.backend.exception.ConflictException;
+import com.hellointerview.backend.repository.PracticeTranscriptSegmentHistoryRepository;
+import com.hellointerview.backend.service.feedback.AdmissionEnterOutcome;
+import com.hellointerview.backend.service.feedback.AdmissionSignal;
+import com.hellointerview.backend.service.feedback.AdmissionWorkloadKey;
+import com.hellointerview.backend.service.feedback.FeedbackPromptBudgetProperties;
+import com.hellointerview.backend.service.feedback.FeedbackPromptBudgeter;
+import com.hellointerview.backend.service.feedback.FeedbackRegradeProperties;
+import com.hellointerview.backend.service.feedback.FeedbackRegradeStore;
+import com.hellointerview.backend.service.feedback.FeedbackRegradeStore.ItemOutcome;
+import com.hellointerview.backend.service.feedback.FeedbackStrategyBAdmissionGate;
+import com.hellointerview.backend.service.feedback.LlmFeedbackClient;
+import com.hellointerview.backend.service.feedback.LlmFeedbackInput;
+import com.hellointerview.backend.service.feedback.LlmFeedbackResult;
+import com.hellointerview.backend.service.feedback.LlmProviderException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FeedbackRegradeServiceTest {
+
+    private static final AdmissionWorkloadKey WORKLOAD_KEY = new AdmissionWorkloadKey("ollama", "llama3");
+
+    @Mock
+    private FeedbackRegradeStore store;
+    @Mock
+    private PracticeTranscriptSegmentHistoryRepository transcriptHistoryRepository;
+    @Mock
+    private LlmFeedbackClient llmFeedbackClient;
+    @Mock
+    private FeedbackStrategyBAdmissionGate admissionGate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FeedbackRegradeService service;
+    private FeedbackRegradeJob job;
+    private FeedbackRegradeCheckpoint checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        job = FeedbackRegradeJob.builder()
+                .regradeJobId(1L)
+                .provider("ollama")
+                .model("llama3")
+                .promptVersion("v1")
+                .status(FeedbackRegradeJobStatus.RUNNING)
+                .partitions(1)
+                .chunkSize(10)
+                .maxQps(100.0)
+                .totalItems(1L)
+                .createdAt(Instant.parse("2026-02-13T10:00:00Z"))
+                .build();
+        checkpoint = FeedbackRegradeCheckpoint.builder()
+                .regradeCheckpointId(5L)
+                .regradeJobId(1L)
+                .partitionNo(0)
+                .build();
+        when(llmFeedbackClient.admissionWorkloadKey()).thenReturn(WORKLOAD_KEY);
+        when(store.createJob(any(), eq(WORKLOAD_KEY), anyInt(), anyInt(), anyDouble())).thenReturn(job);
+        when(store.getJob(1L)).thenReturn(job);
+        when(store.checkpoints(1L)).thenReturn(List.of(checkpoint));
+        when(store.recordItem(eq(job), eq(5L), any(), any(), any())).thenReturn(checkpoint);
+        when(store.finishRun(1L)).thenReturn(job);
+        when(admissionGate.tryEnter(eq(llmFeedbackClient), any())).thenReturn(AdmissionEnterOutcome.bypass());
+        service = newService(new FeedbackRegradeProperties(true, 1, 4, 10, 1.0, 100.0, Duration.ofMillis(10)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void start_WhenDisabled_ThrowsConflict() {
+        FeedbackRegradeService disabled = newService(FeedbackRegradeProperties.disabled());
+        try {
+            assertThrows(ConflictException.class, () -> disabled.start(null));
+            verify(store, never()).createJob(any(), any(), anyInt(), anyInt(), anyDouble());
+        } finally {
+            disabled.shutdown();
+        }
+    }
+
+    @Test
+    void start_WhenQpsAboveCeiling_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class,
+                () -> service.start(new FeedbackRegradeStartRequest(null, null, null, 500.0)));
+        verify(store, never()).createJob(any(), any(), anyInt(), anyInt(), anyDouble());
+    }
+
+    @Test
+    void start_GradesEachItemAndCheckpointsUntilPartitionExhausted() throws Exception {
+        PracticeFeedbackHistory source = history(11L, whiteboard(List.of(Map.of("type", "rectangle", "text", "DB"))));
+        when(store.nextChunk(eq(job), any())).thenReturn(List.of(source), List.of());
+        LlmFeedbackResult result = new LlmFeedbackResult("better", 90.0);
+        when(llmFeedbackClient.generate(any(LlmFeedbackInput.class))).thenReturn(result);
+
+        FeedbackRegradeProgressDto progress = service.start(new FeedbackRegradeStartRequest("rerun", 1, 10, 50.0));
+
+        assertEquals(1L, progress.regradeJobId());
+        verify(store, timeout(2_000)).finishRun(1L);
+        verify(store).createJob("rerun", WORKLOAD_KEY, 1, 10, 50.0);
+        verify(store).recordItem(job, 5L, source, ItemOutcome.SUCCEEDED, result);
+        verify(store).markPartitionDone(5L);
+        verify(admissionGate).leave(any(AdmissionEnterOutcome.class), any(Duration.class), eq(AdmissionSignal.SUCCESS));
+        assertEquals(1.0, meterRegistry.get("feedback_regrade_items_total")
+                .tag("outcome", "succeeded").counter().count());
+    }
+
+    @Test
+    void start_WhenArchivedWhiteboardEmpty_SkipsWithoutCallingProvider() throws Exception {
+        PracticeFeedbackHistory source = history(12L, whiteboard(List.of()));
+        when(store.nextChunk(eq(job), any())).thenReturn(List.of(source), List.of());
+
+        service.start(null);
+
+        verify(store, timeout(2_000)).finishRun(1L);
+        verify(store).recordItem(eq(job), eq(5L), eq(source), eq(ItemOutcome.SKIPPED), isNull());
+        verify(llmFeedbackClient, never()).generate(any());
+        verify(admissionGate, never()).tryEnter(any(), any());
+    }
+
+    @Test
+    void start_WhenProviderFailsTransiently_StopsPartitionWithoutCheckpointing() throws Exception {
+        PracticeFeedbackHistory source = history(13L, whiteboard(List.of(Map.of("type", "rectangle", "text", "DB"))));
+        when(store.nextChunk(eq(job), any())).thenReturn(List.of(source, history(14L, whiteboard(List.of()))));
+        when(llmFeedbackClient.generate(any(LlmFeedbackInput.class)))
+                .thenThrow(new LlmProviderException("Ollama unavailable", true));
+
+        service.start(null);
+
+        verify(store, timeout(2_000)).finishRun(1L);
+        verify(store, never()).recordItem(any(), anyLong(), any(), any(), any());
+        verify(store, never()).markPartitionDone(anyLong());
+        verify(admissionGate).leave(any(AdmissionEnterOutcome.class), any(Duration.class), eq(AdmissionSignal.OVERLOAD));
+    }
+
+    @Test
+    void start_WhenCalledConcurrently_LaunchesOnlyOneRun() throws Exception {
+        CountDownLatch creating = new CountDownLatch(2);
+        CountDownLatch releaseCreate = new CountDownLatch(1);
+        CountDownLatch releaseWorker = new CountDownLatch(1);
+        when(store.createJob(any(), eq(WORKLOAD_KEY), anyInt(), anyInt(), anyDouble())).thenAnswer(invocation -> {
+            creating.countDown();
+            releaseCreate.await();
+            return job;
+        });
+        when(store.nextChunk(eq(job), any())).thenAnswer(invocation -> {
+            releaseWorker.await();
+            return List.of();
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<FeedbackRegradeProgressDto>> calls = List.of(
+                    callers.submit(() -> service.start(null)), callers.submit(() -> service.start(null)));
+            // Gives the second caller time to get past the active-run check if nothing serializes it.
+            creating.await(200, TimeUnit.MILLISECONDS);
+            releaseCreate.countDown();
+
+            int conflicts = 0;
+            for (Future<FeedbackRegradeProgressDto> call : calls) {
+                try {
+                    call.get(2, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertInstanceOf(ConflictException.class, e.getCause());
+                    conflicts++;
+                }
+            }
+            assertEquals(1, conflicts);
+            verify(store).createJob(any(), any(), anyInt(), anyInt(), anyDouble());
+        } finally {
+            releaseWorker.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void resume_WhenJobCompleted_ThrowsConflict() {
+        job.setStatus(FeedbackRegradeJobStatus.COMPLETED);
+
+        assertThrows(ConflictException.class, () -> service.resume(1L));
+        verify(store, never()).markRunning(anyLong());
+    }
+
+    private FeedbackRegradeService newService(FeedbackRegradeProperties properties) {
+        return new FeedbackRegradeService(properties, store, transcriptHistoryRepository, llmFeedbackClient,
+                admissionGate, new FeedbackPromptBudgeter(FeedbackPromptBudgetProperties.disabled(), meterRegistry),
+                meterRegistry, null);
+    }
+
+    private static PracticeFeedbackHistory history(long feedbackId, Map<String, Object> whiteboard) {
+        PracticeMainHistory main = new PracticeMainHistory();
+        main.setPracticeMainId(2L);
+        main.setUserId(456L);
+        main.setWhiteboardContent(whiteboard);
+        Question question = Question.builder()
+                .questionId(3L)
+                .whiteboardSection(1)
+                .type(QuestionType.FUNCTIONAL_REQ)
+                .description("Describe the system")
+                .name("FR")
+                .order(1)
+                .build();
+        PracticeHistory practice = new PracticeHistory();
+        practice.setPracticeId(1L);
+        practice.setPracticeMainHistory(main);
+        practice.setQuestion(question);
+        PracticeFeedbackHistory feedback = new PracticeFeedbackHistory();
+        feedback.setPracticeFeedbackId(feedbackId);
+        feedback.setPractice(practice);
+        feedback.setFeedbackText("old");
+        feedback.setScore(60.0);
+        return feedback;
+    }
+
+    private static Map<String, Object> whiteboard(List<Map<String, Object>> elements) {
+        Map<String, Object> sectionMap = new LinkedHashMap<>();
+        sectionMap.put("elements", elements);
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("section_1", sectionMap);
+        return root;
+    }
+}
@@ -15,16 +15,34 @@ import com.hellointerview.backend.exception.GradeMappingException;
 import com.hellointerview.backend.exception.LlmTimeoutException;
 import com.hellointerview.backend.exception.LocalCapacityRejectedException;
 import com.hellointerview.backend.exception.ResourceNotFoundException;
+import com.hellointerview.backend.repository.FeedbackResultCacheRepository;
 import com.hellointerview.backend.repository.PracticeRepository;
 import com.hellointerview.backend.repository.PracticeTranscriptSegmentRepository;
+import com.hellointerview.backend.dto.FeedbackRequestStatusDto;
 import com.hellointerview.backend.service.feedback.AdmissionEnterOutcome;
+import com.hellointerview.backend.service.feedback.AdmissionSignal;
+import com.hellointerview.backend.service.feedback.AdmissionWorkloadKey;
+import com.hellointerview.backend.service.feedback.FeedbackAsyncProperties;
+import com.hellointerview.backend.service.feedback.FeedbackCancellation;
+import com.hellointerview.backend.service.feedback.FeedbackDeadlineProperties;
 import com.hellointerview.backend.service.feedback.FeedbackClaimResult;
 import com.hellointerview.backend.service.feedback.FeedbackIdempotencyCoordinator;
+import com.hellointerview.backend.service.feedback.FeedbackJobEventPublisher;
+import com.hellointerview.backend.service.feedback.FeedbackJobExecutor;
+import com.hellointerview.backend.service.feedback.FeedbackPromptBudgetProperties;
+import com.hellointerview.backend.service.feedback.FeedbackPromptBudgeter;
+import com.hellointerview.backend.service.feedback.FeedbackResultCache;
+import com.hellointerview.backend.service.feedback.FeedbackResultCacheProperties;
+import com.hellointerview.backend.service.feedback.FeedbackShadowEvaluator;
+import com.hellointerview.backend.service.feedback.FeedbackSingleFlight;
+import com.hellointerview.backend.service.feedback.FeedbackSingleFlightProperties;
 import com.hellointerview.backend.service.feedback.FeedbackStrategyBAdmissionGate;
 import com.hellointerview.backend.service.feedback.LlmFeedbackClient;
 import com.hellointerview.backend.service.feedback.LlmFeedbackInput;
 import com.hellointerview.backend.service.feedback.LlmFeedbackResult;
 import com.hellointerview.backend.service.feedback.LlmProviderException;
+import com.hellointerview.backend.service.feedback.LlmTokenSink;
+import com.hellointerview.backend.service.feedback.RequestDeadlineResolver;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,21 +50,32 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -63,6 +92,14 @@ class PracticeFeedbackServiceTest {
     private LlmFeedbackClient llmFeedbackClient;
     @Mock
     private FeedbackStrategyBAdmissionGate strategyBAdmissionGate;
+    @Mock
+    private FeedbackJobExecutor jobExecutor;
+    @Mock
+    private FeedbackJobEventPublisher jobEventPublisher;
+    @Mock
+    private FeedbackResultCacheRepository resultCacheRepository;
+    @Mock
+    private FeedbackShadowEvaluator shadowEvaluator;
 
     private PracticeFeedbackService service;
     private Practice practice;
@@ -71,8 +108,15 @@ class PracticeFeedbackServiceTest {
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        lenient().when(strategyBAdmissionGate.tryEnter(any(LlmFeedbackClient.class)))
+        lenient().when(strategyBAdmissionGate.tryEnter(any(LlmFeedbackClient.class), any()))
                 .thenReturn(AdmissionEnterOutcome.bypass());
+        lenient().when(llmFeedbackClient.admissionWorkloadKey())
+                .thenReturn(new AdmissionWorkloadKey("Stub", "stub-lab-v1"));
+        FeedbackResultCache resultCache = new FeedbackResultCache(
+                new FeedbackResultCacheProperties(true, 100, Duration.ofHours(1), false, true),
+                resultCacheRepository,
+                meterRegistry
+        );
         service = new PracticeFeedbackService(
                 practiceRepository,
                 transcriptSegmentRepository,
@@ -80,7 +124,21 @@ class PracticeFeedbackServiceTest {
                 llmFeedbackClient,
                 new ObjectMapper(),
                 strategyBAdmissionGate,
-                meterRegistry
+                meterRegistry,
+                jobExecutor,
+                jobEventPublisher,
+                new FeedbackAsyncProperties(true, 2, 10, Duration.ofMinutes(1), 2, true),
+                resultCache,
+                new FeedbackSingleFlight(
+                        new FeedbackSingleFlightProperties(true, false, Duration.ofMillis(50), Duration.ofSeconds(1)),
+                        null,
+                        resultCache,
+                        meterRegistry
+                ),
+                new RequestDeadlineResolver(FeedbackDeadlineProperties.disabled()),
+                new FeedbackPromptBudgeter(new FeedbackPromptBudgetProperties(
+                        true, 100_000, 4.0, 0.6, Map.of(), Map.of()), meterRegistry),
+                shadowEvaluator
         );
         practice = buildPracticeWithWhiteboard(789L, 333L, 456L, 1, false);
     }
@@ -108,7 +166,7 @@ class PracticeFeedbackServiceTest {
                 Instant.parse("2026-02-13T09:00:00Z")
         );
         when(idempotencyCoordinator.claimOrInsert(eq(456L), eq("k1"), eq(practice), any()))
-                .thenReturn(new FeedbackClaimResult.Replay(replay));
+                .thenReturn(new FeedbackClaimResult.Replay(9L, replay));
 
         FeedbackSubmitResponseDto dto = service.submitFeedback(789L, "k1");
 
@@ -144,7 +202,41 @@ class PracticeFeedbackServiceTest {
         assertEquals(1.0, meterRegistry.find("feedback_stage_latency_ms").tag("stage", "provider").summaries().size());
         assertEquals(1.0, meterRegistry.find("feedback_stage_latency_ms").tag("stage", "finalize").summaries().size());
         assertEquals(1.0, meterRegistry.find("feedback_e2e_completion_latency_ms").tag("outcome", "success").summaries().size());
-        verify(strategyBAdmissionGate).leave(any(AdmissionEnterOutcome.class));
+        verify(strategyBAdmissionGate).leave(any(AdmissionEnterOutcome.class), any(Duration.class), any(AdmissionSignal.class));
+    }
+
+    @Test
+    void submitFeedback_WhenSameContentResubmitted_ServesCachedResultWithoutCallingLlm() {
+        Practice otherPractice = buildPracticeWithWhiteboard(790L, 334L, 456L, 1, false);
+        when(practiceRepository.findWithMainAndQuestionById(789L)).thenReturn(Optional.of(practice));
+        when(practiceRepository.findWithMainAndQuestionById(790L)).thenReturn(Optional.of(otherPractice));
+        when(transcriptSegmentRepository.findByPractice_PracticeIdOrderBySegmentOrderAsc(anyLong())).thenReturn(List.of());
+        when(idempotencyCoordinator.claimOrInsert(eq(456L), eq("k-first"), eq(practice), any()))
+                .thenReturn(new FeedbackClaimResult.Proceed(70L));
+        when(idempotencyCoordinator.claimOrInsert(eq(456L), eq("k-second"), eq(otherPractice), any()))
+                .thenReturn(new FeedbackClaimResult.Proceed(71L));
+        when(llmFeedbackClient.generate(any(LlmFeedbackInput.class))).thenReturn(new LlmFeedbackResult("cached me", 66.0));
+        when(idempotencyCoordinator.finalizeSuccessful(anyLong(), any(Practice.class), any(LlmFeedbackResult.class)))
+                .thenAnswer(invocation -> PracticeFeedback.builder()
+                        .practiceFeedbackId(invocation.getArgument(0, Long.class) + 1000)
+                        .practice(invocation.getArgument(1, Practice.class))
+                        .feedbackText(invocation.getArgument(2, LlmFeedbackResult.class).feedbackText())
+                        .score(invocation.getArgument(2, LlmFeedbackResult.class).score())
+                        .generatedAt(Instant.parse("2026-02-13T10:05:00Z"))
+                        .build());
+
+        service.submitFeedback(789L, "k-first");
+        FeedbackSubmitResponseDto second = service.submitFeedback(790L, "k-second");
+
+        assertEquals("cached me", second.feedback().feedbackText());
+        assertEquals(790L, second.practiceId());
+        verify(llmFeedbackClient, times(1)).generate(any(LlmFeedbackInput.class));
+        verify(shadowEvaluator, times(1)).offer(any(LlmFeedbackInput.class), any(AdmissionWorkloadKey.class),
+                any(LlmFeedbackResult.class), any(Duration.class), eq(1070L));
+        verify(strategyBAdmissionGate, times(1)).tryEnter(any(LlmFeedbackClient.class), any());
+        assertEquals(1.0, meterRegistry.get("feedback_result_cache_lookups_total")
+                .tag("tier", "memory").tag("outcome", "hit").counter().count());
+        assertEquals(1L, meterRegistry.get("llm_prompt_estimated_tokens").tag("stage", "raw").summary().count());
     }
 
     @Test
@@ -153,13 +245,14 @@ class PracticeFeedbackServiceTest {
         when(transcriptSegmentRepository.findByPractice_PracticeIdOrderBySegmentOrderAsc(789L)).thenReturn(List.of());
         when(idempotencyCoordinator.claimOrInsert(eq(456L), eq("k-cap"), eq(practice), any()))
                 .thenReturn(new FeedbackClaimResult.Proceed(42L));
-        when(strategyBAdmissionGate.tryEnter(llmFeedbackClient)).thenReturn(AdmissionEnterOutcome.rejected(3));
+        when(strategyBAdmissionGate.tryEnter(eq(llmFeedbackClient), any())).thenReturn(AdmissionEnterOutcome.rejected(3));
 
         assertThrows(LocalCapacityRejectedException.class, () -> service.submitFeedback(789L, "k-cap"));
 
         verify(idempotencyCoordinator).markRequestFailed(42L, "local_capacity_reject");
         verify(llmFeedbackClient, never()).generate(any());
         verify(strategyBAdmissionGate, never()).leave(any());
+        verify(strategyBAdmissionGate, never()).leave(any(), any(), any());
         assertEquals(1.0, totalCounter("feedback_requests_total", "outcome", "rejected"));
     }
 
@@ -179,7 +272,7 @@ class PracticeFeedbackServiceTest {
         when(practiceRepository.findWithMainAndQuestionById(789L)).thenReturn(Optional.of(practice));
         when(transcriptSegmentRepository.findByPractice_PracticeIdOrderBySegmentOrderAsc(789L)).thenReturn(List.of());
         when(idempotencyCoordinator.claimOrInsert(anyLong(), any(), any(), any()))
-                .thenReturn(new FeedbackClaimResult.InProgress());
+                .thenReturn(new FeedbackClaimResult.InProgress(5L));
 
         assertThrows(FeedbackInProgressException.class, () -> service.submitFeedback(789L, "k4"));
         verify(llmFeedbackClient, never()).generate(any());
@@ -246,6 +339,221 @@ class PracticeFeedbackServiceTest {
         verify(idempotencyCoordinator).markRequestFailed(66L, "llm_terminal_failure");
     }
 
+    @Test
+    void submitFeedbackAsync_WhenClaimProceed_ReturnsClaimedHandleAndFinalizesOnWorker() {
+        when(practiceRepository.findWithMainAndQuestionById(789L)).thenReturn(Optional.of(practice));
+        when(transcriptSegmentRepository.findByPractice_PracticeIdOrderBySegmentOrderAsc(789L)).thenReturn(List.of());
+        when(idempotencyCoordinator.claimOrInsert(eq(456L), eq("k-async"), eq(practice), any()))
+                .thenReturn(new FeedbackClaimResult.Proceed(55L));
+        when(llmFeedbackClient.generate(any(LlmFeedbackInput.class))).thenReturn(new LlmFeedbackResult("async", 70.0));
+        PracticeFeedback finalized = PracticeFeedback.builder()
+                .practiceFeedbackId(3003L)
+                .practice(practice)
+                .feedbackText("async")
+                .score(70.0)
+                .generatedAt(Instant.parse("2026-02-13T10:05:00Z"))
+                .build();
+        when(idempotencyCoordinator.finalizeSuccessful(eq(55L), eq(practice), any(LlmFeedbackResult.class)))
+                .thenReturn(finalized);
+        FeedbackRequestStatusDto completed = new FeedbackRequestStatusDto(
+                55L, 789L, "COMPLETED", null, null, Instant.parse("2026-02-13T10:05:00Z"));
+        when(idempotencyCoordinator.findStatus(55L)).thenReturn(Optional.of(completed));
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(jobExecutor).execute(any(Runnable.class));
+
+        FeedbackRequestStatusDto handle = service.submitFeedbackAsync(789L, "k-async");
+
+        assertEquals(55L, handle.practiceFeedbackRequestId());
+        assertEquals("CLAIMED", handle.status());
+        verify(idempotencyCoordinator).finalizeSuccessful(eq(55L), eq(practice), any(LlmFeedbackResult.class));
+        verify(jobEventPublisher).publish(completed);
+        verify(strategyBAdmissionGate).leave(any(AdmissionEnterOutcome.class), any(Duration.class), any(AdmissionSignal.class));
+    }
+
+    @Test
+    void submitFeedbackAsync_WhenClientSupportsAsync_FinalizesFromProviderFuture() {
+        when(practiceRepository.findWithMainAndQuestionById(789L)).thenReturn(Optional.of(practice));
+        when(transcriptSegmentRepository.findByPractice_PracticeIdOrderBySegmentOrderAsc(789L)).thenReturn(List.of());
+        when(idempotencyCoordinator.claimOrInsert(eq(456L), eq("k-nonblocking"), eq(practice), any()))
+                .thenReturn(new FeedbackClaimResult.Proceed(60L));
+        CompletableFuture<LlmFeedbackResult> providerCall = new CompletableFuture<>();
+        when(llmFeedbackClient.supportsAsync()).thenReturn(true);
+        when(llmFeedbackClient.generateAsync(any(LlmFeedbackInput.class))).thenReturn(providerCall);
+        PracticeFeedback finalized = PracticeFeedback.builder()
+                .practiceFeedbackId(3010L)
+                .practice(practice)
+                .feedbackText("non-blocking")
+                .score(74.0)
+                .generatedAt(Instant.parse("2026-02-13T10:05:00Z"))
+                .build();
+        when(idempotencyCoordinator.finalizeSuccessful(eq(60L), eq(practice), any(LlmFeedbackResult.class)))
+                .thenReturn(finalized);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(jobExecutor).execute(any(Runnable.class));
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(jobExecutor).executeUnbounded(any(Runnable.class));
+
+        service.submitFeedbackAsync(789L, "k-nonblocking");
+        verify(idempotencyCoordinator, never()).finalizeSuccessful(anyLong(), any(), any());
+
+        providerCall.complete(new LlmFeedbackResult("non-blocking", 74.0));
+
+        verify(llmFeedbackClient, never()).generate(any(LlmFeedbackInput.class));
+        verify(idempotencyCoordinator).finalizeSuccessful(eq(60L), eq(practice), any(LlmFeedbackResult.class));
+        verify(strategyBAdmissionGate).leave(any(AdmissionEnterOutcome.class), any(Duration.class), eq(AdmissionSignal.SUCCESS));
+    }
+
+    @Test
+    void submitFeedbackAsync_WhenInProgress_AttachesToExistingHandle() {
+        when(practiceRepository.findWithMainAndQuestionById(789L)).thenReturn(Optional.of(practice));
+        when(transcriptSegmentRepository.findByPractice_PracticeIdOrderBySegmentOrderAsc(789L)).thenReturn(List.of());
+        when(idempotencyCoordinator.claimOrInsert(anyLong(), any(), any(), any()))
+                .thenReturn(new FeedbackClaimResult.InProgress(61L));
+        FeedbackRequestStatusDto running = new FeedbackRequestStatusDto(
+                61L, 789L, "CLAIMED", null, null, Instant.parse("2026-02-13T10:05:00Z"));
+        when(idempotencyCoordinator.findStatus(61L)).thenReturn(Optional.of(running));
+
+        FeedbackRequestStatusDto handle = service.submitFeedbackAsync(789L, "k-attach");
+
+        assertEquals(61L, handle.practiceFeedbackRequestId());
+        verify(jobExecutor, never()).execute(any());
+        verify(llmFeedbackClient, never()).generate(any());
+    }
+
+    @Test
+    void submitFeedbackAsync_WhenWorkerQueueFull_ReleasesClaimAndRejects() {
+        when(practiceRepository.findWithMainAndQuestionById(789L)).thenReturn(Optional.of(practice));
+        when(transcriptSegmentRepository.findByPractice_PracticeIdOrderBySegmentOrderAsc(789L)).thenReturn(List.of());
+        when(idempotencyCoordinator.claimOrInsert(anyLong(), any(), any(), any()))
+                .thenReturn(new FeedbackClaimResult.Proceed(62L));
+        doThrow(new RejectedExecutionException("full")).when(jobExecutor).execute(any(Runnable.class));
+
+        LocalCapacityRejectedException ex = assertThrows(LocalCapacityRejectedException.class,
+                () -> service.submitFeedbackAsync(789L, "k-full"));
+
+        assertEquals(2, ex.getRetryAfterSeconds());
+        verify(idempotencyCoordinator).markRequestFailed(62L, "local_capacity_reject");
+        verify(strategyBAdmissionGate).leave(any(AdmissionEnterOutcome.class));
+        verify(llmFeedbackClient, never()).generate(any());
+    }
+
+    @Test
+    void submitFeedbackStreaming_WhenClaimProceed_StreamsOnWorkerAndFinalizes() {
+        when(practiceRepository.findWithMainAndQuestionById(789L)).thenReturn(Optional.of(practice));
+        when(transcriptSegmentRepository.findByPractice_PracticeIdOrderBySegmentOrderAsc(789L)).thenReturn(List.of());
+        when(idempotencyCoordinator.claimOrInsert(eq(456L), eq("k-stream"), eq(practice), any()))
+                .thenReturn(new FeedbackClaimResult.Proceed(56L));
+        when(llmFeedbackClient.generateStreaming(any(LlmFeedbackInput.class), any(LlmTokenSink.class)))
+                .thenReturn(new LlmFeedbackResult("streamed", 72.0));
+        PracticeFeedback finalized = PracticeFeedback.builder()
+                .practiceFeedbackId(3004L)
+                .practice(practice)
+                .feedbackText("streamed")
+                .score(72.0)
+                .generatedAt(Instant.parse("2026-02-13T10:06:00Z"))
+                .build();
+        when(idempotencyCoordinator.finalizeSuccessful(eq(56L), eq(practice), any(LlmFeedbackResult.class)))
+                .thenReturn(finalized);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(jobExecutor).execute(any(Runnable.class));
+
+        SseEmitter emitter = service.submitFeedbackStreaming(789L, "k-stream");
+
+        assertNotNull(emitter);
+        verify(llmFeedbackClient, never()).generate(any(LlmFeedbackInput.class));
+        verify(idempotencyCoordinator).finalizeSuccessful(eq(56L), eq(practice), any(LlmFeedbackResult.class));
+        verify(strategyBAdmissionGate).leave(any(AdmissionEnterOutcome.class), any(Duration.class), any(AdmissionSignal.class));
+    }
+
+    @Test
+    void submitFeedbackCancellable_WhenClaimProceed_CompletesDeferredResultFromWorker() {
+        when(practiceRepository.findWithMainAndQuestionById(789L)).thenReturn(Optional.of(practice));
+        when(transcriptSegmentRepository.findByPractice_PracticeIdOrderBySegmentOrderAsc(789L)).thenReturn(List.of());
+        when(idempotencyCoordinator.claimOrInsert(eq(456L), eq("k-deferred"), eq(practice), any()))
+                .thenReturn(new FeedbackClaimResult.Proceed(57L));
+        when(llmFeedbackClient.generate(any(LlmFeedbackInput.class))).thenReturn(new LlmFeedbackResult("deferred", 71.0));
+        PracticeFeedback finalized = PracticeFeedback.builder()
+                .practiceFeedbackId(3005L)
+                .practice(practice)
+                .feedbackText("deferred")
+                .score(71.0)
+                .generatedAt(Instant.parse("2026-02-13T10:07:00Z"))
+                .build();
+        when(idempotencyCoordinator.finalizeSuccessful(eq(57L), eq(practice), any(LlmFeedbackResult.class)))
+                .thenReturn(finalized);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(jobExecutor).executeUnbounded(any(Runnable.class));
+
+        DeferredResult<FeedbackSubmitResponseDto> response = service.submitFeedbackCancellable(789L, "k-deferred");
+
+        FeedbackSubmitResponseDto dto = (FeedbackSubmitResponseDto) response.getResult();
+        assertEquals("deferred", dto.feedback().feedbackText());
+    }
+
+    @Test
+    void submitFeedbackCancellable_WhenClientDisconnectsMidCall_MarksClaimForCheapRetry() {
+        when(practiceRepository.findWithMainAndQuestionById(789L)).thenReturn(Optional.of(practice));
+        when(transcriptSegmentRepository.findByPractice_PracticeIdOrderBySegmentOrderAsc(789L)).thenReturn(List.of());
+        when(idempotencyCoordinator.claimOrInsert(eq(456L), eq("k-gone"), eq(practice), any()))
+                .thenReturn(new FeedbackClaimResult.Proceed(58L));
+        when(llmFeedbackClient.generate(any(LlmFeedbackInput.class))).thenAnswer(invocation -> {
+            FeedbackCancellation.current().orElseThrow().cancel();
+            throw new LlmProviderException("connection aborted", true);
+        });
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(jobExecutor).executeUnbounded(any(Runnable.class));
+
+        DeferredResult<FeedbackSubmitResponseDto> response = service.submitFeedbackCancellable(789L, "k-gone");
+
+        assertFalse(response.hasResult());
+        assertFalse(Thread.currentThread().isInterrupted());
+        verify(idempotencyCoordinator).markRequestFailed(58L, "client_disconnected");
+        verify(idempotencyCoordinator, never()).finalizeSuccessful(anyLong(), any(), any());
+        verify(strategyBAdmissionGate).leave(any(AdmissionEnterOutcome.class), any(Duration.class), eq(AdmissionSignal.IGNORE));
+    }
+
+    @Test
+    void submitFeedbackCancellable_WhenDeadlineFiresMidCall_MarksClaimAsTimeout() {
+        when(practiceRepository.findWithMainAndQuestionById(789L)).thenReturn(Optional.of(practice));
+        when(transcriptSegmentRepository.findByPractice_PracticeIdOrderBySegmentOrderAsc(789L)).thenReturn(List.of());
+        when(idempotencyCoordinator.claimOrInsert(eq(456L), eq("k-late"), eq(practice), any()))
+                .thenReturn(new FeedbackClaimResult.Proceed(59L));
+        when(llmFeedbackClient.generate(any(LlmFeedbackInput.class))).thenAnswer(invocation -> {
+            FeedbackCancellation.current().orElseThrow().timeOut();
+            throw new LlmProviderException("connection aborted", true);
+        });
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(jobExecutor).executeUnbounded(any(Runnable.class));
+
+        DeferredResult<FeedbackSubmitResponseDto> response = service.submitFeedbackCancellable(789L, "k-late");
+
+        assertInstanceOf(LlmTimeoutException.class, response.getResult());
+        verify(idempotencyCoordinator).markRequestFailed(59L, "llm_timeout");
+        verify(jobExecutor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    void getFeedbackRequestStatus_WhenRequestBelongsToOtherPractice_ThrowsNotFound() {
+        when(idempotencyCoordinator.findStatus(70L)).thenReturn(Optional.of(new FeedbackRequestStatusDto(
+                70L, 1L, "CLAIMED", null, null, Instant.parse("2026-02-13T10:05:00Z"))));
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getFeedbackRequestStatus(789L, 70L));
+    }
+
     @Test
     void submitFeedback_WhenPracticeMissing_ThrowsNotFound() {
         when(practiceRepository.findWithMainAndQuestionById(1L)).thenReturn(Optional.empty());
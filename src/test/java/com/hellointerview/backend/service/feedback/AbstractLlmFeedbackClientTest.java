@@ -4,15 +4,23 @@ import com.hellointerview.backend.exception.LlmTimeoutException;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientResponseException;
 
 import java.net.SocketTimeoutException;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AbstractLlmFeedbackClientTest {
 
@@ -75,6 +83,246 @@ class AbstractLlmFeedbackClientTest {
                 .count());
     }
 
+    @Test
+    void generate_WhenCircuitOpensDuring5xxStorm_FailsFastWithoutCallingProvider() {
+        AtomicInteger calls = new AtomicInteger();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LlmProviderResilience resilience = new LlmProviderResilience(
+                new LlmCircuitBreakerProperties(true, 0.5, 4, 10, Duration.ofMinutes(1), 1),
+                LlmRetryBudgetProperties.disabled(),
+                registry);
+        TestClient client = new TestClient(() -> {
+            calls.incrementAndGet();
+            throw new RestClientResponseException("down", 503, "Service Unavailable", null, null, null);
+        }, registry, resilience);
+
+        assertThrows(LlmProviderException.class, () -> client.generate(input()));
+        assertThrows(LlmProviderException.class, () -> client.generate(input()));
+        LlmProviderException failFast = assertThrows(LlmProviderException.class, () -> client.generate(input()));
+
+        assertEquals(4, calls.get());
+        assertTrue(failFast.isTransientFailure());
+        assertEquals(2.0, registry.get("llm_provider_circuit_state").tag("provider", "TestProvider").gauge().value());
+        assertEquals(1.0, registry.get("llm_provider_circuit_transitions_total")
+                .tag("from", "closed")
+                .tag("to", "open")
+                .counter()
+                .count());
+        assertEquals(1.0, registry.get("llm_provider_failures_total")
+                .tag("failure_class", "circuit_open")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void generate_RecordsFailedAttemptWithBreakerBeforeBackoff() throws Exception {
+        LlmProviderResilience resilience = new LlmProviderResilience(
+                new LlmCircuitBreakerProperties(true, 0.5, 1, 10, Duration.ofMinutes(1), 1),
+                LlmRetryBudgetProperties.disabled(),
+                new SimpleMeterRegistry());
+        TestClient client = new TestClient(() -> {
+            throw new RestClientResponseException("down", 503, "Service Unavailable", null, null, null);
+        }, new SimpleMeterRegistry(), resilience, new TestRetryProperties(Duration.ofSeconds(2)));
+
+        CompletableFuture<Void> call = CompletableFuture.runAsync(() -> client.generate(input()));
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (resilience.state("TestProvider", "test-model") != LlmCircuitBreaker.State.OPEN
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(LlmCircuitBreaker.State.OPEN, resilience.state("TestProvider", "test-model"));
+        assertFalse(call.isDone());
+        assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void onAttemptResult_WhenFailureIsNotProviderHealth_NeitherCountsAsSuccessNorFailure() {
+        LlmProviderResilience resilience = new LlmProviderResilience(
+                new LlmCircuitBreakerProperties(true, 0.5, 4, 10, Duration.ofMinutes(1), 1),
+                LlmRetryBudgetProperties.disabled(),
+                new SimpleMeterRegistry());
+
+        for (int i = 0; i < 6; i++) {
+            LlmCircuitBreaker.Permission permission = resilience.acquire("TestProvider", "test-model");
+            resilience.onAttemptResult("TestProvider", "test-model", permission, "terminal_config_auth");
+        }
+        for (int i = 0; i < 4; i++) {
+            LlmCircuitBreaker.Permission permission = resilience.acquire("TestProvider", "test-model");
+            resilience.onAttemptResult("TestProvider", "test-model", permission, "provider_5xx");
+        }
+
+        assertEquals(LlmCircuitBreaker.State.OPEN, resilience.state("TestProvider", "test-model"));
+    }
+
+    @Test
+    void generate_WhenRetryBudgetSpent_FailsFastWithoutRetrying() {
+        AtomicInteger calls = new AtomicInteger();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LlmProviderResilience resilience = new LlmProviderResilience(
+                LlmCircuitBreakerProperties.disabled(),
+                new LlmRetryBudgetProperties(true, 0.5, 1),
+                registry);
+        TestClient client = new TestClient(() -> {
+            calls.incrementAndGet();
+            throw new RestClientResponseException("down", 503, "Service Unavailable", null, null, null);
+        }, registry, resilience);
+
+        assertThrows(LlmProviderException.class, () -> client.generate(input()));
+        LlmProviderException suppressed = assertThrows(LlmProviderException.class, () -> client.generate(input()));
+
+        assertEquals(3, calls.get());
+        assertTrue(suppressed.isTransientFailure());
+        assertEquals(0.0, registry.get("llm_provider_retry_budget_tokens").tag("provider", "TestProvider").gauge().value());
+        assertEquals(1.0, registry.get("llm_provider_retry_suppressed_total")
+                .tag("trigger", "5xx")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void forLabStub_IgnoresRetryBudget() {
+        LlmProviderResilience resilience = new LlmProviderResilience(
+                LlmCircuitBreakerProperties.disabled(),
+                new LlmRetryBudgetProperties(true, 0.5, 1),
+                new SimpleMeterRegistry()).forLabStub();
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(resilience.tryAcquireRetry("Stub", "stub-model"));
+        }
+    }
+
+    @Test
+    void tryAcquireRetry_TagsBudgetGaugeWithLabRun() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LlmProviderResilience resilience = new LlmProviderResilience(
+                LlmCircuitBreakerProperties.disabled(),
+                new LlmRetryBudgetProperties(true, 0.5, 1),
+                registry);
+
+        resilience.tryAcquireRetry("TestProvider", "test-model");
+
+        assertEquals(0.0, registry.get("llm_provider_retry_budget_tokens")
+                .tag("provider", "TestProvider")
+                .tag("strategy_id", "A")
+                .tag("run_id", "unknown")
+                .gauge()
+                .value());
+    }
+
+    @Test
+    void generate_WhenFirstAttemptsSucceed_RefillsRetryBudget() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LlmProviderResilience resilience = new LlmProviderResilience(
+                LlmCircuitBreakerProperties.disabled(),
+                new LlmRetryBudgetProperties(true, 0.5, 1),
+                registry);
+        assertTrue(resilience.tryAcquireRetry("TestProvider", "test-model"));
+        assertFalse(resilience.tryAcquireRetry("TestProvider", "test-model"));
+        TestClient client = new TestClient(() -> new LlmFeedbackResult("ok", 1.0), registry, resilience);
+
+        client.generate(input());
+        client.generate(input());
+
+        assertTrue(resilience.tryAcquireRetry("TestProvider", "test-model"));
+    }
+
+    @Test
+    void generate_WhenDeadlineCannotCoverAnotherAttempt_StopsRetrying() {
+        AtomicInteger calls = new AtomicInteger();
+        TestClient client = new TestClient(() -> {
+            calls.incrementAndGet();
+            throw new LlmTimeoutException("slow");
+        });
+        RequestDeadline deadline = RequestDeadline.at(Instant.now().plusSeconds(1), Duration.ofSeconds(5));
+
+        assertThrows(LlmTimeoutException.class, () -> deadline.call(() -> client.generate(input())));
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, client.registry.get("llm_provider_retry_outcome_total")
+                .tag("outcome", "deadline_exhausted")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void generate_WhenDeadlineAlreadyPassed_DoesNotCallProvider() {
+        AtomicInteger calls = new AtomicInteger();
+        TestClient client = new TestClient(() -> {
+            calls.incrementAndGet();
+            return new LlmFeedbackResult("late", 1.0);
+        });
+        RequestDeadline deadline = RequestDeadline.at(Instant.now().minusMillis(1), Duration.ZERO);
+
+        assertThrows(LlmTimeoutException.class, () -> deadline.call(() -> client.generate(input())));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void generate_When429WithRetryAfter_CoolsDownOtherCalls() {
+        AtomicInteger calls = new AtomicInteger();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LlmProviderResilience resilience = cooldownResilience(Duration.ZERO, registry);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "30");
+        TestClient client = new TestClient(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new RestClientResponseException("down", 500, "Internal Server Error", null, null, null);
+            }
+            throw new RestClientResponseException("slow down", 429, "Too Many Requests", headers, null, null);
+        }, registry, resilience);
+
+        assertThrows(LlmProviderException.class, () -> client.generate(input()));
+        LlmProviderException failFast = assertThrows(LlmProviderException.class, () -> client.generate(input()));
+
+        assertEquals(2, calls.get());
+        assertTrue(failFast.isTransientFailure());
+        assertTrue(resilience.cooldownRemaining("TestProvider").toSeconds() >= 29);
+        assertEquals(1.0, registry.get("llm_provider_cooldown_waits_total")
+                .tag("outcome", "rejected")
+                .counter()
+                .count());
+        assertEquals(1.0, registry.get("llm_provider_failures_total")
+                .tag("failure_class", "cooldown")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void generate_WhenCooldownEndsWithinQueueWait_WaitsThenCalls() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LlmProviderResilience resilience = cooldownResilience(Duration.ofSeconds(2), registry);
+        resilience.tripCooldown("TestProvider", Duration.ofMillis(200));
+        TestClient client = new TestClient(() -> new LlmFeedbackResult("ok", 1.0), registry, resilience);
+
+        long startNanos = System.nanoTime();
+        client.generate(input());
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - startNanos).toMillis() >= 150);
+        assertEquals(1.0, registry.get("llm_provider_cooldown_waits_total")
+                .tag("outcome", "queued")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void parseRetryAfter_AcceptsDeltaSecondsAndHttpDate() {
+        Instant now = Instant.parse("2024-05-01T12:00:00Z");
+
+        assertEquals(Duration.ofSeconds(7), AbstractLlmFeedbackClient.parseRetryAfter(" 7 ", now));
+        assertEquals(Duration.ofSeconds(90),
+                AbstractLlmFeedbackClient.parseRetryAfter("Wed, 01 May 2024 12:01:30 GMT", now));
+        assertEquals(Duration.ZERO, AbstractLlmFeedbackClient.parseRetryAfter("Wed, 01 May 2024 11:59:00 GMT", now));
+        assertNull(AbstractLlmFeedbackClient.parseRetryAfter("soon", now));
+    }
+
+    private static LlmProviderResilience cooldownResilience(Duration maxQueueWait, SimpleMeterRegistry registry) {
+        LlmCooldownProperties properties = new LlmCooldownProperties(true, LlmCooldownProperties.Mode.LOCAL,
+                Duration.ofMinutes(1), maxQueueWait, Duration.ofSeconds(1));
+        return new LlmProviderResilience(LlmCircuitBreakerProperties.disabled(), LlmRetryBudgetProperties.disabled(),
+                new LlmProviderCooldown(properties, null, registry), registry);
+    }
+
     private static LlmFeedbackInput input() {
         return new LlmFeedbackInput(1L, "type", "question", "diagram", "transcript");
     }
@@ -88,11 +336,23 @@ class AbstractLlmFeedbackClientTest {
         }
 
         private TestClient(Invocation invocation, SimpleMeterRegistry registry) {
+            this(invocation, registry, LlmProviderResilience.disabled());
+        }
+
+        private TestClient(Invocation invocation, SimpleMeterRegistry registry, LlmProviderResilience resilience) {
+            this(invocation, registry, resilience, new TestRetryProperties());
+        }
+
+        private TestClient(Invocation invocation,
+                           SimpleMeterRegistry registry,
+                           LlmProviderResilience resilience,
+                           TestRetryProperties retryProperties) {
             super(
                     new FeedbackPromptTemplate(),
-                    new TestRetryProperties(),
+                    retryProperties,
                     LoggerFactory.getLogger(TestClient.class),
-                    LlmProviderMetrics.fromRegistry(registry)
+                    LlmProviderMetrics.fromRegistry(registry),
+                    resilience
             );
             this.invocation = invocation;
             this.registry = registry;
@@ -109,20 +369,19 @@ class AbstractLlmFeedbackClientTest {
         }
 
         @Override
-        protected LlmFeedbackResult invokeProvider(String prompt) throws LlmTimeoutException {
+        protected LlmFeedbackResult invokeProvider(FeedbackPrompt prompt) throws LlmTimeoutException {
             return invocation.invoke();
         }
     }
 
-    private record TestRetryProperties() implements LlmRetryPolicyProperties {
-        @Override
-        public int maxAttempts() {
-            return 2;
+    private record TestRetryProperties(Duration initialBackoff) implements LlmRetryPolicyProperties {
+        private TestRetryProperties() {
+            this(Duration.ZERO);
         }
 
         @Override
-        public Duration initialBackoff() {
-            return Duration.ZERO;
+        public int maxAttempts() {
+            return 2;
         }
 
         @Override
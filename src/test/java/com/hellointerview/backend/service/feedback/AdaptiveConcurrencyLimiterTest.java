@@ -0,0 +1,168 @@
+package com.hellointerview.backend.service.feedback;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration FAST = Duration.ofMillis(100);
+
+    private final AdaptiveConcurrencyProperties properties =
+            new AdaptiveConcurrencyProperties(true, 4, 1, 10, 0.5, 2.0, 0.1, 3, Map.of("ollama", 2));
+
+    @Test
+    void release_WhenSaturatedAndFast_GrowsAdditively() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, 4);
+
+        for (int window = 0; window < 8; window++) {
+            runSaturatedWindow(limiter, FAST, AdmissionSignal.SUCCESS);
+        }
+
+        assertTrue(limiter.limit() > 4, "limit should grow while saturated and latency stays at baseline");
+        assertTrue(limiter.limit() <= 10);
+    }
+
+    @Test
+    void release_WhenOverloadSignalled_BacksOffMultiplicativelyToFloor() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, 8);
+
+        acquireAndRelease(limiter, FAST, AdmissionSignal.OVERLOAD);
+        assertEquals(4, limiter.limit());
+        acquireAndRelease(limiter, FAST, AdmissionSignal.OVERLOAD);
+        acquireAndRelease(limiter, FAST, AdmissionSignal.OVERLOAD);
+        acquireAndRelease(limiter, FAST, AdmissionSignal.OVERLOAD);
+
+        assertEquals(1, limiter.limit());
+    }
+
+    @Test
+    void release_WhenLatencyExceedsToleranceOverBaseline_BacksOff() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, 8);
+        acquireAndRelease(limiter, FAST, AdmissionSignal.SUCCESS);
+
+        acquireAndRelease(limiter, Duration.ofMillis(500), AdmissionSignal.SUCCESS);
+
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void release_WhenIdle_DoesNotInflateLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, 8);
+
+        for (int i = 0; i < 50; i++) {
+            acquireAndRelease(limiter, FAST, AdmissionSignal.SUCCESS);
+        }
+
+        assertEquals(8, limiter.limit());
+    }
+
+    @Test
+    void gate_WhenAdaptiveEnabled_GatesStrategyATrafficAndExportsLimit() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FeedbackStrategyBAdmissionGate gate = new FeedbackStrategyBAdmissionGate(
+                new LabRequestContextResolver(),
+                new RequestDeadlineResolver(),
+                new FeedbackStrategyBAdmissionProperties(100, 1),
+                properties,
+                FeedbackAdmissionQueueProperties.disabled(),
+                new FeedbackPriorityResolver(new LabRequestContextResolver()),
+                FeedbackPriorityProperties.disabled(),
+                FeedbackFairnessProperties.disabled(),
+                registry);
+        LlmFeedbackClient client = new StubLlmFeedbackClient(registry,
+                new StubLlmProperties("stub-lab-v1", 2, Duration.ZERO, 1.0, 0, 1),
+                new LabRequestContextResolver());
+
+        List<AdmissionEnterOutcome> admitted = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            admitted.add(gate.tryEnter(client));
+        }
+        AdmissionEnterOutcome rejected = gate.tryEnter(client);
+
+        assertTrue(admitted.stream().allMatch(AdmissionEnterOutcome::mayProceed));
+        assertFalse(rejected.mayProceed());
+        assertEquals(3, rejected.retryAfterSecondsIfRejected());
+        assertEquals(4.0, registry.get("feedback_admission_limit").tag("model", "stub-lab-v1").gauge().value());
+        assertEquals(4.0, registry.get("feedback_admission_inflight").tag("model", "stub-lab-v1").gauge().value());
+
+        gate.leave(admitted.get(0), FAST, AdmissionSignal.OVERLOAD);
+
+        assertEquals(2.0, registry.get("feedback_admission_limit").tag("model", "stub-lab-v1").gauge().value());
+        admitted.subList(1, 4).forEach(gate::leave);
+        assertEquals(0.0, registry.get("feedback_admission_inflight").tag("model", "stub-lab-v1").gauge().value());
+    }
+
+    @Test
+    void gate_WhenAdaptiveEnabledAndStrategyB_KeepsFixedSemaphore() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LabRequestContextResolver contextResolver = new LabRequestContextResolver();
+        FeedbackStrategyBAdmissionGate gate = new FeedbackStrategyBAdmissionGate(
+                contextResolver,
+                new RequestDeadlineResolver(),
+                new FeedbackStrategyBAdmissionProperties(1, 7),
+                properties,
+                FeedbackAdmissionQueueProperties.disabled(),
+                new FeedbackPriorityResolver(contextResolver),
+                FeedbackPriorityProperties.disabled(),
+                FeedbackFairnessProperties.disabled(),
+                registry);
+        LlmFeedbackClient client = new StubLlmFeedbackClient(registry,
+                new StubLlmProperties("stub-lab-v1", 2, Duration.ZERO, 1.0, 0, 1),
+                contextResolver);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Lab-Strategy-Id", "B");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            AdmissionEnterOutcome first = gate.tryEnter(client);
+            AdmissionEnterOutcome second = gate.tryEnter(client);
+
+            assertTrue(first.mayProceed());
+            assertFalse(first.adaptive());
+            assertFalse(second.mayProceed());
+            assertEquals(7, second.retryAfterSecondsIfRejected());
+            gate.leave(first);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void properties_WhenMinLimitExceedsMaxLimit_Rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyProperties(true, 4, 20, 10, 0.5, 2.0, 0.1, 3, Map.of()));
+    }
+
+    @Test
+    void initialLimitFor_UsesProviderOverrideWithinBounds() {
+        assertEquals(2, properties.initialLimitFor("Ollama"));
+        assertEquals(4, properties.initialLimitFor("Gemini"));
+    }
+
+    private static void runSaturatedWindow(AdaptiveConcurrencyLimiter limiter, Duration latency, AdmissionSignal signal) {
+        int slots = 0;
+        while (limiter.tryAcquire()) {
+            slots++;
+        }
+        for (int i = 0; i < slots; i++) {
+            limiter.release(latency, signal);
+        }
+    }
+
+    private static void acquireAndRelease(AdaptiveConcurrencyLimiter limiter, Duration latency, AdmissionSignal signal) {
+        assertTrue(limiter.tryAcquire());
+        limiter.release(latency, signal);
+    }
+}
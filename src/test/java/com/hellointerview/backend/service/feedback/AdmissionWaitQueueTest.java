@@ -0,0 +1,262 @@
+package com.hellointerview.backend.service.feedback;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionWaitQueueTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void enter_WhenSlotFreedWhileWaiting_AdmitsHeadWaiter() throws Exception {
+        Semaphore semaphore = new Semaphore(1);
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(semaphore::tryAcquire, () -> 1, 4,
+                FeedbackPriorityShares.unlimited(), FeedbackUserShares.unlimited());
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED,
+                queue.enter(FeedbackPriority.INTERACTIVE, null, SECOND, SECOND).result());
+
+        CompletableFuture<AdmissionWaitQueue.Entry> waiter = CompletableFuture.supplyAsync(
+                () -> queue.enter(FeedbackPriority.INTERACTIVE, null, 5 * SECOND, 5 * SECOND));
+        awaitDepth(queue, 1);
+        semaphore.release();
+        queue.onRelease(TimeUnit.MILLISECONDS.toNanos(10), FeedbackPriority.INTERACTIVE, null);
+
+        AdmissionWaitQueue.Entry entry = waiter.get(5, TimeUnit.SECONDS);
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED, entry.result());
+        assertTrue(entry.waitedNanos() > 0);
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    void enter_WhenNoSlotWithinMaxWait_TimesOut() {
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(() -> false, () -> 1, 4,
+                FeedbackPriorityShares.unlimited(), FeedbackUserShares.unlimited());
+
+        AdmissionWaitQueue.Entry entry = queue.enter(FeedbackPriority.INTERACTIVE, null, SECOND,
+                TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertEquals(AdmissionWaitQueue.Result.TIMEOUT, entry.result());
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    void enter_WhenQueueFull_ShedsImmediately() throws Exception {
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(() -> false, () -> 1, 1,
+                FeedbackPriorityShares.unlimited(), FeedbackUserShares.unlimited());
+        CompletableFuture<AdmissionWaitQueue.Entry> first = CompletableFuture.supplyAsync(
+                () -> queue.enter(FeedbackPriority.INTERACTIVE, null, 5 * SECOND, TimeUnit.MILLISECONDS.toNanos(500)));
+        awaitDepth(queue, 1);
+
+        assertEquals(AdmissionWaitQueue.Result.QUEUE_FULL,
+                queue.enter(FeedbackPriority.INTERACTIVE, null, 5 * SECOND, 5 * SECOND).result());
+        assertEquals(AdmissionWaitQueue.Result.TIMEOUT, first.get(5, TimeUnit.SECONDS).result());
+    }
+
+    @Test
+    void enter_WhenMeasuredServiceTimeExceedsDeadline_ShedsWithoutWaiting() {
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(() -> false, () -> 2, 10,
+                FeedbackPriorityShares.unlimited(), FeedbackUserShares.unlimited());
+        queue.onRelease(2 * SECOND, FeedbackPriority.INTERACTIVE, null);
+
+        AdmissionWaitQueue.Entry entry = queue.enter(FeedbackPriority.INTERACTIVE, null, SECOND, 5 * SECOND);
+
+        assertEquals(AdmissionWaitQueue.Result.DEADLINE, entry.result());
+        assertEquals(0L, entry.waitedNanos());
+    }
+
+    @Test
+    void enter_WhenHigherClassQueuesBehindLowerClass_AdmitsHigherClassFirst() throws Exception {
+        Semaphore semaphore = new Semaphore(1);
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(semaphore::tryAcquire, () -> 1, 4,
+                FeedbackPriorityShares.unlimited(), FeedbackUserShares.unlimited());
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED,
+                queue.enter(FeedbackPriority.LAB, null, SECOND, SECOND).result());
+        CompletableFuture<AdmissionWaitQueue.Entry> lab = CompletableFuture.supplyAsync(
+                () -> queue.enter(FeedbackPriority.LAB, null, 5 * SECOND, TimeUnit.MILLISECONDS.toNanos(500)));
+        awaitDepth(queue, 1);
+        CompletableFuture<AdmissionWaitQueue.Entry> interactive = CompletableFuture.supplyAsync(
+                () -> queue.enter(FeedbackPriority.INTERACTIVE, null, 5 * SECOND, 5 * SECOND));
+        awaitDepth(queue, 2);
+
+        semaphore.release();
+        queue.onRelease(TimeUnit.MILLISECONDS.toNanos(10), FeedbackPriority.LAB, null);
+
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED, interactive.get(5, TimeUnit.SECONDS).result());
+        assertEquals(AdmissionWaitQueue.Result.TIMEOUT, lab.get(5, TimeUnit.SECONDS).result());
+    }
+
+    @Test
+    void enter_WhenQueueFullOfLowerClass_PreemptsNewestLowerWaiter() throws Exception {
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(() -> false, () -> 1, 1,
+                FeedbackPriorityShares.unlimited(), FeedbackUserShares.unlimited());
+        CompletableFuture<AdmissionWaitQueue.Entry> background = CompletableFuture.supplyAsync(
+                () -> queue.enter(FeedbackPriority.BACKGROUND, null, 5 * SECOND, 5 * SECOND));
+        awaitDepth(queue, 1);
+
+        AdmissionWaitQueue.Entry interactive = queue.enter(FeedbackPriority.INTERACTIVE, null, 5 * SECOND,
+                TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertEquals(AdmissionWaitQueue.Result.PREEMPTED, background.get(5, TimeUnit.SECONDS).result());
+        assertEquals(AdmissionWaitQueue.Result.TIMEOUT, interactive.result());
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    void enter_WhenHigherClassArrivalIsShedForDeadline_LeavesLowerWaiterQueued() throws Exception {
+        Semaphore semaphore = new Semaphore(0);
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(semaphore::tryAcquire, () -> 1, 1,
+                FeedbackPriorityShares.unlimited(), FeedbackUserShares.unlimited());
+        queue.onRelease(2 * SECOND, FeedbackPriority.INTERACTIVE, null);
+        CompletableFuture<AdmissionWaitQueue.Entry> background = CompletableFuture.supplyAsync(
+                () -> queue.enter(FeedbackPriority.BACKGROUND, null, 30 * SECOND, 10 * SECOND));
+        awaitDepth(queue, 1);
+
+        AdmissionWaitQueue.Entry interactive = queue.enter(FeedbackPriority.INTERACTIVE, null, SECOND, SECOND);
+
+        assertEquals(AdmissionWaitQueue.Result.DEADLINE, interactive.result());
+        assertEquals(1, queue.depth());
+        assertFalse(background.isDone());
+        semaphore.release();
+        queue.onRelease(TimeUnit.MILLISECONDS.toNanos(10), FeedbackPriority.BACKGROUND, null);
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED, background.get(5, TimeUnit.SECONDS).result());
+    }
+
+    @Test
+    void enter_WhenClassAtMaxShare_LetsLowerClassUseIdleCapacity() {
+        FeedbackPriorityShares shares = new FeedbackPriorityShares(new FeedbackPriorityProperties(true,
+                new FeedbackPriorityProperties.Lane(0.5, 1.0),
+                new FeedbackPriorityProperties.Lane(0.0, 0.5),
+                new FeedbackPriorityProperties.Lane(0.0, 0.25)));
+        Semaphore semaphore = new Semaphore(4);
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(semaphore::tryAcquire, () -> 4, 4, shares,
+                FeedbackUserShares.unlimited());
+
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED,
+                queue.enter(FeedbackPriority.BACKGROUND, null, SECOND, 0L).result());
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED,
+                queue.enter(FeedbackPriority.BACKGROUND, null, SECOND, 0L).result());
+        assertEquals(AdmissionWaitQueue.Result.DEADLINE,
+                queue.enter(FeedbackPriority.BACKGROUND, null, SECOND, 0L).result());
+        // The two free slots are the interactive reservation, so lab may not borrow them.
+        assertEquals(AdmissionWaitQueue.Result.DEADLINE, queue.enter(FeedbackPriority.LAB, null, SECOND, 0L).result());
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED,
+                queue.enter(FeedbackPriority.INTERACTIVE, null, SECOND, 0L).result());
+        assertEquals(2, shares.inflight(FeedbackPriority.BACKGROUND));
+
+        semaphore.release();
+        queue.onRelease(TimeUnit.MILLISECONDS.toNanos(10), FeedbackPriority.BACKGROUND, null);
+
+        assertEquals(1, shares.inflight(FeedbackPriority.BACKGROUND));
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED, queue.enter(FeedbackPriority.LAB, null, SECOND, 0L).result());
+    }
+
+    @Test
+    void enter_WhenOneUserHasSeveralWaiters_AlternatesUsers() throws Exception {
+        Semaphore semaphore = new Semaphore(1);
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(semaphore::tryAcquire, () -> 1, 8,
+                FeedbackPriorityShares.unlimited(), new FeedbackUserShares(fairness(10, 1.0)));
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED,
+                queue.enter(FeedbackPriority.INTERACTIVE, "a", SECOND, SECOND).result());
+        CompletableFuture<AdmissionWaitQueue.Entry> firstOfA = CompletableFuture.supplyAsync(
+                () -> queue.enter(FeedbackPriority.INTERACTIVE, "a", 5 * SECOND, 5 * SECOND));
+        awaitDepth(queue, 1);
+        CompletableFuture<AdmissionWaitQueue.Entry> secondOfA = CompletableFuture.supplyAsync(
+                () -> queue.enter(FeedbackPriority.INTERACTIVE, "a", 5 * SECOND, TimeUnit.MILLISECONDS.toNanos(500)));
+        awaitDepth(queue, 2);
+        CompletableFuture<AdmissionWaitQueue.Entry> b = CompletableFuture.supplyAsync(
+                () -> queue.enter(FeedbackPriority.INTERACTIVE, "b", 5 * SECOND, 5 * SECOND));
+        awaitDepth(queue, 3);
+
+        semaphore.release();
+        queue.onRelease(TimeUnit.MILLISECONDS.toNanos(10), FeedbackPriority.INTERACTIVE, "a");
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED, firstOfA.get(5, TimeUnit.SECONDS).result());
+        semaphore.release();
+        queue.onRelease(TimeUnit.MILLISECONDS.toNanos(10), FeedbackPriority.INTERACTIVE, "a");
+
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED, b.get(5, TimeUnit.SECONDS).result());
+        assertEquals(AdmissionWaitQueue.Result.TIMEOUT, secondOfA.get(5, TimeUnit.SECONDS).result());
+    }
+
+    @Test
+    void enter_WhenUserAtInflightCap_LetsOtherUserTakeFreeSlot() throws Exception {
+        Semaphore semaphore = new Semaphore(2);
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(semaphore::tryAcquire, () -> 2, 8,
+                FeedbackPriorityShares.unlimited(), new FeedbackUserShares(fairness(1, 1.0)));
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED,
+                queue.enter(FeedbackPriority.INTERACTIVE, "a", SECOND, SECOND).result());
+        CompletableFuture<AdmissionWaitQueue.Entry> capped = CompletableFuture.supplyAsync(
+                () -> queue.enter(FeedbackPriority.INTERACTIVE, "a", 5 * SECOND, TimeUnit.MILLISECONDS.toNanos(200)));
+        awaitDepth(queue, 1);
+
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED,
+                queue.enter(FeedbackPriority.INTERACTIVE, "b", SECOND, 0L).result());
+        assertEquals(AdmissionWaitQueue.Result.TIMEOUT, capped.get(5, TimeUnit.SECONDS).result());
+    }
+
+    @Test
+    void enter_WhenUserHoldsItsQueueShare_ShedsWithUserLimit() throws Exception {
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(() -> false, () -> 1, 4,
+                FeedbackPriorityShares.unlimited(), new FeedbackUserShares(fairness(2, 0.25)));
+        CompletableFuture<AdmissionWaitQueue.Entry> first = CompletableFuture.supplyAsync(
+                () -> queue.enter(FeedbackPriority.INTERACTIVE, "a", 5 * SECOND, TimeUnit.MILLISECONDS.toNanos(500)));
+        awaitDepth(queue, 1);
+
+        assertEquals(AdmissionWaitQueue.Result.USER_LIMIT,
+                queue.enter(FeedbackPriority.INTERACTIVE, "a", 5 * SECOND, 5 * SECOND).result());
+        assertEquals(1, queue.maxUserDepth());
+        assertEquals(AdmissionWaitQueue.Result.TIMEOUT, first.get(5, TimeUnit.SECONDS).result());
+    }
+
+    @Test
+    void enter_WhenUserAtInflightCapAndQueueDisabled_ShedsWithUserLimit() {
+        AdmissionWaitQueue queue = new AdmissionWaitQueue(() -> true, () -> 4, 4,
+                FeedbackPriorityShares.unlimited(), new FeedbackUserShares(fairness(1, 0.25)));
+
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED,
+                queue.enter(FeedbackPriority.INTERACTIVE, "a", 0L, 0L).result());
+        assertEquals(AdmissionWaitQueue.Result.USER_LIMIT,
+                queue.enter(FeedbackPriority.INTERACTIVE, "a", 0L, 0L).result());
+        assertEquals(AdmissionWaitQueue.Result.ADMITTED,
+                queue.enter(FeedbackPriority.INTERACTIVE, "b", 0L, 0L).result());
+    }
+
+    @Test
+    void requestDeadlineResolver_ParsesEpochMillisAndIsoInstant() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestDeadlineResolver.HEADER_REQUEST_DEADLINE, "1767225600000");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            assertEquals(Instant.parse("2026-01-01T00:00:00Z"), new RequestDeadlineResolver().resolve().orElseThrow());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        assertEquals(Instant.parse("2026-01-01T00:00:05Z"),
+                RequestDeadlineResolver.parse("2026-01-01T00:00:05Z").orElseThrow());
+        assertTrue(RequestDeadlineResolver.parse("soon").isEmpty());
+    }
+
+    private static FeedbackFairnessProperties fairness(int maxInflightPerUser, double maxQueueShare) {
+        return new FeedbackFairnessProperties(true, maxInflightPerUser, maxQueueShare, 1.0, Map.of(), 4);
+    }
+
+    private static void awaitDepth(AdmissionWaitQueue queue, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (queue.depth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, queue.depth());
+    }
+}
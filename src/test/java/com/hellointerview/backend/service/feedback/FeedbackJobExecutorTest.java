@@ -0,0 +1,51 @@
+package com.hellointerview.backend.service.feedback;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeedbackJobExecutorTest {
+
+    private static final FeedbackAsyncProperties PROPERTIES =
+            new FeedbackAsyncProperties(true, 2, 4, Duration.ofSeconds(30), 2, false);
+
+    @Test
+    void execute_WhenVirtualThreadsEnabled_RunsJobsOnVirtualWorkers() throws Exception {
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+        FeedbackJobExecutor executor = new FeedbackJobExecutor(PROPERTIES, null, environment);
+        try {
+            Thread worker = runOn(executor);
+
+            assertTrue(worker.isVirtual());
+            assertTrue(worker.getName().startsWith("feedback-job-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void execute_WhenVirtualThreadsDisabled_RunsJobsOnPlatformDaemonWorkers() throws Exception {
+        FeedbackJobExecutor executor = new FeedbackJobExecutor(PROPERTIES, null, new MockEnvironment());
+        try {
+            Thread worker = runOn(executor);
+
+            assertFalse(worker.isVirtual());
+            assertTrue(worker.isDaemon());
+            assertTrue(worker.getName().startsWith("feedback-job-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Thread runOn(FeedbackJobExecutor executor) throws Exception {
+        CompletableFuture<Thread> worker = new CompletableFuture<>();
+        executor.execute(() -> worker.complete(Thread.currentThread()));
+        return worker.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,122 @@
+package com.hellointerview.backend.service.feedback;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeedbackPromptBudgeterTest {
+
+    private static final AdmissionWorkloadKey OLLAMA = new AdmissionWorkloadKey("Ollama", "llama3.2");
+    private static final AdmissionWorkloadKey GEMINI = new AdmissionWorkloadKey("Gemini", "gemini-2.0-flash");
+
+    private final FeedbackPromptTemplate template = new FeedbackPromptTemplate();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void fit_WhenDisabled_ReturnsInputUnchanged() {
+        FeedbackPromptBudgeter budgeter = new FeedbackPromptBudgeter(FeedbackPromptBudgetProperties.disabled(), meterRegistry);
+        LlmFeedbackInput input = input("- Component: API\n- Component: API", longTranscript(500));
+
+        assertSame(input, budgeter.fit(input, OLLAMA));
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    @Test
+    void fit_WhenUnderBudget_OnlyCollapsesRepeatedDiagramLines() {
+        FeedbackPromptBudgeter budgeter = new FeedbackPromptBudgeter(properties(6000, Map.of()), meterRegistry);
+        LlmFeedbackInput input = input(
+                "- Component: API\n- Component: Cache\n- Component: API\n- Component: API",
+                "We put a cache in front of the database."
+        );
+
+        LlmFeedbackInput fitted = budgeter.fit(input, GEMINI);
+
+        assertEquals("- Component: API (x3)\n- Component: Cache", fitted.diagramTextDescription());
+        assertEquals(input.combinedTranscript(), fitted.combinedTranscript());
+        assertEquals(1.0, meterRegistry.get("llm_prompt_compactions_total").tag("step", "diagram_dedup").counter().count());
+    }
+
+    @Test
+    void fit_WhenOverBudget_CompactsTranscriptAcrossWholeTalkToFitModelBudget() {
+        FeedbackPromptBudgeter budgeter = new FeedbackPromptBudgeter(properties(6000, Map.of("ollama", 1000)), meterRegistry);
+        LlmFeedbackInput input = input("- Component: API\n- Connection: API -> DB (reads)", longTranscript(400));
+
+        LlmFeedbackInput fitted = budgeter.fit(input, OLLAMA);
+
+        assertTrue(template.render(fitted).length() <= 1000 * 4);
+        assertTrue(fitted.combinedTranscript().startsWith("Sentence 0 talks"));
+        assertTrue(fitted.combinedTranscript().contains(FeedbackPromptBudgeter.TRANSCRIPT_GAP));
+        assertTrue(fitted.combinedTranscript().contains("Sentence 320 talks"));
+        assertEquals(input.diagramTextDescription(), fitted.diagramTextDescription());
+        assertEquals(1.0, meterRegistry.get("llm_prompt_compactions_total").tag("step", "transcript").counter().count());
+        double raw = meterRegistry.get("llm_prompt_estimated_tokens").tag("stage", "raw").summary().max();
+        double after = meterRegistry.get("llm_prompt_estimated_tokens").tag("stage", "fitted").summary().max();
+        assertTrue(raw > 1000);
+        assertTrue(after <= 1000);
+    }
+
+    @Test
+    void fit_WhenDiagramAloneExceedsBudget_KeepsTranscriptShareAndTruncatesDiagram() {
+        FeedbackPromptBudgeter budgeter = new FeedbackPromptBudgeter(properties(400, Map.of()), meterRegistry);
+        StringBuilder diagram = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            diagram.append("- Component: Service ").append(i).append('\n');
+        }
+        LlmFeedbackInput input = input(diagram.toString().strip(), longTranscript(100));
+
+        LlmFeedbackInput fitted = budgeter.fit(input, GEMINI);
+
+        assertTrue(template.render(fitted).length() <= 400 * 4);
+        assertTrue(fitted.diagramTextDescription().startsWith("- Component: Service 0\n"));
+        assertTrue(fitted.diagramTextDescription().endsWith("more diagram lines omitted)"));
+        assertFalse(fitted.combinedTranscript().isBlank());
+    }
+
+    @Test
+    void compactTranscript_DropsFillerWordsBeforeMeasuring() {
+        assertEquals("so we shard by user id.", FeedbackPromptBudgeter.compactTranscript("Um, so uh we shard by   user id.", 100));
+    }
+
+    @Test
+    void compactTranscript_WhenUnpunctuated_SplitsIntoWordWindows() {
+        String transcript = "word ".repeat(2000).strip();
+
+        String compacted = FeedbackPromptBudgeter.compactTranscript(transcript, 1300);
+
+        assertTrue(compacted.length() <= 1300);
+        assertTrue(compacted.contains(FeedbackPromptBudgeter.TRANSCRIPT_GAP));
+    }
+
+    @Test
+    void estimateTokens_UsesPerModelCharsPerToken() {
+        FeedbackPromptBudgetProperties properties = new FeedbackPromptBudgetProperties(
+                true, 6000, 4.0, 0.6, Map.of(), Map.of("ollama", 3.5, "gemini-2.0-flash", 4.5));
+
+        assertEquals(3.5, properties.charsPerTokenFor(OLLAMA));
+        assertEquals(4.5, properties.charsPerTokenFor(GEMINI));
+        assertEquals(4.0, properties.charsPerTokenFor(new AdmissionWorkloadKey("Stub", "stub-lab-v1")));
+        assertEquals(3, FeedbackPromptBudgeter.estimateTokens(10, 3.5));
+    }
+
+    private static FeedbackPromptBudgetProperties properties(int maxInputTokens, Map<String, Integer> byModel) {
+        return new FeedbackPromptBudgetProperties(true, maxInputTokens, 4.0, 0.6, byModel, Map.of());
+    }
+
+    private static LlmFeedbackInput input(String diagram, String transcript) {
+        return new LlmFeedbackInput(1L, "System Design", "Design a URL shortener", diagram, transcript);
+    }
+
+    private static String longTranscript(int sentences) {
+        StringBuilder transcript = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            transcript.append("Sentence ").append(i).append(" talks about the write path and replication. ");
+        }
+        return transcript.toString().strip();
+    }
+}
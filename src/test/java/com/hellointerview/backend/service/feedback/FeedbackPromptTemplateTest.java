@@ -2,6 +2,7 @@ package com.hellointerview.backend.service.feedback;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FeedbackPromptTemplateTest {
@@ -26,4 +27,15 @@ class FeedbackPromptTemplateTest {
         assertTrue(prompt.contains("User Diagram:\n(none)"));
         assertTrue(prompt.contains("Spoken Explanation Transcript (if provided):\n(none)"));
     }
+
+    @Test
+    void build_KeepsStaticRubricAsPrefixAndRequestTextInSuffix() {
+        FeedbackPrompt first = template.build(new LlmFeedbackInput(1L, "Scale", "Design Twitter", "- Component: API", "a"));
+        FeedbackPrompt second = template.build(new LlmFeedbackInput(2L, "Scale", "Design Uber", "- Component: DB", "b"));
+
+        assertEquals(first.prefix(), second.prefix());
+        assertTrue(first.prefix().contains("5. Improvements"));
+        assertTrue(first.suffix().startsWith("Question Type: Scale"));
+        assertEquals(first.text(), template.render(new LlmFeedbackInput(1L, "Scale", "Design Twitter", "- Component: API", "a")));
+    }
 }
@@ -0,0 +1,142 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.entity.FeedbackResultCacheEntry;
+import com.hellointerview.backend.repository.FeedbackResultCacheRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeedbackResultCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T10:00:00Z");
+
+    private final FeedbackResultCacheRepository repository = mock(FeedbackResultCacheRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void put_WhenOverCapacity_EvictsLeastRecentlyUsed() {
+        FeedbackResultCache cache = newCache(2, Duration.ofHours(1), false, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put(key("a"), new LlmFeedbackResult("A", 10.0));
+        cache.put(key("b"), new LlmFeedbackResult("B", 20.0));
+        cache.get(key("a"));
+
+        cache.put(key("c"), new LlmFeedbackResult("C", 30.0));
+
+        assertTrue(cache.get(key("a")).isPresent());
+        assertTrue(cache.get(key("b")).isEmpty());
+        assertTrue(cache.get(key("c")).isPresent());
+        assertEquals(1.0, registry.get("feedback_result_cache_evictions_total")
+                .tag("tier", "memory").tag("reason", "size").counter().count());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void get_WhenEntryExpired_MissesAndCountsExpiry() {
+        MutableClock clock = new MutableClock(NOW);
+        FeedbackResultCache cache = newCache(10, Duration.ofMinutes(5), false, clock);
+        cache.put(key("a"), new LlmFeedbackResult("A", 10.0));
+
+        clock.now = NOW.plus(Duration.ofMinutes(6));
+
+        assertTrue(cache.get(key("a")).isEmpty());
+        assertEquals(1.0, registry.get("feedback_result_cache_evictions_total")
+                .tag("tier", "memory").tag("reason", "expired").counter().count());
+    }
+
+    @Test
+    void get_WhenMemoryMissAndPersistedEntryValid_ReturnsItAndWarmsMemory() {
+        FeedbackResultCache cache = newCache(10, Duration.ofHours(1), true, Clock.fixed(NOW, ZoneOffset.UTC));
+        FeedbackResultCacheKey key = key("a");
+        when(repository.findById(key.digest())).thenReturn(Optional.of(FeedbackResultCacheEntry.builder()
+                .cacheKey(key.digest())
+                .feedbackText("persisted")
+                .score(77.0)
+                .expiresAt(NOW.plus(Duration.ofMinutes(30)))
+                .build()));
+
+        assertEquals("persisted", cache.get(key).orElseThrow().feedbackText());
+        assertEquals("persisted", cache.get(key).orElseThrow().feedbackText());
+
+        verify(repository).findById(key.digest());
+        assertEquals(1.0, registry.get("feedback_result_cache_lookups_total")
+                .tag("tier", "postgres").tag("outcome", "hit").counter().count());
+        assertEquals(1.0, registry.get("feedback_result_cache_lookups_total")
+                .tag("tier", "memory").tag("outcome", "hit").counter().count());
+    }
+
+    @Test
+    void put_WhenStubNotEnabled_SkipsStubResultsButCachesOtherProviders() {
+        FeedbackResultCache cache = new FeedbackResultCache(
+                new FeedbackResultCacheProperties(true, 10, Duration.ofHours(1), true, false),
+                repository,
+                registry,
+                Clock.fixed(NOW, ZoneOffset.UTC)
+        );
+        FeedbackResultCacheKey gemini = new FeedbackResultCacheKey("a", "Gemini", "gemini-2.0-flash", "v1");
+
+        cache.put(key("a"), new LlmFeedbackResult("A", 10.0));
+        cache.put(gemini, new LlmFeedbackResult("G", 20.0));
+
+        assertTrue(cache.get(key("a")).isEmpty());
+        assertEquals("G", cache.get(gemini).orElseThrow().feedbackText());
+        assertTrue(!cache.isEnabledFor("Stub"));
+        verify(repository, never()).findById(key("a").digest());
+    }
+
+    @Test
+    void key_WhenPromptVersionOrModelDiffers_ProducesDifferentDigest() {
+        FeedbackResultCacheKey base = new FeedbackResultCacheKey("content", "Gemini", "gemini-2.0-flash", "v1");
+
+        assertTrue(!base.digest().equals(new FeedbackResultCacheKey("content", "Gemini", "gemini-2.0-flash", "v2").digest()));
+        assertTrue(!base.digest().equals(new FeedbackResultCacheKey("content", "Gemini", "gemini-1.5-pro", "v1").digest()));
+    }
+
+    private FeedbackResultCache newCache(int maxEntries, Duration ttl, boolean persistent, Clock clock) {
+        return new FeedbackResultCache(
+                new FeedbackResultCacheProperties(true, maxEntries, ttl, persistent, true),
+                repository,
+                registry,
+                clock
+        );
+    }
+
+    private static FeedbackResultCacheKey key(String content) {
+        return new FeedbackResultCacheKey(content, "Stub", "stub-lab-v1", FeedbackPromptTemplate.VERSION);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.entity.FeedbackShadowComparison;
+import com.hellointerview.backend.repository.FeedbackShadowComparisonRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FeedbackShadowEvaluatorTest {
+
+    private static final AdmissionWorkloadKey PRIMARY = new AdmissionWorkloadKey("Ollama", "llama3.1:8b");
+    private static final LlmFeedbackInput INPUT = new LlmFeedbackInput(7L, "Functional", "desc", "diagram", "talk");
+    private static final LlmFeedbackResult PRIMARY_RESULT = new LlmFeedbackResult("primary", 70.0);
+    private static final FeedbackPromptBudgeter NO_BUDGET =
+            new FeedbackPromptBudgeter(FeedbackPromptBudgetProperties.disabled(), null);
+
+    @Mock
+    private LlmFeedbackClient shadowClient;
+    @Mock
+    private FeedbackShadowComparisonRepository repository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FeedbackShadowEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(shadowClient.admissionWorkloadKey()).thenReturn(new AdmissionWorkloadKey("Ollama", "qwen2.5:7b"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (evaluator != null) {
+            evaluator.close();
+        }
+    }
+
+    @Test
+    void offer_WhenSampled_StoresPairedResultAndRecordsDelta() {
+        when(shadowClient.generate(INPUT)).thenReturn(new LlmFeedbackResult("shadow", 64.0));
+        evaluator = new FeedbackShadowEvaluator(properties(0.5, 2), shadowClient, repository, meterRegistry, NO_BUDGET,
+                () -> 0.1);
+
+        assertTrue(evaluator.offer(INPUT, PRIMARY, PRIMARY_RESULT, Duration.ofMillis(900), 11L));
+
+        ArgumentCaptor<FeedbackShadowComparison> saved = ArgumentCaptor.forClass(FeedbackShadowComparison.class);
+        verify(repository, timeout(2_000)).save(saved.capture());
+        FeedbackShadowComparison comparison = saved.getValue();
+        assertEquals(11L, comparison.getPracticeFeedbackId());
+        assertEquals("llama3.1:8b", comparison.getPrimaryModel());
+        assertEquals("qwen2.5:7b", comparison.getShadowModel());
+        assertEquals("succeeded", comparison.getShadowOutcome());
+        assertEquals(-6.0, comparison.getScoreDelta());
+        assertEquals(900L, comparison.getPrimaryLatencyMs());
+        assertEquals(6.0, meterRegistry.get("feedback_shadow_score_delta").tag("direction", "lower")
+                .summary().totalAmount());
+        assertEquals(1L, meterRegistry.get("feedback_shadow_latency_ms").tag("role", "shadow").summary().count());
+    }
+
+    @Test
+    void offer_WhenNotSampled_DoesNotCallShadow() {
+        evaluator = new FeedbackShadowEvaluator(properties(0.5, 2), shadowClient, repository, meterRegistry, NO_BUDGET,
+                () -> 0.7);
+
+        assertFalse(evaluator.offer(INPUT, PRIMARY, PRIMARY_RESULT, Duration.ofMillis(900), 11L));
+        verify(shadowClient, never()).generate(any());
+    }
+
+    @Test
+    void offer_WhenBudgetExhausted_DropsWithoutBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(shadowClient.generate(INPUT)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new LlmFeedbackResult("shadow", 70.0);
+        });
+        evaluator = new FeedbackShadowEvaluator(properties(1.0, 1), shadowClient, repository, meterRegistry, NO_BUDGET,
+                () -> 0.0);
+
+        assertTrue(evaluator.offer(INPUT, PRIMARY, PRIMARY_RESULT, Duration.ofMillis(900), 11L));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        assertFalse(evaluator.offer(INPUT, PRIMARY, PRIMARY_RESULT, Duration.ofMillis(900), 12L));
+        assertEquals(1.0, meterRegistry.get("feedback_shadow_requests_total").tag("outcome", "dropped")
+                .counter().count());
+        assertEquals(1.0, meterRegistry.get("feedback_shadow_inflight").gauge().value());
+
+        release.countDown();
+        verify(repository, timeout(2_000)).save(any(FeedbackShadowComparison.class));
+    }
+
+    @Test
+    void offer_WhenShadowFails_StoresFailureWithoutDelta() {
+        when(shadowClient.generate(INPUT)).thenThrow(new LlmProviderException("boom", true));
+        evaluator = new FeedbackShadowEvaluator(properties(1.0, 2), shadowClient, repository, meterRegistry, NO_BUDGET,
+                () -> 0.0);
+
+        evaluator.offer(INPUT, PRIMARY, PRIMARY_RESULT, Duration.ofMillis(900), 11L);
+
+        ArgumentCaptor<FeedbackShadowComparison> saved = ArgumentCaptor.forClass(FeedbackShadowComparison.class);
+        verify(repository, timeout(2_000)).save(saved.capture());
+        assertEquals("failed", saved.getValue().getShadowOutcome());
+        assertNull(saved.getValue().getScoreDelta());
+        assertNull(saved.getValue().getShadowScore());
+    }
+
+    @Test
+    void disabled_NeverOffers() {
+        assertFalse(FeedbackShadowEvaluator.disabled().offer(INPUT, PRIMARY, PRIMARY_RESULT, Duration.ZERO, 1L));
+    }
+
+    private static FeedbackShadowProperties properties(double sampleRate, int maxConcurrent) {
+        return new FeedbackShadowProperties(true, "ollama", "qwen2.5:7b", sampleRate, maxConcurrent);
+    }
+}
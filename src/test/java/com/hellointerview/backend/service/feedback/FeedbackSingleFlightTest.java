@@ -0,0 +1,213 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.exception.ClientDisconnectedException;
+import com.hellointerview.backend.exception.LlmTimeoutException;
+import com.hellointerview.backend.repository.FeedbackResultCacheRepository;
+import com.hellointerview.backend.repository.FeedbackSingleFlightLeaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeedbackSingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_WhenIdenticalCallInFlight_FollowerSharesLeaderResult() throws Exception {
+        FeedbackSingleFlight singleFlight = newSingleFlight(true);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        AtomicInteger providerCalls = new AtomicInteger();
+        LlmFeedbackResult expected = new LlmFeedbackResult("shared", 80.0);
+
+        CompletableFuture<FeedbackSingleFlight.Flight> leader = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute(key("a"), () -> {
+                    providerCalls.incrementAndGet();
+                    leaderStarted.countDown();
+                    await(releaseLeader);
+                    return expected;
+                }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<FeedbackSingleFlight.Flight> follower = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute(key("a"), () -> {
+                    providerCalls.incrementAndGet();
+                    return new LlmFeedbackResult("own", 1.0);
+                }));
+        waitForFollower();
+        releaseLeader.countDown();
+
+        assertTrue(leader.get(5, TimeUnit.SECONDS).leader());
+        FeedbackSingleFlight.Flight shared = follower.get(5, TimeUnit.SECONDS);
+        assertFalse(shared.leader());
+        assertSame(expected, shared.result());
+        assertEquals(1, providerCalls.get());
+    }
+
+    @Test
+    void execute_WhenLeaderFails_FollowerSeesSameFailure() throws Exception {
+        FeedbackSingleFlight singleFlight = newSingleFlight(true);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+
+        CompletableFuture<FeedbackSingleFlight.Flight> leader = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute(key("a"), () -> {
+                    leaderStarted.countDown();
+                    await(releaseLeader);
+                    throw new LlmProviderException("boom", true);
+                }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<LlmProviderException> follower = CompletableFuture.supplyAsync(
+                () -> assertThrows(LlmProviderException.class,
+                        () -> singleFlight.execute(key("a"), () -> new LlmFeedbackResult("own", 1.0))));
+        waitForFollower();
+        releaseLeader.countDown();
+
+        assertEquals("boom", follower.get(5, TimeUnit.SECONDS).getMessage());
+        assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_WhenLeaderClientDisconnects_FollowerRunsItsOwnCall() throws Exception {
+        FeedbackSingleFlight singleFlight = newSingleFlight(true);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+
+        CompletableFuture<FeedbackSingleFlight.Flight> leader = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute(key("a"), () -> {
+                    leaderStarted.countDown();
+                    await(releaseLeader);
+                    throw new ClientDisconnectedException("gone");
+                }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<FeedbackSingleFlight.Flight> follower = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute(key("a"), () -> new LlmFeedbackResult("own", 1.0)));
+        waitForFollower();
+        releaseLeader.countDown();
+
+        FeedbackSingleFlight.Flight flight = follower.get(5, TimeUnit.SECONDS);
+        assertTrue(flight.leader());
+        assertEquals("own", flight.result().feedbackText());
+        assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_WhenDisabledOrDifferentContent_RunsEachCall() {
+        AtomicInteger providerCalls = new AtomicInteger();
+        FeedbackSingleFlight disabled = newSingleFlight(false);
+        FeedbackSingleFlight enabled = newSingleFlight(true);
+
+        disabled.execute(key("a"), () -> new LlmFeedbackResult("x", (double) providerCalls.incrementAndGet()));
+        disabled.execute(key("a"), () -> new LlmFeedbackResult("x", (double) providerCalls.incrementAndGet()));
+        enabled.execute(key("a"), () -> new LlmFeedbackResult("x", (double) providerCalls.incrementAndGet()));
+        enabled.execute(key("b"), () -> new LlmFeedbackResult("x", (double) providerCalls.incrementAndGet()));
+
+        assertEquals(4, providerCalls.get());
+        assertEquals(0.0, registry.get("feedback_single_flight_inflight_keys").gauge().value());
+    }
+
+    @Test
+    void execute_WhenFollowerDeadlineExpires_ThrowsTimeoutWithoutWaitingForLeader() throws Exception {
+        FeedbackSingleFlight singleFlight = newSingleFlight(true);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+
+        CompletableFuture<FeedbackSingleFlight.Flight> leader = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute(key("a"), () -> {
+                    leaderStarted.countDown();
+                    await(releaseLeader);
+                    return new LlmFeedbackResult("late", 1.0);
+                }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        RequestDeadline deadline = RequestDeadline.at(Instant.now().plusMillis(100), Duration.ZERO);
+
+        assertThrows(LlmTimeoutException.class, () -> deadline.call(
+                () -> singleFlight.execute(key("a"), () -> new LlmFeedbackResult("own", 1.0))));
+        CompletableFuture<FeedbackSingleFlight.Flight> asyncFollower = deadline.call(
+                () -> singleFlight.executeAsync(key("a"),
+                        () -> CompletableFuture.completedFuture(new LlmFeedbackResult("own", 1.0))));
+        ExecutionException asyncFailure =
+                assertThrows(ExecutionException.class, () -> asyncFollower.get(5, TimeUnit.SECONDS));
+
+        assertTrue(asyncFailure.getCause() instanceof LlmTimeoutException);
+        releaseLeader.countDown();
+        assertEquals("late", leader.get(5, TimeUnit.SECONDS).result().feedbackText());
+    }
+
+    @Test
+    void execute_CrossNode_WaitsForLiveLeaseThenTakesOverAndReleases() {
+        FeedbackSingleFlightLeaseRepository leases = mock(FeedbackSingleFlightLeaseRepository.class);
+        when(leases.tryAcquire(anyString(), anyString(), anyDouble())).thenReturn(0, 1);
+        FeedbackResultCache cache = new FeedbackResultCache(
+                new FeedbackResultCacheProperties(true, 100, Duration.ofHours(1), true, true),
+                mock(FeedbackResultCacheRepository.class),
+                registry);
+        FeedbackSingleFlight singleFlight = new FeedbackSingleFlight(
+                new FeedbackSingleFlightProperties(true, true, Duration.ofMillis(10), Duration.ofSeconds(30)),
+                leases,
+                cache,
+                registry);
+        AtomicInteger providerCalls = new AtomicInteger();
+        String digest = key("a").digest();
+
+        FeedbackSingleFlight.Flight flight = singleFlight.execute(key("a"),
+                () -> new LlmFeedbackResult("mine", (double) providerCalls.incrementAndGet()));
+
+        assertTrue(flight.leader());
+        assertEquals(1, providerCalls.get());
+        verify(leases, times(2)).tryAcquire(eq(digest), anyString(), eq(30.0));
+        verify(leases).release(eq(digest), anyString());
+        assertEquals("mine", cache.get(key("a")).orElseThrow().feedbackText());
+    }
+
+    private void waitForFollower() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.find("feedback_single_flight_total").tag("role", "follower").counter() == null
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private FeedbackSingleFlight newSingleFlight(boolean enabled) {
+        FeedbackResultCache cache = new FeedbackResultCache(
+                new FeedbackResultCacheProperties(true, 100, Duration.ofHours(1), false, true),
+                mock(FeedbackResultCacheRepository.class),
+                registry);
+        return new FeedbackSingleFlight(
+                new FeedbackSingleFlightProperties(enabled, false, Duration.ofMillis(50), Duration.ofSeconds(1)),
+                null,
+                cache,
+                registry);
+    }
+
+    private static FeedbackResultCacheKey key(String content) {
+        return new FeedbackResultCacheKey(content, "Stub", "stub-lab-v1", FeedbackPromptTemplate.VERSION);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
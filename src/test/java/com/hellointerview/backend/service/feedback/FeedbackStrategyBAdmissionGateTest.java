@@ -5,10 +5,13 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -35,7 +38,16 @@ class FeedbackStrategyBAdmissionGateTest {
     @Test
     void tryEnter_WhenStrategyA_BypassesWithoutAcquiring() {
         FeedbackStrategyBAdmissionProperties admissionProperties = new FeedbackStrategyBAdmissionProperties(2, 1);
-        FeedbackStrategyBAdmissionGate gate = new FeedbackStrategyBAdmissionGate(contextResolver, admissionProperties, meterRegistry);
+        FeedbackStrategyBAdmissionGate gate = new FeedbackStrategyBAdmissionGate(
+                contextResolver,
+                new RequestDeadlineResolver(),
+                admissionProperties,
+                AdaptiveConcurrencyProperties.disabled(),
+                FeedbackAdmissionQueueProperties.disabled(),
+                new FeedbackPriorityResolver(contextResolver),
+                FeedbackPriorityProperties.disabled(),
+                FeedbackFairnessProperties.disabled(),
+                meterRegistry);
         StubLlmFeedbackClient client = new StubLlmFeedbackClient(meterRegistry, properties, contextResolver);
         setStrategy("A");
 
@@ -49,7 +61,16 @@ class FeedbackStrategyBAdmissionGateTest {
     @Test
     void tryEnter_WhenStrategyB_RejectsAfterConcurrentSlotsExhausted() {
         FeedbackStrategyBAdmissionProperties admissionProperties = new FeedbackStrategyBAdmissionProperties(2, 5);
-        FeedbackStrategyBAdmissionGate gate = new FeedbackStrategyBAdmissionGate(contextResolver, admissionProperties, meterRegistry);
+        FeedbackStrategyBAdmissionGate gate = new FeedbackStrategyBAdmissionGate(
+                contextResolver,
+                new RequestDeadlineResolver(),
+                admissionProperties,
+                AdaptiveConcurrencyProperties.disabled(),
+                FeedbackAdmissionQueueProperties.disabled(),
+                new FeedbackPriorityResolver(contextResolver),
+                FeedbackPriorityProperties.disabled(),
+                FeedbackFairnessProperties.disabled(),
+                meterRegistry);
         StubLlmFeedbackClient client = new StubLlmFeedbackClient(meterRegistry, properties, contextResolver);
         setStrategy("B");
 
@@ -72,6 +93,114 @@ class FeedbackStrategyBAdmissionGateTest {
         gate.leave(fourth);
     }
 
+    @Test
+    void tryEnter_WhenQueueEnabled_WaitsForReleasedSlotInsteadOfRejecting() throws Exception {
+        FeedbackStrategyBAdmissionGate gate = new FeedbackStrategyBAdmissionGate(
+                contextResolver,
+                new RequestDeadlineResolver(),
+                new FeedbackStrategyBAdmissionProperties(1, 5),
+                AdaptiveConcurrencyProperties.disabled(),
+                new FeedbackAdmissionQueueProperties(true, 4, Duration.ofSeconds(5)),
+                new FeedbackPriorityResolver(contextResolver),
+                FeedbackPriorityProperties.disabled(),
+                FeedbackFairnessProperties.disabled(),
+                meterRegistry);
+        StubLlmFeedbackClient client = new StubLlmFeedbackClient(meterRegistry, properties, contextResolver);
+        setStrategy("B");
+        AdmissionEnterOutcome first = gate.tryEnter(client);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        CompletableFuture<AdmissionEnterOutcome> second = CompletableFuture.supplyAsync(() -> {
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                return gate.tryEnter(client);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("feedback_admission_queue_depth").gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        gate.leave(first);
+
+        AdmissionEnterOutcome admitted = second.get(5, TimeUnit.SECONDS);
+        assertTrue(admitted.mayProceed());
+        assertEquals(2L, meterRegistry.get("feedback_admission_queue_wait_ms").tag("outcome", "admitted")
+                .summary().count());
+        assertEquals(0.0, failureCounterTotal("local_capacity_reject"));
+        gate.leave(admitted);
+    }
+
+    @Test
+    void tryEnter_WhenClientDeadlineAlreadyPassed_ShedsWithoutWaiting() {
+        FeedbackStrategyBAdmissionGate gate = new FeedbackStrategyBAdmissionGate(
+                contextResolver,
+                new RequestDeadlineResolver(),
+                new FeedbackStrategyBAdmissionProperties(1, 5),
+                AdaptiveConcurrencyProperties.disabled(),
+                new FeedbackAdmissionQueueProperties(true, 4, Duration.ofSeconds(5)),
+                new FeedbackPriorityResolver(contextResolver),
+                FeedbackPriorityProperties.disabled(),
+                FeedbackFairnessProperties.disabled(),
+                meterRegistry);
+        StubLlmFeedbackClient client = new StubLlmFeedbackClient(meterRegistry, properties, contextResolver);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Lab-Strategy-Id", "B");
+        request.addHeader("X-Request-Deadline", String.valueOf(System.currentTimeMillis() - 1_000));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        AdmissionEnterOutcome first = gate.tryEnter(client);
+
+        AdmissionEnterOutcome second = gate.tryEnter(client);
+
+        assertFalse(second.mayProceed());
+        assertEquals(5, second.retryAfterSecondsIfRejected());
+        assertEquals(1.0, meterRegistry.get("feedback_admission_shed_total").tag("reason", "deadline").counter().count());
+        gate.leave(first);
+    }
+
+    @Test
+    void tryEnter_WhenPriorityEnabled_ResolvesClassFromHeaderAndBoundContext() {
+        FeedbackPriorityProperties priorityProperties = new FeedbackPriorityProperties(true,
+                new FeedbackPriorityProperties.Lane(0.5, 1.0),
+                new FeedbackPriorityProperties.Lane(0.0, 0.5),
+                new FeedbackPriorityProperties.Lane(0.0, 0.5));
+        FeedbackStrategyBAdmissionGate gate = new FeedbackStrategyBAdmissionGate(
+                contextResolver,
+                new RequestDeadlineResolver(),
+                new FeedbackStrategyBAdmissionProperties(4, 5),
+                AdaptiveConcurrencyProperties.disabled(),
+                FeedbackAdmissionQueueProperties.disabled(),
+                new FeedbackPriorityResolver(contextResolver),
+                priorityProperties,
+                FeedbackFairnessProperties.disabled(),
+                meterRegistry);
+        StubLlmFeedbackClient client = new StubLlmFeedbackClient(meterRegistry, properties, contextResolver);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Lab-Strategy-Id", "B");
+        request.addHeader(FeedbackPriorityResolver.HEADER_PRIORITY, "background");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        AdmissionEnterOutcome background = gate.tryEnter(client);
+        AdmissionEnterOutcome bound = FeedbackPriority.INTERACTIVE.call(() -> gate.tryEnter(client));
+        AdmissionEnterOutcome secondBackground = gate.tryEnter(client);
+        AdmissionEnterOutcome overShare = gate.tryEnter(client);
+        setStrategy("B");
+        AdmissionEnterOutcome lab = gate.tryEnter(client);
+
+        assertEquals(FeedbackPriority.BACKGROUND, background.priority());
+        assertEquals(FeedbackPriority.INTERACTIVE, bound.priority());
+        assertTrue(secondBackground.mayProceed());
+        // Background is capped at half of the four slots; the last free slot is held for interactive.
+        assertFalse(overShare.mayProceed());
+        assertFalse(lab.mayProceed());
+        assertEquals(2.0, meterRegistry.get("feedback_admission_priority_inflight")
+                .tag("priority", "background").gauge().value());
+        gate.leave(background);
+        gate.leave(bound);
+        gate.leave(secondBackground);
+    }
+
     private void setStrategy(String strategyId) {
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.addHeader("X-Lab-Strategy-Id", strategyId);
@@ -0,0 +1,41 @@
+package com.hellointerview.backend.service.feedback;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeedbackTextStreamExtractorTest {
+
+    @Test
+    void accept_WhenValueSplitAcrossChunks_EmitsDecodedTextIncrementally() {
+        List<String> tokens = new ArrayList<>();
+        AtomicInteger firstTokenCalls = new AtomicInteger();
+        FeedbackTextStreamExtractor extractor = new FeedbackTextStreamExtractor(tokens::add, firstTokenCalls::incrementAndGet);
+
+        for (String chunk : List.of("{\"feedback", "_text\" : \"Use a ", "queue\\", "n\\u00e9", "\\\"ok\\\"\", \"score\": 80}")) {
+            extractor.accept(chunk);
+        }
+
+        assertEquals("Use a queue\né\"ok\"", String.join("", tokens));
+        assertEquals(List.of("Use a ", "queue", "\né", "\"ok\""), tokens);
+        assertEquals(1, firstTokenCalls.get());
+        assertEquals("{\"feedback_text\" : \"Use a queue\\n\\u00e9\\\"ok\\\"\", \"score\": 80}", extractor.rawText());
+    }
+
+    @Test
+    void finish_WhenNothingStreamed_EmitsParsedTextOnce() {
+        List<String> tokens = new ArrayList<>();
+        FeedbackTextStreamExtractor extractor = new FeedbackTextStreamExtractor(tokens::add, () -> { });
+
+        extractor.accept("{\"score\": 80, ");
+        extractor.finish(new LlmFeedbackResult("Whole text", 80.0));
+
+        assertTrue(extractor.emitted());
+        assertEquals(List.of("Whole text"), tokens);
+    }
+}
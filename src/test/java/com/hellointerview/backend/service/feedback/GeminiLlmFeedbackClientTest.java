@@ -1,5 +1,6 @@
 package com.hellointerview.backend.service.feedback;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
@@ -13,14 +14,22 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class GeminiLlmFeedbackClientTest {
 
+    private static final String VALID_RESPONSE = """
+            {"candidates":[{"content":{"parts":[{"text":"{\\"feedback_text\\":\\"Strong decomposition\\",\\"score\\":92}"}]}}]}
+            """;
+
     private HttpServer server;
 
     @AfterEach
@@ -48,6 +57,22 @@ class GeminiLlmFeedbackClientTest {
                 .count());
     }
 
+    @Test
+    void generate_RecordsUsageMetadataTokens() throws Exception {
+        startServer(exchange -> writeResponse(exchange, 200, """
+                {"candidates":[{"content":{"parts":[{"text":"{\\"feedback_text\\":\\"Strong decomposition\\",\\"score\\":92}"}]}}],
+                 "usageMetadata":{"promptTokenCount":640,"candidatesTokenCount":88,"cachedContentTokenCount":512,"totalTokenCount":728}}
+                """));
+        GeminiClientWithRegistry client = newClient(1);
+
+        client.client().generate(input());
+
+        assertEquals(640.0, tokens(client, "prompt"));
+        assertEquals(88.0, tokens(client, "completion"));
+        assertEquals(512.0, tokens(client, "cached_prompt"));
+        assertNull(client.registry().find("llm_provider_tokens").tag("kind", "thoughts").summary());
+    }
+
     @Test
     void generate_WhenTransientHttpFailure_RetriesAndSucceeds() throws Exception {
         AtomicInteger calls = new AtomicInteger();
@@ -117,7 +142,137 @@ class GeminiLlmFeedbackClientTest {
         assertTrue(!ex.isTransientFailure());
     }
 
+    @Test
+    void generate_WhenPromptCacheEnabled_CreatesHandleOnceAndReferencesIt() throws Exception {
+        AtomicInteger creations = new AtomicInteger();
+        List<JsonNode> generateBodies = new CopyOnWriteArrayList<>();
+        startServer(exchange -> {
+            JsonNode body = new ObjectMapper().readTree(exchange.getRequestBody());
+            if (exchange.getRequestURI().getPath().equals("/v1beta/cachedContents")) {
+                creations.incrementAndGet();
+                assertEquals("models/gemini-2.0-flash", body.path("model").asText());
+                assertEquals("feedback-prompt-" + FeedbackPromptTemplate.VERSION, body.path("displayName").asText());
+                writeResponse(exchange, 200, "{\"name\":\"cachedContents/abc\"}");
+                return;
+            }
+            generateBodies.add(body);
+            writeResponse(exchange, 200, VALID_RESPONSE);
+        });
+        GeminiClientWithRegistry client = newClient(2, new LlmPromptCacheProperties(
+                true, Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofMinutes(5)));
+
+        client.client().generate(input());
+        client.client().generate(input());
+
+        assertEquals(1, creations.get());
+        for (JsonNode body : generateBodies) {
+            assertEquals("cachedContents/abc", body.path("cachedContent").asText());
+            assertTrue(body.path("systemInstruction").isMissingNode());
+            assertTrue(body.path("contents").path(0).path("parts").path(0).path("text").asText()
+                    .startsWith("Question Type:"));
+        }
+        assertEquals(1.0, client.registry().get("llm_provider_prompt_cache_total")
+                .tag("outcome", "hit")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void generate_WhenPromptCacheCreationFails_SendsPrefixInlineAndBacksOff() throws Exception {
+        AtomicInteger creations = new AtomicInteger();
+        List<JsonNode> generateBodies = new CopyOnWriteArrayList<>();
+        startServer(exchange -> {
+            JsonNode body = new ObjectMapper().readTree(exchange.getRequestBody());
+            if (exchange.getRequestURI().getPath().equals("/v1beta/cachedContents")) {
+                creations.incrementAndGet();
+                writeResponse(exchange, 400, "{\"error\":{\"message\":\"Cached content is too small\"}}");
+                return;
+            }
+            generateBodies.add(body);
+            writeResponse(exchange, 200, VALID_RESPONSE);
+        });
+        GeminiClientWithRegistry client = newClient(2, new LlmPromptCacheProperties(
+                true, Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofMinutes(5)));
+
+        client.client().generate(input());
+        client.client().generate(input());
+
+        assertEquals(1, creations.get());
+        assertEquals(2, generateBodies.size());
+        for (JsonNode body : generateBodies) {
+            assertTrue(body.path("cachedContent").isMissingNode());
+            assertEquals(FeedbackPromptTemplate.PREFIX,
+                    body.path("systemInstruction").path("parts").path(0).path("text").asText());
+        }
+    }
+
+    @Test
+    void generate_WhenCachedContentGone_InvalidatesAndRetriesWithNewHandle() throws Exception {
+        AtomicInteger creations = new AtomicInteger();
+        List<String> referenced = new CopyOnWriteArrayList<>();
+        startServer(exchange -> {
+            JsonNode body = new ObjectMapper().readTree(exchange.getRequestBody());
+            if (exchange.getRequestURI().getPath().equals("/v1beta/cachedContents")) {
+                writeResponse(exchange, 200, "{\"name\":\"cachedContents/" + creations.incrementAndGet() + "\"}");
+                return;
+            }
+            String name = body.path("cachedContent").asText();
+            referenced.add(name);
+            if (name.equals("cachedContents/1")) {
+                writeResponse(exchange, 403, "{\"error\":{\"message\":\"CachedContent not found\"}}");
+                return;
+            }
+            writeResponse(exchange, 200, VALID_RESPONSE);
+        });
+        GeminiClientWithRegistry client = newClient(2, new LlmPromptCacheProperties(
+                true, Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofMinutes(5)));
+
+        LlmFeedbackResult result = client.client().generate(input());
+
+        assertEquals("Strong decomposition", result.feedbackText());
+        assertEquals(List.of("cachedContents/1", "cachedContents/2"), referenced);
+        assertEquals(1.0, client.registry().get("llm_provider_prompt_cache_total")
+                .tag("outcome", "invalidated")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void generateAsync_WhenAsyncTransport_RetriesTransientFailureWithoutBlocking() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        List<String> requests = new CopyOnWriteArrayList<>();
+        startServer(exchange -> {
+            requests.add(exchange.getRequestURI().toString());
+            if (calls.incrementAndGet() == 1) {
+                writeResponse(exchange, 500, "{\"error\":\"temporary\"}");
+                return;
+            }
+            writeResponse(exchange, 200, VALID_RESPONSE);
+        });
+        GeminiLlmProperties props = new GeminiLlmProperties(
+                "http://localhost:" + server.getAddress().getPort(), "test-key", "gemini-2.0-flash",
+                Duration.ofSeconds(1), Duration.ofSeconds(2), 2, Duration.ofMillis(10), 1.0, 0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LlmHttpTransportProperties.Provider settings = new LlmHttpTransportProperties.Provider(
+                LlmHttpTransportProperties.Type.ASYNC, 4, Duration.ofSeconds(60), Duration.ofSeconds(1));
+        GeminiLlmFeedbackClient client = new GeminiLlmFeedbackClient(RestClient.builder(), new ObjectMapper(), props,
+                LlmProviderMetrics.fromRegistry(registry),
+                LlmHttpTransport.create("Gemini", settings, props.connectTimeout(), props.readTimeout(), registry),
+                LlmProviderResilience.disabled(), LlmPromptCacheProperties.disabled());
+
+        LlmFeedbackResult result = client.generateAsync(input()).get(5, TimeUnit.SECONDS);
+
+        assertTrue(client.supportsAsync());
+        assertEquals("Strong decomposition", result.feedbackText());
+        assertEquals(2, calls.get());
+        assertEquals("/v1beta/models/gemini-2.0-flash:generateContent?key=test-key", requests.get(1));
+    }
+
     private GeminiClientWithRegistry newClient(int maxAttempts) {
+        return newClient(maxAttempts, LlmPromptCacheProperties.disabled());
+    }
+
+    private GeminiClientWithRegistry newClient(int maxAttempts, LlmPromptCacheProperties promptCacheProperties) {
         GeminiLlmProperties props = new GeminiLlmProperties(
                 "http://localhost:" + server.getAddress().getPort(),
                 "test-key",
@@ -134,11 +289,22 @@ class GeminiLlmFeedbackClientTest {
                 RestClient.builder(),
                 new ObjectMapper(),
                 props,
-                LlmProviderMetrics.fromRegistry(registry)
+                LlmProviderMetrics.fromRegistry(registry),
+                LlmHttpTransport.simple(props.connectTimeout(), props.readTimeout()),
+                LlmProviderResilience.disabled(),
+                promptCacheProperties
         );
         return new GeminiClientWithRegistry(client, registry);
     }
 
+    private static double tokens(GeminiClientWithRegistry client, String kind) {
+        return client.registry().get("llm_provider_tokens")
+                .tag("provider", "Gemini")
+                .tag("kind", kind)
+                .summary()
+                .totalAmount();
+    }
+
     private static LlmFeedbackInput input() {
         return new LlmFeedbackInput(123L, "Functional Requirements", "Design Twitter", "Component: API", "Transcript");
     }
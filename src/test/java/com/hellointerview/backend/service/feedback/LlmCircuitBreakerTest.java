@@ -0,0 +1,92 @@
+package com.hellointerview.backend.service.feedback;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmCircuitBreakerTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<String> transitions = new ArrayList<>();
+    private final LlmCircuitBreaker breaker = new LlmCircuitBreaker(
+            new LlmCircuitBreakerProperties(true, 0.5, 4, 4, Duration.ofSeconds(10), 2),
+            nanos::get,
+            (from, to) -> transitions.add(from + "->" + to));
+
+    @Test
+    void onResult_WhenFewerThanMinimumCalls_StaysClosed() {
+        complete(true);
+        complete(true);
+        complete(true);
+
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void onResult_WhenSlidingWindowReachesThreshold_Opens() {
+        complete(false);
+        complete(false);
+        complete(false);
+        complete(true);
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.state());
+
+        complete(true);
+
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(List.of("CLOSED->OPEN"), transitions);
+    }
+
+    @Test
+    void halfOpen_WhenProbesSucceed_Closes() {
+        open();
+        assertFalse(breaker.tryAcquire().permitted());
+
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        LlmCircuitBreaker.Permission first = breaker.tryAcquire();
+        LlmCircuitBreaker.Permission second = breaker.tryAcquire();
+        assertTrue(first.permitted());
+        assertTrue(second.permitted());
+        assertFalse(breaker.tryAcquire().permitted(), "only half-open-probes calls pass");
+
+        breaker.onResult(first, false);
+        breaker.onResult(second, false);
+
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void halfOpen_WhenProbeFails_ReopensAndIgnoresStaleResults() {
+        LlmCircuitBreaker.Permission stale = breaker.tryAcquire();
+        open();
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        LlmCircuitBreaker.Permission probe = breaker.tryAcquire();
+
+        breaker.onResult(stale, false);
+        assertEquals(LlmCircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.onResult(probe, true);
+
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire().permitted());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            complete(true);
+        }
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private void complete(boolean failure) {
+        LlmCircuitBreaker.Permission permission = breaker.tryAcquire();
+        assertTrue(permission.permitted());
+        breaker.onResult(permission, failure);
+    }
+}
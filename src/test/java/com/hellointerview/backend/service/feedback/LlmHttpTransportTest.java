@@ -0,0 +1,184 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.exception.ClientDisconnectedException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmHttpTransportTest {
+
+    private HttpServer server;
+    private LlmHttpTransport transport;
+
+    @AfterEach
+    void tearDown() {
+        if (transport != null) {
+            transport.close();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void pooled_ReusesKeepAliveConnectionAcrossCalls() throws Exception {
+        Set<String> remoteAddresses = ConcurrentHashMap.newKeySet();
+        startServer(exchange -> {
+            remoteAddresses.add(exchange.getRemoteAddress().toString());
+            writeResponse(exchange, "{\"ok\":true}");
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        transport = LlmHttpTransport.create("Ollama", settings(LlmHttpTransportProperties.Type.POOLED, 4),
+                Duration.ofSeconds(1), Duration.ofSeconds(2), registry);
+        RestClient restClient = restClient();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("{\"ok\":true}", restClient.post().uri("/call").body("{}").retrieve().body(String.class));
+        }
+
+        assertEquals(1, remoteAddresses.size());
+        assertEquals(3, registry.get("llm_provider_pool_lease_ms")
+                .tag("provider", "Ollama")
+                .tag("transport", "pooled")
+                .summary()
+                .count());
+        assertEquals(0.0, registry.get("llm_provider_pool_in_use").tag("provider", "Ollama").gauge().value());
+    }
+
+    @Test
+    void pooled_WhenAllConnectionsLeased_FailsFastAsPoolExhausted() throws Exception {
+        CountDownLatch firstCallStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstCall = new CountDownLatch(1);
+        startServer(exchange -> {
+            firstCallStarted.countDown();
+            try {
+                releaseFirstCall.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writeResponse(exchange, "{\"ok\":true}");
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        transport = LlmHttpTransport.create("Ollama", settings(LlmHttpTransportProperties.Type.POOLED, 1),
+                Duration.ofSeconds(1), Duration.ofSeconds(5), registry);
+        RestClient restClient = restClient();
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                () -> restClient.post().uri("/call").body("{}").retrieve().body(String.class));
+        assertTrue(firstCallStarted.await(5, TimeUnit.SECONDS));
+
+        ResourceAccessException ex = assertThrows(ResourceAccessException.class,
+                () -> restClient.post().uri("/call").body("{}").retrieve().body(String.class));
+        releaseFirstCall.countDown();
+
+        assertTrue(LlmHttpTransport.isPoolExhausted(ex));
+        assertEquals("{\"ok\":true}", first.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.get("llm_provider_pool_exhausted_total")
+                .tag("provider", "Ollama")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void http2_FallsBackToHttp1WhenServerDoesNotUpgrade() throws Exception {
+        startServer(exchange -> writeResponse(exchange, "{\"ok\":true}"));
+        transport = LlmHttpTransport.create("Gemini", settings(LlmHttpTransportProperties.Type.HTTP2, 8),
+                Duration.ofSeconds(1), Duration.ofSeconds(2), new SimpleMeterRegistry());
+
+        String body = restClient().post().uri("/call").body("{}").retrieve().body(String.class);
+
+        assertEquals("{\"ok\":true}", body);
+    }
+
+    @Test
+    void cancellation_AbortsInFlightCallOnEveryTransport() throws Exception {
+        CountDownLatch releaseServer = new CountDownLatch(1);
+        startServer(exchange -> {
+            try {
+                releaseServer.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writeResponse(exchange, "{\"ok\":true}");
+        });
+        try {
+            for (LlmHttpTransportProperties.Type type : LlmHttpTransportProperties.Type.values()) {
+                transport = LlmHttpTransport.create("Ollama", settings(type, 4),
+                        Duration.ofSeconds(1), Duration.ofSeconds(30), new SimpleMeterRegistry());
+                RestClient restClient = restClient();
+                FeedbackCancellation cancellation = new FeedbackCancellation();
+                long startNanos = System.nanoTime();
+                CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS).execute(cancellation::cancel);
+
+                assertThrows(ClientDisconnectedException.class, () -> cancellation.call(
+                        () -> restClient.post().uri("/call").body("{}").retrieve().body(String.class)), type.name());
+
+                assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(5), type.name());
+                assertFalse(Thread.currentThread().isInterrupted());
+                transport.close();
+            }
+        } finally {
+            releaseServer.countDown();
+        }
+    }
+
+    private RestClient restClient() {
+        return RestClient.builder()
+                .baseUrl("http://localhost:" + server.getAddress().getPort())
+                .requestFactory(transport.requestFactory())
+                .build();
+    }
+
+    private static LlmHttpTransportProperties.Provider settings(LlmHttpTransportProperties.Type type, int maxConnections) {
+        return new LlmHttpTransportProperties.Provider(type, maxConnections, Duration.ofSeconds(30), Duration.ofMillis(100));
+    }
+
+    private void startServer(ExchangeHandler handler) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/call", exchange -> {
+            try {
+                exchange.getRequestBody().readAllBytes();
+                handler.handle(exchange);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    private static void writeResponse(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ExchangeHandler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
@@ -0,0 +1,99 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.repository.LlmProviderCooldownRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class LlmProviderCooldownTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LlmProviderCooldownRepository repository = mock(LlmProviderCooldownRepository.class);
+
+    @Test
+    void trip_CapsAtMaxCooldownAndNeverShortens() {
+        LlmProviderCooldown cooldown = cooldown(LlmCooldownProperties.Mode.LOCAL);
+
+        cooldown.trip("Gemini", Duration.ofMinutes(10));
+        cooldown.trip("Gemini", Duration.ofSeconds(5));
+
+        assertEquals(Duration.ofSeconds(30), cooldown.remaining("Gemini"));
+        assertEquals(Duration.ZERO, cooldown.remaining("Ollama"));
+        assertEquals(2.0, registry.get("llm_provider_cooldown_trips_total").tag("provider", "Gemini")
+                .counter().count());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void remaining_CountsDownToZero() {
+        LlmProviderCooldown cooldown = cooldown(LlmCooldownProperties.Mode.LOCAL);
+        cooldown.trip("Gemini", Duration.ofSeconds(2));
+
+        advance(Duration.ofMillis(1_500));
+        assertEquals(Duration.ofMillis(500), cooldown.remaining("Gemini"));
+        assertEquals(0.5, registry.get("llm_provider_cooldown_remaining_seconds").gauge().value());
+
+        advance(Duration.ofSeconds(1));
+        assertEquals(Duration.ZERO, cooldown.remaining("Gemini"));
+    }
+
+    @Test
+    void postgres_SharesTripsAndPicksUpOtherNodesAtRefreshInterval() {
+        LlmProviderCooldown cooldown = cooldown(LlmCooldownProperties.Mode.POSTGRES);
+        when(repository.remainingMillis("Gemini")).thenReturn(null, 4_000.0);
+
+        cooldown.trip("Gemini", Duration.ofSeconds(2));
+        verify(repository).extend("Gemini", 2.0);
+
+        assertEquals(Duration.ofSeconds(2), cooldown.remaining("Gemini"));
+        assertEquals(Duration.ofSeconds(2), cooldown.remaining("Gemini"));
+        verify(repository, times(1)).remainingMillis("Gemini");
+
+        advance(Duration.ofSeconds(1));
+        assertEquals(Duration.ofSeconds(4), cooldown.remaining("Gemini"));
+        verify(repository, times(2)).remainingMillis("Gemini");
+    }
+
+    @Test
+    void postgres_WhenDatabaseFails_KeepsLocalCooldown() {
+        LlmProviderCooldown cooldown = cooldown(LlmCooldownProperties.Mode.POSTGRES);
+        when(repository.extend(anyString(), anyDouble())).thenThrow(new DataAccessResourceFailureException("down"));
+        when(repository.remainingMillis("Gemini")).thenThrow(new DataAccessResourceFailureException("down"));
+
+        cooldown.trip("Gemini", Duration.ofSeconds(3));
+
+        assertEquals(Duration.ofSeconds(3), cooldown.remaining("Gemini"));
+    }
+
+    @Test
+    void disabled_IgnoresTrips() {
+        LlmProviderCooldown cooldown = LlmProviderCooldown.disabled();
+
+        cooldown.trip("Gemini", Duration.ofSeconds(3));
+
+        assertEquals(Duration.ZERO, cooldown.remaining("Gemini"));
+    }
+
+    private LlmProviderCooldown cooldown(LlmCooldownProperties.Mode mode) {
+        LlmCooldownProperties properties = new LlmCooldownProperties(true, mode, Duration.ofSeconds(30),
+                Duration.ofSeconds(1), Duration.ofSeconds(1));
+        return new LlmProviderCooldown(properties, repository, registry, nanos::get);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
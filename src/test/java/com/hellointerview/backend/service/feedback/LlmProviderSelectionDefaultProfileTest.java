@@ -43,6 +43,7 @@ class LlmProviderSelectionDefaultProfileTest {
     @Import({
             LlmProviderConfiguration.class,
             LabRequestContextResolver.class,
+            LlmProviderResilience.class,
             StubLlmFeedbackClient.class,
             OllamaLlmFeedbackClient.class,
             GeminiLlmFeedbackClient.class
@@ -48,6 +48,7 @@ class LlmProviderSelectionDevProfileTest {
     @Import({
             LlmProviderConfiguration.class,
             LabRequestContextResolver.class,
+            LlmProviderResilience.class,
             StubLlmFeedbackClient.class,
             OllamaLlmFeedbackClient.class,
             GeminiLlmFeedbackClient.class
@@ -44,6 +44,7 @@ class LlmProviderSelectionLocalProfileTest {
     @Import({
             LlmProviderConfiguration.class,
             LabRequestContextResolver.class,
+            LlmProviderResilience.class,
             StubLlmFeedbackClient.class,
             OllamaLlmFeedbackClient.class,
             GeminiLlmFeedbackClient.class
@@ -0,0 +1,75 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.web.client.RestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest(
+        classes = LlmProviderSelectionRoutingTest.TestApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "ai.llm.provider=routing",
+                "ai.llm.routing.providers=stub,ollama",
+                "ai.llm.ollama.model=routing-test-model"
+        }
+)
+class LlmProviderSelectionRoutingTest {
+
+    @Autowired
+    private LlmFeedbackClient llmFeedbackClient;
+
+    @Test
+    void routingProvider_WrapsConfiguredProvidersInOrder() {
+        RoutingLlmFeedbackClient routing = assertInstanceOf(RoutingLlmFeedbackClient.class, llmFeedbackClient);
+        assertEquals("Stub::stub-lab-v1,Ollama::routing-test-model", routing.admissionWorkloadKey().model());
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = {
+            DataSourceAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            FlywayAutoConfiguration.class,
+            JpaRepositoriesAutoConfiguration.class
+    })
+    @Import({
+            LlmProviderConfiguration.class,
+            LlmRoutingConfiguration.class,
+            LabRequestContextResolver.class,
+            LlmProviderResilience.class,
+            FeedbackPromptBudgeter.class,
+            StubLlmFeedbackClient.class,
+            OllamaLlmFeedbackClient.class,
+            GeminiLlmFeedbackClient.class
+    })
+    static class TestApplication {
+        @Bean
+        RestClient.Builder restClientBuilder() {
+            return RestClient.builder();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
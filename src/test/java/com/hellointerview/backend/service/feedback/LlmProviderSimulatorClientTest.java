@@ -0,0 +1,151 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hellointerview.backend.exception.ClientDisconnectedException;
+import com.hellointerview.backend.service.simulator.LatencyDistribution;
+import com.hellointerview.backend.service.simulator.LlmProviderSimulator;
+import com.hellointerview.backend.service.simulator.SimulatorFaultMode;
+import com.hellointerview.backend.service.simulator.SimulatorScenario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the real provider clients against {@link LlmProviderSimulator} to check the simulator stays wire-compatible
+ * with what the clients parse.
+ */
+class LlmProviderSimulatorClientTest {
+
+    private static final LlmFeedbackInput INPUT =
+            new LlmFeedbackInput(123L, "Functional Requirements", "Design Twitter", "Component: API", "Transcript");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private LlmProviderSimulator simulator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SimulatorScenario fast = SimulatorScenario.steady("fast", new SimulatorScenario.Behavior(
+                new LatencyDistribution.Fixed(Duration.ZERO), 10_000, 40));
+        simulator = new LlmProviderSimulator(Map.of("fast", fast), "fast", 0, objectMapper, registry);
+        simulator.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulator.close();
+    }
+
+    @Test
+    void ollamaClient_GeneratesAndStreamsAgainstSimulator() {
+        OllamaLlmProperties props = new OllamaLlmProperties(simulator.baseUri().toString(), "llama3.1:8b",
+                Duration.ofSeconds(1), Duration.ofSeconds(5), 1, Duration.ofMillis(10), 1.0, 0);
+        OllamaLlmFeedbackClient client = new OllamaLlmFeedbackClient(RestClient.builder(), objectMapper, props,
+                LlmProviderMetrics.fromRegistry(registry),
+                LlmHttpTransport.simple(props.connectTimeout(), props.readTimeout()),
+                LlmProviderResilience.disabled(), OllamaWarmupProperties.disabled());
+
+        LlmFeedbackResult result = client.generate(INPUT);
+        List<String> tokens = new ArrayList<>();
+        LlmFeedbackResult streamed = client.generateStreaming(INPUT, tokens::add);
+
+        assertTrue(result.feedbackText().startsWith("Simulated feedback from llama3.1:8b"));
+        assertTrue(streamed.feedbackText().startsWith("Simulated feedback from llama3.1:8b"));
+        assertTrue(tokens.size() > 1);
+        assertTrue(registry.get("llm_provider_tokens").tag("kind", "completion").summary().count() >= 1);
+    }
+
+    @Test
+    void geminiClient_GeneratesAndStreamsAgainstSimulator() {
+        GeminiLlmProperties props = new GeminiLlmProperties(simulator.baseUri().toString(), "test-key",
+                "gemini-2.0-flash", Duration.ofSeconds(1), Duration.ofSeconds(5), 1, Duration.ofMillis(10), 1.0, 0);
+        GeminiLlmFeedbackClient client = new GeminiLlmFeedbackClient(RestClient.builder(), objectMapper, props,
+                LlmProviderMetrics.fromRegistry(registry),
+                LlmHttpTransport.simple(props.connectTimeout(), props.readTimeout()),
+                LlmProviderResilience.disabled(), LlmPromptCacheProperties.disabled());
+
+        LlmFeedbackResult result = client.generate(INPUT);
+        List<String> tokens = new ArrayList<>();
+        LlmFeedbackResult streamed = client.generateStreaming(INPUT, tokens::add);
+
+        assertTrue(result.feedbackText().startsWith("Simulated feedback from gemini-2.0-flash"));
+        assertEquals(result.feedbackText(), streamed.feedbackText());
+        assertTrue(tokens.size() > 1);
+    }
+
+    @Test
+    void ollamaClient_WhenAsyncCallCancelled_AbortsRequest() throws Exception {
+        OllamaLlmFeedbackClient client = slowAsyncOllamaClient();
+
+        CompletableFuture<LlmFeedbackResult> call = client.generateAsync(INPUT);
+        awaitOpenConnections(1);
+        call.cancel(true);
+
+        awaitOpenConnections(0);
+        assertTrue(call.isCancelled());
+    }
+
+    @Test
+    void ollamaClient_WhenCancellationFiresDuringAsyncCall_AbortsRequest() throws Exception {
+        OllamaLlmFeedbackClient client = slowAsyncOllamaClient();
+        FeedbackCancellation cancellation = new FeedbackCancellation();
+
+        CompletableFuture<LlmFeedbackResult> call = cancellation.call(() -> client.generateAsync(INPUT));
+        awaitOpenConnections(1);
+        cancellation.cancel();
+
+        awaitOpenConnections(0);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ClientDisconnectedException.class, failure.getCause());
+    }
+
+    /**
+     * An async Ollama client against a simulator that trickles its response out a byte at a time, so the exchange
+     * stays open far longer than the test unless the client aborts it.
+     */
+    private OllamaLlmFeedbackClient slowAsyncOllamaClient() throws IOException {
+        simulator.close();
+        SimulatorScenario slow = new SimulatorScenario("slow", 0, 3600,
+                new SimulatorScenario.Behavior(new LatencyDistribution.Fixed(Duration.ZERO), 10_000, 40),
+                new SimulatorScenario.Fault(SimulatorFaultMode.SLOWLORIS, 1.0, 503, 0,
+                        new LatencyDistribution.Fixed(Duration.ZERO), Duration.ofMillis(20)));
+        simulator = new LlmProviderSimulator(Map.of("slow", slow), "slow", 0, objectMapper, registry);
+        simulator.start();
+        OllamaLlmProperties props = new OllamaLlmProperties(simulator.baseUri().toString(), "llama3.1:8b",
+                Duration.ofSeconds(1), Duration.ofSeconds(30), 1, Duration.ofMillis(10), 1.0, 0);
+        LlmHttpTransport transport = LlmHttpTransport.create("Ollama",
+                new LlmHttpTransportProperties.Provider(LlmHttpTransportProperties.Type.ASYNC, 4,
+                        Duration.ofSeconds(30), Duration.ofSeconds(1)),
+                props.connectTimeout(), props.readTimeout(), registry);
+        return new OllamaLlmFeedbackClient(RestClient.builder(), objectMapper, props,
+                LlmProviderMetrics.fromRegistry(registry), transport, LlmProviderResilience.disabled(),
+                OllamaWarmupProperties.disabled());
+    }
+
+    private void awaitOpenConnections(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (simulator.openConnections() != expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("expected " + expected + " open simulator connections but saw "
+                        + simulator.openConnections());
+            }
+            Thread.sleep(10);
+        }
+    }
+}
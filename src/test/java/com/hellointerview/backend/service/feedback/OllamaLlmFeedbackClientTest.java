@@ -1,6 +1,8 @@
 package com.hellointerview.backend.service.feedback;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hellointerview.backend.exception.LlmTimeoutException;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -13,9 +15,18 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -48,6 +59,21 @@ class OllamaLlmFeedbackClientTest {
                 .count());
     }
 
+    @Test
+    void generate_SendsStaticPrefixAsSystemAndRequestAsPrompt() throws Exception {
+        List<String> bodies = new ArrayList<>();
+        startServer(exchange -> {
+            bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            writeResponse(exchange, 200, "{\"response\":\"{\\\"feedback_text\\\":\\\"Looks good\\\",\\\"score\\\":84.5}\"}");
+        });
+
+        newClient(1).client().generate(input());
+
+        JsonNode body = new ObjectMapper().readTree(bodies.get(0));
+        assertEquals(FeedbackPromptTemplate.PREFIX, body.path("system").asText());
+        assertTrue(body.path("prompt").asText().startsWith("Question Type: Functional Requirements"));
+    }
+
     @Test
     void generate_WhenTransientHttpFailure_RetriesAndSucceeds() throws Exception {
         AtomicInteger calls = new AtomicInteger();
@@ -91,33 +117,267 @@ class OllamaLlmFeedbackClientTest {
         assertTrue(!ex.isTransientFailure());
     }
 
+    @Test
+    void generateAsync_WhenAsyncTransport_RetriesTransientFailure() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        startServer(exchange -> {
+            if (calls.incrementAndGet() == 1) {
+                writeResponse(exchange, 503, "{\"error\":\"loading model\"}");
+                return;
+            }
+            writeResponse(exchange, 200, "{\"response\":\"{\\\"feedback_text\\\":\\\"Async\\\",\\\"score\\\":80}\"}");
+        });
+        OllamaClientWithRegistry client = newAsyncClient(2, Duration.ofSeconds(2));
+
+        CompletableFuture<LlmFeedbackResult> future = client.client().generateAsync(input());
+        LlmFeedbackResult result = future.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, calls.get());
+        assertEquals("Async", result.feedbackText());
+        assertEquals(1.0, client.registry().get("llm_provider_retry_attempts_total")
+                .tag("provider", "Ollama")
+                .tag("trigger", "5xx")
+                .counter()
+                .count());
+        assertEquals(1.0, client.registry().get("llm_provider_calls_total")
+                .tag("provider", "Ollama")
+                .tag("outcome", "success")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void generateAsync_WhenProviderStalls_FailsWithTimeout() throws Exception {
+        startServer(exchange -> {
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writeResponse(exchange, 200, "{\"response\":\"{}\"}");
+        });
+        OllamaClientWithRegistry client = newAsyncClient(1, Duration.ofMillis(200));
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> client.client().generateAsync(input()).get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(LlmTimeoutException.class, ex.getCause());
+    }
+
+    @Test
+    void generateAsync_WhenTerminalStatus_FailsWithoutRetry() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        startServer(exchange -> {
+            calls.incrementAndGet();
+            writeResponse(exchange, 400, "{\"error\":\"bad request\"}");
+        });
+        OllamaClientWithRegistry client = newAsyncClient(3, Duration.ofSeconds(2));
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> client.client().generateAsync(input()).get(5, TimeUnit.SECONDS));
+
+        LlmProviderException cause = assertInstanceOf(LlmProviderException.class, ex.getCause());
+        assertFalse(cause.isTransientFailure());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void generate_RecordsProviderReportedTimingsAndTokens() throws Exception {
+        startServer(exchange -> writeResponse(exchange, 200, """
+                {"response":"{\\"feedback_text\\":\\"Looks good\\",\\"score\\":84.5}","done":true,
+                 "total_duration":900000000,"load_duration":200000000,"prompt_eval_count":412,
+                 "prompt_eval_duration":300000000,"eval_count":57,"eval_duration":350000000,"context":[1,2,3]}
+                """));
+        OllamaClientWithRegistry client = newClient(1);
+
+        client.client().generate(input());
+
+        assertEquals(200.0, reported(client, "load"));
+        assertEquals(300.0, reported(client, "prompt_eval"));
+        assertEquals(350.0, reported(client, "eval"));
+        assertEquals(900.0, reported(client, "total"));
+        assertEquals(1L, client.registry().get("llm_provider_reported_duration_ms").tag("phase", "overhead")
+                .summary().count());
+        assertEquals(412.0, client.registry().get("llm_provider_tokens").tag("kind", "prompt").summary().totalAmount());
+        assertEquals(57.0, client.registry().get("llm_provider_tokens").tag("kind", "completion").summary().totalAmount());
+    }
+
+    @Test
+    void generateStreaming_RecordsTimingsFromFinalChunk() throws Exception {
+        startServer(exchange -> writeResponse(exchange, 200, String.join("\n",
+                "{\"response\":\"{\\\"feedback_text\\\":\\\"Ok\\\",\\\"score\\\":70}\",\"done\":false}",
+                "{\"response\":\"\",\"done\":true,\"total_duration\":500000000,\"eval_count\":9}")));
+        OllamaClientWithRegistry client = newClient(1);
+
+        client.client().generateStreaming(input(), text -> { });
+
+        assertEquals(500.0, reported(client, "total"));
+        assertEquals(9.0, client.registry().get("llm_provider_tokens").tag("kind", "completion").summary().totalAmount());
+    }
+
+    @Test
+    void generateStreaming_WhenNdjsonChunks_ForwardsFeedbackTextAndReturnsParsedResult() throws Exception {
+        startServer(exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(body.contains("\"stream\":true"));
+            writeResponse(exchange, 200, String.join("\n",
+                    "{\"response\":\"{\\\"feedback_text\\\":\\\"Add \",\"done\":false}",
+                    "{\"response\":\"caching\\\",\",\"done\":false}",
+                    "{\"response\":\"\\\"score\\\":81}\",\"done\":false}",
+                    "{\"response\":\"\",\"done\":true}"));
+        });
+        OllamaClientWithRegistry client = newClient(1);
+        List<String> tokens = new ArrayList<>();
+
+        LlmFeedbackResult result = client.client().generateStreaming(input(), tokens::add);
+
+        assertEquals(List.of("Add ", "caching"), tokens);
+        assertEquals("Add caching", result.feedbackText());
+        assertEquals(81.0, result.score());
+        assertEquals(1L, client.registry().get("llm_provider_first_token_latency_ms")
+                .tag("provider", "Ollama")
+                .summary()
+                .count());
+    }
+
+    @Test
+    void generateStreaming_WhenStreamStallsPastReadTimeout_ResetsSinkBeforeRetry() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        startServer(exchange -> {
+            if (calls.incrementAndGet() == 1) {
+                exchange.sendResponseHeaders(200, 0);
+                OutputStream os = exchange.getResponseBody();
+                os.write("{\"response\":\"{\\\"feedback_text\\\":\\\"Part\",\"done\":false}\n"
+                        .getBytes(StandardCharsets.UTF_8));
+                os.flush();
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return;
+            }
+            writeResponse(exchange, 200, "{\"response\":\"{\\\"feedback_text\\\":\\\"Full\\\",\\\"score\\\":70}\",\"done\":true}");
+        });
+        OllamaClientWithRegistry client = newClient(2, Duration.ofMillis(300));
+        List<String> events = new ArrayList<>();
+
+        LlmFeedbackResult result = client.client().generateStreaming(input(), new LlmTokenSink() {
+            @Override
+            public void onToken(String text) {
+                events.add(text);
+            }
+
+            @Override
+            public void onReset() {
+                events.add("<reset>");
+            }
+        });
+
+        assertEquals(List.of("Part", "<reset>", "Full"), events);
+        assertEquals("Full", result.feedbackText());
+    }
+
+    @Test
+    void preloadAndGenerate_WhenWarmupEnabled_SendKeepAliveAndReportLoadDuration() throws Exception {
+        List<JsonNode> bodies = new ArrayList<>();
+        startServer(exchange -> {
+            JsonNode body = new ObjectMapper().readTree(exchange.getRequestBody());
+            bodies.add(body);
+            if (body.path("prompt").asText().isEmpty()) {
+                writeResponse(exchange, 200, "{\"response\":\"\",\"done\":true,\"load_duration\":1500000000}");
+                return;
+            }
+            writeResponse(exchange, 200, "{\"response\":\"{\\\"feedback_text\\\":\\\"Looks good\\\",\\\"score\\\":84.5}\"}");
+        });
+        OllamaClientWithRegistry client = newClient(1, Duration.ofSeconds(2), new OllamaWarmupProperties(true,
+                Duration.ofMinutes(30), Duration.ofMinutes(10), 7, 22, ZoneId.of("UTC"), Duration.ofSeconds(5),
+                Duration.ofSeconds(15)));
+
+        assertEquals(Duration.ofMillis(1500), client.client().preload());
+        client.client().generate(input());
+
+        assertEquals(2, bodies.size());
+        for (JsonNode body : bodies) {
+            assertEquals("1800s", body.path("keep_alive").asText());
+        }
+    }
+
     private OllamaClientWithRegistry newClient(int maxAttempts) {
+        return newClient(maxAttempts, Duration.ofSeconds(2));
+    }
+
+    private OllamaClientWithRegistry newClient(int maxAttempts, Duration readTimeout) {
+        return newClient(maxAttempts, readTimeout, OllamaWarmupProperties.disabled());
+    }
+
+    private OllamaClientWithRegistry newClient(int maxAttempts,
+                                               Duration readTimeout,
+                                               OllamaWarmupProperties warmupProperties) {
+        OllamaLlmProperties props = new OllamaLlmProperties(
+                "http://localhost:" + server.getAddress().getPort(),
+                "llama3.1:8b",
+                Duration.ofSeconds(1),
+                readTimeout,
+                maxAttempts,
+                Duration.ofMillis(10),
+                1.0,
+                0
+        );
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OllamaLlmFeedbackClient client = new OllamaLlmFeedbackClient(
+                RestClient.builder(),
+                new ObjectMapper(),
+                props,
+                LlmProviderMetrics.fromRegistry(registry),
+                LlmHttpTransport.simple(props.connectTimeout(), props.readTimeout()),
+                LlmProviderResilience.disabled(),
+                warmupProperties
+        );
+        return new OllamaClientWithRegistry(client, registry);
+    }
+
+    private OllamaClientWithRegistry newAsyncClient(int maxAttempts, Duration readTimeout) {
         OllamaLlmProperties props = new OllamaLlmProperties(
                 "http://localhost:" + server.getAddress().getPort(),
                 "llama3.1:8b",
                 Duration.ofSeconds(1),
-                Duration.ofSeconds(2),
+                readTimeout,
                 maxAttempts,
                 Duration.ofMillis(10),
                 1.0,
                 0
         );
         SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LlmHttpTransportProperties.Provider settings = new LlmHttpTransportProperties.Provider(
+                LlmHttpTransportProperties.Type.ASYNC, 4, Duration.ofSeconds(60), Duration.ofSeconds(1));
         OllamaLlmFeedbackClient client = new OllamaLlmFeedbackClient(
                 RestClient.builder(),
                 new ObjectMapper(),
                 props,
-                LlmProviderMetrics.fromRegistry(registry)
+                LlmProviderMetrics.fromRegistry(registry),
+                LlmHttpTransport.create("Ollama", settings, props.connectTimeout(), props.readTimeout(), registry),
+                LlmProviderResilience.disabled(),
+                OllamaWarmupProperties.disabled()
         );
         return new OllamaClientWithRegistry(client, registry);
     }
 
+    private static double reported(OllamaClientWithRegistry client, String phase) {
+        return client.registry().get("llm_provider_reported_duration_ms")
+                .tag("provider", "Ollama")
+                .tag("phase", phase)
+                .summary()
+                .totalAmount();
+    }
+
     private static LlmFeedbackInput input() {
         return new LlmFeedbackInput(123L, "Functional Requirements", "Design Twitter", "Component: API", "Transcript");
     }
 
     private void startServer(ExchangeHandler handler) throws IOException {
         server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
         server.createContext("/api/generate", exchange -> {
             try {
                 handler.handle(exchange);
@@ -0,0 +1,151 @@
+package com.hellointerview.backend.service.feedback;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OllamaModelWarmerTest {
+
+    private static final Instant NOON_UTC = Instant.parse("2026-03-02T12:00:00Z");
+    private static final Instant MIDNIGHT_UTC = Instant.parse("2026-03-02T00:30:00Z");
+
+    private OllamaLlmFeedbackClient client;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(OllamaLlmFeedbackClient.class);
+        when(client.modelName()).thenReturn("llama3.1:8b");
+        when(client.preload()).thenReturn(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void tick_WhenProbeFast_ReportsReadyAndHealthUp() {
+        OllamaModelWarmer warmer = warmer(NOON_UTC, Duration.ofSeconds(5));
+
+        warmer.tick();
+
+        assertEquals(OllamaModelWarmer.State.READY, warmer.status().state());
+        assertEquals(Status.UP, indicator(warmer).health().getStatus());
+        assertEquals(1.0, meterRegistry.get("llm_ollama_model_ready").gauge().value());
+    }
+
+    @Test
+    void tick_WhenProbeSlowerThanThreshold_StaysOutOfService() {
+        doAnswer(invocation -> {
+            Thread.sleep(30);
+            return null;
+        }).when(client).probe();
+        OllamaModelWarmer warmer = warmer(NOON_UTC, Duration.ofMillis(1));
+
+        warmer.tick();
+
+        assertEquals(OllamaModelWarmer.State.SLOW, warmer.status().state());
+        assertEquals(Status.OUT_OF_SERVICE, indicator(warmer).health().getStatus());
+    }
+
+    @Test
+    void tick_WhenOllamaUnreachable_ReportsFailedUntilNextSuccessfulProbe() {
+        doThrow(new ResourceAccessException("Connection refused")).when(client).preload();
+        OllamaModelWarmer warmer = warmer(NOON_UTC, Duration.ofSeconds(5));
+
+        warmer.tick();
+
+        assertEquals(OllamaModelWarmer.State.FAILED, warmer.status().state());
+        assertEquals("Connection refused", indicator(warmer).health().getDetails().get("error"));
+        verify(client, never()).probe();
+    }
+
+    @Test
+    void tick_OutsideBusinessHours_SkipsPingsOnceReadyButKeepsTryingUntilReady() {
+        doThrow(new ResourceAccessException("Connection refused")).doReturn(Duration.ofSeconds(12)).when(client).preload();
+        OllamaModelWarmer warmer = warmer(MIDNIGHT_UTC, Duration.ofSeconds(5));
+
+        warmer.tick();
+        warmer.tick();
+        warmer.tick();
+
+        assertEquals(OllamaModelWarmer.State.READY, warmer.status().state());
+        verify(client, times(2)).preload();
+        verify(client, times(1)).probe();
+        assertEquals(1L, meterRegistry.get("llm_ollama_warmup_load_ms").summary().count());
+    }
+
+    @Test
+    void readiness_AfterFirstSuccessfulWarmUp_StaysUpWhenLaterProbesAreSlow() {
+        OllamaModelWarmer warmer = warmer(NOON_UTC, Duration.ofMillis(20));
+        OllamaModelHealthIndicator readiness = indicator(warmer, true);
+        doThrow(new ResourceAccessException("Connection refused")).doReturn(Duration.ZERO).when(client).preload();
+
+        warmer.tick();
+        assertEquals(Status.OUT_OF_SERVICE, readiness.health().getStatus());
+
+        warmer.tick();
+        assertEquals(Status.UP, readiness.health().getStatus());
+
+        doAnswer(invocation -> {
+            Thread.sleep(50);
+            return null;
+        }).when(client).probe();
+        warmer.tick();
+
+        assertEquals(OllamaModelWarmer.State.SLOW, warmer.status().state());
+        assertEquals(Status.OUT_OF_SERVICE, indicator(warmer).health().getStatus());
+        assertEquals(Status.UP, readiness.health().getStatus());
+    }
+
+    @Test
+    void health_WhenWarmerAbsent_IsUp() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<OllamaModelWarmer> none = mock(ObjectProvider.class);
+
+        assertEquals(Status.UP, new OllamaModelHealthIndicator(none).health().getStatus());
+    }
+
+    @Test
+    void businessHours_WrapAroundMidnight() {
+        OllamaWarmupProperties overnight = new OllamaWarmupProperties(true, Duration.ofMinutes(30),
+                Duration.ofMinutes(10), 22, 6, ZoneId.of("UTC"), Duration.ofSeconds(5), Duration.ofSeconds(15));
+
+        assertTrue(overnight.inBusinessHours(23));
+        assertTrue(overnight.inBusinessHours(3));
+        assertFalse(overnight.inBusinessHours(12));
+    }
+
+    private OllamaModelWarmer warmer(Instant now, Duration readyLatencyThreshold) {
+        OllamaWarmupProperties properties = new OllamaWarmupProperties(true, Duration.ofMinutes(30),
+                Duration.ofMinutes(10), 7, 22, ZoneId.of("UTC"), readyLatencyThreshold, Duration.ofSeconds(15));
+        return new OllamaModelWarmer(client, properties, meterRegistry, Clock.fixed(now, ZoneId.of("UTC")));
+    }
+
+    private static OllamaModelHealthIndicator indicator(OllamaModelWarmer warmer) {
+        return indicator(warmer, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static OllamaModelHealthIndicator indicator(OllamaModelWarmer warmer, boolean readiness) {
+        ObjectProvider<OllamaModelWarmer> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(warmer);
+        return new OllamaModelHealthIndicator(provider, readiness);
+    }
+}
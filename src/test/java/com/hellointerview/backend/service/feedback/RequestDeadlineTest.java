@@ -0,0 +1,89 @@
+package com.hellointerview.backend.service.feedback;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestDeadlineTest {
+
+    private static final FeedbackDeadlineProperties ENABLED = new FeedbackDeadlineProperties(
+            true, Duration.ofSeconds(30), Duration.ofSeconds(60), Duration.ofSeconds(1));
+
+    @Test
+    void newDeadline_WithoutHeader_UsesDefaultBudget() {
+        Instant before = Instant.now();
+
+        RequestDeadline deadline = new RequestDeadlineResolver(ENABLED).newDeadline();
+
+        Instant expiresAt = deadline.expiresAt().orElseThrow();
+        assertFalse(expiresAt.isBefore(before.plusSeconds(30)));
+        assertTrue(expiresAt.isBefore(before.plusSeconds(31)));
+    }
+
+    @Test
+    void newDeadline_CapsClientHeaderAtMaxBudget() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestDeadlineResolver.HEADER_REQUEST_DEADLINE, Instant.now().plusSeconds(3600).toString());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            RequestDeadline deadline = new RequestDeadlineResolver(ENABLED).newDeadline();
+
+            assertTrue(deadline.remaining().compareTo(Duration.ofSeconds(60)) <= 0);
+            assertTrue(deadline.remaining().compareTo(Duration.ofSeconds(55)) > 0);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void newDeadline_WhenDisabled_BindsNothing() {
+        RequestDeadline deadline = new RequestDeadlineResolver(FeedbackDeadlineProperties.disabled()).newDeadline();
+
+        assertTrue(deadline.call(() -> RequestDeadline.current().isEmpty()));
+        assertEquals(Duration.ofSeconds(60), RequestDeadline.capToRemaining(Duration.ofSeconds(60)));
+    }
+
+    @Test
+    void remainingBudget_WithoutHeader_UsesDefaultBudgetEvenWhenDisabled() {
+        assertEquals(Duration.ofSeconds(90),
+                new RequestDeadlineResolver(FeedbackDeadlineProperties.disabled()).remainingBudget());
+    }
+
+    @Test
+    void remainingBudget_CapsClientHeaderAtMaxBudget() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestDeadlineResolver.HEADER_REQUEST_DEADLINE, Instant.now().plusSeconds(3600).toString());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            assertEquals(Duration.ofSeconds(60), new RequestDeadlineResolver(ENABLED).remainingBudget());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void call_BindsDeadlineForTheBodyOnly() {
+        RequestDeadline deadline = RequestDeadline.at(Instant.now().plusSeconds(5), Duration.ZERO);
+
+        Duration capped = deadline.call(() -> RequestDeadline.capToRemaining(Duration.ofSeconds(60)));
+
+        assertTrue(capped.compareTo(Duration.ofSeconds(5)) <= 0);
+        assertTrue(RequestDeadline.current().isEmpty());
+    }
+
+    @Test
+    void canCoverAttemptAfter_RequiresWaitPlusMinimumAttemptBudget() {
+        RequestDeadline deadline = RequestDeadline.at(Instant.now().plusSeconds(10), Duration.ofSeconds(2));
+
+        assertTrue(deadline.canCoverAttemptAfter(Duration.ofSeconds(5)));
+        assertFalse(deadline.canCoverAttemptAfter(Duration.ofSeconds(9)));
+    }
+}
@@ -0,0 +1,203 @@
+package com.hellointerview.backend.service.feedback;
+
+import com.hellointerview.backend.exception.LlmTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoutingLlmFeedbackClientTest {
+
+    private static final LlmFeedbackInput INPUT = new LlmFeedbackInput(1L, "type", "question", "diagram", "transcript");
+    private static final FeedbackPromptBudgeter NO_BUDGET =
+            new FeedbackPromptBudgeter(FeedbackPromptBudgetProperties.disabled(), null);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RoutingLlmFeedbackClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    void generate_WhenPrimaryTimesOut_FailsOverToNextProvider() {
+        FakeProvider primary = new FakeProvider("Gemini", () -> {
+            throw new LlmTimeoutException("slow");
+        });
+        FakeProvider backup = new FakeProvider("Ollama", () -> new LlmFeedbackResult("from backup", 70.0));
+        client = new RoutingLlmFeedbackClient(List.of(primary, backup), hedge(false, Duration.ofSeconds(1)),
+                registry, NO_BUDGET);
+
+        LlmFeedbackResult result = client.generate(INPUT);
+
+        assertEquals("from backup", result.feedbackText());
+        assertEquals(1.0, registry.get("llm_provider_route_total")
+                .tag("provider", "Ollama").tag("role", "failover").tag("outcome", "success").counter().count());
+    }
+
+    @Test
+    void generate_WhenPrimaryFailsTerminally_DoesNotFailOver() {
+        FakeProvider primary = new FakeProvider("Gemini", () -> {
+            throw new LlmProviderException("bad key", false);
+        });
+        FakeProvider backup = new FakeProvider("Ollama", () -> new LlmFeedbackResult("unused", 1.0));
+        client = new RoutingLlmFeedbackClient(List.of(primary, backup), hedge(false, Duration.ofSeconds(1)),
+                registry, NO_BUDGET);
+
+        assertThrows(LlmProviderException.class, () -> client.generate(INPUT));
+        assertEquals(0, backup.calls.get());
+    }
+
+    @Test
+    void generate_WhenPrimarySlowerThanHedgeDelay_BackupWinsAndPrimaryIsCancelled() throws Exception {
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+        FakeProvider primary = new FakeProvider("Gemini", () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                primaryInterrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            throw new LlmProviderException("cancelled", true);
+        });
+        FakeProvider backup = new FakeProvider("Ollama", () -> new LlmFeedbackResult("hedged", 80.0));
+        client = new RoutingLlmFeedbackClient(List.of(primary, backup), hedge(true, Duration.ofMillis(50)),
+                registry, NO_BUDGET);
+
+        LlmFeedbackResult result = client.generate(INPUT);
+
+        assertEquals("hedged", result.feedbackText());
+        assertTrue(primaryInterrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.get("llm_provider_hedges_total").tag("outcome", "fired").counter().count());
+        assertEquals(1.0, registry.get("llm_provider_hedges_total").tag("outcome", "hedge_won").counter().count());
+    }
+
+    @Test
+    void generate_WhenPrimaryAnswersBeforeHedgeDelay_NeverCallsBackup() {
+        FakeProvider primary = new FakeProvider("Gemini", () -> new LlmFeedbackResult("fast", 90.0));
+        FakeProvider backup = new FakeProvider("Ollama", () -> new LlmFeedbackResult("unused", 1.0));
+        client = new RoutingLlmFeedbackClient(List.of(primary, backup), hedge(true, Duration.ofSeconds(5)),
+                registry, NO_BUDGET);
+
+        assertEquals("fast", client.generate(INPUT).feedbackText());
+        assertEquals(0, backup.calls.get());
+        assertTrue(registry.find("llm_provider_hedges_total").counters().isEmpty());
+    }
+
+    @Test
+    void generateStreaming_WhenPrimaryFailsAfterEmittingText_ResetsBeforeFailover() {
+        FakeProvider primary = new FakeProvider("Gemini", () -> {
+            throw new LlmProviderException("dropped", true);
+        });
+        primary.partialToken = "half an ans";
+        FakeProvider backup = new FakeProvider("Ollama", () -> new LlmFeedbackResult("full answer", 75.0));
+        client = new RoutingLlmFeedbackClient(List.of(primary, backup), hedge(true, Duration.ofMillis(1)),
+                registry, NO_BUDGET);
+        List<String> events = new ArrayList<>();
+
+        client.generateStreaming(INPUT, new LlmTokenSink() {
+            @Override
+            public void onToken(String text) {
+                events.add("token:" + text);
+            }
+
+            @Override
+            public void onReset() {
+                events.add("reset");
+            }
+        });
+
+        assertEquals(List.of("token:half an ans", "reset", "token:full answer"), events);
+    }
+
+    @Test
+    void hedgeDelay_UsesObservedPercentileOnceEnoughSamples() {
+        FakeProvider primary = new FakeProvider("Gemini", () -> new LlmFeedbackResult("ok", 50.0));
+        client = new RoutingLlmFeedbackClient(List.of(primary), new LlmRoutingProperties.Hedge(
+                true, Duration.ofSeconds(9), Duration.ZERO, 0.95, 3, 10), registry, NO_BUDGET);
+        assertEquals(Duration.ofSeconds(9).toNanos(), client.hedgeDelayNanos());
+
+        for (int i = 0; i < 3; i++) {
+            client.generate(INPUT);
+        }
+
+        assertTrue(client.hedgeDelayNanos() < Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    void generate_FitsInputToEachMembersOwnPromptBudget() {
+        FakeProvider primary = new FakeProvider("Gemini", () -> {
+            throw new LlmTimeoutException("slow");
+        });
+        FakeProvider backup = new FakeProvider("Ollama", () -> new LlmFeedbackResult("from backup", 70.0));
+        FeedbackPromptBudgeter budgeter = new FeedbackPromptBudgeter(new FeedbackPromptBudgetProperties(
+                true, 100_000, 4.0, 0.6, Map.of("ollama", 256), Map.of()), registry);
+        client = new RoutingLlmFeedbackClient(List.of(primary, backup), hedge(false, Duration.ofSeconds(1)), registry,
+                budgeter);
+        String transcript = "We shard the timeline by user id and fan out on write. ".repeat(100);
+        LlmFeedbackInput input = new LlmFeedbackInput(1L, "type", "question", "diagram", transcript);
+
+        client.generate(input);
+
+        assertEquals(transcript, primary.lastInput.combinedTranscript());
+        assertTrue(backup.lastInput.combinedTranscript().length() < transcript.length());
+        assertEquals(1.0, registry.get("llm_prompt_compactions_total")
+                .tag("provider", "Ollama").tag("step", "transcript").counter().count());
+        assertSame(input, budgeter.fit(input, client));
+    }
+
+    private static LlmRoutingProperties.Hedge hedge(boolean enabled, Duration initialDelay) {
+        return new LlmRoutingProperties.Hedge(enabled, initialDelay, Duration.ZERO, 0.95, 20, 200);
+    }
+
+    private static final class FakeProvider implements LlmFeedbackClient {
+        private final AdmissionWorkloadKey key;
+        private final Supplier<LlmFeedbackResult> behaviour;
+        private final AtomicInteger calls = new AtomicInteger();
+        private String partialToken;
+        private volatile LlmFeedbackInput lastInput;
+
+        private FakeProvider(String provider, Supplier<LlmFeedbackResult> behaviour) {
+            this.key = new AdmissionWorkloadKey(provider, provider.toLowerCase() + "-model");
+            this.behaviour = behaviour;
+        }
+
+        @Override
+        public LlmFeedbackResult generate(LlmFeedbackInput input) {
+            calls.incrementAndGet();
+            lastInput = input;
+            return behaviour.get();
+        }
+
+        @Override
+        public LlmFeedbackResult generateStreaming(LlmFeedbackInput input, LlmTokenSink sink) {
+            if (partialToken != null) {
+                sink.onToken(partialToken);
+            }
+            LlmFeedbackResult result = generate(input);
+            sink.onToken(result.feedbackText());
+            return result;
+        }
+
+        @Override
+        public AdmissionWorkloadKey admissionWorkloadKey() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.hellointerview.backend.service.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalRateLimitStoreTest {
+
+    private static final RateLimitProperties.Limit LIMIT = new RateLimitProperties.Limit(2, Duration.ofSeconds(10));
+
+    @Test
+    void tryAcquire_WhenBucketEmpty_RejectsUntilRefilled() {
+        AtomicLong now = new AtomicLong();
+        LocalRateLimitStore store = new LocalRateLimitStore(properties(Duration.ofMinutes(10)), null, now::get);
+
+        assertTrue(store.tryAcquire("feedback:addr:a", LIMIT).orElseThrow().allowed());
+        RateLimitDecision last = store.tryAcquire("feedback:addr:a", LIMIT).orElseThrow();
+        assertTrue(last.allowed());
+        assertEquals(0, last.remaining());
+        assertEquals(10, last.resetSeconds());
+
+        RateLimitDecision rejected = store.tryAcquire("feedback:addr:a", LIMIT).orElseThrow();
+        assertFalse(rejected.allowed());
+        assertEquals(5, rejected.retryAfterSeconds());
+        assertTrue(store.tryAcquire("feedback:addr:b", LIMIT).orElseThrow().allowed());
+
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertTrue(store.tryAcquire("feedback:addr:a", LIMIT).orElseThrow().allowed());
+        assertEquals("2;w=10", rejected.policy());
+    }
+
+    @Test
+    void tryAcquire_WhenBucketIdleAndFull_EvictsIt() {
+        AtomicLong now = new AtomicLong();
+        LocalRateLimitStore store = new LocalRateLimitStore(properties(Duration.ofSeconds(30)), null, now::get);
+        store.tryAcquire("feedback:addr:a", LIMIT);
+        store.tryAcquire("feedback:addr:b", LIMIT);
+        assertEquals(2, store.size());
+
+        now.addAndGet(Duration.ofSeconds(20).toNanos());
+        store.tryAcquire("feedback:addr:b", LIMIT);
+        assertEquals(2, store.size());
+
+        now.addAndGet(Duration.ofSeconds(15).toNanos());
+        store.tryAcquire("feedback:addr:c", LIMIT);
+
+        assertEquals(2, store.size());
+        assertEquals(1, store.tryAcquire("feedback:addr:a", LIMIT).orElseThrow().remaining());
+    }
+
+    @Test
+    void tryAcquire_AtMaxBuckets_SweepsFullBucketsAtMostOncePerSecondAndNeverGrowsPastCap() {
+        AtomicLong now = new AtomicLong();
+        LocalRateLimitStore store = new LocalRateLimitStore(properties(Duration.ofMinutes(10), 2), null, now::get);
+        for (int i = 0; i < 2; i++) {
+            store.tryAcquire("feedback:addr:a", LIMIT);
+            store.tryAcquire("feedback:addr:b", LIMIT);
+        }
+
+        assertTrue(store.tryAcquire("feedback:addr:c", LIMIT).orElseThrow().allowed());
+        assertEquals(2, store.size());
+
+        now.set(Duration.ofMillis(9_500).toNanos());
+        store.tryAcquire("feedback:addr:c", LIMIT);
+        now.set(Duration.ofMillis(10_200).toNanos());
+        assertTrue(store.tryAcquire("feedback:addr:d", LIMIT).orElseThrow().allowed());
+        assertEquals(2, store.size());
+
+        now.set(Duration.ofMillis(10_600).toNanos());
+        assertEquals(1, store.tryAcquire("feedback:addr:d", LIMIT).orElseThrow().remaining());
+        assertEquals(1, store.size());
+    }
+
+    static RateLimitProperties properties(Duration idleTtl) {
+        return properties(idleTtl, 1000);
+    }
+
+    static RateLimitProperties properties(Duration idleTtl, int maxBuckets) {
+        return new RateLimitProperties(true, RateLimitProperties.Mode.LOCAL, idleTtl, maxBuckets, false, LIMIT, LIMIT,
+                LIMIT);
+    }
+}
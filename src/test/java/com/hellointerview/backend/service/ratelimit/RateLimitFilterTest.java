@@ -0,0 +1,108 @@
+package com.hellointerview.backend.service.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hellointerview.backend.config.CorsConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RateLimitFilterTest {
+
+    private static final RateLimitProperties.Limit ONE_PER_MINUTE =
+            new RateLimitProperties.Limit(1, Duration.ofMinutes(1));
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties(true, RateLimitProperties.Mode.LOCAL,
+                Duration.ofMinutes(10), 1000, true, ONE_PER_MINUTE, ONE_PER_MINUTE, ONE_PER_MINUTE);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(properties, new LocalRateLimitStore(properties, meterRegistry),
+                new ObjectMapper(), meterRegistry);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StubController()).addFilters(filter).build();
+    }
+
+    @Test
+    void feedbackSubmit_WhenBucketEmpty_Returns429WithErrorResponseAndHeaders() throws Exception {
+        mockMvc.perform(post("/api/v1/practices/1/feedbacks").header(RateLimitFilter.HEADER_USER_ID, "7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Limit", "1"))
+                .andExpect(header().string("RateLimit-Remaining", "0"))
+                .andExpect(header().string("RateLimit-Policy", "1;w=60"));
+
+        mockMvc.perform(post("/api/v1/practices/2/feedbacks").header(RateLimitFilter.HEADER_USER_ID, "7"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "60"))
+                .andExpect(header().string("RateLimit-Reset", "60"))
+                .andExpect(jsonPath("$.error").value("Too many requests"))
+                .andExpect(jsonPath("$.code").value("rate_limited"));
+
+        mockMvc.perform(post("/api/v1/practices/2/feedbacks").header(RateLimitFilter.HEADER_USER_ID, "8"))
+                .andExpect(status().isOk());
+        assertEquals(1.0, meterRegistry.get("api_rate_limit_decisions_total")
+                .tag("outcome", "limited").counter().count());
+    }
+
+    @Test
+    void feedbackSubmit_WhenLimitedBehindCorsFilter_429CarriesCorsHeaders() throws Exception {
+        MockMvc corsMockMvc = MockMvcBuilders.standaloneSetup(new StubController())
+                .addFilters(new CorsConfig().corsFilter().getFilter(), filter)
+                .build();
+
+        corsMockMvc.perform(post("/api/v1/practices/1/feedbacks")
+                        .header(RateLimitFilter.HEADER_USER_ID, "7")
+                        .header("Origin", "http://localhost:5173"))
+                .andExpect(status().isOk());
+        corsMockMvc.perform(post("/api/v1/practices/1/feedbacks")
+                        .header(RateLimitFilter.HEADER_USER_ID, "7")
+                        .header("Origin", "http://localhost:5173"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:5173"))
+                .andExpect(header().string("Access-Control-Expose-Headers", containsString("Retry-After")));
+    }
+
+    @Test
+    void unlimitedEndpoint_PassesThroughWithoutHeaders() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/v1/practices/1/feedback-requests/2"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("RateLimit-Limit"));
+        }
+    }
+
+    @RestController
+    static class StubController {
+
+        @PostMapping("/api/v1/practices/{practiceId}/feedbacks")
+        ResponseEntity<Void> submit(@PathVariable("practiceId") Long practiceId) {
+            return ResponseEntity.status(HttpStatus.OK).build();
+        }
+
+        @GetMapping("/api/v1/practices/{practiceId}/feedback-requests/{requestId}")
+        ResponseEntity<Void> status(@PathVariable("practiceId") Long practiceId,
+                                    @PathVariable("requestId") Long requestId) {
+            return ResponseEntity.ok().build();
+        }
+    }
+}
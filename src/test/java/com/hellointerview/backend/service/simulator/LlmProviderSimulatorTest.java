@@ -0,0 +1,158 @@
+package com.hellointerview.backend.service.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmProviderSimulatorTest {
+
+    private static final String SCENARIOS = """
+            {
+              "S1": {"warmup_seconds": 0, "steady_seconds": 0, "fault_seconds": 0, "fault_mode": "none",
+                     "simulator": {"latency": {"distribution": "fixed", "ms": 0}, "tokens_per_second": 10000,
+                                   "output_tokens": 20}},
+              "S4": {"warmup_seconds": 10, "steady_seconds": 0, "fault_seconds": 30, "fault_mode": "429",
+                     "simulator": {"latency": {"distribution": "fixed", "ms": 0}, "tokens_per_second": 10000,
+                                   "output_tokens": 20, "fault": {"retry_after_seconds": 7}}},
+              "S8": {"warmup_seconds": 0, "steady_seconds": 0, "fault_seconds": 60, "fault_mode": "reset"}
+            }
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private SimpleMeterRegistry meterRegistry;
+    private LlmProviderSimulator simulator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        simulator = new LlmProviderSimulator(SimulatorScenario.parseAll(objectMapper.readTree(SCENARIOS)), "S1", 0,
+                objectMapper, meterRegistry, now::get);
+        simulator.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulator.close();
+    }
+
+    @Test
+    void ollamaGenerate_NonStreaming_ReturnsModelJsonAndTimings() throws Exception {
+        HttpResponse<String> response = post("/api/generate",
+                Map.of("model", "llama3.1:8b", "prompt", "practice_id=1", "stream", false));
+
+        assertEquals(200, response.statusCode());
+        JsonNode body = objectMapper.readTree(response.body());
+        assertTrue(body.path("done").asBoolean());
+        JsonNode output = objectMapper.readTree(body.path("response").asText());
+        assertTrue(output.path("feedback_text").asText().startsWith("Simulated feedback from llama3.1:8b"));
+        assertTrue(output.path("score").isNumber());
+        assertTrue(body.path("eval_count").asInt() > 0);
+    }
+
+    @Test
+    void ollamaGenerate_Streaming_EmitsNdjsonChunksEndingWithDone() throws Exception {
+        HttpResponse<String> response = post("/api/generate",
+                Map.of("model", "llama3.1:8b", "prompt", "practice_id=1", "stream", true));
+
+        List<String> lines = response.body().lines().filter(line -> !line.isBlank()).toList();
+        assertTrue(lines.size() > 2);
+        StringBuilder completion = new StringBuilder();
+        for (String line : lines) {
+            completion.append(objectMapper.readTree(line).path("response").asText());
+        }
+        assertTrue(objectMapper.readTree(lines.get(lines.size() - 1)).path("done").asBoolean());
+        assertTrue(objectMapper.readTree(completion.toString()).has("feedback_text"));
+    }
+
+    @Test
+    void geminiGenerateContent_ReturnsCandidateAndUsage() throws Exception {
+        HttpResponse<String> response = post("/v1beta/models/gemini-2.0-flash:generateContent?key=x",
+                Map.of("contents", List.of(Map.of("parts", List.of(Map.of("text", "practice_id=1"))))));
+
+        assertEquals(200, response.statusCode());
+        JsonNode body = objectMapper.readTree(response.body());
+        String text = body.path("candidates").path(0).path("content").path("parts").path(0).path("text").asText();
+        assertTrue(objectMapper.readTree(text).has("score"));
+        assertTrue(body.path("usageMetadata").path("candidatesTokenCount").asInt() > 0);
+    }
+
+    @Test
+    void faultWindow_429_SendsRetryAfterOnlyInsideWindow() throws Exception {
+        HttpResponse<String> control = post("/_simulator/scenarios/S4", Map.of());
+        assertEquals(200, control.statusCode());
+
+        assertEquals(200, post("/api/generate", Map.of("model", "m", "prompt", "p", "stream", false)).statusCode());
+
+        now.addAndGet(Duration.ofSeconds(15).toMillis());
+        HttpResponse<String> throttled = post("/api/generate", Map.of("model", "m", "prompt", "p", "stream", false));
+        assertEquals(429, throttled.statusCode());
+        assertEquals("7", throttled.headers().firstValue("Retry-After").orElseThrow());
+        assertTrue(objectMapper.readTree(throttled.body()).has("error"));
+
+        now.addAndGet(Duration.ofSeconds(30).toMillis());
+        assertEquals(200, post("/api/generate", Map.of("model", "m", "prompt", "p", "stream", false)).statusCode());
+        assertEquals(1.0, meterRegistry.get("llm_simulator_responses_total")
+                .tag("api", "ollama").tag("outcome", "throttled").counter().count());
+    }
+
+    @Test
+    void faultWindow_Reset_ClosesConnectionWithoutResponse() throws Exception {
+        post("/_simulator/scenarios/S8", Map.of());
+
+        assertThrows(IOException.class,
+                () -> post("/api/generate", Map.of("model", "m", "prompt", "p", "stream", false)));
+    }
+
+    @Test
+    void control_UnknownScenario_Returns404AndKeepsCurrent() throws Exception {
+        assertEquals(404, post("/_simulator/scenarios/S99", Map.of()).statusCode());
+
+        HttpResponse<String> status = httpClient.send(
+                HttpRequest.newBuilder(simulator.baseUri().resolve("/_simulator/status")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode body = objectMapper.readTree(status.body());
+        assertEquals("S1", body.path("scenario").asText());
+        assertFalse(body.path("fault_active").asBoolean());
+    }
+
+    @Test
+    void loadScenarios_ShippedK6ScenariosParse() throws IOException {
+        Map<String, SimulatorScenario> scenarios = LlmProviderSimulator.loadScenarios(
+                Path.of("resource/poc/reliability/k6/scenarios.json"), objectMapper);
+
+        assertEquals(SimulatorFaultMode.PROVIDER_5XX, scenarios.get("S3").fault().mode());
+        assertEquals(90L, scenarios.get("S3").faultStartSec());
+        assertEquals(SimulatorFaultMode.SLOWLORIS, scenarios.get("S7").fault().mode());
+        assertTrue(scenarios.get("S5").fault().latency() instanceof LatencyDistribution.Bimodal);
+    }
+
+    private HttpResponse<String> post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(simulator.baseUri() + path))
+                .timeout(Duration.ofSeconds(5))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}